@@ -0,0 +1,107 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.ISearchState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+
+/**
+ * This interface offers the exact solution of the play phase, if all hands are known.<br>
+ * <br>
+ *
+ * The player team maximizes and the opponent team minimizes the points the player team wins. The teams are the real teams defined by the hands, the legal
+ * moves regard what the players know about the teams. Striking does not change the points, so a state in {@link GameState#STRIKE} or
+ * {@link GameState#STRIKEBACK} is solved as if nobody strikes. The given state is changed during the search and restored afterwards.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IDoubleDummySolver {
+
+	/**
+	 * Remove all entries of the transposition table.
+	 */
+	void clear();
+
+	/**
+	 * Evaluate all legal moves of the player on turn.
+	 *
+	 * @param state
+	 *            the state.
+	 * @return the points the player team wins in the whole game after each move, indicated by card ordinal. -1 for cards that are no legal move.
+	 * @throws IllegalArgumentException
+	 *             if the state is null or not in a play state.
+	 */
+	int[] evaluateMoves(ISearchState state);
+
+	/**
+	 * @param state
+	 *            the state.
+	 * @return the ordinal of the best card for the player on turn.
+	 * @throws IllegalArgumentException
+	 *             if the state is null or not in a play state.
+	 */
+	int getBestMove(ISearchState state);
+
+	/**
+	 * @return the number of searched nodes since the solver was created.
+	 */
+	long getNodes();
+
+	/**
+	 * @return true if the last call was aborted at the deadline, its result is meaningless then.
+	 * @see #setDeadline(long)
+	 */
+	boolean isAborted();
+
+	/**
+	 * Set the deadline of the following calls. A call still searching at the deadline is aborted, see {@link #isAborted()}.
+	 *
+	 * @param deadline
+	 *            the deadline, see {@link System#nanoTime()}. {@link Long#MAX_VALUE} if there is none, this is the default.
+	 */
+	void setDeadline(long deadline);
+
+	/**
+	 * Solve the game data with all hands known.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @return the points the player team wins in the whole game.
+	 * @see #solve(ISearchState)
+	 */
+	int solve(IGameData gameData);
+
+	/**
+	 * @param state
+	 *            the state.
+	 * @return the points the player team wins in the whole game, including the points already won.
+	 * @throws IllegalArgumentException
+	 *             if the state is null or not in a play state or finished.
+	 */
+	int solve(ISearchState state);
+
+	/**
+	 * Decide if the player team wins at least the given points. This is faster than calculating the exact points, e.g. to decide a schneider.
+	 *
+	 * @param state
+	 *            the state.
+	 * @param points
+	 *            the points.
+	 * @return true if the player team wins at least the points in the whole game, including the points already won.
+	 * @throws IllegalArgumentException
+	 *             if the state is null or not in a play state or finished.
+	 */
+	boolean solveAtLeast(ISearchState state, int points);
+
+	/**
+	 * Decide if the player team wins. This is faster than calculating the exact points. The win condition is the same as at the end of the game: more points
+	 * than the opponent team, in an exclusive game the opponent team must not win any points.
+	 *
+	 * @param state
+	 *            the state.
+	 * @return true if the player team wins.
+	 * @throws IllegalArgumentException
+	 *             if the state is null or not in a play state or finished.
+	 */
+	boolean solveWin(ISearchState state);
+}
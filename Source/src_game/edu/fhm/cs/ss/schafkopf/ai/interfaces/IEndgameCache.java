@@ -0,0 +1,71 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+/**
+ * This interface offers a cache of the values of endgame positions, that may be used by several threads at once. An endgame position is the start of a
+ * round with {@link #MIN_CARDS} to {@link #MAX_CARDS} cards left in the hands.<br>
+ * <br>
+ *
+ * A position is given by two keys: the cards key holds the remaining cards, their owners, the round's first player and the team knowledge, the game key
+ * holds the game type, the color, the lead player and the mate. The value is a lower and an upper bound of the points the player team wins in the remaining
+ * rounds, the exact points if both are equal. It does not depend on the points won before, so a position reached with other points uses the same value.<br>
+ * <br>
+ *
+ * The cache may evict any value at any time. A lookup never returns a value stored with other keys.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IEndgameCache {
+
+	/**
+	 * The minimum number of cards left in the hands of a cached position. The last round is solved faster than looked up.
+	 */
+	int MIN_CARDS = 8;
+	/**
+	 * The maximum number of cards left in the hands of a cached position, i.e. the last three rounds.
+	 */
+	int MAX_CARDS = 12;
+	/**
+	 * Shift of the upper bound in a value.
+	 */
+	int SHIFT_UPPER = 8;
+	/**
+	 * Mask for a bound in a value.
+	 */
+	int MASK_POINTS = 0xFF;
+
+	/**
+	 * Remove all values. Must not be called while the cache is used by other threads.
+	 */
+	void clear();
+
+	/**
+	 * @param cardsKey
+	 *            the cards key of the position.
+	 * @param gameKey
+	 *            the game key of the position.
+	 * @return the lower bound and the upper bound shifted by {@link #SHIFT_UPPER}, -1 if the position is not stored.
+	 */
+	int get(long cardsKey, long gameKey);
+
+	/**
+	 * @return the maximum number of stored positions.
+	 */
+	int getCapacity();
+
+	/**
+	 * Store the bounds of a position. If the position is stored already, the bounds are narrowed by the stored ones.
+	 *
+	 * @param cardsKey
+	 *            the cards key of the position.
+	 * @param gameKey
+	 *            the game key of the position.
+	 * @param lower
+	 *            the lower bound of the points the player team wins in the remaining rounds.
+	 * @param upper
+	 *            the upper bound of the points the player team wins in the remaining rounds.
+	 * @throws IllegalArgumentException
+	 *             if the lower bound is negative, greater than the upper bound or the upper bound is greater than {@link #MASK_POINTS}.
+	 */
+	void put(long cardsKey, long gameKey, int lower, int upper);
+}
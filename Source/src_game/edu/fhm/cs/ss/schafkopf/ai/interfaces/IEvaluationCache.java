@@ -0,0 +1,44 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+/**
+ * This interface offers a bounded cache of evaluations by primitive keys, that may be used by several threads at once.<br>
+ * <br>
+ *
+ * The cache may evict any value at any time, e.g. to store another value. A lookup never returns a value stored with another key.
+ *
+ * @author Sebastian Stumpf
+ *
+ * @param <V>
+ *            the type of the cached values.
+ */
+public interface IEvaluationCache<V> {
+
+	/**
+	 * Remove all values.
+	 */
+	void clear();
+
+	/**
+	 * @param key
+	 *            the key.
+	 * @return the value stored with the key, null if there is none.
+	 */
+	V get(long key);
+
+	/**
+	 * @return the maximum number of stored values.
+	 */
+	int getCapacity();
+
+	/**
+	 * Store a value with a key, replacing the value stored with the key before.
+	 *
+	 * @param key
+	 *            the key.
+	 * @param value
+	 *            the value.
+	 * @throws IllegalArgumentException
+	 *             if the value is null.
+	 */
+	void put(long key, V value);
+}
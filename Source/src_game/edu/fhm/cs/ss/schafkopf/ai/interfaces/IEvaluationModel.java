@@ -0,0 +1,41 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+/**
+ * This interface offers a learned evaluation of decisions. A decision is given by the indices of its active binary features, the score is the sum of their
+ * weights: the log odds, that the team of the player wins the game.<br>
+ * <br>
+ *
+ * Scoring only reads the weights, so a model can be shared by all threads.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IEvaluationModel {
+
+	/**
+	 * @param features
+	 *            the buffer of the feature indices.
+	 * @param count
+	 *            the number of features in the buffer.
+	 * @return the score of playing a card.
+	 */
+	float getCardScore(int[] features, int count);
+
+	/**
+	 * @param features
+	 *            the buffer of the feature indices.
+	 * @param count
+	 *            the number of features in the buffer.
+	 * @return the score of choosing a game, as lead player.
+	 */
+	float getGameScore(int[] features, int count);
+
+	/**
+	 * Save the weights to a file. An existing file is overwritten.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @return true if the file was written, false otherwise.
+	 */
+	boolean save(String path);
+}
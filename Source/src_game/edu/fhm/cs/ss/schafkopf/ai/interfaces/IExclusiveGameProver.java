@@ -0,0 +1,47 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This interface offers a proof, that the lead player of an exclusive game or a Si wins every round for any distribution of the other cards. The proof only
+ * uses the own hand, so it can be done before choosing the game. Cards are handled as card sets, see {@link CardSet}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IExclusiveGameProver {
+
+	/**
+	 * Get the exclusive game the point-of-view player wins for sure with his current hand, see {@link #isSureWin(int, GameType, CardColor, int)}.
+	 *
+	 * @param playerUtils
+	 *            the player utilities, the player has to hold all his cards.
+	 * @return the proven game with the highest weight, that the player is allowed to choose. Null if there is none.
+	 */
+	IBasicGameData getSureGame(IRestrictedPlayerUtils playerUtils);
+
+	/**
+	 * @return true if the last proof was stopped, because its search exceeded the budget of the prover. The game is not proven then.
+	 */
+	boolean isExhausted();
+
+	/**
+	 * @param hand
+	 *            the hand of the lead player, it has to contain all cards of a player.
+	 * @param gameType
+	 *            the exclusive game type or Si.
+	 * @param color
+	 *            the color of the game, null if the game type needs none.
+	 * @param seat
+	 *            the seat of the lead player relative to the game's first player, 0 if he comes out in the first round.
+	 * @return true if the lead player wins every round, however the other cards are distributed and played. False if this can not be proven, also if the
+	 *         search exceeded the budget of the prover.
+	 * @throws IllegalArgumentException
+	 *             if the game type is neither exclusive nor Si, the color does not fit the game type, the hand is not complete or the seat is not valid.
+	 */
+	boolean isSureWin(int hand, GameType gameType, CardColor color, int seat);
+}
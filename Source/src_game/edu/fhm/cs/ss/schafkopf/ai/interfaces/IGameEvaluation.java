@@ -0,0 +1,46 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+
+/**
+ * This interface offers the estimated outcome of a game for the point-of-view player, see {@link IGameEvaluator}.<br>
+ * <br>
+ *
+ * The result is the change of the player's credit at the end of the game, including his share of the stock. The bounds are the expected result plus and
+ * minus the confidence margin of the evaluator.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IGameEvaluation {
+
+	/**
+	 * @return the expected result.
+	 */
+	double getExpectedResult();
+
+	/**
+	 * @return the evaluated game.
+	 */
+	IBasicGameData getGame();
+
+	/**
+	 * @return the lower bound of the expected result.
+	 */
+	double getLowerBound();
+
+	/**
+	 * @return the number of evaluated samples.
+	 */
+	int getSampleCount();
+
+	/**
+	 * @return the upper bound of the expected result.
+	 */
+	double getUpperBound();
+
+	/**
+	 * @return the probability, that the point-of-view player's team wins.
+	 */
+	double getWinProbability();
+}
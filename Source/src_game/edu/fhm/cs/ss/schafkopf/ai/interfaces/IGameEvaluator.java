@@ -0,0 +1,51 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import java.util.Collection;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This interface offers the estimation of the win probability and the monetary result of games for the point-of-view player. It is used to choose the game
+ * and to decide raising, striking and striking back.<br>
+ * <br>
+ *
+ * The results regard the charge of the game settings and the multipliers of the current game. Not choosing a game or not striking is the alternative
+ * with the result 0.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IGameEvaluator {
+
+	/**
+	 * Evaluate the current game, e.g. to decide striking or striking back.
+	 *
+	 * @param playerUtils
+	 *            the player utilities.
+	 * @return the evaluation of the current game.
+	 * @throws IllegalArgumentException
+	 *             if the player utilities are null.
+	 * @throws IllegalStateException
+	 *             if the game is not in the first round of {@link GameState#PLAY}, {@link GameState#STRIKE} or {@link GameState#STRIKEBACK}.
+	 */
+	IGameEvaluation evaluateCurrentGame(IRestrictedPlayerUtils playerUtils);
+
+	/**
+	 * Evaluate games the point-of-view player may choose, as lead player against passing players. If the hand is not complete yet, e.g. to decide raising,
+	 * the rest of the hand is sampled too and a game the sampled hand does not allow counts as passed.
+	 *
+	 * @param playerUtils
+	 *            the player utilities.
+	 * @param games
+	 *            the games.
+	 * @return the evaluations in the order of the games.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null.
+	 * @throws IllegalStateException
+	 *             if the game is not in {@link GameState#GET_RAISE} or {@link GameState#CHOOSE}.
+	 */
+	List<IGameEvaluation> evaluateGames(IRestrictedPlayerUtils playerUtils, Collection<IBasicGameData> games);
+}
@@ -0,0 +1,42 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+
+/**
+ * This interface offers random distributions of the cards a player does not know, consistent with what he knows about the other players' hands.<br>
+ * <br>
+ *
+ * The hands are card sets, see {@link CardSet}. The hand of the point-of-view player is always his real hand.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IHandSampler {
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the number of cards in the player's hand.
+	 */
+	int getHandSize(PlayerPosition position);
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the cards the player can hold, the real hand for the point-of-view player.
+	 */
+	int getPossibleCards(PlayerPosition position);
+
+	/**
+	 * Distribute the unknown cards to the other players. Every player gets the number of cards in his hand and only cards he can hold, as long as the
+	 * knowledge is consistent. A random number generator must not be used by several threads, use {@link SplittableRandom#split()} instead.
+	 *
+	 * @param random
+	 *            the random number generator.
+	 * @return the hands indicated by position ordinal.
+	 */
+	int[] sample(SplittableRandom random);
+}
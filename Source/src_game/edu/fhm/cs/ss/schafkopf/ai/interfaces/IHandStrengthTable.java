@@ -0,0 +1,51 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+
+/**
+ * This interface offers precomputed strengths of complete hands: the probability, that a player wins a game as lead player against passing players.<br>
+ * <br>
+ *
+ * The table may be incomplete, e.g. while it is built. A lookup of a hand, that is not contained yet, returns {@link Double#NaN} like a game that is not
+ * allowed, use {@link #contains(int, IBasicGameData)} to tell them apart.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IHandStrengthTable {
+
+	/**
+	 * @param hand
+	 *            the card set of a complete hand.
+	 * @param game
+	 *            the game.
+	 * @return true if the strength of the hand in the game is contained, even if the game is not allowed with the hand.
+	 * @throws IllegalArgumentException
+	 *             if the hand is not complete or the game is null.
+	 */
+	boolean contains(int hand, IBasicGameData game);
+
+	/**
+	 * @return the games of the table, in the order of their strengths.
+	 */
+	List<IBasicGameData> getGames();
+
+	/**
+	 * @return the number of samples every strength is estimated from.
+	 */
+	int getSampleCount();
+
+	/**
+	 * @param hand
+	 *            the card set of a complete hand.
+	 * @param game
+	 *            the game.
+	 * @return the estimated probability, that the player wins the game as lead player, {@link Double#NaN} if the game is not allowed with the hand, not
+	 *         contained in the table or the hand is not contained.
+	 * @throws IllegalArgumentException
+	 *             if the hand is not complete or the game is null.
+	 */
+	double getWinProbability(int hand, IBasicGameData game);
+}
@@ -0,0 +1,16 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+/**
+ * This interface is offered by AIs, that hold a considerable state of their own, e.g. a search tree. The table manager admits a table only, if the estimated
+ * footprints of its AIs fit into its memory budget.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IMemoryFootprint {
+
+	/**
+	 * @return the estimated maximum memory of the state this AI holds on its own in bytes, without the caches and pools shared with other AIs.
+	 */
+	long getMemoryFootprint();
+}
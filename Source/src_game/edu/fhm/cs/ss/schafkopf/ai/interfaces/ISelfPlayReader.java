@@ -0,0 +1,31 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+/**
+ * This interface offers the iteration over the records of a self play file. The reader is a cursor: the methods of {@link ISelfPlayRecord} return the
+ * data of the current record, so no object is created per record.<br>
+ * <br>
+ *
+ * A reader is not thread safe, every thread has to use its own reader.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ISelfPlayReader extends ISelfPlayRecord {
+
+	/**
+	 * @return the number of records in the file.
+	 */
+	long getRecordCount();
+
+	/**
+	 * Move the cursor to the next record. Has to be called before the first record is read.
+	 *
+	 * @return true if there is a next record, false if all records are read.
+	 */
+	boolean next();
+
+	/**
+	 * Move the cursor before the first record.
+	 */
+	void reset();
+}
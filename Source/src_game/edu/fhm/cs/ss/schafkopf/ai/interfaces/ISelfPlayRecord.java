@@ -0,0 +1,122 @@
+package edu.fhm.cs.ss.schafkopf.ai.interfaces;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+
+/**
+ * This interface offers the data of a game played by self play: the dealt hands, the chosen game, every played card with the cards allowed to play and the
+ * outcome of the game.<br>
+ * <br>
+ *
+ * A ply is the index of a played card in the game, from 0 to {@link #getPlyCount()} - 1. The ply of a card is also the number of cards played before it, so
+ * the state a player decided in is given by the ply. Cards and card sets are given by ordinals and bit masks, see
+ * {@link edu.fhm.cs.ss.schafkopf.model.utilities.CardSet}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ISelfPlayRecord {
+
+	/**
+	 * @return the chosen color, null if the game has no color or no game was played.
+	 */
+	CardColor getColor();
+
+	/**
+	 * @param position
+	 *            the position.
+	 * @return the credit the player won in the game, negative if he lost.
+	 */
+	float getCredit(PlayerPosition position);
+
+	/**
+	 * @return the game's first player.
+	 */
+	PlayerPosition getGamesFirstPlayerPosition();
+
+	/**
+	 * @return the chosen game type, null if no game was chosen.
+	 */
+	GameType getGameType();
+
+	/**
+	 * @param ply
+	 *            the ply.
+	 * @return the cards on the hand of the player of the ply, before he played.
+	 * @throws IllegalArgumentException
+	 *             if the ply is not played.
+	 */
+	int getHandSet(int ply);
+
+	/**
+	 * @param position
+	 *            the position.
+	 * @return the cards dealt to the player.
+	 */
+	int getInitialHandSet(PlayerPosition position);
+
+	/**
+	 * @return the lead player, null if no game was chosen.
+	 */
+	PlayerPosition getLeadPlayerPosition();
+
+	/**
+	 * @param ply
+	 *            the ply.
+	 * @return the cards the player of the ply was allowed to play.
+	 * @throws IllegalArgumentException
+	 *             if the ply is not played.
+	 */
+	int getLegalCardSet(int ply);
+
+	/**
+	 * @param ply
+	 *            the ply.
+	 * @return the ordinal of the card played in the ply.
+	 * @throws IllegalArgumentException
+	 *             if the ply is not played.
+	 */
+	int getPlayedCard(int ply);
+
+	/**
+	 * @param ply
+	 *            the ply.
+	 * @return the cards played before the ply.
+	 * @throws IllegalArgumentException
+	 *             if the ply is not played.
+	 */
+	int getPlayedCardSet(int ply);
+
+	/**
+	 * @param ply
+	 *            the ply.
+	 * @return the player of the ply.
+	 * @throws IllegalArgumentException
+	 *             if the ply is not played.
+	 */
+	PlayerPosition getPlayerPosition(int ply);
+
+	/**
+	 * @return the number of played cards.
+	 */
+	int getPlyCount();
+
+	/**
+	 * @param position
+	 *            the position.
+	 * @return the points of the cards the player won.
+	 */
+	int getPoints(PlayerPosition position);
+
+	/**
+	 * @return the total charge of the game, 0 if no game was played.
+	 */
+	int getTotalCharge();
+
+	/**
+	 * @return the team that won the game, null if no game was played.
+	 */
+	Team getWinnerTeam();
+}
@@ -0,0 +1,414 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.ismcts;
+
+import java.util.Arrays;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+
+/**
+ * This class implements the search tree of the information set Monte Carlo tree search on primitive arrays.<br>
+ * <br>
+ *
+ * A node is an index into the arrays, there are no node objects. The children of a node are linked by the first child and the next sibling index, the moves
+ * of all children are kept as card set. The arrays grow by doubling, if the tree is full. A second set of arrays is kept for rerooting, the kept subtree is
+ * copied into it and the two sets are swapped, so a decision does not allocate.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class InformationSetTree {
+
+	/** The index of the root node. */
+	public static final int ROOT = 0;
+	/** The index that marks a missing node. */
+	public static final int NONE = -1;
+	/** The default number of nodes the arrays are created for. */
+	public static final int DEFAULT_CAPACITY = 1 << 12;
+	/** The bytes of a node in the arrays and the spare arrays: 7 ints and a double each, and the queue. */
+	private static final int NODE_BYTES = 2 * (7 * Integer.SIZE + Double.SIZE) / Byte.SIZE + Integer.SIZE / Byte.SIZE;
+
+	/** The number of times the node was available for selection. */
+	private int[] availability;
+	/** The moves of the children as card set. */
+	private int[] childMoves;
+	/** The index of the first child. */
+	private int[] firstChild;
+	/** The ordinal of the card played to reach the node, -1 for the root. */
+	private int[] move;
+	/** The index of the next sibling. */
+	private int[] nextSibling;
+	/** The position ordinal of the player who played the move, -1 for the root. */
+	private int[] player;
+	/** The old indices of the nodes copied by a reroot. */
+	private int[] queue;
+	/** The sum of the rewards of the player who played the move. */
+	private double[] reward;
+	/** The number of nodes. */
+	private int size;
+	/** The spare availability array a reroot copies into. */
+	private int[] spareAvailability;
+	/** The spare child moves array a reroot copies into. */
+	private int[] spareChildMoves;
+	/** The spare first child array a reroot copies into. */
+	private int[] spareFirstChild;
+	/** The spare move array a reroot copies into. */
+	private int[] spareMove;
+	/** The spare next sibling array a reroot copies into. */
+	private int[] spareNextSibling;
+	/** The spare player array a reroot copies into. */
+	private int[] sparePlayer;
+	/** The spare reward array a reroot copies into. */
+	private double[] spareReward;
+	/** The spare visits array a reroot copies into. */
+	private int[] spareVisits;
+	/** The number of visits. */
+	private int[] visits;
+
+	/**
+	 * Instantiate a tree with only the root node and the {@link #DEFAULT_CAPACITY}.
+	 */
+	public InformationSetTree() {
+
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Instantiate a tree with only the root node.
+	 *
+	 * @param capacity
+	 *            the number of nodes the arrays are created for.
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive.
+	 */
+	public InformationSetTree(final int capacity) {
+
+		if (capacity <= 0) {
+			throw new IllegalArgumentException();
+		}
+		allocate(capacity);
+		allocateSpare(capacity);
+		clear();
+	}
+
+	/**
+	 * Estimate the memory of a tree, whose arrays hold the given number of nodes.
+	 *
+	 * @param nodes
+	 *            the number of nodes.
+	 * @return the memory of the arrays in bytes, they are grown by doubling from the {@link #DEFAULT_CAPACITY}.
+	 */
+	public static long getFootprint(final int nodes) {
+
+		long capacity = DEFAULT_CAPACITY;
+		while (capacity < nodes) {
+			capacity *= 2;
+		}
+		return capacity * NODE_BYTES;
+	}
+
+	/**
+	 * Add a child to a node.
+	 *
+	 * @param node
+	 *            the parent node.
+	 * @param childMove
+	 *            the ordinal of the card played to reach the child.
+	 * @param childPlayer
+	 *            the position ordinal of the player who plays the card.
+	 * @return the index of the new child.
+	 */
+	public int addChild(final int node, final int childMove, final int childPlayer) {
+
+		if (size == move.length) {
+			grow();
+		}
+		final int child = size++;
+		initialize(child, childMove, childPlayer);
+		nextSibling[child] = firstChild[node];
+		firstChild[node] = child;
+		childMoves[node] |= 1 << childMove;
+		return child;
+	}
+
+	/**
+	 * Remove all nodes but the root, the root's statistics are reset.
+	 */
+	public void clear() {
+
+		size = 1;
+		initialize(ROOT, -1, -1);
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @param childMove
+	 *            the ordinal of the card played to reach the child.
+	 * @return the child reached by the move, {@link #NONE} if there is none.
+	 */
+	public int findChild(final int node, final int childMove) {
+
+		if ((childMoves[node] & 1 << childMove) == 0) {
+			return NONE;
+		}
+		int child = firstChild[node];
+		while (move[child] != childMove) {
+			child = nextSibling[child];
+		}
+		return child;
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the number of times the node was available for selection.
+	 */
+	public int getAvailability(final int node) {
+
+		return availability[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the moves of the node's children as card set.
+	 */
+	public int getChildMoves(final int node) {
+
+		return childMoves[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the first child, {@link #NONE} if there is none.
+	 */
+	public int getFirstChild(final int node) {
+
+		return firstChild[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the ordinal of the card played to reach the node, -1 for the root.
+	 */
+	public int getMove(final int node) {
+
+		return move[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the next sibling, {@link #NONE} if there is none.
+	 */
+	public int getNextSibling(final int node) {
+
+		return nextSibling[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the position ordinal of the player who played the move, -1 for the root.
+	 */
+	public int getPlayer(final int node) {
+
+		return player[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the sum of the rewards of the player who played the move.
+	 */
+	public double getReward(final int node) {
+
+		return reward[node];
+	}
+
+	/**
+	 * @return the number of nodes.
+	 */
+	public int getSize() {
+
+		return size;
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @return the number of visits.
+	 */
+	public int getVisits(final int node) {
+
+		return visits[node];
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 */
+	public void incrementAvailability(final int node) {
+
+		++availability[node];
+	}
+
+	/**
+	 * Make a node the new root and remove all nodes that are not in its subtree. The subtree is copied to the start of the spare arrays, which then become the
+	 * arrays of the tree, so the indices of the nodes change.
+	 *
+	 * @param node
+	 *            the new root.
+	 */
+	public void reroot(final int node) {
+
+		if (node == ROOT) {
+			return;
+		}
+		if (spareMove.length != move.length) {
+			allocateSpare(move.length);
+		}
+		final int[] oldAvailability = availability;
+		final int[] oldChildMoves = childMoves;
+		final int[] oldFirstChild = firstChild;
+		final int[] oldMove = move;
+		final int[] oldNextSibling = nextSibling;
+		final int[] oldPlayer = player;
+		final double[] oldReward = reward;
+		final int[] oldVisits = visits;
+		availability = spareAvailability;
+		childMoves = spareChildMoves;
+		firstChild = spareFirstChild;
+		move = spareMove;
+		nextSibling = spareNextSibling;
+		player = sparePlayer;
+		reward = spareReward;
+		visits = spareVisits;
+		spareAvailability = oldAvailability;
+		spareChildMoves = oldChildMoves;
+		spareFirstChild = oldFirstChild;
+		spareMove = oldMove;
+		spareNextSibling = oldNextSibling;
+		sparePlayer = oldPlayer;
+		spareReward = oldReward;
+		spareVisits = oldVisits;
+		// breadth first copy, the queue are the old indices of the copied nodes
+		queue[0] = node;
+		nextSibling[ROOT] = NONE;
+		int copied = 1;
+		for (int index = 0; index < copied; ++index) {
+			final int old = queue[index];
+			availability[index] = oldAvailability[old];
+			childMoves[index] = oldChildMoves[old];
+			move[index] = oldMove[old];
+			player[index] = oldPlayer[old];
+			reward[index] = oldReward[old];
+			visits[index] = oldVisits[old];
+			firstChild[index] = NONE;
+			int previous = NONE;
+			for (int child = oldFirstChild[old]; child != NONE; child = oldNextSibling[child]) {
+				queue[copied] = child;
+				nextSibling[copied] = NONE;
+				if (previous == NONE) {
+					firstChild[index] = copied;
+				} else {
+					nextSibling[previous] = copied;
+				}
+				previous = copied++;
+			}
+		}
+		size = copied;
+		move[ROOT] = -1;
+		player[ROOT] = -1;
+	}
+
+	/**
+	 * Add a reward to a node and count the visit.
+	 *
+	 * @param node
+	 *            the node.
+	 * @param nodeReward
+	 *            the reward of the player who played the move.
+	 */
+	public void update(final int node, final double nodeReward) {
+
+		++visits[node];
+		reward[node] += nodeReward;
+	}
+
+	/**
+	 * Create new arrays of the tree.
+	 *
+	 * @param capacity
+	 *            the number of nodes.
+	 */
+	private void allocate(final int capacity) {
+
+		availability = new int[capacity];
+		childMoves = new int[capacity];
+		firstChild = new int[capacity];
+		move = new int[capacity];
+		nextSibling = new int[capacity];
+		player = new int[capacity];
+		reward = new double[capacity];
+		visits = new int[capacity];
+	}
+
+	/**
+	 * Create new spare arrays and a new queue.
+	 *
+	 * @param capacity
+	 *            the number of nodes.
+	 */
+	private void allocateSpare(final int capacity) {
+
+		queue = new int[capacity];
+		spareAvailability = new int[capacity];
+		spareChildMoves = new int[capacity];
+		spareFirstChild = new int[capacity];
+		spareMove = new int[capacity];
+		spareNextSibling = new int[capacity];
+		sparePlayer = new int[capacity];
+		spareReward = new double[capacity];
+		spareVisits = new int[capacity];
+	}
+
+	/**
+	 * Double the capacity of the arrays. The spare arrays are grown by the next {@link #reroot(int)}.
+	 */
+	private void grow() {
+
+		final int capacity = move.length * 2;
+		availability = Arrays.copyOf(availability, capacity);
+		childMoves = Arrays.copyOf(childMoves, capacity);
+		firstChild = Arrays.copyOf(firstChild, capacity);
+		move = Arrays.copyOf(move, capacity);
+		nextSibling = Arrays.copyOf(nextSibling, capacity);
+		player = Arrays.copyOf(player, capacity);
+		reward = Arrays.copyOf(reward, capacity);
+		visits = Arrays.copyOf(visits, capacity);
+	}
+
+	/**
+	 * Initialize a node without children and statistics.
+	 *
+	 * @param node
+	 *            the node.
+	 * @param nodeMove
+	 *            the ordinal of the card played to reach the node.
+	 * @param nodePlayer
+	 *            the position ordinal of the player who played the move.
+	 */
+	private void initialize(final int node, final int nodeMove, final int nodePlayer) {
+
+		availability[node] = 0;
+		childMoves[node] = CardSet.EMPTY;
+		firstChild[node] = NONE;
+		move[node] = nodeMove;
+		nextSibling[node] = NONE;
+		player[node] = nodePlayer;
+		reward[node] = 0;
+		visits[node] = 0;
+	}
+}
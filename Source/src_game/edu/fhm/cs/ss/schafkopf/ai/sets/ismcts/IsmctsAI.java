@@ -0,0 +1,133 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.ismcts;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandStrengthTable;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IMemoryFootprint;
+import edu.fhm.cs.ss.schafkopf.ai.sets.montecarlo.MonteCarloAI;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.GameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.TableGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+
+/**
+ * The ISMCTS AI plays the cards by information set Monte Carlo tree search, see {@link IsmctsSpecializedAI}. The game is chosen like the
+ * {@link MonteCarloAI} does, the games are evaluated in the common pool.<br>
+ * <br>
+ *
+ * A search tree gets one node per iteration and keeps the subtree of the last decision, so its footprint is estimated for twice the maximum number of
+ * iterations.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class IsmctsAI extends MonteCarloAI implements IMemoryFootprint {
+
+	/**
+	 * The default time budget per decision in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_BUDGET = 500;
+	/**
+	 * The default maximum number of iterations per decision.
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 20000;
+
+	/**
+	 * The maximum number of iterations per decision.
+	 */
+	private final int maxIterations;
+
+	/**
+	 * Creates an instance with the default time budget and maximum number of iterations.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 */
+	public IsmctsAI(final GameState acceptRestartGameStatus) {
+
+		this(acceptRestartGameStatus, DEFAULT_TIME_BUDGET, DEFAULT_MAX_ITERATIONS);
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @throws IllegalArgumentException
+	 *             if the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsAI(final GameState acceptRestartGameStatus, final long timeBudget, final int maxIterations) {
+
+		this(acceptRestartGameStatus, timeBudget, maxIterations, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates an instance with the given parameters, the cards are played reproducibly from the seed, see {@link IsmctsSpecializedAI}.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param seed
+	 *            the seed the random generators of the card decisions are derived from.
+	 * @throws IllegalArgumentException
+	 *             if the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsAI(final GameState acceptRestartGameStatus, final long timeBudget, final int maxIterations, final long seed) {
+
+		this(acceptRestartGameStatus, timeBudget, maxIterations, new GameEvaluator(ForkJoinPool.commonPool()), seed);
+	}
+
+	/**
+	 * Creates an instance with the given parameters, that looks up the games to choose in a hand strength table.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param table
+	 *            the hand strength table, the games it does not contain are evaluated by sampling.
+	 * @throws IllegalArgumentException
+	 *             if the table is null or the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsAI(final GameState acceptRestartGameStatus, final long timeBudget, final int maxIterations, final IHandStrengthTable table) {
+
+		this(acceptRestartGameStatus, timeBudget, maxIterations, new TableGameEvaluator(table, new GameEvaluator(ForkJoinPool.commonPool())), new SplittableRandom()
+				.nextLong());
+	}
+
+	/**
+	 * Creates an instance with the given parameters, the specialized AIs share the evaluator.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @param seed
+	 *            the seed the random generators of the card decisions are derived from.
+	 */
+	private IsmctsAI(final GameState acceptRestartGameStatus, final long timeBudget, final int maxIterations, final IGameEvaluator evaluator, final long seed) {
+
+		super(acceptRestartGameStatus, new IsmctsSpecializedAIFactory(timeBudget, maxIterations, evaluator, seed), evaluator);
+		this.maxIterations = maxIterations;
+	}
+
+	@Override
+	public long getMemoryFootprint() {
+
+		return InformationSetTree.getFootprint(2 * maxIterations + 1);
+	}
+}
@@ -0,0 +1,360 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.ismcts;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandSampler;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.sets.montecarlo.MonteCarloSpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.sets.random.RandomSpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.DoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.HandSampler;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This specialized AI chooses the card by single observer information set Monte Carlo tree search.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - Every iteration deals the unknown cards by a {@link HandSampler} and walks down the {@link InformationSetTree} with the moves that are legal in this
+ * deal. A child is selected by the upper confidence bound, its exploration term counts how often the child was available instead of how often the parent
+ * was visited. The first untried move is expanded and the game is finished by random moves.<br>
+ * - The reward of a node is half a point for the win of the team of the player who played the move, plus half the points of the team divided by 120.<br>
+ * - The search stops at the deadline or after the maximum number of iterations, at least one iteration is run. The most visited card is chosen.<br>
+ * - The tree is kept between the decisions of a game. The subtree reached by the cards played since the last decision becomes the new root.<br>
+ * - The random number generator of a decision is derived from the seed of the AI, the player's position and the state version of the game data like the
+ * {@link RandomSpecializedAI} does. If the maximum number of iterations is reached before the deadline, the decisions are reproducible from the seed.<br>
+ * - Striking and striking back is decided by the given {@link IGameEvaluator} like the {@link MonteCarloSpecializedAI} does. Inside the search nobody
+ * strikes.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class IsmctsSpecializedAI implements ISpecializedAI {
+
+	/**
+	 * The exploration constant of the upper confidence bound.
+	 */
+	public static final double EXPLORATION = 0.7;
+	/**
+	 * The maximum number of moves from the root to a leaf.
+	 */
+	private static final int MAX_DEPTH = 32;
+
+	/**
+	 * The evaluator of the games.
+	 */
+	private final IGameEvaluator evaluator;
+	/**
+	 * The first player of the round of the last decision.
+	 */
+	private PlayerPosition lastDecisionsFirstPlayer;
+	/**
+	 * The round number of the last decision, -1 if there was none.
+	 */
+	private int lastDecisionsRoundNumber;
+	/**
+	 * The maximum number of iterations per decision.
+	 */
+	private final int maxIterations;
+	/**
+	 * The seed the random generators for the deals, the expansions and the playouts are derived from.
+	 */
+	private final long seed;
+	/**
+	 * The time budget per decision in milliseconds.
+	 */
+	private final long timeBudget;
+	/**
+	 * The search tree, its root is the state of the last decision.
+	 */
+	private final InformationSetTree tree;
+
+	/**
+	 * Creates an instance with the given parameters and a random seed.
+	 *
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @throws IllegalArgumentException
+	 *             if the evaluator is null or the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsSpecializedAI(final long timeBudget, final int maxIterations, final IGameEvaluator evaluator) {
+
+		this(timeBudget, maxIterations, evaluator, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @param seed
+	 *            the seed the random generators of the decisions are derived from.
+	 * @throws IllegalArgumentException
+	 *             if the evaluator is null or the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsSpecializedAI(final long timeBudget, final int maxIterations, final IGameEvaluator evaluator, final long seed) {
+
+		if (evaluator == null || timeBudget <= 0 || maxIterations <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.timeBudget = timeBudget;
+		this.maxIterations = maxIterations;
+		this.evaluator = evaluator;
+		this.seed = seed;
+		this.tree = new InformationSetTree();
+		this.lastDecisionsRoundNumber = -1;
+		this.lastDecisionsFirstPlayer = null;
+	}
+
+	/**
+	 * Choose a random card of a card set.
+	 *
+	 * @param cards
+	 *            the card set, not empty.
+	 * @param random
+	 *            the random generator.
+	 * @return the ordinal of the chosen card.
+	 */
+	private static int randomMove(final int cards, final SplittableRandom random) {
+
+		int rest = cards;
+		for (int skip = random.nextInt(CardSet.size(cards)); skip > 0; --skip) {
+			rest &= rest - 1;
+		}
+		return CardSet.first(rest);
+	}
+
+	/**
+	 * Resolve a pending strike decision, nobody strikes.
+	 *
+	 * @param state
+	 *            the state.
+	 */
+	private static void skipStrikes(final SearchState state) {
+
+		if (state.getGameState() == GameState.STRIKE) {
+			state.strike(false);
+		}
+		if (state.getGameState() == GameState.STRIKEBACK) {
+			state.strikeBack(false);
+		}
+	}
+
+	@Override
+	public ICard getBestCard(final IRestrictedPlayerUtils playerUtils) {
+
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final int available = playerUtils.getAvailableCardSet();
+		final PlayerPosition lastRoundsFirstPlayer = lastDecisionsRoundNumber == gameData.getRoundNumber() - 1 ? lastDecisionsFirstPlayer : null;
+		advanceRoot(gameData, lastRoundsFirstPlayer);
+		ICard bestCard = null;
+		if (CardSet.size(available) == 1) {
+			bestCard = CardSet.card(CardSet.first(available));
+		} else if (available != CardSet.EMPTY) {
+			final int[] hands = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+			hands[gameData.getPointOfViewPosition().ordinal()] = playerUtils.getPovPlayerData().getCurrentHandSet();
+			search(new SearchState(gameData, hands), new HandSampler(playerUtils), RandomSpecializedAI.getDecisionRandom(seed, playerUtils));
+			int bestNode = InformationSetTree.NONE;
+			for (int child = tree.getFirstChild(InformationSetTree.ROOT); child != InformationSetTree.NONE; child = tree.getNextSibling(child)) {
+				if ((available & 1 << tree.getMove(child)) != 0 && (bestNode == InformationSetTree.NONE || tree.getVisits(child) > tree.getVisits(bestNode))) {
+					bestNode = child;
+				}
+			}
+			bestCard = CardSet.card(bestNode == InformationSetTree.NONE ? CardSet.first(available) : tree.getMove(bestNode));
+		}
+		lastDecisionsRoundNumber = gameData.getRoundNumber();
+		lastDecisionsFirstPlayer = gameData.getRoundsFirstPlayerPosition();
+		return bestCard;
+	}
+
+	@Override
+	public boolean strike(final IRestrictedPlayerUtils playerUtils) {
+
+		return playerUtils.isAllowedToStrike() && evaluator.evaluateCurrentGame(playerUtils).getLowerBound() > 0;
+	}
+
+	@Override
+	public boolean strikeBack(final IRestrictedPlayerUtils playerUtils) {
+
+		return playerUtils.isAllowedToStrikeBack() && evaluator.evaluateCurrentGame(playerUtils).getLowerBound() > 0;
+	}
+
+	/**
+	 * Move the root of the tree along the cards played since the last decision. The tree is cleared, if the cards are unknown or were not searched.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @param lastRoundsFirstPlayer
+	 *            the first player of the last round, null if the last decision was not in the last round.
+	 */
+	private void advanceRoot(final IRestrictedGameData gameData, final PlayerPosition lastRoundsFirstPlayer) {
+
+		final Map<PlayerPosition, ICard> lastRoundsPlayedCards = gameData.getLastRoundsPlayedCards();
+		if (lastRoundsFirstPlayer == null || lastRoundsPlayedCards == null) {
+			tree.clear();
+			return;
+		}
+		final PlayerPosition ownPosition = gameData.getPointOfViewPosition();
+		int node = InformationSetTree.ROOT;
+		// the rest of the last round, starting with the own card
+		PlayerPosition position = ownPosition;
+		do {
+			node = followCard(node, lastRoundsPlayedCards.get(position));
+			position = position.getNext();
+		} while (node != InformationSetTree.NONE && position != lastRoundsFirstPlayer);
+		// the current round up to the own card
+		position = gameData.getRoundsFirstPlayerPosition();
+		while (node != InformationSetTree.NONE && position != ownPosition) {
+			node = followCard(node, gameData.getRestrictedPlayerDatas().get(position).getPlayedCard());
+			position = position.getNext();
+		}
+		if (node == InformationSetTree.NONE) {
+			tree.clear();
+		} else {
+			tree.reroot(node);
+		}
+	}
+
+	/**
+	 * Count the availability of every child with a legal move. It is counted at selection and at expansion, so the bound of a child reflects every
+	 * iteration the child could have been played in.
+	 *
+	 * @param node
+	 *            the parent node.
+	 * @param legal
+	 *            the legal moves.
+	 */
+	private void countAvailability(final int node, final int legal) {
+
+		for (int child = tree.getFirstChild(node); child != InformationSetTree.NONE; child = tree.getNextSibling(child)) {
+			if ((legal & 1 << tree.getMove(child)) != 0) {
+				tree.incrementAvailability(child);
+			}
+		}
+	}
+
+	/**
+	 * @param node
+	 *            the node.
+	 * @param card
+	 *            the played card, may be null.
+	 * @return the child reached by the card, {@link InformationSetTree#NONE} if there is none.
+	 */
+	private int followCard(final int node, final ICard card) {
+
+		return card == null ? InformationSetTree.NONE : tree.findChild(node, card.getOrdinal());
+	}
+
+	/**
+	 * Run one iteration: deal, select, expand, play out and propagate the rewards back.
+	 *
+	 * @param state
+	 *            the dealt state, it is played to the end.
+	 * @param path
+	 *            the buffer for the visited nodes.
+	 * @param random
+	 *            the random generator of the decision.
+	 */
+	private void iterate(final SearchState state, final int[] path, final SplittableRandom random) {
+
+		int depth = 0;
+		int node = InformationSetTree.ROOT;
+		boolean expanded = false;
+		skipStrikes(state);
+		while (!expanded && state.getGameState() == GameState.PLAY) {
+			final int legal = state.getLegalMoves();
+			final int untried = legal & ~tree.getChildMoves(node);
+			if (untried != CardSet.EMPTY) {
+				final int move = randomMove(untried, random);
+				final int parent = node;
+				node = tree.addChild(parent, move, state.getPlayerOnTurnPosition().ordinal());
+				countAvailability(parent, legal);
+				expanded = true;
+			} else {
+				node = select(node, legal);
+			}
+			path[depth++] = node;
+			state.play(tree.getMove(node));
+			skipStrikes(state);
+		}
+		// random playout
+		while (state.getGameState() == GameState.PLAY) {
+			state.play(randomMove(state.getLegalMoves(), random));
+			skipStrikes(state);
+		}
+		final int playerTeamPoints = state.getTeamPoints(Team.PLAYER_TEAM);
+		final boolean playerTeamWins = state.getWinnerTeam() == Team.PLAYER_TEAM;
+		final PlayerPosition[] positions = PlayerPosition.values();
+		for (int i = 0; i < depth; ++i) {
+			final boolean playerTeam = state.isPlayerTeam(positions[tree.getPlayer(path[i])]);
+			final int points = playerTeam ? playerTeamPoints : DoubleDummySolver.TOTAL_POINTS - playerTeamPoints;
+			tree.update(path[i], (playerTeam == playerTeamWins ? 0.5 : 0) + 0.5 * points / DoubleDummySolver.TOTAL_POINTS);
+		}
+	}
+
+	/**
+	 * Run iterations until the deadline or the maximum number of iterations is reached.
+	 *
+	 * @param template
+	 *            the state the dealt states are copied from.
+	 * @param sampler
+	 *            the sampler of the deals.
+	 * @param random
+	 *            the random generator of the decision.
+	 */
+	private void search(final SearchState template, final IHandSampler sampler, final SplittableRandom random) {
+
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+		final int[] path = new int[MAX_DEPTH];
+		int iteration = 0;
+		do {
+			iterate(new SearchState(template, sampler.sample(random)), path, random);
+		} while (++iteration < maxIterations && System.nanoTime() < deadline);
+	}
+
+	/**
+	 * Select the child with the best upper confidence bound among the legal moves, all of them must have been tried. The availability of every legal child
+	 * is counted first.
+	 *
+	 * @param node
+	 *            the parent node.
+	 * @param legal
+	 *            the legal moves.
+	 * @return the selected child.
+	 */
+	private int select(final int node, final int legal) {
+
+		countAvailability(node, legal);
+		int bestChild = InformationSetTree.NONE;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int child = tree.getFirstChild(node); child != InformationSetTree.NONE; child = tree.getNextSibling(child)) {
+			if ((legal & 1 << tree.getMove(child)) != 0) {
+				final int visits = tree.getVisits(child);
+				final double value = tree.getReward(child) / visits + EXPLORATION * Math.sqrt(Math.log(tree.getAvailability(child)) / visits);
+				if (value > bestValue) {
+					bestChild = child;
+					bestValue = value;
+				}
+			}
+		}
+		return bestChild;
+	}
+}
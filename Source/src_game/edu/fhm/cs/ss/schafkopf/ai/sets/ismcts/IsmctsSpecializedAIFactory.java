@@ -0,0 +1,86 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.ismcts;
+
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAIFactory;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+
+/**
+ * A Factory returning Instances of {@link IsmctsSpecializedAI}, that all share the same parameters.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class IsmctsSpecializedAIFactory implements ISpecializedAIFactory {
+
+	/**
+	 * The evaluator of the games.
+	 */
+	private final IGameEvaluator evaluator;
+	/**
+	 * The maximum number of iterations per decision.
+	 */
+	private final int maxIterations;
+	/**
+	 * The seed shared by the created AIs.
+	 */
+	private final long seed;
+	/**
+	 * The time budget per decision in milliseconds.
+	 */
+	private final long timeBudget;
+
+	/**
+	 * Creates a factory with the given parameters and a random seed.
+	 *
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @throws IllegalArgumentException
+	 *             if the evaluator is null or the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsSpecializedAIFactory(final long timeBudget, final int maxIterations, final IGameEvaluator evaluator) {
+
+		this(timeBudget, maxIterations, evaluator, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates a factory with the given parameters. The created AIs share the seed, so creating another AI does not change the decisions.
+	 *
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param maxIterations
+	 *            the maximum number of iterations per decision.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @param seed
+	 *            the seed the random generators of the decisions are derived from.
+	 * @throws IllegalArgumentException
+	 *             if the evaluator is null or the time budget or the maximum number of iterations is not positive.
+	 */
+	public IsmctsSpecializedAIFactory(final long timeBudget, final int maxIterations, final IGameEvaluator evaluator, final long seed) {
+
+		if (evaluator == null || timeBudget <= 0 || maxIterations <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.timeBudget = timeBudget;
+		this.maxIterations = maxIterations;
+		this.evaluator = evaluator;
+		this.seed = seed;
+	}
+
+	@Override
+	public ISpecializedAI getAI(final GameType gameType) {
+
+		if (gameType == null) {
+			return null;
+		}
+		return new IsmctsSpecializedAI(timeBudget, maxIterations, evaluator, seed);
+	}
+
+}
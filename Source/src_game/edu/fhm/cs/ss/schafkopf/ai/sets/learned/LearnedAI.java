@@ -0,0 +1,241 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.learned;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.baseclasses.BaseAI;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationFeatures;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.ExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * The learned AI takes its decisions from an {@link IEvaluationModel}, see {@link LearnedSpecializedAI} for the cards. The game is chosen by the expected
+ * result of the win probability: the allowed game with the best expected result is played, if it is positive. An exclusive game is only played, if the
+ * {@link ExclusiveGameProver} proves that it is won for sure, then it is chosen without evaluation. The AI raises, if a game that is not exclusive is won
+ * with at least {@link #RAISE_PROBABILITY} with the cards known so far.<br>
+ * <br>
+ *
+ * The model of the default constructor is loaded from {@link EvaluationModel#DEFAULT_PATH} by the first instance, that loads it successfully. If the file can
+ * not be loaded, the default constructor fails, no AI is created with an untrained model.<br>
+ * <br>
+ *
+ * No trained model is shipped, so this AI can not be used until one is trained: generate self play data with the {@link
+ * edu.fhm.cs.ss.schafkopf.application.SelfPlayApplication} and train the model into {@link EvaluationModel#DEFAULT_PATH} with the {@link
+ * edu.fhm.cs.ss.schafkopf.application.EvaluationTrainingApplication}. Until then every selection of this AI by its class, like in the tournaments, the tests or
+ * the self play, fails with an {@link IllegalStateException}. Use {@link #isDefaultModelAvailable()} to check it before.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class LearnedAI extends BaseAI {
+
+	/**
+	 * The win probability of a game, the AI raises with.
+	 */
+	public static final float RAISE_PROBABILITY = 0.75f;
+	/**
+	 * All colors.
+	 */
+	private static final List<CardColor> COLORS = Arrays.asList(CardColor.values());
+	/**
+	 * The colors of a game without color.
+	 */
+	private static final List<CardColor> NO_COLOR = Collections.singletonList(null);
+	/**
+	 * The model loaded from the default path, shared by all AIs of the default constructor. Null until it is loaded.
+	 */
+	private static IEvaluationModel defaultModel;
+
+	/**
+	 * The feature buffer of the decisions.
+	 */
+	private final EvaluationFeatures features;
+	/**
+	 * The model evaluating the decisions.
+	 */
+	private final IEvaluationModel model;
+	/**
+	 * The prover of the exclusive games.
+	 */
+	private final IExclusiveGameProver prover;
+
+	/**
+	 * Creates an instance with the model of the default path.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @throws IllegalStateException
+	 *             if the model can not be loaded from {@link EvaluationModel#DEFAULT_PATH}.
+	 */
+	public LearnedAI(final GameState acceptRestartGameStatus) {
+
+		this(acceptRestartGameStatus, getDefaultModel());
+	}
+
+	/**
+	 * Creates an instance with the given model.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param model
+	 *            the model evaluating the decisions, it may be shared by all threads.
+	 * @throws IllegalArgumentException
+	 *             if the model is null.
+	 */
+	public LearnedAI(final GameState acceptRestartGameStatus, final IEvaluationModel model) {
+
+		this(acceptRestartGameStatus, model, new EvaluationFeatures());
+	}
+
+	/**
+	 * Creates an instance with the given parameters, the specialized AIs share the feature buffer.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param model
+	 *            the model evaluating the decisions.
+	 * @param features
+	 *            the feature buffer of the decisions.
+	 */
+	private LearnedAI(final GameState acceptRestartGameStatus, final IEvaluationModel model, final EvaluationFeatures features) {
+
+		super(acceptRestartGameStatus, new LearnedSpecializedAIFactory(model, features));
+		this.model = model;
+		this.features = features;
+		this.prover = new ExclusiveGameProver();
+	}
+
+	/**
+	 * Get the model of the default path, it is loaded by the first call.
+	 *
+	 * @return the loaded model.
+	 * @throws IllegalStateException
+	 *             if the file can not be loaded, the message names the path and the reason.
+	 */
+	private static synchronized IEvaluationModel getDefaultModel() {
+
+		if (defaultModel == null) {
+			try {
+				defaultModel = EvaluationModel.load(EvaluationModel.DEFAULT_PATH);
+			} catch (final IOException e) {
+				throw new IllegalStateException("The evaluation model " + EvaluationModel.DEFAULT_PATH + " can not be loaded: " + e.getMessage(), e);
+			}
+		}
+		return defaultModel;
+	}
+
+	/**
+	 * @param playerUtils
+	 *            the player utilities.
+	 * @return the seat of the player relative to the game's first player.
+	 */
+	private static int getSeat(final IRestrictedPlayerUtils playerUtils) {
+
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final PlayerPosition firstPlayer = gameData.getGamesFirstPlayerPosition();
+		if (firstPlayer == null) {
+			return 0;
+		}
+		return (gameData.getPointOfViewPosition().ordinal() - firstPlayer.ordinal() + IRestrictedGameData.NUMBER_OF_PLAYERS)
+				% IRestrictedGameData.NUMBER_OF_PLAYERS;
+	}
+
+	/**
+	 * Check if the model of the default path can be loaded, so the default constructor can create an AI. The model is loaded by the first successful call.
+	 *
+	 * @return true if the model is trained and can be loaded from {@link EvaluationModel#DEFAULT_PATH}.
+	 */
+	public static boolean isDefaultModelAvailable() {
+
+		try {
+			getDefaultModel();
+			return true;
+		} catch (final IllegalStateException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public IBasicGameData getBestGame(final IRestrictedPlayerUtils playerUtils) {
+
+		// update Flag is set each new game, when the player calls this method.
+		setUpdateFlag();
+		if (playerUtils.hasSi() && playerUtils.isAllowedToChooseGame(GameType.SI, null)) {
+			return new BasicGameData(GameType.SI, null);
+		}
+		final IBasicGameData sureGame = prover.getSureGame(playerUtils);
+		if (sureGame != null) {
+			return sureGame;
+		}
+		features.setGameState(playerUtils.getPovPlayerData().getCurrentHandSet(), getSeat(playerUtils));
+		final IGameSettings gameSettings = playerUtils.getRestrictedGameData().getGameSettings();
+		GameType bestType = GameType.PASS;
+		CardColor bestColor = null;
+		float bestResult = 0;
+		for (final GameType gameType : playerUtils.getAvailableGameTypes()) {
+			// the exclusive games, that are not proven, are lost too often
+			if (gameType.isExclusive || gameType == GameType.PASS || gameType == GameType.SI) {
+				continue;
+			}
+			// the lead player wins or loses the basic charge, the solo multiplier is regarded
+			final int basic = gameType.isPartnerGame ? gameSettings.getBasicCharge() : gameSettings.getBasicCharge() * gameSettings.getSoloMultiplier();
+			for (final CardColor color : gameType.needsColor ? playerUtils.getAvailableColors(gameType) : NO_COLOR) {
+				if (!playerUtils.isAllowedToChooseGame(gameType, color)) {
+					continue;
+				}
+				final float result = (2 * getWinProbability(gameType, color) - 1) * basic;
+				if (result > bestResult) {
+					bestType = gameType;
+					bestColor = color;
+					bestResult = result;
+				}
+			}
+		}
+		return new BasicGameData(bestType, bestColor);
+	}
+
+	@Override
+	public boolean raise(final IRestrictedPlayerUtils playerUtils) {
+
+		if (!playerUtils.isAllowedToRaise()) {
+			return false;
+		}
+		features.setGameState(playerUtils.getPovPlayerData().getCurrentHandSet(), getSeat(playerUtils));
+		for (final GameType gameType : GameType.values()) {
+			if (gameType.isExclusive || gameType == GameType.PASS || gameType == GameType.SI) {
+				continue;
+			}
+			for (final CardColor color : gameType.needsColor ? COLORS : NO_COLOR) {
+				if (getWinProbability(gameType, color) >= RAISE_PROBABILITY) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, may be null.
+	 * @return the win probability of the game in the current state of the game decision.
+	 */
+	private float getWinProbability(final GameType gameType, final CardColor color) {
+
+		return EvaluationModel.probability(model.getGameScore(features.getFeatures(), features.extractGame(gameType, color)));
+	}
+}
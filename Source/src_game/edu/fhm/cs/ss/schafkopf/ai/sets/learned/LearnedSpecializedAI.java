@@ -0,0 +1,79 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.learned;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationFeatures;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This specialized AI plays the allowed card with the best score of the model. The features are extracted into the shared buffer, so a decision creates no
+ * objects. The AI does not strike and does not strike back.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class LearnedSpecializedAI implements ISpecializedAI {
+
+	/**
+	 * The feature buffer of the decisions.
+	 */
+	private final EvaluationFeatures features;
+	/**
+	 * The model evaluating the decisions.
+	 */
+	private final IEvaluationModel model;
+
+	/**
+	 * Instantiate the AI with the given parameters.
+	 *
+	 * @param model
+	 *            the model evaluating the decisions.
+	 * @param features
+	 *            the feature buffer of the decisions, that must not be used by another thread.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null.
+	 */
+	public LearnedSpecializedAI(final IEvaluationModel model, final EvaluationFeatures features) {
+
+		if (model == null || features == null) {
+			throw new IllegalArgumentException();
+		}
+		this.model = model;
+		this.features = features;
+	}
+
+	@Override
+	public ICard getBestCard(final IRestrictedPlayerUtils playerUtils) {
+
+		final int allowed = playerUtils.getAvailableCardSet();
+		if (allowed == CardSet.EMPTY) {
+			return null;
+		}
+		features.setPlayState(playerUtils);
+		int best = CardSet.first(allowed);
+		float bestScore = Float.NEGATIVE_INFINITY;
+		for (int rest = allowed; rest != 0; rest &= rest - 1) {
+			final int card = CardSet.first(rest);
+			final float score = model.getCardScore(features.getFeatures(), features.extractCard(card));
+			if (score > bestScore) {
+				best = card;
+				bestScore = score;
+			}
+		}
+		return CardSet.card(best);
+	}
+
+	@Override
+	public boolean strike(final IRestrictedPlayerUtils playerUtils) {
+
+		return false;
+	}
+
+	@Override
+	public boolean strikeBack(final IRestrictedPlayerUtils playerUtils) {
+
+		return false;
+	}
+}
@@ -0,0 +1,54 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.learned;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAIFactory;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationFeatures;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+
+/**
+ * A Factory returning Instances of {@link LearnedSpecializedAI}, that all share the same model and feature buffer.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class LearnedSpecializedAIFactory implements ISpecializedAIFactory {
+
+	/**
+	 * The feature buffer of the decisions.
+	 */
+	private final EvaluationFeatures features;
+	/**
+	 * The model evaluating the decisions.
+	 */
+	private final IEvaluationModel model;
+
+	/**
+	 * Creates a factory with the given parameters.
+	 *
+	 * @param model
+	 *            the model evaluating the decisions.
+	 * @param features
+	 *            the feature buffer of the decisions, that must not be used by another thread.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null.
+	 */
+	public LearnedSpecializedAIFactory(final IEvaluationModel model, final EvaluationFeatures features) {
+
+		if (model == null || features == null) {
+			throw new IllegalArgumentException();
+		}
+		this.model = model;
+		this.features = features;
+	}
+
+	@Override
+	public ISpecializedAI getAI(final GameType gameType) {
+
+		if (gameType == null) {
+			return null;
+		}
+		return new LearnedSpecializedAI(model, features);
+	}
+
+}
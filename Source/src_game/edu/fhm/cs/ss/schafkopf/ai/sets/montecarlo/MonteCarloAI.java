@@ -0,0 +1,269 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.montecarlo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.fhm.cs.ss.schafkopf.ai.baseclasses.BaseAI;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluation;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandStrengthTable;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAIFactory;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.ExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.GameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.TableGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * The Monte Carlo AI plays the cards by perfect information Monte Carlo sampling, see {@link MonteCarloSpecializedAI}. The game is chosen by a
+ * {@link GameEvaluator}: the allowed game with the best expected result is played, if it is positive. An exclusive game is only played, if the
+ * {@link ExclusiveGameProver} proves that it is won for sure, then it is chosen without evaluation. The AI raises, if the best game that is not exclusive is
+ * expected to win money for sure, regarding the confidence margin of the evaluator.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class MonteCarloAI extends BaseAI {
+
+	/**
+	 * The default number of sampled distributions per decision.
+	 */
+	public static final int DEFAULT_SAMPLE_COUNT = 48;
+	/**
+	 * The default time budget per decision in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_BUDGET = 1000;
+	/**
+	 * The pool shared by all Monte Carlo AIs, that do not get their own pool.
+	 */
+	private static final ForkJoinPool DEFAULT_POOL = new ForkJoinPool();
+
+	/**
+	 * The evaluator of the games.
+	 */
+	private final IGameEvaluator evaluator;
+	/**
+	 * The prover of the exclusive games.
+	 */
+	private final IExclusiveGameProver prover;
+
+	/**
+	 * Creates an instance with the default sample count, time budget and pool.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 */
+	public MonteCarloAI(final GameState acceptRestartGameStatus) {
+
+		this(acceptRestartGameStatus, DEFAULT_SAMPLE_COUNT, DEFAULT_TIME_BUDGET);
+	}
+
+	/**
+	 * Creates an instance with the given sample count and time budget, that shares the default pool.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @throws IllegalArgumentException
+	 *             if the sample count or the time budget is not positive.
+	 */
+	public MonteCarloAI(final GameState acceptRestartGameStatus, final int sampleCount, final long timeBudget) {
+
+		this(acceptRestartGameStatus, sampleCount, timeBudget, DEFAULT_POOL);
+	}
+
+	/**
+	 * Creates an instance with the given sample count and time budget, that shares the default pool and looks up the games to choose in a hand strength
+	 * table.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param table
+	 *            the hand strength table, the games it does not contain are evaluated by sampling.
+	 * @throws IllegalArgumentException
+	 *             if the table is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloAI(final GameState acceptRestartGameStatus, final int sampleCount, final long timeBudget, final IHandStrengthTable table) {
+
+		this(acceptRestartGameStatus, sampleCount, timeBudget, DEFAULT_POOL, new TableGameEvaluator(table, new GameEvaluator(DEFAULT_POOL)), new SplittableRandom()
+				.nextLong());
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @throws IllegalArgumentException
+	 *             if the pool is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloAI(final GameState acceptRestartGameStatus, final int sampleCount, final long timeBudget, final ForkJoinPool pool) {
+
+		this(acceptRestartGameStatus, sampleCount, timeBudget, pool, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates an instance with the given parameters, the cards are played reproducibly from the seed, see {@link MonteCarloSpecializedAI}.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @param seed
+	 *            the seed the random number generators of the card decisions are derived from.
+	 * @throws IllegalArgumentException
+	 *             if the pool is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloAI(final GameState acceptRestartGameStatus, final int sampleCount, final long timeBudget, final ForkJoinPool pool, final long seed) {
+
+		this(acceptRestartGameStatus, sampleCount, timeBudget, pool, new GameEvaluator(pool), seed);
+	}
+
+	/**
+	 * Creates an instance with the given factory and evaluator. Used by AIs that choose the game the same way, but play the cards with other specialized
+	 * AIs.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param specializedAiFactory
+	 *            the factory.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @throws IllegalArgumentException
+	 *             if the factory or the evaluator is null.
+	 */
+	protected MonteCarloAI(final GameState acceptRestartGameStatus, final ISpecializedAIFactory specializedAiFactory, final IGameEvaluator evaluator) {
+
+		super(acceptRestartGameStatus, specializedAiFactory);
+		if (evaluator == null) {
+			throw new IllegalArgumentException();
+		}
+		this.evaluator = evaluator;
+		this.prover = new ExclusiveGameProver();
+	}
+
+	/**
+	 * Creates an instance with the given parameters, the specialized AIs share the evaluator.
+	 *
+	 * @param acceptRestartGameStatus
+	 *            the accept state.
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @param seed
+	 *            the seed the random number generators of the card decisions are derived from.
+	 */
+	private MonteCarloAI(final GameState acceptRestartGameStatus, final int sampleCount, final long timeBudget, final ForkJoinPool pool,
+			final IGameEvaluator evaluator, final long seed) {
+
+		this(acceptRestartGameStatus, new MonteCarloSpecializedAIFactory(sampleCount, timeBudget, pool, evaluator, seed), evaluator);
+	}
+
+	/**
+	 * @param evaluations
+	 *            the evaluations.
+	 * @return the evaluation with the best expected result, null if there is none.
+	 */
+	private static IGameEvaluation getBestEvaluation(final List<IGameEvaluation> evaluations) {
+
+		IGameEvaluation best = null;
+		for (final IGameEvaluation evaluation : evaluations) {
+			if (best == null || evaluation.getExpectedResult() > best.getExpectedResult()) {
+				best = evaluation;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return all games that are not exclusive and need no special hand, the games are not checked to be allowed.
+	 */
+	private static List<IBasicGameData> getRaisingGames() {
+
+		final List<IBasicGameData> games = new ArrayList<IBasicGameData>();
+		for (final GameType gameType : GameType.values()) {
+			if (gameType.isExclusive || gameType == GameType.PASS) {
+				continue;
+			}
+			if (gameType.needsColor) {
+				for (final CardColor color : CardColor.values()) {
+					games.add(new BasicGameData(gameType, color));
+				}
+			} else {
+				games.add(new BasicGameData(gameType, null));
+			}
+		}
+		return games;
+	}
+
+	@Override
+	public IBasicGameData getBestGame(final IRestrictedPlayerUtils playerUtils) {
+
+		// update Flag is set each new game, when the player calls this method.
+		setUpdateFlag();
+		if (playerUtils.hasSi() && playerUtils.isAllowedToChooseGame(GameType.SI, null)) {
+			return new BasicGameData(GameType.SI, null);
+		}
+		final IBasicGameData sureGame = prover.getSureGame(playerUtils);
+		if (sureGame != null) {
+			return sureGame;
+		}
+		final List<IBasicGameData> games = new ArrayList<IBasicGameData>();
+		for (final GameType gameType : playerUtils.getAvailableGameTypes()) {
+			// the exclusive games, that are not proven, are lost too often
+			if (gameType.isExclusive || gameType == GameType.PASS || gameType == GameType.SI) {
+				continue;
+			}
+			if (gameType.needsColor) {
+				for (final CardColor color : playerUtils.getAvailableColors(gameType)) {
+					if (playerUtils.isAllowedToChooseGame(gameType, color)) {
+						games.add(new BasicGameData(gameType, color));
+					}
+				}
+			} else if (playerUtils.isAllowedToChooseGame(gameType, null)) {
+				games.add(new BasicGameData(gameType, null));
+			}
+		}
+		final IGameEvaluation best = games.isEmpty() ? null : getBestEvaluation(evaluator.evaluateGames(playerUtils, games));
+		return best == null || best.getExpectedResult() <= 0 ? new BasicGameData(GameType.PASS, null) : best.getGame();
+	}
+
+	@Override
+	public boolean raise(final IRestrictedPlayerUtils playerUtils) {
+
+		if (!playerUtils.isAllowedToRaise()) {
+			return false;
+		}
+		final IGameEvaluation best = getBestEvaluation(evaluator.evaluateGames(playerUtils, getRaisingGames()));
+		return best != null && best.getLowerBound() > 0;
+	}
+}
@@ -0,0 +1,330 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.montecarlo;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEndgameCache;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandSampler;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.sets.random.RandomSpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.DoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EndgameCache;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.HandSampler;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This specialized AI chooses the card by perfect information Monte Carlo sampling.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The unknown cards are distributed to the other players by a {@link HandSampler}.<br>
+ * - Every sampled distribution is solved with a {@link DoubleDummySolver}. If the hand contains at most {@link #EXACT_HAND_SIZE} cards, the exact points
+ * after every move are solved, otherwise only if the own team wins. The card with the best sum over all samples is chosen.<br>
+ * - Cards with the same sum are told apart by the points they carry into the current trick: a card's points count for it, if its team holds the trick
+ * after the card, otherwise against it. The holder of the trick is taken from every sample, since only the sample knows all teams.<br>
+ * - The samples are drawn from a random number generator derived from the seed of the AI, the player's position and the state version of the game data
+ * like the {@link RandomSpecializedAI} does. Without a deadline abort the decisions are reproducible from the seed.<br>
+ * - The samples are evaluated by a fork join task in the given pool, every thread of the pool uses its own solver. No further samples are started, when
+ * the time budget is exceeded. At least one sample is always evaluated.<br>
+ * - The solvers of all threads share an {@link EndgameCache}, so the last rounds of the samples are solved only once.<br>
+ * - Striking and striking back is decided by the given {@link IGameEvaluator}: the AI strikes, if it is expected to win money for sure, regarding the
+ * confidence margin of the evaluator.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class MonteCarloSpecializedAI implements ISpecializedAI {
+
+	/**
+	 * The maximum number of cards in the hand, for which the exact points are solved.
+	 */
+	public static final int EXACT_HAND_SIZE = 5;
+	/**
+	 * The index of the number of evaluated samples in the scores.
+	 */
+	private static final int SAMPLE_COUNT_INDEX = 2 * IStackHandler.NUMBER_OF_CARDS;
+	/**
+	 * The number of bits of the transposition table index of the solvers.
+	 */
+	private static final int SOLVER_TABLE_BITS = 18;
+	/**
+	 * The score of a move that wins the game, it dominates the points.
+	 */
+	private static final long WIN_SCORE = 1000;
+	/**
+	 * The cache of the endgame positions shared by the solvers of all threads.
+	 */
+	private static final IEndgameCache ENDGAME_CACHE = new EndgameCache();
+	/**
+	 * The solvers of the threads, they keep their transposition tables between the samples.
+	 */
+	private static final ThreadLocal<IDoubleDummySolver> SOLVERS = new ThreadLocal<IDoubleDummySolver>() {
+
+		@Override
+		protected IDoubleDummySolver initialValue() {
+
+			return new DoubleDummySolver(SOLVER_TABLE_BITS, ENDGAME_CACHE);
+		}
+	};
+
+	/**
+	 * The evaluator of the games.
+	 */
+	private final IGameEvaluator evaluator;
+	/**
+	 * The pool the samples are evaluated in.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * The number of sampled distributions per decision.
+	 */
+	private final int sampleCount;
+	/**
+	 * The seed the random number generators of the decisions are derived from.
+	 */
+	private final long seed;
+	/**
+	 * The time budget per decision in milliseconds.
+	 */
+	private final long timeBudget;
+
+	/**
+	 * Creates an instance with the given parameters and a random seed.
+	 *
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @throws IllegalArgumentException
+	 *             if the pool or the evaluator is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloSpecializedAI(final int sampleCount, final long timeBudget, final ForkJoinPool pool, final IGameEvaluator evaluator) {
+
+		this(sampleCount, timeBudget, pool, evaluator, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @param seed
+	 *            the seed the random number generators of the decisions are derived from.
+	 * @throws IllegalArgumentException
+	 *             if the pool or the evaluator is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloSpecializedAI(final int sampleCount, final long timeBudget, final ForkJoinPool pool, final IGameEvaluator evaluator, final long seed) {
+
+		if (pool == null || evaluator == null || sampleCount <= 0 || timeBudget <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.sampleCount = sampleCount;
+		this.timeBudget = timeBudget;
+		this.pool = pool;
+		this.evaluator = evaluator;
+		this.seed = seed;
+	}
+
+	@Override
+	public ICard getBestCard(final IRestrictedPlayerUtils playerUtils) {
+
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final int available = playerUtils.getAvailableCardSet();
+		ICard bestCard = null;
+		if (CardSet.size(available) == 1) {
+			bestCard = CardSet.card(CardSet.first(available));
+		} else if (available != CardSet.EMPTY) {
+			final int ownHand = playerUtils.getPovPlayerData().getCurrentHandSet();
+			final int[] hands = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+			hands[gameData.getPointOfViewPosition().ordinal()] = ownHand;
+			final IHandSampler sampler = new HandSampler(playerUtils);
+			final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+			final long[] scores = pool.invoke(new SampleTask(new SearchState(gameData, hands), sampler, RandomSpecializedAI.getDecisionRandom(seed, playerUtils),
+					CardSet.size(ownHand) <= EXACT_HAND_SIZE, deadline, 0, sampleCount));
+			int bestMove = -1;
+			for (int rest = available; rest != 0; rest &= rest - 1) {
+				final int move = CardSet.first(rest);
+				if (bestMove < 0 || scores[move] > scores[bestMove] || scores[move] == scores[bestMove]
+						&& scores[IStackHandler.NUMBER_OF_CARDS + move] > scores[IStackHandler.NUMBER_OF_CARDS + bestMove]) {
+					bestMove = move;
+				}
+			}
+			bestCard = CardSet.card(bestMove);
+		}
+		return bestCard;
+	}
+
+	@Override
+	public boolean strike(final IRestrictedPlayerUtils playerUtils) {
+
+		return playerUtils.isAllowedToStrike() && evaluator.evaluateCurrentGame(playerUtils).getLowerBound() > 0;
+	}
+
+	@Override
+	public boolean strikeBack(final IRestrictedPlayerUtils playerUtils) {
+
+		return playerUtils.isAllowedToStrikeBack() && evaluator.evaluateCurrentGame(playerUtils).getLowerBound() > 0;
+	}
+
+	/**
+	 * This task samples distributions of the unknown cards and sums the scores of the moves. A range of more than one sample is split in two tasks.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class SampleTask extends RecursiveTask<long[]> {
+
+		/** Generated serial version UID. */
+		private static final long serialVersionUID = -3094279125463812373L;
+		/** The deadline of the evaluation, see {@link System#nanoTime()}. */
+		private final long deadline;
+		/** True if the exact points are solved, false if only the win is solved. */
+		private final boolean exact;
+		/** The first sample of the range. */
+		private final int from;
+		/** The random number generator of the task, a forked task gets a split of it. */
+		private final SplittableRandom random;
+		/** The sampler of the distributions. */
+		private final IHandSampler sampler;
+		/** The state the sampled states are copied from. */
+		private final SearchState template;
+		/** The end of the range, exclusive. */
+		private final int to;
+
+		/**
+		 * Instantiate the task with the given parameters.
+		 *
+		 * @param template
+		 *            the state the sampled states are copied from.
+		 * @param sampler
+		 *            the sampler of the distributions.
+		 * @param random
+		 *            the random number generator of the task.
+		 * @param exact
+		 *            true if the exact points are solved, false if only the win is solved.
+		 * @param deadline
+		 *            the deadline of the evaluation, see {@link System#nanoTime()}.
+		 * @param from
+		 *            the first sample of the range.
+		 * @param to
+		 *            the end of the range, exclusive.
+		 */
+		private SampleTask(final SearchState template, final IHandSampler sampler, final SplittableRandom random, final boolean exact, final long deadline,
+				final int from, final int to) {
+
+			this.template = template;
+			this.sampler = sampler;
+			this.random = random;
+			this.exact = exact;
+			this.deadline = deadline;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Add the points every legal move carries into the current trick to its tie break, positive if the own team holds the trick after the move.
+		 *
+		 * @param state
+		 *            the sampled state.
+		 * @param ownPlayerTeam
+		 *            true if the player on turn belongs to the player team.
+		 * @param scores
+		 *            the scores, the tie breaks follow the scores of the moves.
+		 */
+		private static void addTieBreaks(final SearchState state, final boolean ownPlayerTeam, final long[] scores) {
+
+			final PlayerPosition[] positions = PlayerPosition.values();
+			final int firstPlayer = state.getRoundsFirstPlayerPosition().ordinal();
+			final int[] trick = new int[CardSet.size(state.getCardsOnTable()) + 1];
+			for (int i = 0; i < trick.length - 1; ++i) {
+				trick[i] = state.getPlayedCard(positions[(firstPlayer + i) % positions.length]);
+			}
+			for (int rest = state.getLegalMoves(); rest != 0; rest &= rest - 1) {
+				final int move = CardSet.first(rest);
+				trick[trick.length - 1] = move;
+				final PlayerPosition holder = positions[(firstPlayer + state.getRuleSet().winnerIndex(trick)) % positions.length];
+				final int points = CardSet.points(1 << move);
+				scores[IStackHandler.NUMBER_OF_CARDS + move] += state.isPlayerTeam(holder) == ownPlayerTeam ? points : -points;
+			}
+		}
+
+		/**
+		 * @return the scores indicated by card ordinal, followed by the tie breaks indicated by card ordinal and the number of evaluated samples.
+		 */
+		@Override
+		protected long[] compute() {
+
+			if (to - from > 1) {
+				final int middle = from + to >>> 1;
+				final SampleTask first = new SampleTask(template, sampler, random.split(), exact, deadline, from, middle);
+				first.fork();
+				final long[] scores = new SampleTask(template, sampler, random, exact, deadline, middle, to).compute();
+				final long[] firstScores = first.join();
+				for (int i = 0; i < scores.length; ++i) {
+					scores[i] += firstScores[i];
+				}
+				return scores;
+			}
+			final long[] scores = new long[SAMPLE_COUNT_INDEX + 1];
+			if (from > 0 && System.nanoTime() > deadline) {
+				return scores;
+			}
+			final SearchState state = new SearchState(template, sampler.sample(random));
+			final IDoubleDummySolver solver = SOLVERS.get();
+			// the first sample is always evaluated, the others are aborted at the deadline and not counted
+			solver.setDeadline(from > 0 ? deadline : Long.MAX_VALUE);
+			final PlayerPosition position = state.getPlayerOnTurnPosition();
+			final boolean ownPlayerTeam = state.isPlayerTeam(position);
+			if (exact) {
+				final int[] values = solver.evaluateMoves(state);
+				if (solver.isAborted()) {
+					return scores;
+				}
+				for (int move = 0; move < values.length; ++move) {
+					if (values[move] >= 0) {
+						final boolean playerTeamWins = state.getGameType().isExclusive ? values[move] == DoubleDummySolver.TOTAL_POINTS
+								: values[move] >= DoubleDummySolver.WIN_POINTS;
+						scores[move] = (ownPlayerTeam ? values[move] : DoubleDummySolver.TOTAL_POINTS - values[move])
+								+ (playerTeamWins == ownPlayerTeam ? WIN_SCORE : 0);
+					}
+				}
+			} else {
+				for (int rest = state.getLegalMoves(); rest != 0; rest &= rest - 1) {
+					final int move = CardSet.first(rest);
+					state.play(move);
+					final boolean ownTeamWins = solver.solveWin(state) == ownPlayerTeam;
+					state.undo();
+					if (solver.isAborted()) {
+						return new long[SAMPLE_COUNT_INDEX + 1];
+					}
+					if (ownTeamWins) {
+						scores[move] = WIN_SCORE;
+					}
+				}
+			}
+			addTieBreaks(state, ownPlayerTeam, scores);
+			scores[SAMPLE_COUNT_INDEX] = 1;
+			return scores;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package edu.fhm.cs.ss.schafkopf.ai.sets.montecarlo;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAIFactory;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+
+/**
+ * A Factory returning Instances of {@link MonteCarloSpecializedAI}, that all share the same parameters.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class MonteCarloSpecializedAIFactory implements ISpecializedAIFactory {
+
+	/**
+	 * The evaluator of the games.
+	 */
+	private final IGameEvaluator evaluator;
+	/**
+	 * The pool the samples are evaluated in.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * The number of sampled distributions per decision.
+	 */
+	private final int sampleCount;
+	/**
+	 * The seed shared by the created AIs.
+	 */
+	private final long seed;
+	/**
+	 * The time budget per decision in milliseconds.
+	 */
+	private final long timeBudget;
+
+	/**
+	 * Creates a factory with the given parameters and a random seed.
+	 *
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @throws IllegalArgumentException
+	 *             if the pool or the evaluator is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloSpecializedAIFactory(final int sampleCount, final long timeBudget, final ForkJoinPool pool, final IGameEvaluator evaluator) {
+
+		this(sampleCount, timeBudget, pool, evaluator, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Creates a factory with the given parameters. The created AIs share the seed, so creating another AI does not change the decisions.
+	 *
+	 * @param sampleCount
+	 *            the number of sampled distributions per decision.
+	 * @param timeBudget
+	 *            the time budget per decision in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @param evaluator
+	 *            the evaluator of the games.
+	 * @param seed
+	 *            the seed the random number generators of the decisions are derived from.
+	 * @throws IllegalArgumentException
+	 *             if the pool or the evaluator is null or the sample count or the time budget is not positive.
+	 */
+	public MonteCarloSpecializedAIFactory(final int sampleCount, final long timeBudget, final ForkJoinPool pool, final IGameEvaluator evaluator, final long seed) {
+
+		if (pool == null || evaluator == null || sampleCount <= 0 || timeBudget <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.sampleCount = sampleCount;
+		this.timeBudget = timeBudget;
+		this.pool = pool;
+		this.evaluator = evaluator;
+		this.seed = seed;
+	}
+
+	@Override
+	public ISpecializedAI getAI(final GameType gameType) {
+
+		if (gameType == null) {
+			return null;
+		}
+		return new MonteCarloSpecializedAI(sampleCount, timeBudget, pool, evaluator, seed);
+	}
+
+}
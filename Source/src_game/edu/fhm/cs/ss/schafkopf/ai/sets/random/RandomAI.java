@@ -3,6 +3,7 @@ package edu.fhm.cs.ss.schafkopf.ai.sets.random;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.SplittableRandom;
 
 import edu.fhm.cs.ss.schafkopf.ai.baseclasses.BaseAI;
 import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
@@ -13,7 +14,8 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
 
 /**
- * The Random AI answers the questions about the next move randomly, but valid.
+ * The Random AI answers the questions about the next move randomly, but valid. The decisions are derived like the ones of the {@link RandomSpecializedAI},
+ * from the seed, the player's position and the state version.
  *
  * @author Sebastian Stumpf
  *
@@ -29,6 +31,10 @@ public class RandomAI extends BaseAI {
 	 * These gametypes will not be chosen in {@link #getBestGame(IRestrictedPlayerUtils)}.
 	 */
 	private final Collection<GameType> forbiddenGameTypes;
+	/**
+	 * The seed the random number generators of the decisions are derived from.
+	 */
+	private final long seed;
 
 	/**
 	 * Creates a random AI with the accept state and the forbidden games defined in and {@link #DEFAULT_FORBIDDEN_GAMETYPES}.
@@ -51,7 +57,26 @@ public class RandomAI extends BaseAI {
 	 */
 	public RandomAI(final GameState acceptGameState, final GameType[] forbiddenGameTypes) {
 
-		super(acceptGameState, new RandomSpecializedAIFactory());
+		this(acceptGameState, forbiddenGameTypes, new SplittableRandom());
+	}
+
+	/**
+	 * Creates a random AI with given accept state, forbidden games and random number generator. The seeds of the AI are drawn from the generator once. The AI
+	 * decides reproducibly, if the generator is seeded, e.g. by a {@link edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider}.
+	 *
+	 * @param acceptGameState
+	 *            the restart accept state.
+	 * @param forbiddenGameTypes
+	 *            the forbidden game types.
+	 * @param random
+	 *            the random number generator, that must not be used by another thread.
+	 * @throws IllegalArgumentException
+	 *             if the random number generator is null.
+	 */
+	public RandomAI(final GameState acceptGameState, final GameType[] forbiddenGameTypes, final SplittableRandom random) {
+
+		super(acceptGameState, new RandomSpecializedAIFactory(random));
+		this.seed = random.nextLong();
 		if (forbiddenGameTypes == null || forbiddenGameTypes.length == 0) {
 			this.forbiddenGameTypes = Arrays.asList(DEFAULT_FORBIDDEN_GAMETYPES);
 		} else {
@@ -72,7 +97,8 @@ public class RandomAI extends BaseAI {
 		if (preferredGameTypes.isEmpty()) {
 			preferredGameTypes = allowedGameTypes;
 		}
-		int randomIndex = (int) (Math.random() * preferredGameTypes.size());
+		final SplittableRandom random = RandomSpecializedAI.getDecisionRandom(seed, playerUtils);
+		int randomIndex = random.nextInt(preferredGameTypes.size());
 		int counter = 0;
 		for (final GameType type : preferredGameTypes) {
 			if (counter++ == randomIndex) {
@@ -82,7 +108,7 @@ public class RandomAI extends BaseAI {
 		}
 		final Collection<CardColor> allowedColors = playerUtils.getAvailableColors(chosenGameType);
 		if (allowedColors != null && !allowedColors.isEmpty()) {
-			randomIndex = (int) (Math.random() * allowedColors.size());
+			randomIndex = random.nextInt(allowedColors.size());
 			counter = 0;
 			for (final CardColor color : allowedColors) {
 				if (counter++ == randomIndex) {
@@ -98,7 +124,7 @@ public class RandomAI extends BaseAI {
 	public boolean raise(final IRestrictedPlayerUtils playerUtils) {
 
 		if (playerUtils.isAllowedToRaise()) {
-			return (int) (Math.random() * 2) == 0;
+			return RandomSpecializedAI.getDecisionRandom(seed, playerUtils).nextBoolean();
 		}
 		return false;
 	}
@@ -1,19 +1,91 @@
 package edu.fhm.cs.ss.schafkopf.ai.sets.random;
 
 import java.util.Collection;
+import java.util.SplittableRandom;
 
 import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
 
 /**
- * This specialized AI gives random, but valid answers to specialized questions.
+ * This specialized AI gives random, but valid answers to specialized questions.<br>
+ * <br>
+ *
+ * The random number generator of a decision is derived from the seed of the AI, the player's position and the state version of the game data. So a decision
+ * on an outdated state, that is refused by the controller, does not change the later decisions, they do not depend on the thread scheduling.
  * 
  * @author Sebastian Stumpf
  * 
  */
 public class RandomSpecializedAI implements ISpecializedAI {
 
+	/**
+	 * Mixes the state version into the seed of a decision.
+	 */
+	private static final long VERSION_GAMMA = 0x9E3779B97F4A7C15L;
+	/**
+	 * Mixes the position into the seed of a decision.
+	 */
+	private static final long POSITION_GAMMA = 0xBF58476D1CE4E5B9L;
+
+	/**
+	 * The seed the random number generators of the decisions are derived from.
+	 */
+	private final long seed;
+
+	/**
+	 * Instantiate the AI with an unseeded random number generator.
+	 */
+	public RandomSpecializedAI() {
+
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Instantiate the AI with the given seed.
+	 *
+	 * @param seed
+	 *            the seed the random number generators of the decisions are derived from.
+	 */
+	public RandomSpecializedAI(final long seed) {
+
+		this.seed = seed;
+	}
+
+	/**
+	 * Instantiate the AI with a seed drawn from the given random number generator.
+	 *
+	 * @param random
+	 *            the random number generator, that must not be used by another thread.
+	 * @throws IllegalArgumentException
+	 *             if the random number generator is null.
+	 */
+	public RandomSpecializedAI(final SplittableRandom random) {
+
+		if (random == null) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = random.nextLong();
+	}
+
+	/**
+	 * Derive the random number generator of a decision. Other AIs use it too, to make their decisions reproducible the same way.
+	 *
+	 * @param seed
+	 *            the seed of the AI.
+	 * @param playerUtils
+	 *            the player utilities of the decision.
+	 * @return the random number generator, that depends only on the seed, the player's position and the state version of the game data.
+	 */
+	public static SplittableRandom getDecisionRandom(final long seed, final IRestrictedPlayerUtils playerUtils) {
+
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final PlayerPosition position = gameData.getPointOfViewPosition();
+		return new SplittableRandom(seed ^ gameData.getStateVersion() * VERSION_GAMMA ^ (position == null ? 0 : position.ordinal() + 1) * POSITION_GAMMA);
+	}
+
 	@Override
 	public ICard getBestCard(final IRestrictedPlayerUtils playerUtils) {
 
@@ -25,7 +97,7 @@ public class RandomSpecializedAI implements ISpecializedAI {
 			// if (Math.random() < 0.00001) {
 			// return new Card(CardColor.EICHEL, CardValue.SAU);
 			// }
-			final int randomIndex = (int) (Math.random() * allowedCards.size());
+			final int randomIndex = getDecisionRandom(seed, playerUtils).nextInt(allowedCards.size());
 			int counter = 0;
 			for (final ICard card : allowedCards) {
 				if (counter++ == randomIndex) {
@@ -41,7 +113,7 @@ public class RandomSpecializedAI implements ISpecializedAI {
 	public boolean strike(final IRestrictedPlayerUtils playerUtils) {
 
 		if (playerUtils.isAllowedToStrike()) {
-			return (int) (Math.random() * 2) == 0;
+			return getDecisionRandom(seed, playerUtils).nextBoolean();
 		}
 		return false;
 	}
@@ -50,7 +122,7 @@ public class RandomSpecializedAI implements ISpecializedAI {
 	public boolean strikeBack(final IRestrictedPlayerUtils playerUtils) {
 
 		if (playerUtils.isAllowedToStrikeBack()) {
-			return (int) (Math.random() * 2) == 0;
+			return getDecisionRandom(seed, playerUtils).nextBoolean();
 		}
 		return false;
 	}
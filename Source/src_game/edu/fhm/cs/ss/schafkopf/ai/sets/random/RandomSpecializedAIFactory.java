@@ -1,5 +1,7 @@
 package edu.fhm.cs.ss.schafkopf.ai.sets.random;
 
+import java.util.SplittableRandom;
+
 import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAI;
 import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISpecializedAIFactory;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
@@ -9,13 +11,43 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
  */
 public class RandomSpecializedAIFactory implements ISpecializedAIFactory {
 
+	/**
+	 * The seed shared by the created AIs.
+	 */
+	private final long seed;
+
+	/**
+	 * Instantiate the factory with an unseeded random number generator.
+	 */
+	public RandomSpecializedAIFactory() {
+
+		this(new SplittableRandom());
+	}
+
+	/**
+	 * Instantiate the factory with a seed drawn from the given random number generator. The created AIs share the seed, so creating another AI does not
+	 * change the decisions.
+	 *
+	 * @param random
+	 *            the random number generator, that must not be used by another thread.
+	 * @throws IllegalArgumentException
+	 *             if the random number generator is null.
+	 */
+	public RandomSpecializedAIFactory(final SplittableRandom random) {
+
+		if (random == null) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = random.nextLong();
+	}
+
 	@Override
 	public ISpecializedAI getAI(final GameType gameType) {
 
 		if (gameType == null) {
 			return null;
 		}
-		return new RandomSpecializedAI();
+		return new RandomSpecializedAI(seed);
 	}
 
 }
@@ -0,0 +1,666 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.Arrays;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEndgameCache;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.ISearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the double dummy solver with an alpha-beta search on the points of the player team.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - At the start of every round the state is looked up in a transposition table. The key is a Zobrist hash of the remaining cards and their owners, the
+ * player on turn, the team knowledge and the game.<br>
+ * - A transposition table entry holds a lower and an upper bound of the points. Entries are kept between the calls, a colliding state replaces them.<br>
+ * - The exact points are found by a binary search of null window searches, which reuse the bounds of each other.<br>
+ * - Moves are ordered by the transposition table's best move and the ranks of the cards: the highest card if coming out, the lowest card that wins the
+ * round, the highest points if the own team wins the round and the lowest points otherwise.<br>
+ * - Cards of the same points that follow each other in rank, after removing all cards played in earlier rounds, are equivalent and only searched once.<br>
+ * - If an {@link IEndgameCache} is given, the bounds of the endgame positions are stored there too. A position missing in the transposition table is looked
+ * up in the cache, so the last rounds solved by one solver are reused by all solvers sharing the cache.<br>
+ * - The deadline is checked every {@link #DEADLINE_CHECK_NODES} nodes. An aborted search returns at once and stores nothing in the transposition table or
+ * the endgame cache.<br>
+ * - The instance is not thread safe, every thread needs its own solver.<br>
+ * <br>
+ *
+ * Measured on one core with a cleared transposition table, see the solver cross check of the test application: a full Sauspiel deal takes about 55 ms and
+ * 0.9 million nodes on average and up to a quarter of a second, a Solo about 110 ms and a Tout up to 3 seconds. A full deal is not solved within a few
+ * milliseconds, so the AIs do not rely on it: the game choice only solves the win with a null window search, the samples of the play phase reuse the
+ * endgames of the shared {@link IEndgameCache} and the searches are aborted at the deadline of the decision.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class DoubleDummySolver implements IDoubleDummySolver {
+
+	/** The default number of bits of the transposition table index. */
+	public static final int DEFAULT_TABLE_BITS = 20;
+	/** The sum of the points of all cards. */
+	public static final int TOTAL_POINTS = 120;
+	/** The points the player team needs to win a game that is not exclusive. */
+	public static final int WIN_POINTS = TOTAL_POINTS / 2 + 1;
+	/** The number of nodes between two checks of the deadline, a power of two. */
+	public static final int DEADLINE_CHECK_NODES = 1 << 10;
+	/** Shift of the upper bound in a transposition table value. */
+	private static final int SHIFT_UPPER = 8;
+	/** Shift of the best move in a transposition table value. */
+	private static final int SHIFT_MOVE = 16;
+	/** The best move value if there is none. */
+	private static final int NO_MOVE = 0x3F;
+	/** Shift of the low bits of the card owners in an endgame cards key. */
+	private static final int SHIFT_ENDGAME_LOW_OWNERS = 32;
+	/** Shift of the high bits of the card owners in an endgame cards key. */
+	private static final int SHIFT_ENDGAME_HIGH_OWNERS = SHIFT_ENDGAME_LOW_OWNERS + IEndgameCache.MAX_CARDS;
+	/** Shift of the player on turn in an endgame cards key. */
+	private static final int SHIFT_ENDGAME_TURN = SHIFT_ENDGAME_HIGH_OWNERS + IEndgameCache.MAX_CARDS;
+	/** Shift of the team knowledge in an endgame cards key. */
+	private static final int SHIFT_ENDGAME_TEAM_KNOWN = SHIFT_ENDGAME_TURN + 2;
+	/** Mask for the points in a transposition table value. */
+	private static final int MASK_POINTS = 0xFF;
+	/** Score of the transposition table's best move in the move ordering. */
+	private static final int SCORE_BEST = Integer.MAX_VALUE;
+	/** Score of a card that wins the round in the move ordering. */
+	private static final int SCORE_WINNING = 1 << 28;
+	/** Shift of the points of a card in the move ordering. */
+	private static final int SHIFT_SCORE_POINTS = 16;
+	/** The maximum number of cards played in a search. */
+	private static final int MAX_DEPTH = IStackHandler.NUMBER_OF_CARDS;
+	/** All positions indicated by ordinal. */
+	private static final PlayerPosition[] POSITIONS = PlayerPosition.values();
+	/** The Zobrist keys of the cards indicated by owner position and card ordinal. */
+	private static final long[][] CARD_KEYS = indicateCardKeys();
+	/** The Zobrist keys of the player on turn indicated by position. */
+	private static final long[] TURN_KEYS = { mix(-1), mix(-2), mix(-3), mix(-4) };
+	/** The Zobrist key of the team knowledge. */
+	private static final long TEAM_KNOWN_KEY = mix(-5);
+
+	/** True if the last search was aborted at the deadline. */
+	private boolean aborted;
+	/** The deadline of the searches, see {@link System#nanoTime()}. */
+	private long deadline;
+	/** The cache of the endgame positions, null if there is none. */
+	private final IEndgameCache endgameCache;
+	/** The endgame cache's game key of the game, see {@link #prepare(ISearchState)}. */
+	private long endgameGameKey;
+	/** The hash of the game, see {@link #prepare(ISearchState)}. */
+	private long gameKey;
+	/** The hash of the remaining cards and their owners. */
+	private long handKey;
+	/** The cards of the same follow set with a higher rank, indicated by card ordinal. */
+	private final int[] higherCards;
+	/** The rule set {@link #higherCards} is calculated for. */
+	private IRuleSet higherCardsRuleSet;
+	/** The move buffers indicated by depth. */
+	private final int[][] moves;
+	/** The number of searched nodes. */
+	private long nodes;
+	/** The rules of the solved game. */
+	private IRuleSet ruleSet;
+	/** The move ordering scores indicated by depth. */
+	private final int[][] scores;
+	/** The solved state. */
+	private ISearchState state;
+	/** The transposition table keys. */
+	private final long[] tableKeys;
+	/** The mask of the transposition table index. */
+	private final int tableMask;
+	/** The transposition table values: points, flag and best move. */
+	private final int[] tableValues;
+
+	/**
+	 * Instantiate the solver with a transposition table of 2 ^ {@link #DEFAULT_TABLE_BITS} entries.
+	 */
+	public DoubleDummySolver() {
+
+		this(DEFAULT_TABLE_BITS);
+	}
+
+	/**
+	 * Instantiate the solver with a transposition table of the given size.
+	 *
+	 * @param tableBits
+	 *            the number of bits of the table index, the table has 2 ^ tableBits entries.
+	 * @throws IllegalArgumentException
+	 *             if the table bits are not between 1 and 30.
+	 */
+	public DoubleDummySolver(final int tableBits) {
+
+		this(tableBits, null);
+	}
+
+	/**
+	 * Instantiate the solver with a transposition table of the given size and an endgame cache.
+	 *
+	 * @param tableBits
+	 *            the number of bits of the table index, the table has 2 ^ tableBits entries.
+	 * @param endgameCache
+	 *            the cache of the endgame positions, it may be shared by several solvers. Null if there is none.
+	 * @throws IllegalArgumentException
+	 *             if the table bits are not between 1 and 30.
+	 */
+	public DoubleDummySolver(final int tableBits, final IEndgameCache endgameCache) {
+
+		if (tableBits < 1 || tableBits > 30) {
+			throw new IllegalArgumentException();
+		}
+		this.tableKeys = new long[1 << tableBits];
+		this.tableValues = new int[1 << tableBits];
+		this.tableMask = (1 << tableBits) - 1;
+		this.endgameCache = endgameCache;
+		this.higherCards = new int[IStackHandler.NUMBER_OF_CARDS];
+		this.moves = new int[MAX_DEPTH + 1][IRestrictedGameData.ROUNDS_PER_GAME];
+		this.scores = new int[MAX_DEPTH + 1][IRestrictedGameData.ROUNDS_PER_GAME];
+		this.nodes = 0;
+		this.deadline = Long.MAX_VALUE;
+	}
+
+	/**
+	 * Generate the Zobrist keys of the cards. Used for initialization of static values.
+	 *
+	 * @return the keys indicated by owner position and card ordinal.
+	 */
+	private static long[][] indicateCardKeys() {
+
+		final long[][] keys = new long[IRestrictedGameData.NUMBER_OF_PLAYERS][IStackHandler.NUMBER_OF_CARDS];
+		for (int position = 0; position < IRestrictedGameData.NUMBER_OF_PLAYERS; ++position) {
+			for (int ordinal = 0; ordinal < IStackHandler.NUMBER_OF_CARDS; ++ordinal) {
+				keys[position][ordinal] = mix(position * IStackHandler.NUMBER_OF_CARDS + ordinal + 1);
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Scramble a value to a pseudo random 64 bit key, the same value always results in the same key.
+	 *
+	 * @param value
+	 *            the value.
+	 * @return the key.
+	 */
+	private static long mix(final long value) {
+
+		long z = value * 0x9E3779B97F4A7C15L;
+		z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+		return z ^ z >>> 31;
+	}
+
+	@Override
+	public void clear() {
+
+		Arrays.fill(tableKeys, 0L);
+		Arrays.fill(tableValues, 0);
+	}
+
+	@Override
+	public int[] evaluateMoves(final ISearchState searchState) {
+
+		final int setupMoves = prepare(searchState);
+		try {
+			final int[] values = new int[IStackHandler.NUMBER_OF_CARDS];
+			Arrays.fill(values, -1);
+			final int points = state.getTeamPoints(Team.PLAYER_TEAM);
+			for (int rest = state.getLegalMoves(); rest != 0; rest &= rest - 1) {
+				final int move = CardSet.first(rest);
+				values[move] = points + searchExact(move);
+			}
+			return values;
+		} finally {
+			release(setupMoves);
+		}
+	}
+
+	@Override
+	public int getBestMove(final ISearchState searchState) {
+
+		final boolean maximizing = searchState != null && searchState.isPlayerTeam(searchState.getPlayerOnTurnPosition());
+		final int[] values = evaluateMoves(searchState);
+		int bestMove = -1;
+		for (int move = 0; move < values.length; ++move) {
+			if (values[move] >= 0 && (bestMove < 0 || maximizing && values[move] > values[bestMove] || !maximizing && values[move] < values[bestMove])) {
+				bestMove = move;
+			}
+		}
+		return bestMove;
+	}
+
+	@Override
+	public long getNodes() {
+
+		return nodes;
+	}
+
+	@Override
+	public boolean isAborted() {
+
+		return aborted;
+	}
+
+	@Override
+	public void setDeadline(final long deadline) {
+
+		this.deadline = deadline;
+	}
+
+	@Override
+	public int solve(final IGameData gameData) {
+
+		return solve(new SearchState(gameData));
+	}
+
+	@Override
+	public int solve(final ISearchState searchState) {
+
+		final int setupMoves = prepare(searchState);
+		try {
+			return state.getTeamPoints(Team.PLAYER_TEAM) + searchExact(NO_MOVE);
+		} finally {
+			release(setupMoves);
+		}
+	}
+
+	@Override
+	public boolean solveAtLeast(final ISearchState searchState, final int points) {
+
+		final int setupMoves = prepare(searchState);
+		try {
+			return reaches(points);
+		} finally {
+			release(setupMoves);
+		}
+	}
+
+	@Override
+	public boolean solveWin(final ISearchState searchState) {
+
+		final int setupMoves = prepare(searchState);
+		try {
+			if (state.getGameType().isExclusive && state.getTeamPoints(Team.OPPONENT_TEAM) > 0) {
+				return false;
+			}
+			return reaches(state.getGameType().isExclusive ? TOTAL_POINTS : WIN_POINTS);
+		} finally {
+			release(setupMoves);
+		}
+	}
+
+	/**
+	 * @return the union of all hands.
+	 */
+	private int getAllHands() {
+
+		return state.getHand(PlayerPosition.BOTTOM) | state.getHand(PlayerPosition.LEFT) | state.getHand(PlayerPosition.TOP) | state.getHand(PlayerPosition.RIGHT);
+	}
+
+	/**
+	 * @param hands
+	 *            the union of all hands.
+	 * @return the endgame cache's cards key of the state at the start of a round.
+	 */
+	private long getEndgameCardsKey(final int hands) {
+
+		// the owner of every remaining card as two bits in the order of the remaining cards
+		final int right = state.getHand(PlayerPosition.RIGHT);
+		final long lowOwnerBits = CardSet.compress(state.getHand(PlayerPosition.LEFT) | right, hands);
+		final long highOwnerBits = CardSet.compress(state.getHand(PlayerPosition.TOP) | right, hands);
+		return (hands & 0xFFFFFFFFL) | lowOwnerBits << SHIFT_ENDGAME_LOW_OWNERS | highOwnerBits << SHIFT_ENDGAME_HIGH_OWNERS
+				| (long) state.getPlayerOnTurnPosition().ordinal() << SHIFT_ENDGAME_TURN | (state.isTeamKnown() ? 1L : 0L) << SHIFT_ENDGAME_TEAM_KNOWN;
+	}
+
+	/**
+	 * Check if a move is equivalent to a move already searched on the same depth.
+	 *
+	 * @param move
+	 *            the move.
+	 * @param depth
+	 *            the depth.
+	 * @param searched
+	 *            the number of moves already searched.
+	 * @param unplayed
+	 *            the cards in the hands and on the table.
+	 * @return true if the move does not need to be searched.
+	 */
+	private boolean isEquivalentToSearched(final int move, final int depth, final int searched, final int unplayed) {
+
+		final int followSet = ruleSet.getFollowSet(move);
+		final int points = CardSet.points(1 << move);
+		for (int i = 0; i < searched; ++i) {
+			final int other = moves[depth][i];
+			if (ruleSet.getFollowSet(other) == followSet && CardSet.points(1 << other) == points) {
+				// the cards between the two cards in rank
+				final int between = ruleSet.getRank(other) > ruleSet.getRank(move) ? higherCards[move] & ~higherCards[other] & ~(1 << other) : higherCards[other]
+						& ~higherCards[move] & ~(1 << move);
+				if ((between & unplayed) == 0) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Order the legal moves into the move buffer of the given depth.
+	 *
+	 * @param depth
+	 *            the depth.
+	 * @param bestMove
+	 *            the best move from the transposition table, {@link #NO_MOVE} if there is none.
+	 * @return the number of moves.
+	 */
+	private int orderMoves(final int depth, final int bestMove) {
+
+		// find the card winning the round so far
+		int winningCard = -1;
+		boolean ownTeamWinning = false;
+		if (state.getCardsOnTable() != CardSet.EMPTY) {
+			final boolean ownTeam = state.isPlayerTeam(state.getPlayerOnTurnPosition());
+			PlayerPosition position = state.getRoundsFirstPlayerPosition();
+			for (int card = state.getPlayedCard(position); card >= 0; card = state.getPlayedCard(position)) {
+				if (winningCard < 0 || ruleSet.dominates(winningCard, card)) {
+					winningCard = card;
+					ownTeamWinning = state.isPlayerTeam(position) == ownTeam;
+				}
+				position = position.getNext();
+			}
+		}
+		final int[] buffer = moves[depth];
+		final int[] bufferScores = scores[depth];
+		int count = 0;
+		for (int rest = state.getLegalMoves(); rest != 0; rest &= rest - 1) {
+			final int move = CardSet.first(rest);
+			final int rank = ruleSet.getRank(move);
+			int score;
+			if (move == bestMove) {
+				score = SCORE_BEST;
+			} else if (winningCard < 0) {
+				score = rank;
+			} else if (ownTeamWinning) {
+				score = (CardSet.points(1 << move) << SHIFT_SCORE_POINTS) - rank;
+			} else if (ruleSet.dominates(winningCard, move)) {
+				score = SCORE_WINNING - rank;
+			} else {
+				score = -(CardSet.points(1 << move) << SHIFT_SCORE_POINTS) - rank;
+			}
+			// insertion sort, highest score first
+			int i = count++;
+			while (i > 0 && bufferScores[i - 1] < score) {
+				buffer[i] = buffer[i - 1];
+				bufferScores[i] = bufferScores[i - 1];
+				--i;
+			}
+			buffer[i] = move;
+			bufferScores[i] = score;
+		}
+		return count;
+	}
+
+	/**
+	 * Prepare the solver for the given state. A state waiting for strikes is resolved without striking.
+	 *
+	 * @param searchState
+	 *            the state.
+	 * @return the number of moves made for the preparation.
+	 */
+	private int prepare(final ISearchState searchState) {
+
+		if (searchState == null) {
+			throw new IllegalArgumentException();
+		}
+		int setupMoves = 0;
+		if (searchState.getGameState() == GameState.STRIKE) {
+			searchState.strike(false);
+			++setupMoves;
+		} else if (searchState.getGameState() == GameState.STRIKEBACK) {
+			searchState.strikeBack(false);
+			++setupMoves;
+		}
+		if (searchState.getGameState() != GameState.PLAY) {
+			for (int i = 0; i < setupMoves; ++i) {
+				searchState.undo();
+			}
+			throw new IllegalArgumentException("State " + searchState.getGameState() + " can not be solved.");
+		}
+		this.state = searchState;
+		this.ruleSet = searchState.getRuleSet();
+		this.aborted = false;
+		if (ruleSet != higherCardsRuleSet) {
+			for (int ordinal = 0; ordinal < IStackHandler.NUMBER_OF_CARDS; ++ordinal) {
+				higherCards[ordinal] = CardSet.EMPTY;
+				for (int rest = ruleSet.getFollowSet(ordinal); rest != 0; rest &= rest - 1) {
+					if (ruleSet.getRank(CardSet.first(rest)) > ruleSet.getRank(ordinal)) {
+						higherCards[ordinal] |= rest & -rest;
+					}
+				}
+			}
+			higherCardsRuleSet = ruleSet;
+		}
+		final PlayerPosition mate = searchState.getMatePosition();
+		endgameGameKey = ((searchState.getGameType().ordinal() * 8 + (searchState.getColor() == null ? 7 : searchState.getColor().ordinal())) * 8 + searchState
+				.getLeadPlayerPosition().ordinal()) * 8 + (mate == null ? 7 : mate.ordinal());
+		gameKey = mix(((searchState.getGameType().ordinal() * 8 + (searchState.getColor() == null ? 7 : searchState.getColor().ordinal())) * 8 + searchState
+				.getLeadPlayerPosition().ordinal()) * 8 + (mate == null ? 7 : mate.ordinal()) + 1L << 32);
+		handKey = 0;
+		for (final PlayerPosition position : POSITIONS) {
+			for (int rest = searchState.getHand(position); rest != 0; rest &= rest - 1) {
+				handKey ^= CARD_KEYS[position.ordinal()][CardSet.first(rest)];
+			}
+		}
+		return setupMoves;
+	}
+
+	/**
+	 * Decide by a null window search if the player team reaches the given points in the whole game.
+	 *
+	 * @param points
+	 *            the points.
+	 * @return true if the points are reached.
+	 */
+	private boolean reaches(final int points) {
+
+		final int needed = points - state.getTeamPoints(Team.PLAYER_TEAM);
+		return needed <= 0 || search(needed - 1, needed, 0) >= needed;
+	}
+
+	/**
+	 * Undo the moves made for the preparation.
+	 *
+	 * @param setupMoves
+	 *            the number of moves.
+	 */
+	private void release(final int setupMoves) {
+
+		for (int i = 0; i < setupMoves; ++i) {
+			state.undo();
+		}
+		state = null;
+	}
+
+	/**
+	 * The alpha-beta search. The value is the number of points the player team wins from now on.
+	 *
+	 * @param alpha
+	 *            the lower bound.
+	 * @param beta
+	 *            the upper bound.
+	 * @param depth
+	 *            the number of cards played in this search.
+	 * @return the points, a lower bound if not lower than beta and an upper bound if not higher than alpha.
+	 */
+	private int search(final int alpha, final int beta, final int depth) {
+
+		if (aborted || (++nodes & DEADLINE_CHECK_NODES - 1) == 0 && System.nanoTime() > deadline) {
+			aborted = true;
+			return 0;
+		}
+		if (state.getGameState() == GameState.FINISHED) {
+			return 0;
+		}
+		final boolean roundStart = state.getCardsOnTable() == CardSet.EMPTY;
+		final int unplayed = getAllHands() | state.getCardsOnTable();
+		long key = 0;
+		int index = 0;
+		int bestMove = NO_MOVE;
+		int lower = 0;
+		int upper = TOTAL_POINTS;
+		long endgameKey = 0;
+		final boolean endgame = roundStart && endgameCache != null && CardSet.size(unplayed) >= IEndgameCache.MIN_CARDS
+				&& CardSet.size(unplayed) <= IEndgameCache.MAX_CARDS;
+		if (roundStart) {
+			final int remainingPoints = CardSet.points(unplayed);
+			if (remainingPoints == 0 || beta <= 0) {
+				return 0;
+			}
+			if (alpha >= remainingPoints) {
+				return remainingPoints;
+			}
+			key = handKey ^ gameKey ^ TURN_KEYS[state.getPlayerOnTurnPosition().ordinal()] ^ (state.isTeamKnown() ? TEAM_KNOWN_KEY : 0);
+			index = (int) (key ^ key >>> 32) & tableMask;
+			if (endgame) {
+				endgameKey = getEndgameCardsKey(unplayed);
+			}
+			if (tableKeys[index] == key) {
+				final int entry = tableValues[index];
+				lower = entry & MASK_POINTS;
+				upper = entry >>> SHIFT_UPPER & MASK_POINTS;
+				bestMove = entry >>> SHIFT_MOVE & NO_MOVE;
+			} else {
+				upper = remainingPoints;
+				final int bounds = endgame ? endgameCache.get(endgameKey, endgameGameKey) : -1;
+				if (bounds >= 0) {
+					lower = bounds & IEndgameCache.MASK_POINTS;
+					upper = bounds >>> IEndgameCache.SHIFT_UPPER & IEndgameCache.MASK_POINTS;
+				}
+			}
+			if (lower >= beta || lower == upper) {
+				return lower;
+			}
+			if (upper <= alpha) {
+				return upper;
+			}
+		}
+
+		final boolean maximizing = state.isPlayerTeam(state.getPlayerOnTurnPosition());
+		final int count = orderMoves(depth, bestMove);
+		int best = maximizing ? -1 : TOTAL_POINTS + 1;
+		// the bounds of the transposition table narrow the window
+		int currentAlpha = Math.max(alpha, lower);
+		int currentBeta = Math.min(beta, upper);
+		int searched = 0;
+		for (int i = 0; i < count; ++i) {
+			final int move = moves[depth][i];
+			if (isEquivalentToSearched(move, depth, searched, unplayed)) {
+				continue;
+			}
+			// keep the searched moves at the start of the buffer for the equivalence check
+			moves[depth][searched++] = move;
+			final int value = searchMove(move, currentAlpha, currentBeta, depth);
+			if (maximizing) {
+				if (value > best) {
+					best = value;
+					bestMove = move;
+				}
+				currentAlpha = Math.max(currentAlpha, best);
+			} else {
+				if (value < best) {
+					best = value;
+					bestMove = move;
+				}
+				currentBeta = Math.min(currentBeta, best);
+			}
+			if (currentAlpha >= currentBeta) {
+				break;
+			}
+		}
+		// the value of an aborted search is not exact, it must not be stored
+		if (aborted) {
+			return 0;
+		}
+
+		if (roundStart) {
+			final int windowAlpha = Math.max(alpha, lower);
+			final int windowBeta = Math.min(beta, upper);
+			if (best <= windowAlpha) {
+				upper = best;
+			} else if (best >= windowBeta) {
+				lower = best;
+			} else {
+				lower = best;
+				upper = best;
+			}
+			tableKeys[index] = key;
+			tableValues[index] = lower | upper << SHIFT_UPPER | bestMove << SHIFT_MOVE;
+			if (endgame) {
+				endgameCache.put(endgameKey, endgameGameKey, lower, upper);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Find the exact points by a binary search of null window searches.
+	 *
+	 * @param move
+	 *            the first move, {@link #NO_MOVE} to search all moves.
+	 * @return the points the player team wins from now on.
+	 */
+	private int searchExact(final int move) {
+
+		int lower = 0;
+		int upper = CardSet.points(getAllHands() | state.getCardsOnTable());
+		while (lower < upper) {
+			final int test = (lower + upper + 1) / 2;
+			final int value = move == NO_MOVE ? search(test - 1, test, 0) : searchMove(move, test - 1, test, 0);
+			if (value >= test) {
+				lower = value;
+			} else {
+				upper = value;
+			}
+		}
+		return lower;
+	}
+
+	/**
+	 * Make a move, search the following state and undo the move.
+	 *
+	 * @param move
+	 *            the card's ordinal.
+	 * @param alpha
+	 *            the lower bound.
+	 * @param beta
+	 *            the upper bound.
+	 * @param depth
+	 *            the number of cards played in this search before the move.
+	 * @return the points the player team wins with this move and afterwards.
+	 */
+	private int searchMove(final int move, final int alpha, final int beta, final int depth) {
+
+		final int player = state.getPlayerOnTurnPosition().ordinal();
+		final int points = state.getTeamPoints(Team.PLAYER_TEAM);
+		state.play(move);
+		handKey ^= CARD_KEYS[player][move];
+		// striking does not change the points
+		final boolean strikeResolved = state.getGameState() == GameState.STRIKE;
+		if (strikeResolved) {
+			state.strike(false);
+		}
+		final int gain = state.getTeamPoints(Team.PLAYER_TEAM) - points;
+		final int value = gain + search(alpha - gain, beta - gain, depth + 1);
+		if (strikeResolved) {
+			state.undo();
+		}
+		state.undo();
+		handKey ^= CARD_KEYS[player][move];
+		return value;
+	}
+}
@@ -0,0 +1,196 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEndgameCache;
+
+/**
+ * This class implements the endgame cache by an open addressing table without locks.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The number of slots is the greatest power of two, whose slots fit into the memory budget. A slot consists of {@link #SLOT_LONGS} longs: the stamp and
+ * the two keys.<br>
+ * - A position is stored in one of the {@link #PROBES} slots following the slot its hash indicates. If none of them is free or holds the position, the slot
+ * with the fewest cards is replaced, because the positions with more cards are more expensive to solve.<br>
+ * - The stamp holds a version and the bounds. A writer makes the version odd by a compare and set, writes the keys and makes the version even again with
+ * the new bounds. A reader only accepts the keys, if it reads the same even stamp before and after them. A writer that finds the slot in use by another
+ * writer drops its bounds.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EndgameCache implements IEndgameCache {
+
+	/**
+	 * The default memory budget in bytes.
+	 */
+	public static final long DEFAULT_BUDGET = 32L << 20;
+	/**
+	 * The number of slots searched for a position.
+	 */
+	public static final int PROBES = 4;
+	/**
+	 * The number of longs of a slot.
+	 */
+	private static final int SLOT_LONGS = 3;
+	/**
+	 * The size of a slot in bytes.
+	 */
+	private static final int SLOT_BYTES = SLOT_LONGS * Long.SIZE / Byte.SIZE;
+	/**
+	 * Offset of the cards key in a slot.
+	 */
+	private static final int OFFSET_CARDS = 1;
+	/**
+	 * Offset of the game key in a slot.
+	 */
+	private static final int OFFSET_GAME = 2;
+	/**
+	 * Shift of the version in a stamp.
+	 */
+	private static final int SHIFT_VERSION = 2 * SHIFT_UPPER;
+	/**
+	 * Mask for the bounds in a stamp.
+	 */
+	private static final long MASK_BOUNDS = (1L << SHIFT_VERSION) - 1;
+	/**
+	 * The bit of a stamp, that is set while the slot is written.
+	 */
+	private static final long WRITING = 1L << SHIFT_VERSION;
+	/**
+	 * Mask for the remaining cards in a cards key.
+	 */
+	private static final long MASK_CARDS = 0xFFFFFFFFL;
+
+	/**
+	 * The mask of the slot index.
+	 */
+	private final int slotMask;
+	/**
+	 * The slots: stamp, cards key and game key, indicated by slot index * {@link #SLOT_LONGS}.
+	 */
+	private final AtomicLongArray slots;
+
+	/**
+	 * Creates an empty cache with the {@link #DEFAULT_BUDGET}.
+	 */
+	public EndgameCache() {
+
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param budget
+	 *            the maximum memory of the table in bytes.
+	 * @throws IllegalArgumentException
+	 *             if the budget is smaller than {@link #PROBES} slots.
+	 */
+	public EndgameCache(final long budget) {
+
+		if (budget < PROBES * SLOT_BYTES) {
+			throw new IllegalArgumentException();
+		}
+		final int slotCount = (int) Long.highestOneBit(Math.min(budget / SLOT_BYTES, 1 << 29));
+		this.slotMask = slotCount - 1;
+		this.slots = new AtomicLongArray(slotCount * SLOT_LONGS);
+	}
+
+	/**
+	 * Mix the bits of the keys, so similar positions are spread over all slots.
+	 *
+	 * @param cardsKey
+	 *            the cards key.
+	 * @param gameKey
+	 *            the game key.
+	 * @return the hash.
+	 */
+	private static int hash(final long cardsKey, final long gameKey) {
+
+		long hash = cardsKey ^ gameKey * 0x9E3779B97F4A7C15L;
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return (int) hash;
+	}
+
+	@Override
+	public void clear() {
+
+		for (int index = 0; index < slots.length(); ++index) {
+			slots.set(index, 0L);
+		}
+	}
+
+	@Override
+	public int get(final long cardsKey, final long gameKey) {
+
+		final int home = hash(cardsKey, gameKey);
+		for (int probe = 0; probe < PROBES; ++probe) {
+			final int base = (home + probe & slotMask) * SLOT_LONGS;
+			final long stamp = slots.get(base);
+			if (stamp == 0) {
+				// slots are never freed, so the position is not stored behind a free slot
+				return -1;
+			}
+			if ((stamp & WRITING) == 0 && slots.get(base + OFFSET_CARDS) == cardsKey && slots.get(base + OFFSET_GAME) == gameKey && slots.get(base) == stamp) {
+				return (int) (stamp & MASK_BOUNDS);
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int getCapacity() {
+
+		return slotMask + 1;
+	}
+
+	@Override
+	public void put(final long cardsKey, final long gameKey, final int lower, final int upper) {
+
+		if (lower < 0 || lower > upper || upper > MASK_POINTS) {
+			throw new IllegalArgumentException();
+		}
+		final int home = hash(cardsKey, gameKey);
+		int target = -1;
+		int targetCards = Integer.MAX_VALUE;
+		boolean found = false;
+		long stamp = 0;
+		for (int probe = 0; probe < PROBES; ++probe) {
+			final int base = (home + probe & slotMask) * SLOT_LONGS;
+			stamp = slots.get(base);
+			final long otherCardsKey = slots.get(base + OFFSET_CARDS);
+			found = stamp != 0 && otherCardsKey == cardsKey && slots.get(base + OFFSET_GAME) == gameKey;
+			if (stamp == 0 || found) {
+				target = base;
+				break;
+			}
+			final int cards = Long.bitCount(otherCardsKey & MASK_CARDS);
+			if (cards < targetCards) {
+				target = base;
+				targetCards = cards;
+			}
+		}
+		if (!found) {
+			stamp = slots.get(target);
+		}
+		// the keys read before belong to the stamp, if the compare and set succeeds
+		if ((stamp & WRITING) != 0 || !slots.compareAndSet(target, stamp, stamp | WRITING)) {
+			return;
+		}
+		int newLower = lower;
+		int newUpper = upper;
+		if (found) {
+			newLower = Math.max(lower, (int) stamp & MASK_POINTS);
+			newUpper = Math.min(upper, (int) stamp >>> SHIFT_UPPER & MASK_POINTS);
+		}
+		slots.set(target + OFFSET_CARDS, cardsKey);
+		slots.set(target + OFFSET_GAME, gameKey);
+		slots.set(target, ((stamp >>> SHIFT_VERSION) + 2 << SHIFT_VERSION) + (newUpper << SHIFT_UPPER | newLower));
+	}
+}
@@ -0,0 +1,172 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationCache;
+
+/**
+ * This class implements a bounded evaluation cache without locks.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The cache is set associative: a key is stored in one of the {@link #WAYS} slots of the set its hash indicates. The capacity is rounded up to a power of
+ * two.<br>
+ * - A full set evicts by the clock algorithm: a lookup marks the entry as referenced, the hand of the set passes the referenced entries once and evicts the
+ * first entry that is not referenced.<br>
+ * - The entries are immutable apart from their reference mark and are published atomically, so a lookup never sees a partially stored entry. Concurrent
+ * insertions into the same set may replace each other, which only loses values.
+ *
+ * @author Sebastian Stumpf
+ *
+ * @param <V>
+ *            the type of the cached values.
+ */
+public class EvaluationCache<V> implements IEvaluationCache<V> {
+
+	/**
+	 * The number of slots of a set.
+	 */
+	public static final int WAYS = 4;
+
+	/**
+	 * The clock hands indicated by set index. Races only influence the choice of the evicted entry.
+	 */
+	private final int[] hands;
+	/**
+	 * The mask of the set index.
+	 */
+	private final int setMask;
+	/**
+	 * The slots indicated by set index * {@link #WAYS} + way.
+	 */
+	private final AtomicReferenceArray<Entry<V>> slots;
+
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param capacity
+	 *            the minimum number of stored values, it is rounded up to a power of two.
+	 * @throws IllegalArgumentException
+	 *             if the capacity is not positive or greater than 2^30.
+	 */
+	public EvaluationCache(final int capacity) {
+
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException();
+		}
+		final int sets = Math.max(1, Integer.highestOneBit(capacity - 1) * 2 / WAYS);
+		this.setMask = sets - 1;
+		this.hands = new int[sets];
+		this.slots = new AtomicReferenceArray<Entry<V>>(sets * WAYS);
+	}
+
+	/**
+	 * Mix the bits of a key, so similar keys are spread over all sets.
+	 *
+	 * @param key
+	 *            the key.
+	 * @return the hash.
+	 */
+	private static int hash(final long key) {
+
+		long hash = key;
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return (int) hash;
+	}
+
+	@Override
+	public void clear() {
+
+		for (int slot = 0; slot < slots.length(); ++slot) {
+			slots.set(slot, null);
+		}
+	}
+
+	@Override
+	public V get(final long key) {
+
+		final int first = (hash(key) & setMask) * WAYS;
+		for (int slot = first; slot < first + WAYS; ++slot) {
+			final Entry<V> entry = slots.get(slot);
+			if (entry != null && entry.key == key) {
+				if (!entry.referenced) {
+					entry.referenced = true;
+				}
+				return entry.value;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public int getCapacity() {
+
+		return slots.length();
+	}
+
+	@Override
+	public void put(final long key, final V value) {
+
+		if (value == null) {
+			throw new IllegalArgumentException();
+		}
+		final int set = hash(key) & setMask;
+		final int first = set * WAYS;
+		final Entry<V> newEntry = new Entry<V>(key, value);
+		for (int slot = first; slot < first + WAYS; ++slot) {
+			final Entry<V> entry = slots.get(slot);
+			if (entry == null || entry.key == key) {
+				slots.set(slot, newEntry);
+				return;
+			}
+		}
+		// every entry is passed at most once, then the first passed one is not referenced any more
+		int hand = hands[set];
+		for (int step = 0; step < WAYS; ++step) {
+			final Entry<V> entry = slots.get(first + hand);
+			if (entry == null || !entry.referenced) {
+				break;
+			}
+			entry.referenced = false;
+			hand = (hand + 1) % WAYS;
+		}
+		slots.set(first + hand, newEntry);
+		hands[set] = (hand + 1) % WAYS;
+	}
+
+	/**
+	 * An entry is a key with its value and the reference mark of the clock algorithm.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 * @param <V>
+	 *            the type of the value.
+	 */
+	private static final class Entry<V> {
+
+		/** The key. */
+		private final long key;
+		/** True if the entry was looked up since the hand of its set passed it. */
+		private volatile boolean referenced;
+		/** The value. */
+		private final V value;
+
+		/**
+		 * Instantiate the entry with the given parameters.
+		 *
+		 * @param key
+		 *            the key.
+		 * @param value
+		 *            the value.
+		 */
+		private Entry(final long key, final V value) {
+
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,540 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISelfPlayRecord;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This class extracts the binary features of the {@link EvaluationModel}. A feature is given by the index of its weight, the extracted features of a
+ * decision are written into a buffer that is reused, so no object is created per decision.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - Every game type has its own block of weights. A card is given by its slot, the index in the cards sorted by the rules of the game, so the slots of
+ * the trumps mean the same in games with different trump colors.<br>
+ * - The features of a card to play: the card, the rest of the hand, the cards played in former tricks, the cards on the table, the card by position in
+ * the trick and by role of the player, the colors the other players can not serve, the role of the player by the trick won by the lead player and by
+ * the card, the points of the trick by the card winning it and the number of the trick.<br>
+ * - The features of a game to choose: the cards of the hand, the number of trumps, the number of aces that are no trump and the seat of the player
+ * relative to the game's first player.<br>
+ * - The state of a card decision is either taken from the player utilities or rebuilt from a {@link ISelfPlayRecord}. A record does not contain the
+ * possible cards of the players, the colors a player can not serve are rebuilt from the cards he did not serve with and the colors that are not left.<br>
+ * <br>
+ *
+ * An instance is not thread safe, every thread has to use its own instance.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EvaluationFeatures {
+
+	/**
+	 * The maximum number of features of a decision.
+	 */
+	public static final int MAX_FEATURES = 64;
+	/**
+	 * The role of the lead player.
+	 */
+	private static final int ROLE_LEAD = 0;
+	/**
+	 * The role of the lead player's mate, if he knows that he is the mate.
+	 */
+	private static final int ROLE_MATE = 1;
+	/**
+	 * The role of the other players.
+	 */
+	private static final int ROLE_OPPONENT = 2;
+	/**
+	 * All colors indicated by ordinal.
+	 */
+	private static final CardColor[] COLORS = CardColor.values();
+	/**
+	 * The number of cards, every card has its own slot.
+	 */
+	private static final int CARDS = IStackHandler.NUMBER_OF_CARDS;
+	/**
+	 * The number of card classes: the trumps and the colors without the trumps.
+	 */
+	private static final int CLASSES = COLORS.length + 1;
+	/**
+	 * The number of roles.
+	 */
+	private static final int ROLES = 3;
+	/**
+	 * The number of buckets of the points on the table.
+	 */
+	private static final int POINT_BUCKETS = 9;
+	/**
+	 * The points per bucket of the points on the table.
+	 */
+	private static final int POINTS_PER_BUCKET = 5;
+	/**
+	 * The number of tricks.
+	 */
+	private static final int TRICKS = IRestrictedGameData.MAX_HAND_SIZE;
+	/**
+	 * The offset of the card to play in a block of card weights.
+	 */
+	private static final int CARD = 0;
+	/**
+	 * The offset of the rest of the hand in a block of card weights.
+	 */
+	private static final int HAND = CARD + CARDS;
+	/**
+	 * The offset of the cards played in former tricks in a block of card weights.
+	 */
+	private static final int PLAYED = HAND + CARDS;
+	/**
+	 * The offset of the cards on the table in a block of card weights.
+	 */
+	private static final int TABLE = PLAYED + CARDS;
+	/**
+	 * The offset of the card by position in the trick in a block of card weights.
+	 */
+	private static final int CARD_BY_TRICK_POSITION = TABLE + CARDS;
+	/**
+	 * The offset of the card by role in a block of card weights.
+	 */
+	private static final int CARD_BY_ROLE = CARD_BY_TRICK_POSITION + IRestrictedGameData.NUMBER_OF_PLAYERS * CARDS;
+	/**
+	 * The offset of the colors the other players can not serve in a block of card weights.
+	 */
+	private static final int VOIDS = CARD_BY_ROLE + ROLES * CARDS;
+	/**
+	 * The offset of the role by the trick won by the lead player and by the card in a block of card weights.
+	 */
+	private static final int WINNER = VOIDS + (IRestrictedGameData.NUMBER_OF_PLAYERS - 1) * CLASSES;
+	/**
+	 * The offset of the points on the table by the card winning them in a block of card weights.
+	 */
+	private static final int TABLE_POINTS = WINNER + ROLES * 2 * 2;
+	/**
+	 * The offset of the number of the trick in a block of card weights.
+	 */
+	private static final int TRICK = TABLE_POINTS + POINT_BUCKETS * 2;
+	/**
+	 * The offset of the bias in a block of card weights.
+	 */
+	private static final int CARD_BIAS = TRICK + TRICKS;
+	/**
+	 * The number of weights of a game type to play the cards.
+	 */
+	public static final int CARD_FEATURES = CARD_BIAS + 1;
+	/**
+	 * The offset of the hand in a block of game weights.
+	 */
+	private static final int GAME_HAND = 0;
+	/**
+	 * The offset of the number of trumps in a block of game weights.
+	 */
+	private static final int GAME_TRUMPS = GAME_HAND + CARDS;
+	/**
+	 * The offset of the number of aces that are no trump in a block of game weights.
+	 */
+	private static final int GAME_ACES = GAME_TRUMPS + IRestrictedGameData.MAX_HAND_SIZE + 1;
+	/**
+	 * The offset of the seat in a block of game weights.
+	 */
+	private static final int GAME_SEAT = GAME_ACES + COLORS.length + 1;
+	/**
+	 * The offset of the bias in a block of game weights.
+	 */
+	private static final int GAME_BIAS = GAME_SEAT + IRestrictedGameData.NUMBER_OF_PLAYERS;
+	/**
+	 * The number of weights of a game type to choose the game.
+	 */
+	public static final int GAME_FEATURES = GAME_BIAS + 1;
+	/**
+	 * The slots of the cards indicated by game type ordinal, trump color ordinal and card ordinal. The color length indicates no trump color.
+	 */
+	private static final int[][][] SLOTS = indicateSlots();
+
+	/**
+	 * The offset of the block of weights of the current game type.
+	 */
+	private int block;
+	/**
+	 * The masks of the card classes, the trumps first, then the colors indicated by color ordinal + 1.
+	 */
+	private final int[] classMasks;
+	/**
+	 * The buffer of the extracted features.
+	 */
+	private final int[] features;
+	/**
+	 * The cards on the hand of the player.
+	 */
+	private int hand;
+	/**
+	 * The position of the lead player's card in the trick, -1 if it is not on the table.
+	 */
+	private int leadIndex;
+	/**
+	 * The classes the players did not serve, indicated by position ordinal. Only used to rebuild the state of a record.
+	 */
+	private final int[] notServed;
+	/**
+	 * The cards played in former tricks.
+	 */
+	private int played;
+	/**
+	 * The role of the player.
+	 */
+	private int role;
+	/**
+	 * The rules of the current game.
+	 */
+	private IRuleSet ruleSet;
+	/**
+	 * The seat of the player relative to the game's first player.
+	 */
+	private int seat;
+	/**
+	 * The slots of the cards in the current game.
+	 */
+	private int[] slots;
+	/**
+	 * The cards on the table in the order they were played.
+	 */
+	private final int[] table;
+	/**
+	 * The number of cards on the table.
+	 */
+	private int tableCount;
+	/**
+	 * The set of the cards on the table.
+	 */
+	private int tableSet;
+	/**
+	 * The number of the trick.
+	 */
+	private int trick;
+	/**
+	 * The classes the other players can not serve, a bit for every class of every other player in the order after the player.
+	 */
+	private int voids;
+
+	/**
+	 * Creates an instance with an empty state.
+	 */
+	public EvaluationFeatures() {
+
+		this.features = new int[MAX_FEATURES];
+		this.classMasks = new int[CLASSES];
+		this.notServed = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.table = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+	}
+
+	/**
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, may be null.
+	 * @return the trump color of the game.
+	 */
+	private static CardColor getTrumpColor(final GameType gameType, final CardColor color) {
+
+		return gameType == GameType.SAUSPIEL ? IRestrictedGameData.SAUSPIEL_TRUMP_COLOR : color;
+	}
+
+	/**
+	 * Generate the slots of the cards. Used for initialization of static values.
+	 *
+	 * @return the slots indicated by game type ordinal, trump color ordinal and card ordinal.
+	 */
+	private static int[][][] indicateSlots() {
+
+		final GameType[] gameTypes = GameType.values();
+		final int[][][] slots = new int[gameTypes.length][COLORS.length + 1][CARDS];
+		for (final GameType gameType : gameTypes) {
+			for (int color = 0; color <= COLORS.length; ++color) {
+				final List<ICard> sorted = RuleSet.getInstance(gameType, color < COLORS.length ? COLORS[color] : null).getSortedCards();
+				for (int slot = 0; slot < sorted.size(); ++slot) {
+					slots[gameType.ordinal()][color][sorted.get(slot).getOrdinal()] = slot;
+				}
+			}
+		}
+		return slots;
+	}
+
+	/**
+	 * @param from
+	 *            the position.
+	 * @param to
+	 *            the other position.
+	 * @return the number of seats from the position to the other position in playing order.
+	 */
+	private static int seats(final PlayerPosition from, final PlayerPosition to) {
+
+		return (to.ordinal() - from.ordinal() + IRestrictedGameData.NUMBER_OF_PLAYERS) % IRestrictedGameData.NUMBER_OF_PLAYERS;
+	}
+
+	/**
+	 * Extract the features of playing a card in the current state of the card decision.
+	 *
+	 * @param card
+	 *            the ordinal of the card on the hand.
+	 * @return the number of extracted features, see {@link #getFeatures()}.
+	 */
+	public int extractCard(final int card) {
+
+		int count = 0;
+		final int slot = slots[card];
+		features[count++] = block + CARD + slot;
+		for (int rest = hand & ~(1 << card); rest != 0; rest &= rest - 1) {
+			features[count++] = block + HAND + slots[CardSet.first(rest)];
+		}
+		for (int rest = played; rest != 0; rest &= rest - 1) {
+			features[count++] = block + PLAYED + slots[CardSet.first(rest)];
+		}
+		for (int index = 0; index < tableCount; ++index) {
+			features[count++] = block + TABLE + slots[table[index]];
+		}
+		features[count++] = block + CARD_BY_TRICK_POSITION + tableCount * CARDS + slot;
+		features[count++] = block + CARD_BY_ROLE + role * CARDS + slot;
+		for (int rest = voids; rest != 0; rest &= rest - 1) {
+			features[count++] = block + VOIDS + Integer.numberOfTrailingZeros(rest);
+		}
+		// the card wins, if it dominates the card winning the trick so far
+		boolean wins = true;
+		boolean leadWins = role == ROLE_LEAD;
+		if (tableCount > 0) {
+			int winner = 0;
+			for (int index = 1; index < tableCount; ++index) {
+				if (ruleSet.dominates(table[winner], table[index])) {
+					winner = index;
+				}
+			}
+			wins = ruleSet.dominates(table[winner], card);
+			leadWins = wins ? role == ROLE_LEAD : winner == leadIndex;
+		}
+		final int winning = wins ? 1 : 0;
+		features[count++] = block + WINNER + (role * 2 + (leadWins ? 1 : 0)) * 2 + winning;
+		final int bucket = Math.min(POINT_BUCKETS - 1, CardSet.points(tableSet | 1 << card) / POINTS_PER_BUCKET);
+		features[count++] = block + TABLE_POINTS + bucket * 2 + winning;
+		features[count++] = block + TRICK + trick;
+		features[count++] = block + CARD_BIAS;
+		return count;
+	}
+
+	/**
+	 * Extract the features of choosing a game in the current state of the game decision.
+	 *
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, may be null.
+	 * @return the number of extracted features, see {@link #getFeatures()}.
+	 * @throws IllegalArgumentException
+	 *             if the game type is null.
+	 */
+	public int extractGame(final GameType gameType, final CardColor color) {
+
+		setRules(gameType, color);
+		final int gameBlock = gameType.ordinal() * GAME_FEATURES;
+		int count = 0;
+		for (int rest = hand; rest != 0; rest &= rest - 1) {
+			features[count++] = gameBlock + GAME_HAND + slots[CardSet.first(rest)];
+		}
+		final int trumps = ruleSet.getTrumpSet();
+		features[count++] = gameBlock + GAME_TRUMPS + Math.min(IRestrictedGameData.MAX_HAND_SIZE, CardSet.size(hand & trumps));
+		features[count++] = gameBlock + GAME_ACES + CardSet.size(hand & CardSet.valueMask(CardValue.SAU) & ~trumps);
+		features[count++] = gameBlock + GAME_SEAT + seat;
+		features[count++] = gameBlock + GAME_BIAS;
+		return count;
+	}
+
+	/**
+	 * @return the buffer of the features extracted last, its content changes with the next extraction.
+	 */
+	public int[] getFeatures() {
+
+		return features;
+	}
+
+	/**
+	 * Set the state of a game decision.
+	 *
+	 * @param hand
+	 *            the known cards of the player's hand.
+	 * @param seat
+	 *            the seat of the player relative to the game's first player, from 0 to 3.
+	 * @throws IllegalArgumentException
+	 *             if the seat is not valid.
+	 */
+	public void setGameState(final int hand, final int seat) {
+
+		if (seat < 0 || seat >= IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		this.hand = hand;
+		this.seat = seat;
+	}
+
+	/**
+	 * Set the state of a card decision of a recorded game: the player of the ply is on turn.
+	 *
+	 * @param record
+	 *            the record.
+	 * @param ply
+	 *            the ply.
+	 * @throws IllegalArgumentException
+	 *             if the record is null, the ply is not played or no game was chosen.
+	 */
+	public void setPlayState(final ISelfPlayRecord record, final int ply) {
+
+		if (record == null || record.getGameType() == null) {
+			throw new IllegalArgumentException();
+		}
+		final GameType gameType = record.getGameType();
+		setRules(gameType, record.getColor());
+		final PlayerPosition player = record.getPlayerPosition(ply);
+		final PlayerPosition leadPlayer = record.getLeadPlayerPosition();
+		final int trickStart = ply - ply % IRestrictedGameData.NUMBER_OF_PLAYERS;
+		hand = record.getHandSet(ply);
+		played = trickStart == 0 ? CardSet.EMPTY : record.getPlayedCardSet(trickStart);
+		trick = ply / IRestrictedGameData.NUMBER_OF_PLAYERS;
+		tableCount = 0;
+		tableSet = CardSet.EMPTY;
+		leadIndex = -1;
+		for (int index = trickStart; index < ply; ++index) {
+			if (record.getPlayerPosition(index) == leadPlayer) {
+				leadIndex = tableCount;
+			}
+			table[tableCount++] = record.getPlayedCard(index);
+			tableSet |= 1 << record.getPlayedCard(index);
+		}
+		if (player == leadPlayer) {
+			role = ROLE_LEAD;
+		} else if (gameType.isPartnerGame && (record.getInitialHandSet(player) & 1 << CardSet.ordinal(record.getColor(), CardValue.SAU)) != 0) {
+			role = ROLE_MATE;
+		} else {
+			role = ROLE_OPPONENT;
+		}
+		// the classes the players did not serve when they had to
+		Arrays.fill(notServed, 0);
+		for (int index = 0; index < ply; ++index) {
+			final int first = record.getPlayedCard(index - index % IRestrictedGameData.NUMBER_OF_PLAYERS);
+			if ((ruleSet.getFollowSet(first) & 1 << record.getPlayedCard(index)) == 0) {
+				notServed[record.getPlayerPosition(index).ordinal()] |= 1 << classOf(first);
+			}
+		}
+		voids = 0;
+		final int known = hand | played | tableSet;
+		PlayerPosition other = player.getNext();
+		for (int offset = 0; other != player; offset += CLASSES, other = other.getNext()) {
+			for (int cardClass = 0; cardClass < CLASSES; ++cardClass) {
+				if ((notServed[other.ordinal()] & 1 << cardClass) != 0 || (classMasks[cardClass] & ~known) == 0) {
+					voids |= 1 << offset + cardClass;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Set the state of a card decision: the point of view player is on turn.
+	 *
+	 * @param playerUtils
+	 *            the player utilities.
+	 * @throws IllegalArgumentException
+	 *             if the player utilities are null.
+	 */
+	public void setPlayState(final IRestrictedPlayerUtils playerUtils) {
+
+		if (playerUtils == null) {
+			throw new IllegalArgumentException();
+		}
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		setRules(gameData.getGameType(), gameData.getColor());
+		final PlayerPosition player = gameData.getPointOfViewPosition();
+		final PlayerPosition leadPlayer = gameData.getLeadPlayerPosition();
+		hand = playerUtils.getPovPlayerData().getCurrentHandSet();
+		tableCount = 0;
+		tableSet = CardSet.EMPTY;
+		leadIndex = -1;
+		PlayerPosition position = gameData.getRoundsFirstPlayerPosition();
+		for (int index = 0; index < IRestrictedGameData.NUMBER_OF_PLAYERS && position != player; ++index, position = position.getNext()) {
+			final ICard card = gameData.getRestrictedPlayerDatas().get(position).getPlayedCard();
+			if (card == null) {
+				break;
+			}
+			if (position == leadPlayer) {
+				leadIndex = tableCount;
+			}
+			table[tableCount++] = card.getOrdinal();
+			tableSet |= CardSet.bit(card);
+		}
+		// the cards the player neither holds nor sees on the table nor can be held by the others are played
+		played = ~hand & ~tableSet & ~playerUtils.getUnknownCardSet();
+		trick = CardSet.size(played) / IRestrictedGameData.NUMBER_OF_PLAYERS;
+		if (player == leadPlayer) {
+			role = ROLE_LEAD;
+		} else if (playerUtils.isLeadPlayerMate()) {
+			role = ROLE_MATE;
+		} else {
+			role = ROLE_OPPONENT;
+		}
+		voids = 0;
+		PlayerPosition other = player.getNext();
+		for (int offset = 0; other != player; offset += CLASSES, other = other.getNext()) {
+			final int possible = playerUtils.getPossibleCardSet(other);
+			for (int cardClass = 0; cardClass < CLASSES; ++cardClass) {
+				if ((possible & classMasks[cardClass]) == 0) {
+					voids |= 1 << offset + cardClass;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param ordinal
+	 *            the card's ordinal.
+	 * @return the class of the card in the current game.
+	 */
+	private int classOf(final int ordinal) {
+
+		for (int cardClass = 0; cardClass < CLASSES; ++cardClass) {
+			if ((classMasks[cardClass] & 1 << ordinal) != 0) {
+				return cardClass;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Set the rules, the slots and the block of the card weights of a game.
+	 *
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, may be null.
+	 * @throws IllegalArgumentException
+	 *             if the game type is null.
+	 */
+	private void setRules(final GameType gameType, final CardColor color) {
+
+		if (gameType == null) {
+			throw new IllegalArgumentException();
+		}
+		final CardColor trumpColor = getTrumpColor(gameType, color);
+		ruleSet = RuleSet.getInstance(gameType, trumpColor);
+		slots = SLOTS[gameType.ordinal()][trumpColor == null ? COLORS.length : trumpColor.ordinal()];
+		block = gameType.ordinal() * CARD_FEATURES;
+		classMasks[0] = ruleSet.getTrumpSet();
+		for (final CardColor suit : COLORS) {
+			classMasks[suit.ordinal() + 1] = ruleSet.getSuitSet(suit);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationModel;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+
+/**
+ * This class implements the evaluation model by a linear model over the features of {@link EvaluationFeatures}, the weights are trained by the
+ * {@link EvaluationModelTrainer}.<br>
+ * <br>
+ *
+ * File format, all numbers big endian:<br>
+ * - The header: the magic number, the version, the number of card weights and the number of game weights, each an int.<br>
+ * - The card weights followed by the game weights, each a float.<br>
+ * <br>
+ *
+ * A new model has all weights 0, so every decision has the same score.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EvaluationModel implements IEvaluationModel {
+
+	/**
+	 * The default path of the weights file.
+	 */
+	public static final String DEFAULT_PATH = "data/evaluation_model.bin";
+	/**
+	 * The number of card weights.
+	 */
+	static final int CARD_WEIGHTS = GameType.values().length * EvaluationFeatures.CARD_FEATURES;
+	/**
+	 * The number of game weights.
+	 */
+	static final int GAME_WEIGHTS = GameType.values().length * EvaluationFeatures.GAME_FEATURES;
+	/**
+	 * The magic number at the start of the file.
+	 */
+	private static final int MAGIC = 0x534B454D;
+	/**
+	 * The version of the file format.
+	 */
+	private static final int VERSION = 1;
+	/**
+	 * The size of the file header.
+	 */
+	private static final int HEADER_SIZE = 4 * Integer.SIZE / Byte.SIZE;
+	/**
+	 * The size of the file.
+	 */
+	private static final long FILE_SIZE = HEADER_SIZE + (long) (CARD_WEIGHTS + GAME_WEIGHTS) * Float.SIZE / Byte.SIZE;
+
+	/**
+	 * The weights of the card features.
+	 */
+	final float[] cardWeights;
+	/**
+	 * The weights of the game features.
+	 */
+	final float[] gameWeights;
+
+	/**
+	 * Creates a model with all weights 0.
+	 */
+	public EvaluationModel() {
+
+		this.cardWeights = new float[CARD_WEIGHTS];
+		this.gameWeights = new float[GAME_WEIGHTS];
+	}
+
+	/**
+	 * Load a model from a file.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @return the model.
+	 * @throws IOException
+	 *             if the file can not be read or has not the format of this version, the message names the reason.
+	 * @throws IllegalArgumentException
+	 *             if the path is null.
+	 */
+	public static IEvaluationModel load(final String path) throws IOException {
+
+		if (path == null) {
+			throw new IllegalArgumentException();
+		}
+		final RandomAccessFile file = new RandomAccessFile(path, "r");
+		try {
+			if (file.length() < HEADER_SIZE) {
+				throw new IOException("The file is too short for the header: " + file.length() + " bytes.");
+			}
+			final int magic = file.readInt();
+			if (magic != MAGIC) {
+				throw new IOException("The file is no evaluation model, magic number " + Integer.toHexString(magic) + ".");
+			}
+			final int version = file.readInt();
+			if (version != VERSION) {
+				throw new IOException("The file has version " + version + ", expected " + VERSION + ".");
+			}
+			final int cardWeights = file.readInt();
+			final int gameWeights = file.readInt();
+			if (cardWeights != CARD_WEIGHTS || gameWeights != GAME_WEIGHTS) {
+				throw new IOException("The file has " + cardWeights + " card and " + gameWeights + " game weights, expected " + CARD_WEIGHTS + " and "
+						+ GAME_WEIGHTS + ".");
+			}
+			if (file.length() != FILE_SIZE) {
+				throw new IOException("The file has " + file.length() + " bytes, expected " + FILE_SIZE + ".");
+			}
+			final EvaluationModel model = new EvaluationModel();
+			final FloatBuffer weights = file.getChannel().map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, FILE_SIZE - HEADER_SIZE).asFloatBuffer();
+			weights.get(model.cardWeights);
+			weights.get(model.gameWeights);
+			return model;
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * @param score
+	 *            the score of a decision.
+	 * @return the probability, that the team of the player wins the game.
+	 */
+	public static float probability(final float score) {
+
+		return (float) (1 / (1 + Math.exp(-score)));
+	}
+
+	/**
+	 * @param weights
+	 *            the weights.
+	 * @param features
+	 *            the buffer of the feature indices.
+	 * @param count
+	 *            the number of features in the buffer.
+	 * @return the sum of the weights of the features.
+	 */
+	static float score(final float[] weights, final int[] features, final int count) {
+
+		float score = 0;
+		for (int index = 0; index < count; ++index) {
+			score += weights[features[index]];
+		}
+		return score;
+	}
+
+	@Override
+	public float getCardScore(final int[] features, final int count) {
+
+		return score(cardWeights, features, count);
+	}
+
+	@Override
+	public float getGameScore(final int[] features, final int count) {
+
+		return score(gameWeights, features, count);
+	}
+
+	@Override
+	public boolean save(final String path) {
+
+		if (path == null) {
+			return false;
+		}
+		try {
+			final RandomAccessFile file = new RandomAccessFile(path, "rw");
+			try {
+				file.setLength(0);
+				file.setLength(FILE_SIZE);
+				file.writeInt(MAGIC);
+				file.writeInt(VERSION);
+				file.writeInt(CARD_WEIGHTS);
+				file.writeInt(GAME_WEIGHTS);
+				final MappedByteBuffer data = file.getChannel().map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, FILE_SIZE - HEADER_SIZE);
+				final FloatBuffer weights = data.asFloatBuffer();
+				weights.put(cardWeights);
+				weights.put(gameWeights);
+				data.force();
+			} finally {
+				file.close();
+			}
+		} catch (final IOException ex) {
+			return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,129 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISelfPlayReader;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This trainer fits the weights of an {@link EvaluationModel} to self play records, see {@link SelfPlayGenerator}.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The model is a logistic regression: the label of a decision is 1, if the player won credit in the game. Every played card is a sample of the card
+ * weights, the chosen game of the lead player is a sample of the game weights.<br>
+ * - The weights are fitted by stochastic gradient descent in the order of the records. The learning rate decreases with every pass over the records.<br>
+ * - Games, that are not recorded, keep their weights of 0. So the AI does not choose a game it has not seen.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EvaluationModelTrainer {
+
+	/**
+	 * The default number of passes over the records.
+	 */
+	public static final int DEFAULT_EPOCHS = 4;
+	/**
+	 * The default learning rate of the first pass.
+	 */
+	public static final float DEFAULT_LEARNING_RATE = 0.02f;
+
+	/**
+	 * The number of passes over the records.
+	 */
+	private final int epochs;
+	/**
+	 * The learning rate of the first pass.
+	 */
+	private final float learningRate;
+
+	/**
+	 * Creates an instance with the default number of passes and learning rate.
+	 */
+	public EvaluationModelTrainer() {
+
+		this(DEFAULT_EPOCHS, DEFAULT_LEARNING_RATE);
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param epochs
+	 *            the number of passes over the records.
+	 * @param learningRate
+	 *            the learning rate of the first pass.
+	 * @throws IllegalArgumentException
+	 *             if an argument is not positive.
+	 */
+	public EvaluationModelTrainer(final int epochs, final float learningRate) {
+
+		if (epochs <= 0 || !(learningRate > 0)) {
+			throw new IllegalArgumentException();
+		}
+		this.epochs = epochs;
+		this.learningRate = learningRate;
+	}
+
+	/**
+	 * Move the weights of the features towards the label.
+	 *
+	 * @param weights
+	 *            the weights.
+	 * @param features
+	 *            the buffer of the feature indices.
+	 * @param count
+	 *            the number of features in the buffer.
+	 * @param won
+	 *            the label.
+	 * @param rate
+	 *            the learning rate.
+	 */
+	private static void update(final float[] weights, final int[] features, final int count, final boolean won, final float rate) {
+
+		final float step = rate * ((won ? 1 : 0) - EvaluationModel.probability(EvaluationModel.score(weights, features, count)));
+		for (int index = 0; index < count; ++index) {
+			weights[features[index]] += step;
+		}
+	}
+
+	/**
+	 * Train a new model on the records.
+	 *
+	 * @param reader
+	 *            the reader of the records, it is reset before every pass.
+	 * @return the trained model.
+	 * @throws IllegalArgumentException
+	 *             if the reader is null.
+	 */
+	public IEvaluationModel train(final ISelfPlayReader reader) {
+
+		if (reader == null) {
+			throw new IllegalArgumentException();
+		}
+		final EvaluationModel model = new EvaluationModel();
+		final EvaluationFeatures features = new EvaluationFeatures();
+		for (int epoch = 0; epoch < epochs; ++epoch) {
+			final float rate = learningRate / (1 + epoch);
+			reader.reset();
+			while (reader.next()) {
+				final GameType gameType = reader.getGameType();
+				final PlayerPosition leadPlayer = reader.getLeadPlayerPosition();
+				if (gameType == null || gameType == GameType.PASS || leadPlayer == null) {
+					continue;
+				}
+				final int seat = (leadPlayer.ordinal() - reader.getGamesFirstPlayerPosition().ordinal() + IRestrictedGameData.NUMBER_OF_PLAYERS)
+						% IRestrictedGameData.NUMBER_OF_PLAYERS;
+				features.setGameState(reader.getInitialHandSet(leadPlayer), seat);
+				update(model.gameWeights, features.getFeatures(), features.extractGame(gameType, reader.getColor()), reader.getCredit(leadPlayer) > 0, rate);
+				for (int ply = 0; ply < reader.getPlyCount(); ++ply) {
+					features.setPlayState(reader, ply);
+					final int count = features.extractCard(reader.getPlayedCard(ply));
+					update(model.cardWeights, features.getFeatures(), count, reader.getCredit(reader.getPlayerPosition(ply)) > 0, rate);
+				}
+			}
+		}
+		return model;
+	}
+}
@@ -0,0 +1,516 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This class implements the exclusive game prover by reasoning on the card sets of the trump and the suits, with a search as fallback.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - First the proof by control is tried: every trump of the lead player is higher than every other trump and either the hand holds only trumps, or the lead
+ * player comes out, holds at least as many trumps as the opponents together and the highest cards of every suit he holds. Then drawing the trumps and
+ * playing the suits from the top wins every round.<br>
+ * - Otherwise the rounds are searched. The opponents are one adversary, that may play any card of any opponent, as long as the cards not played yet can be
+ * distributed to the opponents regarding the number of their cards and the suits they did not serve. So every line of play of every distribution is
+ * covered, the lead player only decides by what he has seen.<br>
+ * - The adversary beats the lead player's card if possible, otherwise it plays the lowest card of a suit, because higher cards only help the opponents in
+ * the later rounds. Cards between the same cards of the lead player are equivalent. Proven and refuted positions at the start of a round are remembered
+ * during a proof.<br>
+ * - A position is refuted at once, if an opponent may hold all other cards of a follow set and can keep its highest card, until the lead player has to play
+ * a lower card of the set.<br>
+ * - The search is capped by a budget of cards searched per proof, {@link #DEFAULT_NODE_BUDGET} by default. If the budget is exhausted, the search stops at
+ * once and the game is not proven, so a hand is never judged by an unbounded search.<br>
+ * - Measured by the prover cross check, a proof of Wenz Tout or Si takes tens of microseconds, a proof of Solo Tout or Farbwenz Tout a few milliseconds on
+ * average and up to about 50 milliseconds, when few rounds are won by control.<br>
+ * - The instance is not thread safe, every thread needs its own prover.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class ExclusiveGameProver implements IExclusiveGameProver {
+
+	/** The default number of cards searched per proof. */
+	public static final int DEFAULT_NODE_BUDGET = 1 << 16;
+	/** The number of opponents of the lead player. */
+	private static final int OPPONENTS = IRestrictedGameData.NUMBER_OF_PLAYERS - 1;
+	/** The maximum number of follow sets: the trump and one suit per color. */
+	private static final int MAX_CLASSES = CardColor.values().length + 1;
+
+	/** The number of follow sets of the game. */
+	private int classCount;
+	/** The follow sets of the game, the trump first. */
+	private final int[] classes;
+	/** True if the budget of the last proof was exhausted. */
+	private boolean exhausted;
+	/** The maximum number of cards searched per proof. */
+	private final int nodeBudget;
+	/** The number of cards searched in the current proof. */
+	private int nodes;
+	/** The positions at the start of a round with the lead player coming out, mapped to true if proven. */
+	private final Map<Position, Boolean> positions;
+	/** The rules of the game. */
+	private IRuleSet ruleSet;
+
+	/**
+	 * Instantiate the prover with a budget of {@link #DEFAULT_NODE_BUDGET} cards searched per proof.
+	 */
+	public ExclusiveGameProver() {
+
+		this(DEFAULT_NODE_BUDGET);
+	}
+
+	/**
+	 * Instantiate the prover with the given budget.
+	 *
+	 * @param nodeBudget
+	 *            the maximum number of cards searched per proof.
+	 * @throws IllegalArgumentException
+	 *             if the budget is not positive.
+	 */
+	public ExclusiveGameProver(final int nodeBudget) {
+
+		if (nodeBudget <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.nodeBudget = nodeBudget;
+		this.classes = new int[MAX_CLASSES];
+		this.positions = new HashMap<Position, Boolean>();
+	}
+
+	@Override
+	public IBasicGameData getSureGame(final IRestrictedPlayerUtils playerUtils) {
+
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final PlayerPosition firstPlayer = gameData.getGamesFirstPlayerPosition();
+		final int seat = firstPlayer == null ? 0 : (gameData.getPointOfViewPosition().ordinal() - firstPlayer.ordinal() + IRestrictedGameData.NUMBER_OF_PLAYERS)
+				% IRestrictedGameData.NUMBER_OF_PLAYERS;
+		final int hand = playerUtils.getPovPlayerData().getCurrentHandSet();
+		if (CardSet.size(hand) != IRestrictedGameData.ROUNDS_PER_GAME) {
+			return null;
+		}
+		IBasicGameData sureGame = null;
+		for (final GameType gameType : playerUtils.getAvailableGameTypes()) {
+			if (!gameType.isExclusive || sureGame != null && sureGame.getGameType().weight >= gameType.weight) {
+				continue;
+			}
+			if (!gameType.needsColor) {
+				if (playerUtils.isAllowedToChooseGame(gameType, null) && isSureWin(hand, gameType, null, seat)) {
+					sureGame = new BasicGameData(gameType, null);
+				}
+				continue;
+			}
+			for (final CardColor color : playerUtils.getAvailableColors(gameType)) {
+				if (playerUtils.isAllowedToChooseGame(gameType, color) && isSureWin(hand, gameType, color, seat)) {
+					sureGame = new BasicGameData(gameType, color);
+					break;
+				}
+			}
+		}
+		return sureGame;
+	}
+
+	@Override
+	public boolean isExhausted() {
+
+		return exhausted;
+	}
+
+	@Override
+	public boolean isSureWin(final int hand, final GameType gameType, final CardColor color, final int seat) {
+
+		if (gameType == null || !gameType.isExclusive && gameType != GameType.SI || gameType.needsColor == (color == null)
+				|| CardSet.size(hand) != IRestrictedGameData.ROUNDS_PER_GAME || seat < 0 || seat >= IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		ruleSet = RuleSet.getInstance(gameType, color);
+		classes[0] = ruleSet.getTrumpSet();
+		classCount = 1;
+		for (final CardColor suitColor : CardColor.values()) {
+			if (ruleSet.getSuitSet(suitColor) != CardSet.EMPTY) {
+				classes[classCount++] = ruleSet.getSuitSet(suitColor);
+			}
+		}
+		positions.clear();
+		exhausted = false;
+		nodes = 0;
+		try {
+			return winsRound(hand, ~hand, 0, (IRestrictedGameData.NUMBER_OF_PLAYERS - seat) % IRestrictedGameData.NUMBER_OF_PLAYERS);
+		} finally {
+			positions.clear();
+		}
+	}
+
+	/**
+	 * @param set
+	 *            the card set.
+	 * @param highest
+	 *            true for the highest card, false for the lowest card.
+	 * @return the card of the set with the highest or lowest rank, -1 if the set is empty.
+	 */
+	private int getExtremeCard(final int set, final boolean highest) {
+
+		int extreme = -1;
+		for (int rest = set; rest != 0; rest &= rest - 1) {
+			final int card = CardSet.first(rest);
+			if (extreme < 0 || ruleSet.getRank(card) > ruleSet.getRank(extreme) == highest) {
+				extreme = card;
+			}
+		}
+		return extreme;
+	}
+
+	/**
+	 * @param card
+	 *            the card's ordinal.
+	 * @return the index of the card's follow set.
+	 */
+	private int indexOf(final int card) {
+
+		final int followSet = ruleSet.getFollowSet(card);
+		int index = 0;
+		while (classes[index] != followSet) {
+			++index;
+		}
+		return index;
+	}
+
+	/**
+	 * Check if the unknown cards can be distributed to the opponents.
+	 *
+	 * @param unknown
+	 *            the cards of the opponents.
+	 * @param voids
+	 *            the follow sets the opponents do not hold, see {@link #isVoid(int, int, int)}.
+	 * @param leader
+	 *            the seat of the round's first player relative to the lead player.
+	 * @param played
+	 *            the number of cards played in the round.
+	 * @param cards
+	 *            the number of cards of every player at the start of the round.
+	 * @return true if there is a distribution.
+	 */
+	private boolean isFeasible(final int unknown, final int voids, final int leader, final int played, final int cards) {
+
+		// Hall's condition: every group of follow sets fits into the opponents that may hold one of them
+		for (int group = 1; group < 1 << classCount; ++group) {
+			int demand = 0;
+			for (int index = 0; index < classCount; ++index) {
+				if ((group & 1 << index) != 0) {
+					demand += CardSet.size(unknown & classes[index]);
+				}
+			}
+			int supply = 0;
+			for (int opponent = 0; opponent < OPPONENTS; ++opponent) {
+				if ((~voids >>> opponent * MAX_CLASSES & group) != 0) {
+					final int offset = (opponent + 1 - leader + IRestrictedGameData.NUMBER_OF_PLAYERS) % IRestrictedGameData.NUMBER_OF_PLAYERS;
+					supply += offset < played ? cards - 1 : cards;
+				}
+			}
+			if (demand > supply) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Try the refutation by a guard: an opponent may hold all other cards of the follow set of a card of the lead player, including a higher one. If he has
+	 * enough other cards to play until the lead player has to play the card, he beats it.
+	 *
+	 * @param hand
+	 *            the hand of the lead player, he comes out in all rounds.
+	 * @param unknown
+	 *            the cards of the opponents.
+	 * @param voids
+	 *            the follow sets the opponents do not hold, see {@link #isVoid(int, int, int)}.
+	 * @return true if refuted.
+	 */
+	private boolean isSureLossByGuard(final int hand, final int unknown, final int voids) {
+
+		final int cards = CardSet.size(hand);
+		for (int index = 0; index < classCount; ++index) {
+			final int own = hand & classes[index];
+			final int other = unknown & classes[index];
+			if (own == CardSet.EMPTY || other == CardSet.EMPTY) {
+				continue;
+			}
+			// the guard is the highest other card, the own cards above it are led before the highest own card below it
+			final int guard = getExtremeCard(other, true);
+			int higherOwn = 0;
+			int lowerOwn = 0;
+			for (int rest = own; rest != 0; rest &= rest - 1) {
+				if (ruleSet.getRank(CardSet.first(rest)) > ruleSet.getRank(guard)) {
+					++higherOwn;
+				} else {
+					++lowerOwn;
+				}
+			}
+			if (lowerOwn == 0) {
+				continue;
+			}
+			// the guard holder plays a card of the follow set for every higher card led and for every other card he can not answer from the rest of his hand
+			final int otherCards = CardSet.size(other);
+			final int forced = higherOwn + Math.max(0, CardSet.size(hand & ~classes[index]) - (cards - otherCards));
+			if (otherCards - 1 < forced) {
+				continue;
+			}
+			for (int opponent = 0; opponent < OPPONENTS; ++opponent) {
+				if (isVoid(voids, opponent, index)) {
+					continue;
+				}
+				int holderVoids = voids;
+				for (int rest = 0; rest < OPPONENTS; ++rest) {
+					if (rest != opponent) {
+						holderVoids |= 1 << rest * MAX_CLASSES + index;
+					}
+				}
+				if (isFeasible(unknown, holderVoids, 0, 0, cards)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Try the proof by control, see the class description.
+	 *
+	 * @param hand
+	 *            the hand of the lead player.
+	 * @param unknown
+	 *            the cards of the opponents.
+	 * @param comingOut
+	 *            true if the lead player comes out in the first round.
+	 * @return true if proven.
+	 */
+	private boolean isSureWinByControl(final int hand, final int unknown, final boolean comingOut) {
+
+		final int trumps = hand & classes[0];
+		final int otherTrumps = unknown & classes[0];
+		if (trumps != CardSet.EMPTY && otherTrumps != CardSet.EMPTY
+				&& ruleSet.getRank(getExtremeCard(trumps, false)) < ruleSet.getRank(getExtremeCard(otherTrumps, true))) {
+			return false;
+		}
+		if (trumps == hand) {
+			return true;
+		}
+		if (!comingOut || CardSet.size(trumps) < CardSet.size(otherTrumps)) {
+			return false;
+		}
+		for (int index = 1; index < classCount; ++index) {
+			final int suit = hand & classes[index];
+			final int otherSuit = unknown & classes[index];
+			if (suit != CardSet.EMPTY && otherSuit != CardSet.EMPTY
+					&& ruleSet.getRank(getExtremeCard(suit, false)) < ruleSet.getRank(getExtremeCard(otherSuit, true))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param voids
+	 *            the follow sets the opponents do not hold: bit index of the follow set in the block of {@link #MAX_CLASSES} bits of the opponent.
+	 * @param opponent
+	 *            the opponent's seat relative to the lead player minus one.
+	 * @param index
+	 *            the index of the follow set.
+	 * @return true if the opponent does not hold the follow set.
+	 */
+	private boolean isVoid(final int voids, final int opponent, final int index) {
+
+		return (voids & 1 << opponent * MAX_CLASSES + index) != 0;
+	}
+
+	/**
+	 * Check if the lead player wins the round from the given card on and all following rounds.
+	 *
+	 * @param hand
+	 *            the hand of the lead player.
+	 * @param unknown
+	 *            the cards of the opponents.
+	 * @param voids
+	 *            the follow sets the opponents do not hold, see {@link #isVoid(int, int, int)}.
+	 * @param leader
+	 *            the seat of the round's first player relative to the lead player.
+	 * @param played
+	 *            the number of cards played in the round.
+	 * @param led
+	 *            the index of the follow set of the round's first card, -1 if no card is played.
+	 * @param winning
+	 *            the card winning the round so far, -1 if no card is played.
+	 * @param cards
+	 *            the number of cards of every player at the start of the round.
+	 * @return true if the lead player wins against every play of the opponents.
+	 */
+	private boolean winsCard(final int hand, final int unknown, final int voids, final int leader, final int played, final int led, final int winning,
+			final int cards) {
+
+		// an exhausted budget refutes every position, so the proof fails
+		if (exhausted || ++nodes > nodeBudget) {
+			exhausted = true;
+			return false;
+		}
+		if (played == IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			return winsRound(hand, unknown, voids, 0);
+		}
+		final int seat = (leader + played) % IRestrictedGameData.NUMBER_OF_PLAYERS;
+		if (seat == 0) {
+			// the lead player has to serve and to beat the cards played before
+			final int legal = led < 0 || (hand & classes[led]) == CardSet.EMPTY ? hand : hand & classes[led];
+			for (int rest = legal; rest != 0; rest &= rest - 1) {
+				final int card = CardSet.first(rest);
+				if ((winning < 0 || ruleSet.dominates(winning, card))
+						&& winsCard(hand & ~(1 << card), unknown, voids, leader, played + 1, led < 0 ? indexOf(card) : led, card, cards)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		final int opponent = seat - 1;
+		// the lead player's card is winning, if he played already
+		final boolean leadPlayerPlayed = (IRestrictedGameData.NUMBER_OF_PLAYERS - leader) % IRestrictedGameData.NUMBER_OF_PLAYERS < played;
+		for (int index = 0; index < classCount; ++index) {
+			final int suit = unknown & classes[index];
+			if (suit == CardSet.EMPTY || isVoid(voids, opponent, index)) {
+				continue;
+			}
+			// not serving shows that the opponent does not hold the led follow set
+			final int newVoids = led < 0 || led == index ? voids : voids | 1 << opponent * MAX_CLASSES + led;
+			if (leadPlayerPlayed) {
+				int beating = CardSet.EMPTY;
+				for (int rest = suit; rest != 0; rest &= rest - 1) {
+					if (ruleSet.dominates(winning, CardSet.first(rest))) {
+						beating |= rest & -rest;
+					}
+				}
+				if (beating != CardSet.EMPTY && isFeasible(unknown & ~(beating & -beating), newVoids, leader, played + 1, cards)) {
+					return false;
+				}
+				final int card = getExtremeCard(suit, false);
+				if (isFeasible(unknown & ~(1 << card), newVoids, leader, played + 1, cards)
+						&& !winsCard(hand, unknown & ~(1 << card), newVoids, leader, played + 1, led < 0 ? index : led, winning, cards)) {
+					return false;
+				}
+				continue;
+			}
+			// the cards between the same cards of the lead player are equivalent, they are told apart by the number of higher cards of the lead player
+			int searched = 0;
+			for (int rest = suit; rest != 0; rest &= rest - 1) {
+				final int card = CardSet.first(rest);
+				int higher = 0;
+				for (int own = hand & classes[index]; own != 0; own &= own - 1) {
+					if (ruleSet.getRank(CardSet.first(own)) > ruleSet.getRank(card)) {
+						++higher;
+					}
+				}
+				if ((searched & 1 << higher) != 0 || !isFeasible(unknown & ~(1 << card), newVoids, leader, played + 1, cards)) {
+					continue;
+				}
+				searched |= 1 << higher;
+				final int newWinning = winning < 0 || ruleSet.dominates(winning, card) ? card : winning;
+				if (!winsCard(hand, unknown & ~(1 << card), newVoids, leader, played + 1, led < 0 ? index : led, newWinning, cards)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Check if the lead player wins all rounds from the start of a round on.
+	 *
+	 * @param hand
+	 *            the hand of the lead player.
+	 * @param unknown
+	 *            the cards of the opponents.
+	 * @param voids
+	 *            the follow sets the opponents do not hold, see {@link #isVoid(int, int, int)}.
+	 * @param leader
+	 *            the seat of the round's first player relative to the lead player.
+	 * @return true if the lead player wins against every play of the opponents.
+	 */
+	private boolean winsRound(final int hand, final int unknown, final int voids, final int leader) {
+
+		if (isSureWinByControl(hand, unknown, leader == 0)) {
+			return true;
+		}
+		if (leader == 0 && isSureLossByGuard(hand, unknown, voids)) {
+			return false;
+		}
+		final Position position = leader == 0 ? new Position(hand, unknown, voids) : null;
+		if (position != null) {
+			final Boolean proven = positions.get(position);
+			if (proven != null) {
+				return proven;
+			}
+		}
+		final boolean wins = winsCard(hand, unknown, voids, leader, 0, -1, -1, CardSet.size(hand));
+		if (position != null && !exhausted) {
+			positions.put(position, wins);
+		}
+		return wins;
+	}
+
+	/**
+	 * A position at the start of a round with the lead player coming out.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class Position {
+
+		/** The hand of the lead player. */
+		private final int hand;
+		/** The cards of the opponents. */
+		private final int unknown;
+		/** The follow sets the opponents do not hold. */
+		private final int voids;
+
+		/**
+		 * Instantiate the position with the given parameters.
+		 *
+		 * @param hand
+		 *            the hand of the lead player.
+		 * @param unknown
+		 *            the cards of the opponents.
+		 * @param voids
+		 *            the follow sets the opponents do not hold.
+		 */
+		private Position(final int hand, final int unknown, final int voids) {
+
+			this.hand = hand;
+			this.unknown = unknown;
+			this.voids = voids;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+
+			if (!(obj instanceof Position)) {
+				return false;
+			}
+			final Position other = (Position) obj;
+			return hand == other.hand && unknown == other.unknown && voids == other.voids;
+		}
+
+		@Override
+		public int hashCode() {
+
+			return (hand * 31 + unknown) * 31 + voids;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluation;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+
+/**
+ * This class implements an immutable game evaluation.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class GameEvaluation implements IGameEvaluation {
+
+	/**
+	 * The expected result.
+	 */
+	private final double expectedResult;
+	/**
+	 * The evaluated game.
+	 */
+	private final IBasicGameData game;
+	/**
+	 * The confidence margin of the expected result.
+	 */
+	private final double margin;
+	/**
+	 * The number of evaluated samples.
+	 */
+	private final int sampleCount;
+	/**
+	 * The probability, that the point-of-view player's team wins.
+	 */
+	private final double winProbability;
+
+	/**
+	 * Instantiate the evaluation with the given parameters.
+	 *
+	 * @param game
+	 *            the evaluated game.
+	 * @param sampleCount
+	 *            the number of evaluated samples.
+	 * @param winProbability
+	 *            the probability, that the point-of-view player's team wins.
+	 * @param expectedResult
+	 *            the expected result.
+	 * @param margin
+	 *            the confidence margin of the expected result.
+	 */
+	public GameEvaluation(final IBasicGameData game, final int sampleCount, final double winProbability, final double expectedResult, final double margin) {
+
+		this.game = game;
+		this.sampleCount = sampleCount;
+		this.winProbability = winProbability;
+		this.expectedResult = expectedResult;
+		this.margin = margin;
+	}
+
+	@Override
+	public double getExpectedResult() {
+
+		return expectedResult;
+	}
+
+	@Override
+	public IBasicGameData getGame() {
+
+		return game;
+	}
+
+	@Override
+	public double getLowerBound() {
+
+		return expectedResult - margin;
+	}
+
+	@Override
+	public int getSampleCount() {
+
+		return sampleCount;
+	}
+
+	@Override
+	public double getUpperBound() {
+
+		return expectedResult + margin;
+	}
+
+	@Override
+	public double getWinProbability() {
+
+		return winProbability;
+	}
+
+	@Override
+	public String toString() {
+
+		return game.getGameType() + " " + game.getColor() + ": " + sampleCount + " samples, win " + winProbability + ", result " + expectedResult + " +- " + margin;
+	}
+}
@@ -0,0 +1,787 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEndgameCache;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationCache;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluation;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandSampler;
+import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.ChargeModel;
+import edu.fhm.cs.ss.schafkopf.model.utilities.ConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.HandCanonicalizer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.StockIndex;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This class implements the game evaluator by solving sampled deals.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The unknown cards are dealt by a {@link HandSampler}, before the game is chosen every deal is equally probable. All games are evaluated on the same
+ * deals, so their difference does not depend on the luck of the deals.<br>
+ * - Every deal is solved with a {@link DoubleDummySolver}: the win, then the schneider and the schwarz by null window searches. A team is schwarz, if it
+ * wins no points.<br>
+ * - The result is calculated like at the end of a game: the basic charge, the solo multiplier, the bounty of the high cards in row of both teams, the
+ * schneider, the exclusive, raise and strike multipliers, the three times result of a solo player and the share of the stock in a partner game.<br>
+ * - The deals are evaluated in batches by a fork join task in the given pool, every thread of the pool uses its own solver. After the first batches, a
+ * game whose upper bound is below the lower bound of another game or of 0 is not evaluated any more. The evaluation stops, when no game or only one game
+ * that dominates 0 is left, after the maximum number of samples or when the time budget is exceeded. Every game is evaluated on at least one deal.<br>
+ * - The solvers of all threads share an {@link EndgameCache}, so the last rounds of the deals are solved only once.<br>
+ * - The evaluations are stored in a cache shared by all instances. The key is the canonical hand of the game, see {@link HandCanonicalizer}, with the seats
+ * relative to the point-of-view player, the charge is compared on lookup. A cached game is not evaluated again, but its lower bound still drops the other
+ * games. The current game is only cached, before a card is played.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class GameEvaluator implements IGameEvaluator {
+
+	/**
+	 * The factor of the standard error, that is the confidence margin of an expected result.
+	 */
+	public static final double CONFIDENCE = 2;
+	/**
+	 * The default maximum number of samples per game.
+	 */
+	public static final int DEFAULT_MAX_SAMPLES = 64;
+	/**
+	 * The default time budget per evaluation in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_BUDGET = 2000;
+	/**
+	 * The number of evaluations in the cache shared by all instances.
+	 */
+	public static final int CACHE_CAPACITY = 1 << 16;
+	/**
+	 * The number of samples per game in one batch.
+	 */
+	private static final int BATCH_SIZE = 2;
+	/**
+	 * The minimum number of samples, before games are not evaluated any more.
+	 */
+	private static final int MIN_SAMPLES = 2 * BATCH_SIZE;
+	/**
+	 * The result of a job, that was skipped because of the deadline.
+	 */
+	private static final int SKIPPED = Integer.MIN_VALUE;
+	/**
+	 * The points the player team needs to win schneider.
+	 */
+	private static final int SCHNEIDER_POINTS = ChargeModel.PLAYER_TEAM_SCHNEIDER_POINTS + 1;
+	/**
+	 * The points the player team needs to be not schneider.
+	 */
+	private static final int SCHNEIDER_FREE_POINTS = DoubleDummySolver.TOTAL_POINTS - ChargeModel.OPPONENT_TEAM_SCHNEIDER_POINTS;
+	/**
+	 * The number of bits of the transposition table index of the solvers.
+	 */
+	private static final int SOLVER_TABLE_BITS = 18;
+	/**
+	 * All positions indicated by ordinal.
+	 */
+	private static final PlayerPosition[] POSITIONS = PlayerPosition.values();
+	/**
+	 * The cache of evaluations shared by all instances.
+	 */
+	private static final IEvaluationCache<CachedEvaluation> CACHE = new EvaluationCache<CachedEvaluation>(CACHE_CAPACITY);
+	/**
+	 * The cache of the endgame positions shared by the solvers of all threads.
+	 */
+	private static final IEndgameCache ENDGAME_CACHE = new EndgameCache();
+	/**
+	 * The solvers of the threads, they keep their transposition tables between the samples.
+	 */
+	private static final ThreadLocal<IDoubleDummySolver> SOLVERS = new ThreadLocal<IDoubleDummySolver>() {
+
+		@Override
+		protected IDoubleDummySolver initialValue() {
+
+			return new DoubleDummySolver(SOLVER_TABLE_BITS, ENDGAME_CACHE);
+		}
+	};
+
+	/**
+	 * The maximum number of samples per game.
+	 */
+	private final int maxSamples;
+	/**
+	 * The pool the samples are evaluated in.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * The time budget per evaluation in milliseconds.
+	 */
+	private final long timeBudget;
+
+	/**
+	 * Creates an instance with the default maximum number of samples and time budget.
+	 *
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @throws IllegalArgumentException
+	 *             if the pool is null.
+	 */
+	public GameEvaluator(final ForkJoinPool pool) {
+
+		this(DEFAULT_MAX_SAMPLES, DEFAULT_TIME_BUDGET, pool);
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param maxSamples
+	 *            the maximum number of samples per game.
+	 * @param timeBudget
+	 *            the time budget per evaluation in milliseconds.
+	 * @param pool
+	 *            the pool the samples are evaluated in.
+	 * @throws IllegalArgumentException
+	 *             if the pool is null or the maximum number of samples or the time budget is not positive.
+	 */
+	public GameEvaluator(final int maxSamples, final long timeBudget, final ForkJoinPool pool) {
+
+		if (pool == null || maxSamples <= 0 || timeBudget <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.maxSamples = maxSamples;
+		this.timeBudget = timeBudget;
+		this.pool = pool;
+	}
+
+	/**
+	 * Create the cache key of an evaluation.
+	 *
+	 * @param hand
+	 *            the known cards of the point-of-view player.
+	 * @param game
+	 *            the game.
+	 * @param currentGame
+	 *            true for the current game, false for a game to choose.
+	 * @param firstPlayerOffset
+	 *            the number of seats from the game's first player to the point-of-view player.
+	 * @param leadOffset
+	 *            the number of seats from the point-of-view player to the lead player.
+	 * @param context
+	 *            the charge context, see {@link ChargeCalculator#getContext(int)}.
+	 * @return the key.
+	 */
+	private static long createCacheKey(final int hand, final IBasicGameData game, final boolean currentGame, final int firstPlayerOffset, final int leadOffset,
+			final long context) {
+
+		long key = HandCanonicalizer.canonicalKey(hand, game.getGameType(), game.getColor());
+		key |= (currentGame ? 1L : 0L) << HandCanonicalizer.KEY_BITS;
+		key |= (long) firstPlayerOffset << HandCanonicalizer.KEY_BITS + 1;
+		key |= (long) leadOffset << HandCanonicalizer.KEY_BITS + 3;
+		// the context is compared on lookup, the highest bits of the key only spread the contexts
+		return key | context * 0x9E3779B97F4A7C15L >>> HandCanonicalizer.KEY_BITS + 5 << HandCanonicalizer.KEY_BITS + 5;
+	}
+
+	/**
+	 * Look up an evaluation in the cache.
+	 *
+	 * @param key
+	 *            the cache key.
+	 * @param context
+	 *            the charge context.
+	 * @param game
+	 *            the game of the returned evaluation.
+	 * @return the evaluation, null if there is none for the key and the context.
+	 */
+	private static IGameEvaluation getCachedEvaluation(final long key, final long context, final IBasicGameData game) {
+
+		final CachedEvaluation cached = context < 0 ? null : CACHE.get(key);
+		if (cached == null || cached.context != context) {
+			return null;
+		}
+		final IGameEvaluation evaluation = cached.evaluation;
+		return new GameEvaluation(game, evaluation.getSampleCount(), evaluation.getWinProbability(), evaluation.getExpectedResult(),
+				evaluation.getUpperBound() - evaluation.getExpectedResult());
+	}
+
+	/**
+	 * Check if a game is allowed with a hand, regarding the colors like {@link IRestrictedPlayerUtils#getAvailableColors(GameType)}.
+	 *
+	 * @param game
+	 *            the game.
+	 * @param hand
+	 *            the complete hand.
+	 * @return true if the game is allowed.
+	 */
+	static boolean isAllowed(final IBasicGameData game, final int hand) {
+
+		final GameType gameType = game.getGameType();
+		final int highTrumps = RuleSet.getInstance(gameType, null).getHighTrumpSet();
+		if (gameType == GameType.SI) {
+			return (hand & ~highTrumps) == CardSet.EMPTY;
+		}
+		if (!gameType.needsColor) {
+			return true;
+		}
+		final boolean ownsColor = (hand & CardSet.colorMask(game.getColor()) & ~highTrumps) != CardSet.EMPTY;
+		if (gameType == GameType.SAUSPIEL) {
+			return ownsColor && game.getColor() != IRestrictedGameData.SAUSPIEL_TRUMP_COLOR && (hand & 1 << CardSet.ordinal(game.getColor(), CardValue.SAU)) == 0;
+		}
+		return ownsColor;
+	}
+
+	/**
+	 * Store an evaluation in the cache, if it has samples and the context can be cached.
+	 *
+	 * @param key
+	 *            the cache key.
+	 * @param context
+	 *            the charge context.
+	 * @param evaluation
+	 *            the evaluation.
+	 */
+	private static void putCachedEvaluation(final long key, final long context, final IGameEvaluation evaluation) {
+
+		if (context >= 0 && evaluation.getSampleCount() > 0) {
+			CACHE.put(key, new CachedEvaluation(context, evaluation));
+		}
+	}
+
+	@Override
+	public IGameEvaluation evaluateCurrentGame(final IRestrictedPlayerUtils playerUtils) {
+
+		if (playerUtils == null) {
+			throw new IllegalArgumentException();
+		}
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final GameState gameState = gameData.getGameState();
+		if (gameState != GameState.PLAY && gameState != GameState.STRIKE && gameState != GameState.STRIKEBACK || gameData.getRoundNumber() != 0) {
+			throw new IllegalStateException();
+		}
+		final int[] hands = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		hands[playerUtils.getPovPlayerData().getPosition().ordinal()] = playerUtils.getPovPlayerData().getCurrentHandSet();
+		final SearchState template = new SearchState(gameData, hands);
+		final IBasicGameData game = new BasicGameData(gameData.getGameType(), gameData.getColor());
+		final ChargeCalculator calculator = new ChargeCalculator(playerUtils);
+		final int ownPosition = playerUtils.getPovPlayerData().getPosition().ordinal();
+		final int firstPlayerOffset = (ownPosition - gameData.getGamesFirstPlayerPosition().ordinal() + POSITIONS.length) % POSITIONS.length;
+		final int leadOffset = (gameData.getLeadPlayerPosition().ordinal() - ownPosition + POSITIONS.length) % POSITIONS.length;
+		// the played cards are not part of the key
+		final long context = template.getCardsOnTable() == CardSet.EMPTY ? calculator.getContext(template.getStrikeMultiplier()) : -1;
+		final long key = createCacheKey(hands[ownPosition], game, true, firstPlayerOffset, leadOffset, context);
+		final IGameEvaluation cached = getCachedEvaluation(key, context, game);
+		if (cached != null) {
+			return cached;
+		}
+		final List<Candidate> candidates = new ArrayList<Candidate>();
+		candidates.add(new Candidate(game) {
+
+			@Override
+			protected SearchState createState(final int[] dealtHands) {
+
+				return new SearchState(template, dealtHands);
+			}
+		});
+		final IGameEvaluation evaluation = evaluate(candidates, new HandSampler(playerUtils), calculator, 0).get(0);
+		putCachedEvaluation(key, context, evaluation);
+		return evaluation;
+	}
+
+	@Override
+	public List<IGameEvaluation> evaluateGames(final IRestrictedPlayerUtils playerUtils, final Collection<IBasicGameData> games) {
+
+		if (playerUtils == null || games == null) {
+			throw new IllegalArgumentException();
+		}
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		if (gameData.getGameState() != GameState.GET_RAISE && gameData.getGameState() != GameState.CHOOSE) {
+			throw new IllegalStateException();
+		}
+		final PlayerPosition ownPosition = playerUtils.getPovPlayerData().getPosition();
+		final PlayerPosition gamesFirstPlayer = gameData.getGamesFirstPlayerPosition();
+		final int ownHand = playerUtils.getPovPlayerData().getCurrentHandSet();
+		final int firstPlayerOffset = (ownPosition.ordinal() - gamesFirstPlayer.ordinal() + POSITIONS.length) % POSITIONS.length;
+		final ChargeCalculator calculator = new ChargeCalculator(playerUtils);
+		final long context = calculator.getContext(0);
+		final IGameEvaluation[] evaluations = new IGameEvaluation[games.size()];
+		final long[] keys = new long[evaluations.length];
+		final List<Candidate> candidates = new ArrayList<Candidate>();
+		final List<Integer> candidateIndices = new ArrayList<Integer>();
+		// not choosing any of the games is the alternative with the result 0
+		double baseline = 0;
+		int index = 0;
+		for (final IBasicGameData game : games) {
+			keys[index] = createCacheKey(ownHand, game, false, firstPlayerOffset, 0, context);
+			evaluations[index] = getCachedEvaluation(keys[index], context, game);
+			if (evaluations[index] != null) {
+				baseline = Math.max(baseline, evaluations[index++].getLowerBound());
+				continue;
+			}
+			candidateIndices.add(index++);
+			candidates.add(new Candidate(game) {
+
+				@Override
+				protected SearchState createState(final int[] dealtHands) {
+
+					if (!isAllowed(getGame(), dealtHands[ownPosition.ordinal()])) {
+						return null;
+					}
+					final SearchState state = new SearchState(gamesFirstPlayer, dealtHands);
+					while (state.getGameState() == GameState.CHOOSE) {
+						if (state.getPlayerOnTurnPosition() == ownPosition) {
+							state.choose(getGame().getGameType(), getGame().getColor());
+						} else {
+							state.choose(GameType.PASS, null);
+						}
+					}
+					return state;
+				}
+			});
+		}
+		if (!candidates.isEmpty()) {
+			final List<IGameEvaluation> results = evaluate(candidates, new NewGameSampler(playerUtils), calculator, baseline);
+			for (int i = 0; i < results.size(); ++i) {
+				evaluations[candidateIndices.get(i)] = results.get(i);
+				putCachedEvaluation(keys[candidateIndices.get(i)], context, results.get(i));
+			}
+		}
+		return Arrays.asList(evaluations);
+	}
+
+	/**
+	 * Evaluate the candidates in batches of samples, until one dominates.
+	 *
+	 * @param candidates
+	 *            the candidates.
+	 * @param sampler
+	 *            the sampler of the deals.
+	 * @param calculator
+	 *            the calculator of the results.
+	 * @param baseline
+	 *            the lower bound of the best alternative to the candidates, at least 0.
+	 * @return the evaluations in the order of the candidates.
+	 */
+	private List<IGameEvaluation> evaluate(final List<Candidate> candidates, final IHandSampler sampler, final ChargeCalculator calculator, final double baseline) {
+
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+		final SplittableRandom random = new SplittableRandom();
+		final List<Candidate> active = new ArrayList<Candidate>(candidates);
+		int samples = 0;
+		while (!active.isEmpty() && samples < maxSamples && (samples == 0 || System.nanoTime() < deadline)) {
+			final int[][] deals = new int[Math.min(BATCH_SIZE, maxSamples - samples)][];
+			for (int deal = 0; deal < deals.length; ++deal) {
+				deals[deal] = sampler.sample(random);
+			}
+			final Candidate[] jobs = active.toArray(new Candidate[active.size()]);
+			final int[] results = new int[jobs.length * deals.length];
+			// the first deal of the first batch is evaluated for all games
+			pool.invoke(new BatchTask(jobs, deals, calculator, results, samples == 0 ? 1 : 0, deadline, 0, results.length));
+			for (int i = 0; i < results.length; ++i) {
+				if (results[i] != SKIPPED) {
+					jobs[i / deals.length].addResult(results[i]);
+				}
+			}
+			samples += deals.length;
+			if (samples >= MIN_SAMPLES) {
+				double bestLowerBound = baseline;
+				for (final Candidate candidate : active) {
+					bestLowerBound = Math.max(bestLowerBound, candidate.getLowerBound());
+				}
+				for (final Candidate candidate : jobs) {
+					if (candidate.getUpperBound() < bestLowerBound) {
+						active.remove(candidate);
+					}
+				}
+				// the only game left dominates the alternative
+				if (active.size() == 1 && bestLowerBound > 0) {
+					break;
+				}
+			}
+		}
+		final List<IGameEvaluation> evaluations = new ArrayList<IGameEvaluation>();
+		for (final Candidate candidate : candidates) {
+			evaluations.add(candidate.createEvaluation());
+		}
+		return evaluations;
+	}
+
+	/**
+	 * This task evaluates the results of a range of jobs, every job is a candidate and a deal. A range of more than one job is split in two tasks. No further
+	 * jobs are started, when the deadline is exceeded.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class BatchTask extends RecursiveAction {
+
+		/** Generated serial version UID. */
+		private static final long serialVersionUID = 6318120580240317529L;
+		/** The calculator of the results. */
+		private final ChargeCalculator calculator;
+		/** The candidates, every candidate is evaluated on all deals. */
+		private final Candidate[] candidates;
+		/** The deadline of the evaluation, see {@link System#nanoTime()}. */
+		private final long deadline;
+		/** The deals. */
+		private final int[][] deals;
+		/** The first job of the range. */
+		private final int from;
+		/** The number of deals, that are evaluated for every candidate regardless of the deadline. */
+		private final int requiredDeals;
+		/** The results indicated by candidate index * number of deals + deal index, {@link GameEvaluator#SKIPPED} for skipped jobs. */
+		private final int[] results;
+		/** The end of the range, exclusive. */
+		private final int to;
+
+		/**
+		 * Instantiate the task with the given parameters.
+		 *
+		 * @param candidates
+		 *            the candidates.
+		 * @param deals
+		 *            the deals.
+		 * @param calculator
+		 *            the calculator of the results.
+		 * @param results
+		 *            the results indicated by candidate index * number of deals + deal index.
+		 * @param requiredDeals
+		 *            the number of deals, that are evaluated for every candidate regardless of the deadline.
+		 * @param deadline
+		 *            the deadline of the evaluation, see {@link System#nanoTime()}.
+		 * @param from
+		 *            the first job of the range.
+		 * @param to
+		 *            the end of the range, exclusive.
+		 */
+		private BatchTask(final Candidate[] candidates, final int[][] deals, final ChargeCalculator calculator, final int[] results, final int requiredDeals,
+				final long deadline, final int from, final int to) {
+
+			this.candidates = candidates;
+			this.deals = deals;
+			this.calculator = calculator;
+			this.results = results;
+			this.requiredDeals = requiredDeals;
+			this.deadline = deadline;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from > 1) {
+				final int middle = from + to >>> 1;
+				invokeAll(new BatchTask(candidates, deals, calculator, results, requiredDeals, deadline, from, middle), new BatchTask(candidates, deals, calculator,
+						results, requiredDeals, deadline, middle, to));
+				return;
+			}
+			if (from % deals.length >= requiredDeals && System.nanoTime() > deadline) {
+				results[from] = SKIPPED;
+				return;
+			}
+			final SearchState state = candidates[from / deals.length].createState(deals[from % deals.length]);
+			// a game that is not allowed with the deal is passed
+			results[from] = state == null ? 0 : calculator.calculateResult(state, SOLVERS.get());
+		}
+	}
+
+	/**
+	 * A cached evaluation is stored with the charge context it was calculated for.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class CachedEvaluation {
+
+		/** The charge context. */
+		private final long context;
+		/** The evaluation. */
+		private final IGameEvaluation evaluation;
+
+		/**
+		 * Instantiate the cached evaluation with the given parameters.
+		 *
+		 * @param context
+		 *            the charge context.
+		 * @param evaluation
+		 *            the evaluation.
+		 */
+		private CachedEvaluation(final long context, final IGameEvaluation evaluation) {
+
+			this.context = context;
+			this.evaluation = evaluation;
+		}
+	}
+
+	/**
+	 * A candidate is an evaluated game, it creates the states of the game for the deals and sums the results.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private abstract static class Candidate {
+
+		/** The game. */
+		private final IBasicGameData game;
+		/** The number of samples. */
+		private int samples;
+		/** The sum of the squared results. */
+		private double squareSum;
+		/** The sum of the results. */
+		private double sum;
+		/** The number of samples won by the point-of-view player's team. */
+		private int wins;
+
+		/**
+		 * Instantiate the candidate for the given game.
+		 *
+		 * @param game
+		 *            the game.
+		 */
+		protected Candidate(final IBasicGameData game) {
+
+			this.game = game;
+		}
+
+		/**
+		 * Add the result of a sample, a positive result is won.
+		 *
+		 * @param result
+		 *            the result.
+		 */
+		protected void addResult(final int result) {
+
+			++samples;
+			sum += result;
+			squareSum += (double) result * result;
+			if (result > 0) {
+				++wins;
+			}
+		}
+
+		/**
+		 * @return the evaluation of the samples so far.
+		 */
+		protected IGameEvaluation createEvaluation() {
+
+			return new GameEvaluation(game, samples, samples == 0 ? 0 : (double) wins / samples, samples == 0 ? 0 : sum / samples, getMargin());
+		}
+
+		/**
+		 * @param hands
+		 *            the dealt hands indicated by position ordinal.
+		 * @return the state of the game with the hands, ready to be solved, null if the game is not allowed with the hands.
+		 */
+		protected abstract SearchState createState(int[] hands);
+
+		/**
+		 * @return the game.
+		 */
+		protected IBasicGameData getGame() {
+
+			return game;
+		}
+
+		/**
+		 * @return the lower bound of the expected result.
+		 */
+		protected double getLowerBound() {
+
+			return sum / samples - getMargin();
+		}
+
+		/**
+		 * @return the confidence margin of the expected result, infinite for less than two samples.
+		 */
+		protected double getMargin() {
+
+			if (samples < 2) {
+				return Double.POSITIVE_INFINITY;
+			}
+			final double variance = Math.max(0, (squareSum - sum * sum / samples) / (samples - 1));
+			return CONFIDENCE * Math.sqrt(variance / samples);
+		}
+
+		/**
+		 * @return the upper bound of the expected result.
+		 */
+		protected double getUpperBound() {
+
+			return sum / samples + getMargin();
+		}
+	}
+
+	/**
+	 * This calculator solves a state and calculates the result of the point-of-view player with the {@link ChargeModel} of the charge at the end of a game.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class ChargeCalculator {
+
+		/** The basic charge of the game settings. */
+		private final int basicCharge;
+		/** The number of raises. */
+		private final int initialMultiplier;
+		/** The player utilities, for the high cards in row. */
+		private final IRestrictedPlayerUtils playerUtils;
+		/** The position of the point-of-view player. */
+		private final PlayerPosition ownPosition;
+		/** The solo multiplier of the game settings. */
+		private final int soloMultiplier;
+		/** The stock before the game. */
+		private final int stock;
+		/** The share of the stock, that is paid in or out in a partner game. */
+		private final int stockValue;
+
+		/**
+		 * Instantiate the calculator with the settings and the charge of the current game.
+		 *
+		 * @param playerUtils
+		 *            the player utilities.
+		 */
+		private ChargeCalculator(final IRestrictedPlayerUtils playerUtils) {
+
+			final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+			this.playerUtils = playerUtils;
+			this.ownPosition = playerUtils.getPovPlayerData().getPosition();
+			this.basicCharge = gameData.getGameSettings().getBasicCharge();
+			this.soloMultiplier = gameData.getGameSettings().getSoloMultiplier();
+			this.initialMultiplier = gameData.getCharge() == null ? 0 : gameData.getCharge().getInitialMultiplier();
+			this.stock = gameData.getStock();
+			this.stockValue = stock / 2;
+		}
+
+		/**
+		 * Pack the charge parameters of the results into a context, results with the same context are calculated equally.
+		 *
+		 * @param strikeMultiplier
+		 *            the strike multiplier of the evaluated states.
+		 * @return the context, -1 if a parameter is too big to be packed.
+		 */
+		private long getContext(final int strikeMultiplier) {
+
+			final int multiplier = initialMultiplier + strikeMultiplier;
+			if (basicCharge >>> 16 != 0 || soloMultiplier >>> 8 != 0 || stockValue >>> 24 != 0 || multiplier >>> 8 != 0) {
+				return -1;
+			}
+			return (long) basicCharge << 40 | (long) soloMultiplier << 32 | (long) stockValue << 8 | multiplier;
+		}
+
+		/**
+		 * Solve the state and calculate the result.
+		 *
+		 * @param state
+		 *            the state in the first round of the game.
+		 * @param solver
+		 *            the solver.
+		 * @return the result of the point-of-view player.
+		 */
+		private int calculateResult(final SearchState state, final IDoubleDummySolver solver) {
+
+			final GameType gameType = state.getGameType();
+			// the initial hands, the cards on the table belong to the players who played them
+			int playerTeamCards = CardSet.EMPTY;
+			int opponentTeamCards = CardSet.EMPTY;
+			for (final PlayerPosition position : POSITIONS) {
+				final int playedCard = state.getPlayedCard(position);
+				final int cards = state.getHand(position) | (playedCard < 0 ? CardSet.EMPTY : 1 << playedCard);
+				if (state.isPlayerTeam(position)) {
+					playerTeamCards |= cards;
+				} else {
+					opponentTeamCards |= cards;
+				}
+			}
+			final IBasicGameData game = new BasicGameData(gameType, state.getColor());
+			final int bounty = Math.max(playerUtils.calculateHighCardsInRow(game, playerTeamCards), playerUtils.calculateHighCardsInRow(game, opponentTeamCards));
+			// in an exclusive game, schneider is ignored
+			final boolean playerTeamWins;
+			int schneider = 0;
+			if (gameType.isExclusive) {
+				playerTeamWins = solver.solveWin(state);
+			} else {
+				playerTeamWins = solver.solveAtLeast(state, DoubleDummySolver.WIN_POINTS);
+				if (playerTeamWins ? solver.solveAtLeast(state, SCHNEIDER_POINTS) : !solver.solveAtLeast(state, SCHNEIDER_FREE_POINTS)) {
+					schneider = playerTeamWins ? solver.solveAtLeast(state, DoubleDummySolver.TOTAL_POINTS) ? 2 : 1 : solver.solveAtLeast(state, 1) ? 1 : 2;
+				}
+			}
+			final int basic = ChargeModel.calculateBasicCharge(gameType, basicCharge, soloMultiplier);
+			final int multiplier = initialMultiplier + state.getStrikeMultiplier() + (gameType.isExclusive ? 1 : 0);
+			final int totalCharge = ChargeModel.calculateTotalCharge(basic, bounty, schneider, gameType.isExclusive, basicCharge, multiplier);
+			final boolean winner = state.isPlayerTeam(ownPosition) == playerTeamWins;
+			final boolean soloPlayer = !gameType.isPartnerGame && ownPosition == state.getLeadPlayerPosition();
+			final StockIndex stockIndex = ChargeModel.calculateStockIndex(gameType, stock, playerTeamWins);
+			return ChargeModel.calculatePlayerCharge(totalCharge, soloPlayer, winner) + ChargeModel.calculateStockCharge(stockIndex, stockValue, winner);
+		}
+	}
+
+	/**
+	 * This sampler deals the cards of a new game: the own hand is completed and the other players get complete hands, every deal is equally probable.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class NewGameSampler implements IHandSampler {
+
+		/** The dealer of the unknown cards. */
+		private final IConstrainedDealer dealer;
+		/** The known cards of the point-of-view player. */
+		private final int ownHand;
+		/** The position ordinal of the point-of-view player. */
+		private final int ownPosition;
+
+		/**
+		 * Instantiate the sampler with the known cards of the given player utilities.
+		 *
+		 * @param playerUtils
+		 *            the player utilities.
+		 */
+		private NewGameSampler(final IRestrictedPlayerUtils playerUtils) {
+
+			this.ownHand = playerUtils.getPovPlayerData().getCurrentHandSet();
+			this.ownPosition = playerUtils.getPovPlayerData().getPosition().ordinal();
+			final int[] possibleCards = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+			final int[] handSizes = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+			for (int position = 0; position < IRestrictedGameData.NUMBER_OF_PLAYERS; ++position) {
+				possibleCards[position] = ~ownHand;
+				handSizes[position] = IRestrictedGameData.MAX_HAND_SIZE;
+			}
+			handSizes[ownPosition] -= CardSet.size(ownHand);
+			this.dealer = new ConstrainedDealer(possibleCards, handSizes);
+		}
+
+		@Override
+		public int getHandSize(final PlayerPosition position) {
+
+			return IRestrictedGameData.MAX_HAND_SIZE;
+		}
+
+		@Override
+		public int getPossibleCards(final PlayerPosition position) {
+
+			return position.ordinal() == ownPosition ? ownHand : ~ownHand;
+		}
+
+		@Override
+		public int[] sample(final SplittableRandom random) {
+
+			final int[] hands = dealer.deal(random);
+			hands[ownPosition] |= ownHand;
+			return hands;
+		}
+	}
+}
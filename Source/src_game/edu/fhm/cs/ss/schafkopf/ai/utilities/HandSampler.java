@@ -0,0 +1,107 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandSampler;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.ConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This class implements the hand sampler on the information of restricted player utilities.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The other players can hold the cards tracked as possible for them, see {@link IRestrictedPlayerUtils#getPossibleCardSet(PlayerPosition)}.<br>
+ * - The unknown cards are dealt by a {@link ConstrainedDealer}, so every distribution consistent with the knowledge has the same probability. If the
+ * knowledge is inconsistent, it is ignored and the unknown cards are dealt only regarding the hand sizes.<br>
+ * - The knowledge is read once by the constructor, so the sampler can be used by several threads.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class HandSampler implements IHandSampler {
+
+	/**
+	 * The dealer of the unknown cards.
+	 */
+	private final IConstrainedDealer dealer;
+	/**
+	 * The number of cards of the players, indicated by position ordinal.
+	 */
+	private final int[] handSizes;
+	/**
+	 * The hand of the point-of-view player.
+	 */
+	private final int ownHand;
+	/**
+	 * The position ordinal of the point-of-view player.
+	 */
+	private final int ownPosition;
+	/**
+	 * The cards the other players can hold, indicated by position ordinal. The entry of the point-of-view player is empty.
+	 */
+	private final int[] possibleCards;
+
+	/**
+	 * Instantiate the sampler with the knowledge of the given player utilities.
+	 *
+	 * @param playerUtils
+	 *            the player utilities.
+	 * @throws IllegalArgumentException
+	 *             if the player utilities are null.
+	 */
+	public HandSampler(final IRestrictedPlayerUtils playerUtils) {
+
+		if (playerUtils == null) {
+			throw new IllegalArgumentException();
+		}
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		this.ownHand = playerUtils.getPovPlayerData().getCurrentHandSet();
+		this.ownPosition = gameData.getPointOfViewPosition().ordinal();
+		this.handSizes = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.possibleCards = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		for (final IRestrictedPlayerData player : gameData.getRestrictedPlayerDatas().values()) {
+			final int position = player.getPosition().ordinal();
+			handSizes[position] = player.getSizeOfHand();
+			possibleCards[position] = position == ownPosition ? CardSet.EMPTY : playerUtils.getPossibleCardSet(player.getPosition());
+		}
+		// the own hand is not dealt
+		final int[] dealtHandSizes = handSizes.clone();
+		dealtHandSizes[ownPosition] = 0;
+		final IConstrainedDealer constrainedDealer = new ConstrainedDealer(possibleCards, dealtHandSizes);
+		if (constrainedDealer.countDeals() > 0) {
+			this.dealer = constrainedDealer;
+		} else {
+			final int[] unconstrained = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+			for (int position = 0; position < IRestrictedGameData.NUMBER_OF_PLAYERS; ++position) {
+				unconstrained[position] = position == ownPosition ? CardSet.EMPTY : playerUtils.getUnknownCardSet();
+			}
+			this.dealer = new ConstrainedDealer(unconstrained, dealtHandSizes);
+		}
+	}
+
+	@Override
+	public int getHandSize(final PlayerPosition position) {
+
+		return handSizes[position.ordinal()];
+	}
+
+	@Override
+	public int getPossibleCards(final PlayerPosition position) {
+
+		return position.ordinal() == ownPosition ? ownHand : possibleCards[position.ordinal()];
+	}
+
+	@Override
+	public int[] sample(final SplittableRandom random) {
+
+		final int[] hands = dealer.deal(random);
+		hands[ownPosition] = ownHand;
+		return hands;
+	}
+}
@@ -0,0 +1,254 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandStrengthTable;
+import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSetIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.HandCanonicalizer;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the hand strength table by a memory mapped file, that is written by the {@link HandStrengthTableBuilder}.<br>
+ * <br>
+ *
+ * File format, all numbers big endian:<br>
+ * - The header: the magic number, the version, the number of games and the number of samples, each an int.<br>
+ * - One byte per chunk of {@link #CHUNK_SIZE} hands, that is 1 if the chunk is built.<br>
+ * - From {@link #DATA_OFFSET}: one byte per hand and game, indicated by {@link CardSetIndexer#index(int)} of the hand * number of games + game index. The
+ * byte is the win probability * {@link #MAX_STRENGTH} or {@link #NOT_ALLOWED}.<br>
+ * <br>
+ *
+ * Only the canonical hands of a game are built, see {@link HandCanonicalizer}, every other hand is looked up by its canonical hand. A lookup is a single read
+ * of the mapped file.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class HandStrengthTable implements IHandStrengthTable {
+
+	/**
+	 * The games of the table: every game with a color for every allowed color and every game without a color, except pass and Si.
+	 */
+	public static final List<IBasicGameData> GAMES = compileGames();
+	/**
+	 * The number of hands in a chunk, a chunk is the unit the table is built in.
+	 */
+	static final int CHUNK_SIZE = 1 << 8;
+	/**
+	 * The number of chunks.
+	 */
+	static final int CHUNK_COUNT = (CardSetIndexer.NUMBER_OF_HANDS + CHUNK_SIZE - 1) / CHUNK_SIZE;
+	/**
+	 * The magic number at the start of the file.
+	 */
+	static final int MAGIC = 0x534B4854;
+	/**
+	 * The version of the file format.
+	 */
+	static final int VERSION = 1;
+	/**
+	 * The offset of the chunk flags.
+	 */
+	static final int FLAGS_OFFSET = 4 * Integer.SIZE / Byte.SIZE;
+	/**
+	 * The offset of the strengths, aligned to a page.
+	 */
+	static final int DATA_OFFSET = (FLAGS_OFFSET + CHUNK_COUNT + 4095) / 4096 * 4096;
+	/**
+	 * The size of the file.
+	 */
+	static final long FILE_SIZE = DATA_OFFSET + (long) CardSetIndexer.NUMBER_OF_HANDS * GAMES.size();
+	/**
+	 * The byte of a win probability of 1.
+	 */
+	static final int MAX_STRENGTH = 254;
+	/**
+	 * The byte of a game that is not allowed with the hand.
+	 */
+	static final byte NOT_ALLOWED = (byte) 0xFF;
+	/**
+	 * The game indices indicated by game type ordinal and color ordinal + 1, 0 for no color. -1 if the game is not contained.
+	 */
+	private static final int[][] GAME_INDICES = indicateGames();
+
+	/**
+	 * The flags of the built chunks, when the table was loaded.
+	 */
+	private final boolean[] builtChunks;
+	/**
+	 * The mapped file.
+	 */
+	private final MappedByteBuffer data;
+	/**
+	 * The number of samples every strength is estimated from.
+	 */
+	private final int sampleCount;
+
+	/**
+	 * Instantiate the table with the given parameters.
+	 *
+	 * @param data
+	 *            the mapped file.
+	 * @param sampleCount
+	 *            the number of samples every strength is estimated from.
+	 */
+	private HandStrengthTable(final MappedByteBuffer data, final int sampleCount) {
+
+		this.data = data;
+		this.sampleCount = sampleCount;
+		this.builtChunks = new boolean[CHUNK_COUNT];
+		for (int chunk = 0; chunk < CHUNK_COUNT; ++chunk) {
+			builtChunks[chunk] = data.get(FLAGS_OFFSET + chunk) != 0;
+		}
+	}
+
+	/**
+	 * Load a table by mapping the file. Chunks that are built later are not contained.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @return the table, null if the file can not be read or has not the format of this version.
+	 */
+	public static IHandStrengthTable load(final String path) {
+
+		if (path == null) {
+			return null;
+		}
+		try {
+			final RandomAccessFile file = new RandomAccessFile(path, "r");
+			try {
+				if (file.length() != FILE_SIZE || file.readInt() != MAGIC || file.readInt() != VERSION || file.readInt() != GAMES.size()) {
+					return null;
+				}
+				final int sampleCount = file.readInt();
+				// the mapping stays valid after the file is closed
+				return new HandStrengthTable(file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE), sampleCount);
+			} finally {
+				file.close();
+			}
+		} catch (final IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Compile the games of the table. Used for initialization of static values.
+	 *
+	 * @return the games.
+	 */
+	private static List<IBasicGameData> compileGames() {
+
+		final List<IBasicGameData> games = new ArrayList<IBasicGameData>();
+		for (final GameType gameType : GameType.values()) {
+			if (gameType == GameType.PASS || gameType == GameType.SI) {
+				continue;
+			}
+			if (!gameType.needsColor) {
+				games.add(new BasicGameData(gameType, null));
+				continue;
+			}
+			for (final CardColor color : CardColor.values()) {
+				if (gameType != GameType.SAUSPIEL || color != IRestrictedGameData.SAUSPIEL_TRUMP_COLOR) {
+					games.add(new BasicGameData(gameType, color));
+				}
+			}
+		}
+		return Collections.unmodifiableList(games);
+	}
+
+	/**
+	 * @param game
+	 *            the game.
+	 * @return the index of the game, -1 if it is not contained.
+	 */
+	private static int indexOf(final IBasicGameData game) {
+
+		final GameType gameType = game.getGameType();
+		final CardColor color = game.getColor();
+		return gameType == null ? -1 : GAME_INDICES[gameType.ordinal()][color == null ? 0 : color.ordinal() + 1];
+	}
+
+	/**
+	 * Generate the game indices. Used for initialization of static values.
+	 *
+	 * @return the game indices indicated by game type ordinal and color ordinal + 1.
+	 */
+	private static int[][] indicateGames() {
+
+		final int[][] indices = new int[GameType.values().length][CardColor.values().length + 1];
+		for (final int[] colorIndices : indices) {
+			Arrays.fill(colorIndices, -1);
+		}
+		for (int index = 0; index < GAMES.size(); ++index) {
+			final IBasicGameData game = GAMES.get(index);
+			indices[game.getGameType().ordinal()][game.getColor() == null ? 0 : game.getColor().ordinal() + 1] = index;
+		}
+		return indices;
+	}
+
+	@Override
+	public boolean contains(final int hand, final IBasicGameData game) {
+
+		return getPosition(hand, game) >= 0;
+	}
+
+	@Override
+	public List<IBasicGameData> getGames() {
+
+		return GAMES;
+	}
+
+	@Override
+	public int getSampleCount() {
+
+		return sampleCount;
+	}
+
+	@Override
+	public double getWinProbability(final int hand, final IBasicGameData game) {
+
+		final long position = getPosition(hand, game);
+		if (position < 0) {
+			return Double.NaN;
+		}
+		final byte strength = data.get((int) position);
+		return strength == NOT_ALLOWED ? Double.NaN : (double) (strength & 0xFF) / MAX_STRENGTH;
+	}
+
+	/**
+	 * @param hand
+	 *            the card set of a complete hand.
+	 * @param game
+	 *            the game.
+	 * @return the position of the strength in the file, -1 if it is not contained.
+	 * @throws IllegalArgumentException
+	 *             if the hand is not complete or the game is null.
+	 */
+	private long getPosition(final int hand, final IBasicGameData game) {
+
+		if (CardSet.size(hand) != IRestrictedGameData.MAX_HAND_SIZE || game == null) {
+			throw new IllegalArgumentException();
+		}
+		final int gameIndex = indexOf(game);
+		if (gameIndex < 0) {
+			return -1;
+		}
+		final long index = CardSetIndexer.index(HandCanonicalizer.canonicalHand(hand, game.getGameType(), game.getColor()));
+		if (!builtChunks[(int) (index / CHUNK_SIZE)]) {
+			return -1;
+		}
+		return DATA_OFFSET + index * GAMES.size() + gameIndex;
+	}
+}
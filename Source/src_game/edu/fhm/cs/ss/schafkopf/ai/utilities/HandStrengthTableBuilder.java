@@ -0,0 +1,342 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSetIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.ConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.HandCanonicalizer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This builder writes the file of a {@link HandStrengthTable}.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The strength of a hand in a game is the share of sampled deals, that the player wins as lead player against passing players. The seat of the player
+ * relative to the game's first player is sampled too. Every deal is solved with a {@link DoubleDummySolver}, all games of a hand are solved on the same deals.<br>
+ * - The chunks are built in parallel by a fork join task in the given pool. A built chunk is written to the disk, before it is flagged as built. An existing
+ * file with the same format and number of samples is resumed, only the chunks not flagged are built.<br>
+ * - The deals of a chunk only depend on the seed and the chunk, so a resumed table equals a table built at once.<br>
+ * - The build cost grows linearly with the number of samples. A hand needs about 3.6 solved games per sample, since the other games are looked up by
+ * their canonical hand or are not allowed, and a game is solved in about 20 ms on one core. So every sample per hand costs about 215 core hours for all
+ * hands, the {@link #DEFAULT_SAMPLE_COUNT default} about 3400 core hours.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class HandStrengthTableBuilder {
+
+	/**
+	 * The default number of samples per hand. The standard error of a strength is at most 1 / (2 * sqrt(16)) = 0.125, with fewer samples the strengths are
+	 * too coarse to tell the games of a hand apart.
+	 */
+	public static final int DEFAULT_SAMPLE_COUNT = 16;
+	/**
+	 * The default seed of the deals.
+	 */
+	public static final long DEFAULT_SEED = 0x5CA1AB1EL;
+	/**
+	 * All positions indicated by ordinal.
+	 */
+	private static final PlayerPosition[] POSITIONS = PlayerPosition.values();
+	/**
+	 * The number of bits of the transposition table index of the solvers.
+	 */
+	private static final int SOLVER_TABLE_BITS = 18;
+	/**
+	 * The solvers of the threads, they keep their transposition tables between the samples.
+	 */
+	private static final ThreadLocal<IDoubleDummySolver> SOLVERS = new ThreadLocal<IDoubleDummySolver>() {
+
+		@Override
+		protected IDoubleDummySolver initialValue() {
+
+			return new DoubleDummySolver(SOLVER_TABLE_BITS);
+		}
+	};
+
+	/**
+	 * The pool the chunks are built in.
+	 */
+	private final ForkJoinPool pool;
+	/**
+	 * The number of samples per hand.
+	 */
+	private final int sampleCount;
+	/**
+	 * The seed of the deals.
+	 */
+	private final long seed;
+
+	/**
+	 * Creates an instance with the default number of samples and seed.
+	 *
+	 * @param pool
+	 *            the pool the chunks are built in.
+	 * @throws IllegalArgumentException
+	 *             if the pool is null.
+	 */
+	public HandStrengthTableBuilder(final ForkJoinPool pool) {
+
+		this(DEFAULT_SAMPLE_COUNT, DEFAULT_SEED, pool);
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param sampleCount
+	 *            the number of samples per hand.
+	 * @param seed
+	 *            the seed of the deals.
+	 * @param pool
+	 *            the pool the chunks are built in.
+	 * @throws IllegalArgumentException
+	 *             if the pool is null or the number of samples is not positive.
+	 */
+	public HandStrengthTableBuilder(final int sampleCount, final long seed, final ForkJoinPool pool) {
+
+		if (pool == null || sampleCount <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.sampleCount = sampleCount;
+		this.seed = seed;
+		this.pool = pool;
+	}
+
+	/**
+	 * @param hand
+	 *            the hand of the player.
+	 * @return the dealer of the other cards to all positions except the last one.
+	 */
+	private static IConstrainedDealer createDealer(final int hand) {
+
+		final int[] possibleCards = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		final int[] handSizes = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		for (int position = 0; position < IRestrictedGameData.NUMBER_OF_PLAYERS - 1; ++position) {
+			possibleCards[position] = ~hand;
+			handSizes[position] = IRestrictedGameData.MAX_HAND_SIZE;
+		}
+		return new ConstrainedDealer(possibleCards, handSizes);
+	}
+
+	/**
+	 * Create the state of a game, that the player at the last position chooses against passing players.
+	 *
+	 * @param gamesFirstPlayer
+	 *            the game's first player.
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @param game
+	 *            the game.
+	 * @return the state in the first round of the game.
+	 */
+	private static SearchState createState(final PlayerPosition gamesFirstPlayer, final int[] hands, final IBasicGameData game) {
+
+		final SearchState state = new SearchState(gamesFirstPlayer, hands);
+		while (state.getGameState() == GameState.CHOOSE) {
+			if (state.getPlayerOnTurnPosition() == POSITIONS[POSITIONS.length - 1]) {
+				state.choose(game.getGameType(), game.getColor());
+			} else {
+				state.choose(GameType.PASS, null);
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Build the table or resume building it.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @return true if all chunks are built, false if the file can not be written.
+	 */
+	public boolean build(final String path) {
+
+		if (path == null) {
+			return false;
+		}
+		try {
+			final RandomAccessFile file = new RandomAccessFile(path, "rw");
+			try {
+				if (!isResumable(file)) {
+					// start with a file of zeros
+					file.setLength(0);
+					file.setLength(HandStrengthTable.FILE_SIZE);
+					file.writeInt(HandStrengthTable.MAGIC);
+					file.writeInt(HandStrengthTable.VERSION);
+					file.writeInt(HandStrengthTable.GAMES.size());
+					file.writeInt(sampleCount);
+				}
+				final MappedByteBuffer data = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HandStrengthTable.FILE_SIZE);
+				final List<Integer> chunks = new ArrayList<Integer>();
+				for (int chunk = 0; chunk < HandStrengthTable.CHUNK_COUNT; ++chunk) {
+					if (data.get(HandStrengthTable.FLAGS_OFFSET + chunk) == 0) {
+						chunks.add(chunk);
+					}
+				}
+				pool.invoke(new ChunkTask(data, chunks, 0, chunks.size()));
+				data.force();
+			} finally {
+				file.close();
+			}
+		} catch (final IOException ex) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Build the strengths of a chunk.
+	 *
+	 * @param data
+	 *            the mapped file.
+	 * @param chunk
+	 *            the chunk.
+	 */
+	private void buildChunk(final MappedByteBuffer data, final int chunk) {
+
+		final SplittableRandom random = new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+		final IDoubleDummySolver solver = SOLVERS.get();
+		final int gameCount = HandStrengthTable.GAMES.size();
+		final int end = Math.min(CardSetIndexer.NUMBER_OF_HANDS, (chunk + 1) * HandStrengthTable.CHUNK_SIZE);
+		final int[][] deals = new int[sampleCount][];
+		// the player sits at a random seat relative to the game's first player
+		final PlayerPosition[] firstPlayers = new PlayerPosition[sampleCount];
+		for (int index = chunk * HandStrengthTable.CHUNK_SIZE; index < end; ++index) {
+			final int hand = CardSetIndexer.set(index, IRestrictedGameData.MAX_HAND_SIZE);
+			final long position = HandStrengthTable.DATA_OFFSET + (long) index * gameCount;
+			final IConstrainedDealer dealer = createDealer(hand);
+			for (int sample = 0; sample < sampleCount; ++sample) {
+				deals[sample] = null;
+			}
+			for (int gameIndex = 0; gameIndex < gameCount; ++gameIndex) {
+				final IBasicGameData game = HandStrengthTable.GAMES.get(gameIndex);
+				// other hands are looked up by their canonical hand
+				if (HandCanonicalizer.canonicalHand(hand, game.getGameType(), game.getColor()) != hand) {
+					continue;
+				}
+				if (!GameEvaluator.isAllowed(game, hand)) {
+					data.put((int) position + gameIndex, HandStrengthTable.NOT_ALLOWED);
+					continue;
+				}
+				int wins = 0;
+				for (int sample = 0; sample < sampleCount; ++sample) {
+					if (deals[sample] == null) {
+						deals[sample] = dealer.deal(random);
+						deals[sample][POSITIONS.length - 1] = hand;
+						firstPlayers[sample] = POSITIONS[random.nextInt(POSITIONS.length)];
+					}
+					if (solver.solveWin(createState(firstPlayers[sample], deals[sample], game))) {
+						++wins;
+					}
+				}
+				data.put((int) position + gameIndex, (byte) Math.round((float) wins * HandStrengthTable.MAX_STRENGTH / sampleCount));
+			}
+		}
+	}
+
+	/**
+	 * Check if the file has the format and the number of samples of this builder.
+	 *
+	 * @param file
+	 *            the file.
+	 * @return true if the file can be resumed.
+	 * @throws IOException
+	 *             if the file can not be read.
+	 */
+	private boolean isResumable(final RandomAccessFile file) throws IOException {
+
+		if (file.length() != HandStrengthTable.FILE_SIZE) {
+			return false;
+		}
+		file.seek(0);
+		final boolean resumable = file.readInt() == HandStrengthTable.MAGIC && file.readInt() == HandStrengthTable.VERSION
+				&& file.readInt() == HandStrengthTable.GAMES.size() && file.readInt() == sampleCount;
+		file.seek(0);
+		return resumable;
+	}
+
+	/**
+	 * Flag a chunk as built, after its strengths are written to the disk.
+	 *
+	 * @param data
+	 *            the mapped file.
+	 * @param chunk
+	 *            the chunk.
+	 */
+	private synchronized void markBuilt(final MappedByteBuffer data, final int chunk) {
+
+		data.force();
+		data.put(HandStrengthTable.FLAGS_OFFSET + chunk, (byte) 1);
+		data.force();
+	}
+
+	/**
+	 * This task builds a range of chunks. A range of more than one chunk is split in two tasks.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private final class ChunkTask extends RecursiveAction {
+
+		/** Generated serial version UID. */
+		private static final long serialVersionUID = -2214570951266203618L;
+		/** The chunks to build. */
+		private final List<Integer> chunks;
+		/** The mapped file. */
+		private final MappedByteBuffer data;
+		/** The first chunk of the range. */
+		private final int from;
+		/** The end of the range, exclusive. */
+		private final int to;
+
+		/**
+		 * Instantiate the task with the given parameters.
+		 *
+		 * @param data
+		 *            the mapped file.
+		 * @param chunks
+		 *            the chunks to build.
+		 * @param from
+		 *            the first chunk of the range.
+		 * @param to
+		 *            the end of the range, exclusive.
+		 */
+		private ChunkTask(final MappedByteBuffer data, final List<Integer> chunks, final int from, final int to) {
+
+			this.data = data;
+			this.chunks = chunks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from > 1) {
+				final int middle = from + to >>> 1;
+				invokeAll(new ChunkTask(data, chunks, from, middle), new ChunkTask(data, chunks, middle, to));
+				return;
+			}
+			if (to > from) {
+				buildChunk(data, chunks.get(from));
+				markBuilt(data, chunks.get(from));
+			}
+		}
+	}
+}
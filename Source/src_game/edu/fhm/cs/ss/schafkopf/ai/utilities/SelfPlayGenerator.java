@@ -0,0 +1,421 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.fhm.cs.ss.schafkopf.controller.GameEngine;
+import edu.fhm.cs.ss.schafkopf.model.GameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This generator writes the file of a {@link SelfPlayReader} by playing games between AIs with {@link GameEngine}s.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The deal of a game only depends on the seed and the index of the game, see {@link DealIndexer}. The game's first player and the seats of the AIs
+ * rotate with the index of the game. Every game starts with a new game data, so no stock is carried from one game to the next.<br>
+ * - The AIs are wrapped by recorders, that write every played card with the cards allowed to play directly into the record of the game.<br>
+ * - Every thread takes the games of a chunk at once, plays them into its own buffer and writes the complete chunk through the shared file channel at a
+ * reserved position. So the order of the chunks in the file depends on the threads.<br>
+ * - The AIs are created by their constructor with the accepted restart state, every thread creates its own AI instances.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class SelfPlayGenerator {
+
+	/**
+	 * The default seed of the deals.
+	 */
+	public static final long DEFAULT_SEED = 0x5E1F91A7L;
+	/**
+	 * The number of records in a chunk.
+	 */
+	static final int CHUNK_RECORDS = 1 << 12;
+	/**
+	 * All positions indicated by ordinal.
+	 */
+	private static final PlayerPosition[] POSITIONS = PlayerPosition.values();
+	/**
+	 * The multiplier spreading the deal seeds.
+	 */
+	private static final long SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * The AIs playing the games.
+	 */
+	private final List<Class<? extends IAI>> ais;
+	/**
+	 * The game settings the games are played with.
+	 */
+	private final IGameSettings gameSettings;
+	/**
+	 * The seed of the deals.
+	 */
+	private final long seed;
+	/**
+	 * The number of threads playing the games.
+	 */
+	private final int threads;
+
+	/**
+	 * Creates an instance with the default seed and one thread per available processor.
+	 *
+	 * @param gameSettings
+	 *            the game settings the games are played with.
+	 * @param ais
+	 *            the AIs playing the games.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null, no AI is given or an AI has no constructor with the accepted restart state.
+	 */
+	public SelfPlayGenerator(final IGameSettings gameSettings, final List<Class<? extends IAI>> ais) {
+
+		this(gameSettings, ais, DEFAULT_SEED, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param gameSettings
+	 *            the game settings the games are played with.
+	 * @param ais
+	 *            the AIs playing the games.
+	 * @param seed
+	 *            the seed of the deals.
+	 * @param threads
+	 *            the number of threads playing the games.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null, no AI is given, an AI has no constructor with the accepted restart state or the number of threads is not positive.
+	 */
+	public SelfPlayGenerator(final IGameSettings gameSettings, final List<Class<? extends IAI>> ais, final long seed, final int threads) {
+
+		if (gameSettings == null || ais == null || ais.isEmpty() || threads <= 0) {
+			throw new IllegalArgumentException();
+		}
+		for (final Class<? extends IAI> ai : ais) {
+			try {
+				ai.getConstructor(GameState.class);
+			} catch (final NoSuchMethodException e) {
+				throw new IllegalArgumentException(ai + " has no constructor with the accepted restart state.");
+			}
+		}
+		this.gameSettings = gameSettings;
+		this.ais = new ArrayList<Class<? extends IAI>>(ais);
+		this.seed = seed;
+		this.threads = threads;
+	}
+
+	/**
+	 * Write a chunk completely at a reserved position of the file.
+	 *
+	 * @param channel
+	 *            the channel of the file.
+	 * @param end
+	 *            the end of the written chunks.
+	 * @param chunk
+	 *            the chunk, flipped.
+	 * @throws IOException
+	 *             if the chunk can not be written.
+	 */
+	private static void writeChunk(final FileChannel channel, final AtomicLong end, final ByteBuffer chunk) throws IOException {
+
+		final long position = end.getAndAdd(chunk.remaining());
+		while (chunk.hasRemaining()) {
+			channel.write(chunk, position + chunk.position());
+		}
+	}
+
+	/**
+	 * Generate the file by playing the given number of games. An existing file is overwritten.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @param games
+	 *            the number of games.
+	 * @return the number of recorded decisions, -1 if the file can not be written or the generation was aborted.
+	 * @throws IllegalArgumentException
+	 *             if the number of games is negative.
+	 */
+	public long generate(final String path, final long games) {
+
+		if (games < 0) {
+			throw new IllegalArgumentException();
+		}
+		if (path == null) {
+			return -1;
+		}
+		try {
+			final RandomAccessFile file = new RandomAccessFile(path, "rw");
+			try {
+				file.setLength(0);
+				file.writeInt(SelfPlayReader.MAGIC);
+				file.writeInt(SelfPlayReader.VERSION);
+				file.writeInt(SelfPlayReader.RECORD_SIZE);
+				final FileChannel channel = file.getChannel();
+				final AtomicLong nextGame = new AtomicLong();
+				final AtomicLong end = new AtomicLong(SelfPlayReader.HEADER_SIZE);
+				final ExecutorService executor = Executors.newFixedThreadPool(threads);
+				long decisions = 0;
+				try {
+					final List<Future<Long>> futures = new ArrayList<Future<Long>>();
+					for (int thread = 0; thread < threads; ++thread) {
+						futures.add(executor.submit(new Worker(channel, nextGame, end, games)));
+					}
+					for (final Future<Long> future : futures) {
+						decisions += future.get();
+					}
+				} catch (final InterruptedException | ExecutionException e) {
+					// the other threads stop after their current chunk
+					nextGame.set(games);
+					return -1;
+				} finally {
+					executor.shutdownNow();
+				}
+				channel.force(false);
+				return decisions;
+			} finally {
+				file.close();
+			}
+		} catch (final IOException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * This worker plays chunks of games until all games are taken. Every worker runs in its own thread.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private final class Worker implements Callable<Long> {
+
+		/** The chunk the games are recorded into. */
+		private final ByteBuffer chunk;
+		/** The channel of the file. */
+		private final FileChannel channel;
+		/** The end of the written chunks. */
+		private final AtomicLong end;
+		/** The number of games. */
+		private final long games;
+		/** The index of the next game to take. */
+		private final AtomicLong nextGame;
+		/** The offset of the current record in the chunk. */
+		private int offset;
+		/** The recorders of the AIs, indicated by AI index and position ordinal. */
+		private final IAI[][] recorders;
+
+		/**
+		 * Instantiate the worker with the given parameters.
+		 *
+		 * @param channel
+		 *            the channel of the file.
+		 * @param nextGame
+		 *            the index of the next game to take.
+		 * @param end
+		 *            the end of the written chunks.
+		 * @param games
+		 *            the number of games.
+		 */
+		private Worker(final FileChannel channel, final AtomicLong nextGame, final AtomicLong end, final long games) {
+
+			this.channel = channel;
+			this.nextGame = nextGame;
+			this.end = end;
+			this.games = games;
+			this.chunk = ByteBuffer.allocateDirect(SelfPlayReader.CHUNK_HEADER_SIZE + CHUNK_RECORDS * SelfPlayReader.RECORD_SIZE);
+			this.recorders = new IAI[ais.size()][POSITIONS.length];
+		}
+
+		@Override
+		public Long call() throws IOException, ReflectiveOperationException {
+
+			for (int ai = 0; ai < recorders.length; ++ai) {
+				for (final PlayerPosition position : POSITIONS) {
+					recorders[ai][position.ordinal()] = new Recorder(createAi(ais.get(ai)));
+				}
+			}
+			long decisions = 0;
+			long from;
+			while ((from = nextGame.getAndAdd(CHUNK_RECORDS)) < games) {
+				final long to = Math.min(games, from + CHUNK_RECORDS);
+				chunk.clear();
+				chunk.putInt((int) (to - from));
+				for (long game = from; game < to; ++game) {
+					offset = chunk.position();
+					decisions += playGame(game);
+					chunk.position(offset + SelfPlayReader.RECORD_SIZE);
+				}
+				chunk.flip();
+				writeChunk(channel, end, chunk);
+			}
+			return decisions;
+		}
+
+		/**
+		 * @param ai
+		 *            the AI.
+		 * @return a new instance of the AI.
+		 * @throws ReflectiveOperationException
+		 *             if the AI can not be created.
+		 */
+		private IAI createAi(final Class<? extends IAI> ai) throws ReflectiveOperationException {
+
+			try {
+				return ai.getConstructor(GameState.class).newInstance(GameState.FINISHED);
+			} catch (final InvocationTargetException e) {
+				throw new IllegalStateException("Could not create " + ai + ".", e.getCause());
+			}
+		}
+
+		/**
+		 * Play a game and write its record at the current offset.
+		 *
+		 * @param game
+		 *            the index of the game.
+		 * @return the number of plies.
+		 */
+		private int playGame(final long game) {
+
+			// start with a record of zeros
+			for (int index = 0; index < SelfPlayReader.RECORD_SIZE; index += Integer.SIZE / Byte.SIZE) {
+				chunk.putInt(offset + index, 0);
+			}
+			final long deal = new SplittableRandom(seed + game * SEED_MULTIPLIER).nextLong(DealIndexer.NUMBER_OF_DEALS);
+			final PlayerPosition firstPlayer = POSITIONS[(int) (game % POSITIONS.length)];
+			final int[] hands = DealIndexer.deal(deal);
+			PlayerPosition position = firstPlayer;
+			for (final int hand : hands) {
+				chunk.putInt(offset + SelfPlayReader.HANDS_OFFSET + position.ordinal() * Integer.SIZE / Byte.SIZE, hand);
+				position = position.getNext();
+			}
+			final Map<PlayerPosition, IAI> seats = new EnumMap<PlayerPosition, IAI>(PlayerPosition.class);
+			for (final PlayerPosition seat : POSITIONS) {
+				seats.put(seat, recorders[(int) ((game + seat.ordinal()) % recorders.length)][seat.ordinal()]);
+			}
+			final IGameData gameData = new GameData(gameSettings, false);
+			final GameEngine engine = new GameEngine(gameData, seats);
+			final float[] startCredits = new float[POSITIONS.length];
+			for (final PlayerPosition seat : POSITIONS) {
+				startCredits[seat.ordinal()] = gameData.getPlayerDatas().get(seat).getCredit();
+			}
+			engine.play(DealIndexer.stack(deal), firstPlayer);
+			for (final PlayerPosition seat : POSITIONS) {
+				final float credit = gameData.getPlayerDatas().get(seat).getCredit() - startCredits[seat.ordinal()];
+				chunk.putFloat(offset + SelfPlayReader.CREDITS_OFFSET + seat.ordinal() * Float.SIZE / Byte.SIZE, credit);
+				chunk.put(offset + SelfPlayReader.POINTS_OFFSET + seat.ordinal(), (byte) gameData.getPlayerDatas().get(seat).getPoints());
+			}
+			chunk.putInt(offset + SelfPlayReader.CHARGE_OFFSET, gameData.getCharge() == null ? 0 : gameData.getCharge().getTotalCharge());
+			chunk.put(offset + SelfPlayReader.FIRST_PLAYER_OFFSET, (byte) firstPlayer.ordinal());
+			chunk.put(offset + SelfPlayReader.GAME_TYPE_OFFSET, ordinal(gameData.getGameType()));
+			chunk.put(offset + SelfPlayReader.COLOR_OFFSET, ordinal(gameData.getColor()));
+			chunk.put(offset + SelfPlayReader.LEAD_PLAYER_OFFSET, ordinal(gameData.getLeadPlayerPosition()));
+			chunk.put(offset + SelfPlayReader.WINNER_TEAM_OFFSET, ordinal(gameData.getWinnerTeam()));
+			return chunk.get(offset + SelfPlayReader.PLY_COUNT_OFFSET);
+		}
+
+		/**
+		 * @param value
+		 *            the enum value, may be null.
+		 * @return the ordinal of the value, -1 for null.
+		 */
+		private byte ordinal(final Enum<?> value) {
+
+			return (byte) (value == null ? -1 : value.ordinal());
+		}
+
+		/**
+		 * This recorder asks the wrapped AI and writes every played card into the current record of the worker.
+		 *
+		 * @author Sebastian Stumpf
+		 *
+		 */
+		private final class Recorder implements IAI {
+
+			/** The wrapped AI. */
+			private final IAI ai;
+
+			/**
+			 * Instantiate the recorder with the given AI.
+			 *
+			 * @param ai
+			 *            the wrapped AI.
+			 */
+			private Recorder(final IAI ai) {
+
+				this.ai = ai;
+			}
+
+			@Override
+			public boolean acceptRestart(final IRestrictedPlayerUtils playerUtils) {
+
+				return ai.acceptRestart(playerUtils);
+			}
+
+			@Override
+			public ICard getBestCard(final IRestrictedPlayerUtils playerUtils) {
+
+				final ICard card = ai.getBestCard(playerUtils);
+				final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+				// the ply is the number of cards that are not on a hand anymore, so a repeated request overwrites the same ply
+				int ply = IStackHandler.NUMBER_OF_CARDS;
+				for (final IRestrictedPlayerData player : gameData.getRestrictedPlayerDatas().values()) {
+					ply -= player.getSizeOfHand();
+				}
+				chunk.put(offset + SelfPlayReader.PLY_CARDS_OFFSET + ply, (byte) card.getOrdinal());
+				chunk.put(offset + SelfPlayReader.PLY_POSITIONS_OFFSET + ply, (byte) gameData.getPointOfViewPosition().ordinal());
+				chunk.putInt(offset + SelfPlayReader.PLY_LEGAL_OFFSET + ply * Integer.SIZE / Byte.SIZE, playerUtils.getAvailableCardSet());
+				chunk.put(offset + SelfPlayReader.PLY_COUNT_OFFSET, (byte) (ply + 1));
+				return card;
+			}
+
+			@Override
+			public IBasicGameData getBestGame(final IRestrictedPlayerUtils playerUtils) {
+
+				return ai.getBestGame(playerUtils);
+			}
+
+			@Override
+			public boolean raise(final IRestrictedPlayerUtils playerUtils) {
+
+				return ai.raise(playerUtils);
+			}
+
+			@Override
+			public boolean strike(final IRestrictedPlayerUtils playerUtils) {
+
+				return ai.strike(playerUtils);
+			}
+
+			@Override
+			public boolean strikeBack(final IRestrictedPlayerUtils playerUtils) {
+
+				return ai.strikeBack(playerUtils);
+			}
+		}
+	}
+}
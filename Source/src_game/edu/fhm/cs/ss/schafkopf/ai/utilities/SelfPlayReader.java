@@ -0,0 +1,368 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISelfPlayReader;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the self play reader by memory mapped chunks of a file, that is written by the {@link SelfPlayGenerator}.<br>
+ * <br>
+ *
+ * File format, all numbers big endian:<br>
+ * - The header: the magic number, the version and the size of a record, each an int.<br>
+ * - The chunks up to the end of the file: the number of records as an int, followed by the records.<br>
+ * - A record of {@link #RECORD_SIZE} bytes: the dealt hands as int and the won credits as float, indicated by position ordinal. The total charge as int,
+ * the points of the positions, the game's first player, the game type, the color, the lead player, the winner team and the number of plies as byte. From
+ * {@link #PLY_CARDS_OFFSET} the ordinal of the card and from {@link #PLY_POSITIONS_OFFSET} the ordinal of the player of every ply as byte, from
+ * {@link #PLY_LEGAL_OFFSET} the cards allowed to play of every ply as int. A missing enum is -1.<br>
+ * <br>
+ *
+ * All chunks are mapped when the file is loaded, the data of a record is read from the mapping when it is requested.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class SelfPlayReader implements ISelfPlayReader {
+
+	/**
+	 * The magic number at the start of the file.
+	 */
+	static final int MAGIC = 0x534B5350;
+	/**
+	 * The version of the file format.
+	 */
+	static final int VERSION = 1;
+	/**
+	 * The size of the file header.
+	 */
+	static final int HEADER_SIZE = 3 * Integer.SIZE / Byte.SIZE;
+	/**
+	 * The size of the chunk header.
+	 */
+	static final int CHUNK_HEADER_SIZE = Integer.SIZE / Byte.SIZE;
+	/**
+	 * The offset of the dealt hands in a record.
+	 */
+	static final int HANDS_OFFSET = 0;
+	/**
+	 * The offset of the won credits in a record.
+	 */
+	static final int CREDITS_OFFSET = HANDS_OFFSET + IRestrictedGameData.NUMBER_OF_PLAYERS * Integer.SIZE / Byte.SIZE;
+	/**
+	 * The offset of the total charge in a record.
+	 */
+	static final int CHARGE_OFFSET = CREDITS_OFFSET + IRestrictedGameData.NUMBER_OF_PLAYERS * Float.SIZE / Byte.SIZE;
+	/**
+	 * The offset of the points in a record.
+	 */
+	static final int POINTS_OFFSET = CHARGE_OFFSET + Integer.SIZE / Byte.SIZE;
+	/**
+	 * The offset of the game's first player in a record.
+	 */
+	static final int FIRST_PLAYER_OFFSET = POINTS_OFFSET + IRestrictedGameData.NUMBER_OF_PLAYERS;
+	/**
+	 * The offset of the game type in a record.
+	 */
+	static final int GAME_TYPE_OFFSET = FIRST_PLAYER_OFFSET + 1;
+	/**
+	 * The offset of the color in a record.
+	 */
+	static final int COLOR_OFFSET = GAME_TYPE_OFFSET + 1;
+	/**
+	 * The offset of the lead player in a record.
+	 */
+	static final int LEAD_PLAYER_OFFSET = COLOR_OFFSET + 1;
+	/**
+	 * The offset of the winner team in a record.
+	 */
+	static final int WINNER_TEAM_OFFSET = LEAD_PLAYER_OFFSET + 1;
+	/**
+	 * The offset of the number of plies in a record.
+	 */
+	static final int PLY_COUNT_OFFSET = WINNER_TEAM_OFFSET + 1;
+	/**
+	 * The offset of the played cards in a record, aligned to 8 bytes.
+	 */
+	static final int PLY_CARDS_OFFSET = (PLY_COUNT_OFFSET + 1 + 7) / 8 * 8;
+	/**
+	 * The offset of the players of the plies in a record.
+	 */
+	static final int PLY_POSITIONS_OFFSET = PLY_CARDS_OFFSET + IStackHandler.NUMBER_OF_CARDS;
+	/**
+	 * The offset of the cards allowed to play in a record.
+	 */
+	static final int PLY_LEGAL_OFFSET = PLY_POSITIONS_OFFSET + IStackHandler.NUMBER_OF_CARDS;
+	/**
+	 * The size of a record.
+	 */
+	static final int RECORD_SIZE = PLY_LEGAL_OFFSET + IStackHandler.NUMBER_OF_CARDS * Integer.SIZE / Byte.SIZE;
+	/**
+	 * All colors indicated by ordinal.
+	 */
+	private static final CardColor[] COLORS = CardColor.values();
+	/**
+	 * All game types indicated by ordinal.
+	 */
+	private static final GameType[] GAME_TYPES = GameType.values();
+	/**
+	 * All positions indicated by ordinal.
+	 */
+	private static final PlayerPosition[] POSITIONS = PlayerPosition.values();
+	/**
+	 * All teams indicated by ordinal.
+	 */
+	private static final Team[] TEAMS = Team.values();
+
+	/**
+	 * The mapped chunks without their header.
+	 */
+	private final List<MappedByteBuffer> chunks;
+	/**
+	 * The index of the current chunk.
+	 */
+	private int chunk;
+	/**
+	 * The current chunk, null before the first and after the last record.
+	 */
+	private MappedByteBuffer data;
+	/**
+	 * The offset of the current record in the current chunk.
+	 */
+	private int offset;
+	/**
+	 * The number of records in the file.
+	 */
+	private final long recordCount;
+
+	/**
+	 * Instantiate the reader with the given parameters.
+	 *
+	 * @param chunks
+	 *            the mapped chunks without their header.
+	 * @param recordCount
+	 *            the number of records in the chunks.
+	 */
+	private SelfPlayReader(final List<MappedByteBuffer> chunks, final long recordCount) {
+
+		this.chunks = chunks;
+		this.recordCount = recordCount;
+		reset();
+	}
+
+	/**
+	 * Load a reader by mapping the chunks of the file.
+	 *
+	 * @param path
+	 *            the path of the file.
+	 * @return the reader, null if the file can not be read or has not the format of this version.
+	 */
+	public static ISelfPlayReader load(final String path) {
+
+		if (path == null) {
+			return null;
+		}
+		try {
+			final RandomAccessFile file = new RandomAccessFile(path, "r");
+			try {
+				final long length = file.length();
+				if (length < HEADER_SIZE || file.readInt() != MAGIC || file.readInt() != VERSION || file.readInt() != RECORD_SIZE) {
+					return null;
+				}
+				final List<MappedByteBuffer> chunks = new ArrayList<MappedByteBuffer>();
+				long recordCount = 0;
+				long position = HEADER_SIZE;
+				while (position + CHUNK_HEADER_SIZE <= length) {
+					file.seek(position);
+					final int count = file.readInt();
+					final long size = (long) count * RECORD_SIZE;
+					// a chunk that was not written completely ends the file
+					if (count <= 0 || position + CHUNK_HEADER_SIZE + size > length) {
+						break;
+					}
+					// the mappings stay valid after the file is closed
+					chunks.add(file.getChannel().map(FileChannel.MapMode.READ_ONLY, position + CHUNK_HEADER_SIZE, size));
+					recordCount += count;
+					position += CHUNK_HEADER_SIZE + size;
+				}
+				return new SelfPlayReader(chunks, recordCount);
+			} finally {
+				file.close();
+			}
+		} catch (final IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param ordinal
+	 *            the ordinal, -1 for none.
+	 * @param values
+	 *            the enum values indicated by ordinal.
+	 * @return the enum value, null for none.
+	 */
+	private static <T> T valueOf(final byte ordinal, final T[] values) {
+
+		return ordinal < 0 ? null : values[ordinal];
+	}
+
+	@Override
+	public CardColor getColor() {
+
+		return valueOf(getData().get(offset + COLOR_OFFSET), COLORS);
+	}
+
+	@Override
+	public float getCredit(final PlayerPosition position) {
+
+		return getData().getFloat(offset + CREDITS_OFFSET + position.ordinal() * Float.SIZE / Byte.SIZE);
+	}
+
+	@Override
+	public PlayerPosition getGamesFirstPlayerPosition() {
+
+		return valueOf(getData().get(offset + FIRST_PLAYER_OFFSET), POSITIONS);
+	}
+
+	@Override
+	public GameType getGameType() {
+
+		return valueOf(getData().get(offset + GAME_TYPE_OFFSET), GAME_TYPES);
+	}
+
+	@Override
+	public int getHandSet(final int ply) {
+
+		// the cards of a hand are not played by others
+		return getInitialHandSet(getPlayerPosition(ply)) & ~getPlayedCardSet(ply);
+	}
+
+	@Override
+	public int getInitialHandSet(final PlayerPosition position) {
+
+		return getData().getInt(offset + HANDS_OFFSET + position.ordinal() * Integer.SIZE / Byte.SIZE);
+	}
+
+	@Override
+	public PlayerPosition getLeadPlayerPosition() {
+
+		return valueOf(getData().get(offset + LEAD_PLAYER_OFFSET), POSITIONS);
+	}
+
+	@Override
+	public int getLegalCardSet(final int ply) {
+
+		return getData().getInt(offset + PLY_LEGAL_OFFSET + checkPly(ply) * Integer.SIZE / Byte.SIZE);
+	}
+
+	@Override
+	public int getPlayedCard(final int ply) {
+
+		return getData().get(offset + PLY_CARDS_OFFSET + checkPly(ply));
+	}
+
+	@Override
+	public int getPlayedCardSet(final int ply) {
+
+		int played = 0;
+		for (int before = checkPly(ply) - 1; before >= 0; --before) {
+			played |= 1 << data.get(offset + PLY_CARDS_OFFSET + before);
+		}
+		return played;
+	}
+
+	@Override
+	public PlayerPosition getPlayerPosition(final int ply) {
+
+		return POSITIONS[getData().get(offset + PLY_POSITIONS_OFFSET + checkPly(ply))];
+	}
+
+	@Override
+	public int getPlyCount() {
+
+		return getData().get(offset + PLY_COUNT_OFFSET);
+	}
+
+	@Override
+	public int getPoints(final PlayerPosition position) {
+
+		return getData().get(offset + POINTS_OFFSET + position.ordinal());
+	}
+
+	@Override
+	public long getRecordCount() {
+
+		return recordCount;
+	}
+
+	@Override
+	public int getTotalCharge() {
+
+		return getData().getInt(offset + CHARGE_OFFSET);
+	}
+
+	@Override
+	public Team getWinnerTeam() {
+
+		return valueOf(getData().get(offset + WINNER_TEAM_OFFSET), TEAMS);
+	}
+
+	@Override
+	public boolean next() {
+
+		if (data != null && offset + 2 * RECORD_SIZE <= data.capacity()) {
+			offset += RECORD_SIZE;
+			return true;
+		}
+		++chunk;
+		offset = 0;
+		data = chunk < chunks.size() ? chunks.get(chunk) : null;
+		return data != null;
+	}
+
+	@Override
+	public void reset() {
+
+		chunk = -1;
+		data = null;
+		offset = 0;
+	}
+
+	/**
+	 * @param ply
+	 *            the ply.
+	 * @return the ply.
+	 * @throws IllegalArgumentException
+	 *             if the ply is not played in the current record.
+	 */
+	private int checkPly(final int ply) {
+
+		if (ply < 0 || ply >= getPlyCount()) {
+			throw new IllegalArgumentException();
+		}
+		return ply;
+	}
+
+	/**
+	 * @return the current chunk.
+	 * @throws IllegalStateException
+	 *             if there is no current record.
+	 */
+	private MappedByteBuffer getData() {
+
+		if (data == null) {
+			throw new IllegalStateException();
+		}
+		return data;
+	}
+}
@@ -0,0 +1,163 @@
+package edu.fhm.cs.ss.schafkopf.ai.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluation;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IGameEvaluator;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IHandStrengthTable;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSetIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.ChargeModel;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This class implements the game evaluator by looking up the hand strengths in a {@link IHandStrengthTable}.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - A game to choose is evaluated by a single lookup of the hand. An incomplete hand, e.g. to decide raising, is evaluated by looking up all its
+ * completions, a game that is not allowed with a completion counts as passed.<br>
+ * - The result is calculated from the win probability: the basic charge, the solo multiplier, the raise and exclusive multipliers, the three times result
+ * of a solo player and the share of the stock in a partner game. The bounty of the high cards in row and the schneider are not regarded.<br>
+ * - The confidence margin is the standard error of the strengths in the table, times {@link GameEvaluator#CONFIDENCE}.<br>
+ * - Games or hands the table does not contain and the current game are evaluated by the fallback evaluator.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class TableGameEvaluator implements IGameEvaluator {
+
+	/**
+	 * The evaluator of the games, that are not contained in the table.
+	 */
+	private final IGameEvaluator fallback;
+	/**
+	 * The table of the hand strengths.
+	 */
+	private final IHandStrengthTable table;
+
+	/**
+	 * Creates an instance with the given parameters.
+	 *
+	 * @param table
+	 *            the table of the hand strengths.
+	 * @param fallback
+	 *            the evaluator of the games, that are not contained in the table.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null.
+	 */
+	public TableGameEvaluator(final IHandStrengthTable table, final IGameEvaluator fallback) {
+
+		if (table == null || fallback == null) {
+			throw new IllegalArgumentException();
+		}
+		this.table = table;
+		this.fallback = fallback;
+	}
+
+	/**
+	 * @param hand
+	 *            the known cards of the hand.
+	 * @return all complete hands containing the known cards.
+	 */
+	private static int[] getCompletions(final int hand) {
+
+		final int missing = IRestrictedGameData.MAX_HAND_SIZE - CardSet.size(hand);
+		final int free = ~hand;
+		final int[] completions = new int[(int) CardSetIndexer.binomial(CardSet.size(free), missing)];
+		for (int index = 0; index < completions.length; ++index) {
+			completions[index] = hand | CardSet.expand(CardSetIndexer.set(index, missing), free);
+		}
+		return completions;
+	}
+
+	@Override
+	public IGameEvaluation evaluateCurrentGame(final IRestrictedPlayerUtils playerUtils) {
+
+		return fallback.evaluateCurrentGame(playerUtils);
+	}
+
+	@Override
+	public List<IGameEvaluation> evaluateGames(final IRestrictedPlayerUtils playerUtils, final Collection<IBasicGameData> games) {
+
+		if (playerUtils == null || games == null) {
+			throw new IllegalArgumentException();
+		}
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		if (gameData.getGameState() != GameState.GET_RAISE && gameData.getGameState() != GameState.CHOOSE) {
+			throw new IllegalStateException();
+		}
+		final int hand = playerUtils.getPovPlayerData().getCurrentHandSet();
+		final int[] completions = getCompletions(hand);
+		final IGameEvaluation[] evaluations = new IGameEvaluation[games.size()];
+		final List<IBasicGameData> missingGames = new ArrayList<IBasicGameData>();
+		final List<Integer> missingIndices = new ArrayList<Integer>();
+		int index = 0;
+		for (final IBasicGameData game : games) {
+			evaluations[index] = evaluate(playerUtils, game, completions);
+			if (evaluations[index] == null) {
+				missingGames.add(game);
+				missingIndices.add(index);
+			}
+			++index;
+		}
+		if (!missingGames.isEmpty()) {
+			final List<IGameEvaluation> results = fallback.evaluateGames(playerUtils, missingGames);
+			for (int i = 0; i < results.size(); ++i) {
+				evaluations[missingIndices.get(i)] = results.get(i);
+			}
+		}
+		return Arrays.asList(evaluations);
+	}
+
+	/**
+	 * Evaluate a game by the strengths of the completed hands.
+	 *
+	 * @param playerUtils
+	 *            the player utilities.
+	 * @param game
+	 *            the game.
+	 * @param completions
+	 *            the completed hands.
+	 * @return the evaluation, null if a completed hand is not contained.
+	 */
+	private IGameEvaluation evaluate(final IRestrictedPlayerUtils playerUtils, final IBasicGameData game, final int[] completions) {
+
+		final IRestrictedGameData gameData = playerUtils.getRestrictedGameData();
+		final GameType gameType = game.getGameType();
+		final int basicCharge = gameData.getGameSettings().getBasicCharge();
+		final int basic = ChargeModel.calculateBasicCharge(gameType, basicCharge, gameData.getGameSettings().getSoloMultiplier());
+		final int multiplier = (gameData.getCharge() == null ? 0 : gameData.getCharge().getInitialMultiplier()) + (gameType.isExclusive ? 1 : 0);
+		final int totalCharge = ChargeModel.calculateTotalCharge(basic, 0, 0, gameType.isExclusive, basicCharge, multiplier);
+		final int stockValue = gameData.getStock() / 2;
+		// the point-of-view player is the lead player
+		final double won = ChargeModel.calculatePlayerCharge(totalCharge, !gameType.isPartnerGame, true)
+				+ ChargeModel.calculateStockCharge(ChargeModel.calculateStockIndex(gameType, gameData.getStock(), true), stockValue, true);
+		final double lost = ChargeModel.calculatePlayerCharge(totalCharge, !gameType.isPartnerGame, false)
+				+ ChargeModel.calculateStockCharge(ChargeModel.calculateStockIndex(gameType, gameData.getStock(), false), stockValue, false);
+		double winSum = 0;
+		double resultSum = 0;
+		double varianceSum = 0;
+		for (final int completion : completions) {
+			if (!table.contains(completion, game)) {
+				return null;
+			}
+			final double winProbability = table.getWinProbability(completion, game);
+			// a game that is not allowed is passed
+			if (!Double.isNaN(winProbability)) {
+				winSum += winProbability;
+				resultSum += winProbability * won + (1 - winProbability) * lost;
+				varianceSum += winProbability * (1 - winProbability) * (won - lost) * (won - lost) / table.getSampleCount();
+			}
+		}
+		return new GameEvaluation(game, table.getSampleCount() * completions.length, winSum / completions.length, resultSum / completions.length,
+				GameEvaluator.CONFIDENCE * Math.sqrt(varianceSum) / completions.length);
+	}
+}
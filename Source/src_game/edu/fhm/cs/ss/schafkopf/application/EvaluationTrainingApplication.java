@@ -0,0 +1,45 @@
+package edu.fhm.cs.ss.schafkopf.application;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.ISelfPlayReader;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationModelTrainer;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.SelfPlayReader;
+
+/**
+ * The entry point to train the model of the learned AI offline on the records of the {@link SelfPlayApplication}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EvaluationTrainingApplication {
+
+	/**
+	 * The main method, to train the model.
+	 *
+	 * @param args
+	 *            the path of the records, optionally the path of the model and the number of passes over the records.
+	 */
+	public static void main(final String... args) {
+
+		if (args.length == 0) {
+			System.out.println("Aufruf: EvaluationTrainingApplication <Datenstze> [Modell] [Anzahl der Durchlufe]");
+			return;
+		}
+		final String modelPath = args.length > 1 ? args[1] : EvaluationModel.DEFAULT_PATH;
+		final int epochs = args.length > 2 ? Integer.parseInt(args[2]) : EvaluationModelTrainer.DEFAULT_EPOCHS;
+		final ISelfPlayReader reader = SelfPlayReader.load(args[0]);
+		if (reader == null) {
+			System.out.println("Die Datenstze konnten nicht gelesen werden.");
+			return;
+		}
+		System.out.println("Trainiere das Modell mit " + reader.getRecordCount() + " Spielen.");
+		final long start = System.currentTimeMillis();
+		final IEvaluationModel model = new EvaluationModelTrainer(epochs, EvaluationModelTrainer.DEFAULT_LEARNING_RATE).train(reader);
+		if (model.save(modelPath)) {
+			System.out.println("Fertig nach " + (System.currentTimeMillis() - start) / 1000 + " Sekunden, das Modell ist in " + modelPath + ".");
+		} else {
+			System.out.println("Die Datei konnte nicht geschrieben werden.");
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package edu.fhm.cs.ss.schafkopf.application;
+
+import java.util.concurrent.ForkJoinPool;
+
+import edu.fhm.cs.ss.schafkopf.ai.utilities.HandStrengthTableBuilder;
+
+/**
+ * The entry point to build the hand strength table offline. A stopped build is resumed, when it is started again with the same file and number of samples.
+ * The build takes thousands of core hours with the default number of samples, see {@link HandStrengthTableBuilder}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class HandStrengthTableApplication {
+
+	/**
+	 * The main method, to build the hand strength table with all processors.
+	 *
+	 * @param args
+	 *            the path of the file and optionally the number of samples per hand.
+	 */
+	public static void main(final String... args) {
+
+		if (args.length == 0) {
+			System.out.println("Aufruf: HandStrengthTableApplication <Datei> [Anzahl der Stichproben]");
+			return;
+		}
+		final int sampleCount = args.length > 1 ? Integer.parseInt(args[1]) : HandStrengthTableBuilder.DEFAULT_SAMPLE_COUNT;
+		final HandStrengthTableBuilder builder = new HandStrengthTableBuilder(sampleCount, HandStrengthTableBuilder.DEFAULT_SEED, new ForkJoinPool());
+		System.out.println("Erstelle die Tabelle der Handstrken in " + args[0]);
+		final long start = System.currentTimeMillis();
+		if (builder.build(args[0])) {
+			System.out.println("Fertig nach " + (System.currentTimeMillis() - start) / 1000 + " Sekunden.");
+		} else {
+			System.out.println("Die Datei konnte nicht geschrieben werden.");
+		}
+	}
+}
@@ -5,6 +5,7 @@ import edu.fhm.cs.ss.schafkopf.controller.interfaces.IStartController;
 import edu.fhm.cs.ss.schafkopf.model.utilities.XMLFilePersistenceHandler;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IPersistenceHandler;
 import edu.fhm.cs.ss.schafkopf.view.ConsoleStartView;
+import edu.fhm.cs.ss.schafkopf.view.baseclasses.BaseMultiThreadedView;
 
 /**
  * The entry point for a Schafkopf console game.
@@ -31,5 +32,7 @@ public class SchafkopfConsoleApplication {
 		final IStartController consoleStartController = new StartController(persistenceHandler);
 		consoleStartController.setView(new ConsoleStartView(consoleStartController));
 		consoleStartController.start();
+		// the views run on daemon threads, the application ends with the last view
+		BaseMultiThreadedView.awaitWorkers();
 	}
 }
@@ -0,0 +1,60 @@
+package edu.fhm.cs.ss.schafkopf.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.sets.learned.LearnedAI;
+import edu.fhm.cs.ss.schafkopf.ai.sets.random.RandomAI;
+import edu.fhm.cs.ss.schafkopf.ai.sets.simpledeterministic.SimpleDeterministicAI;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EvaluationModel;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.SelfPlayGenerator;
+import edu.fhm.cs.ss.schafkopf.model.GameSettings;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * The entry point to generate self play data offline. The games are played with the default game settings.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class SelfPlayApplication {
+
+	/**
+	 * The main method, to generate self play data with all processors.
+	 *
+	 * @param args
+	 *            the path of the file, the number of games and optionally the class names of the AIs. Without AIs the simple deterministic AI and the random
+	 *            AI play. The {@link LearnedAI} can only play after its model is trained with the {@link EvaluationTrainingApplication}.
+	 * @throws ClassNotFoundException
+	 *             if an AI class can not be found.
+	 */
+	public static void main(final String... args) throws ClassNotFoundException {
+
+		if (args.length < 2) {
+			System.out.println("Aufruf: SelfPlayApplication <Datei> <Anzahl der Spiele> [KI-Klassen]");
+			return;
+		}
+		final List<Class<? extends IAI>> ais = new ArrayList<Class<? extends IAI>>();
+		for (int i = 2; i < args.length; ++i) {
+			ais.add(Class.forName(args[i]).asSubclass(IAI.class));
+		}
+		if (ais.contains(LearnedAI.class) && !LearnedAI.isDefaultModelAvailable()) {
+			System.out.println("Die lernende KI braucht ein trainiertes Modell in " + EvaluationModel.DEFAULT_PATH + ", siehe EvaluationTrainingApplication.");
+			return;
+		}
+		if (ais.isEmpty()) {
+			ais.add(SimpleDeterministicAI.class);
+			ais.add(RandomAI.class);
+		}
+		final SelfPlayGenerator generator = new SelfPlayGenerator(new GameSettings(), ais);
+		System.out.println("Erzeuge " + args[1] + " Spiele in " + args[0]);
+		final long start = System.currentTimeMillis();
+		final long decisions = generator.generate(args[0], Long.parseLong(args[1]));
+		if (decisions >= 0) {
+			final long millis = Math.max(1, System.currentTimeMillis() - start);
+			System.out.println(decisions + " Entscheidungen nach " + millis / 1000 + " Sekunden, " + decisions * 60000 / millis + " pro Minute.");
+		} else {
+			System.out.println("Die Datei konnte nicht geschrieben werden.");
+		}
+	}
+}
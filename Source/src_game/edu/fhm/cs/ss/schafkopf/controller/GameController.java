@@ -2,7 +2,15 @@ package edu.fhm.cs.ss.schafkopf.controller;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import edu.fhm.cs.ss.schafkopf.controller.interfaces.IController;
 import edu.fhm.cs.ss.schafkopf.controller.interfaces.IGameController;
@@ -12,6 +20,7 @@ import edu.fhm.cs.ss.schafkopf.model.RestrictedGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.utilities.PlayerUtils;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IPersistenceHandler;
+import edu.fhm.cs.ss.schafkopf.view.baseclasses.BaseMultiThreadedView;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IPlayerView;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IView;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
@@ -27,24 +36,74 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameDa
  * 
  * Behavior of this implementation:<br>
  * - {@link #back()}: causes all subscribed player views to stop.<br>
- * - {@link #handleGameAction(IAction)}: executed if the actions ID is one of the subscribed player IDs and the validation was successful, otherwise refused.<br>
+ * - {@link #handleGameAction(IAction)}: executed if the actions ID is one of the subscribed player IDs and the validation was successful, otherwise refused.
+ * The caller waits for the validation code of its action only.<br>
+ * - {@link #submitGameAction(IAction)}: the actions are added to the mailbox of this controller without locking. A single consumer executes them in order.
+ * The future is completed as soon as the action is executed. Notifying the player views and persisting the game data is done by the consumer afterwards,
+ * before the next action is executed. Their failures are printed to the error stream.<br>
+ * - Every running consumer has a thread of its own, created by the worker factory of the views and reused by later consumers. So no controller waits for
+ * the notifications or the persistence of another controller.<br>
+ * - Actions bound to an outdated state version are refused with {@link ActionValidationCode#STATE_OUTDATED}. This is checked by reading the volatile state
+ * version, before the action is added to the mailbox, and again before it is executed.<br>
+ * - {@link #notifyPlayers()}: player views, that acknowledge their updates, are skipped while their previous update is not acknowledged. No snapshot is
+ * built for them. Acknowledging is lock-free, only a view with a skipped update gets the current game data through the mailbox.<br>
  * - {@link #subscribePlayer(IPlayerView)} up to 4 player views can subscribe. More subscription calls are refused.
  * 
  * @author Sebastian Stumpf
  * 
  */
 public class GameController extends BaseController implements IGameController {
+	/**
+	 * The consumer of the mailbox. It executes the tasks in order, until the mailbox is empty. Only one consumer per controller is running at a time.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private class MailboxConsumer implements Runnable {
+
+		@Override
+		public void run() {
+
+			do {
+				try {
+					mailbox.poll().run();
+				} catch (final RuntimeException e) {
+					// the action tasks complete their futures first, a failing notification or persistence must not stop the mailbox
+					System.err.println("ERROR: Auftrag der Mailbox fehlgeschlagen.");
+					e.printStackTrace();
+				}
+			} while (mailboxSize.decrementAndGet() > 0);
+		}
+	}
 
 	/** The first subscribing player gets this position. */
 	public static final PlayerPosition FIRST_SUBSCRIBER_POSITION = PlayerPosition.BOTTOM;
+	/** The update state of a view, that has not acknowledged an update yet. It is updated with every notification. */
+	private static final int UPDATE_UNACKNOWLEDGED = -1;
+	/** The update state of a view, that has acknowledged its last update. */
+	private static final int UPDATE_ACKNOWLEDGED = 0;
+	/** The update state of a view, whose last update is not acknowledged yet. */
+	private static final int UPDATE_PENDING = 1;
+	/** The update state of a view, whose update was skipped because of a pending update. */
+	private static final int UPDATE_SKIPPED = 2;
+	/** The executor running the mailbox consumers of all game controllers. */
+	private static final Executor MAILBOX_EXECUTOR = createMailboxExecutor();
 	/** An instance of gameData. There is only one instance in the whole game. */
 	private IGameData originalGameData;
 	/** Stores the position the next subscribing player views will get. Incremented with each subscribing player. */
 	private PlayerPosition nextSubscriberPosition;
 	/** True, if this controller is started. If this attribute is false, the controller will not react to incoming actions. */
-	private boolean started;
+	private volatile boolean started;
+	/** The tasks handed in to this controller, they are executed in order by the {@link MailboxConsumer}. */
+	private final Queue<Runnable> mailbox;
+	/** The consumer of the {@link #mailbox}. */
+	private final Runnable mailboxConsumer;
+	/** The number of tasks in the {@link #mailbox}. The task incrementing it from zero schedules the consumer. */
+	private final AtomicInteger mailboxSize;
 	/** The subscribed player views. */
 	private final Map<IPlayerId, IPlayerView> playerViews;
+	/** The update states of the subscribed player views. They are changed by the acknowledging views without locking. */
+	private final Map<IPlayerId, AtomicInteger> updateStates;
 
 	/**
 	 * Instantiate the controller with only a persistence handler. Game data and upper controller is set to null.
@@ -71,9 +130,44 @@ public class GameController extends BaseController implements IGameController {
 
 		super(persistenceHandler, upperController);
 		this.playerViews = new HashMap<IPlayerId, IPlayerView>();
+		this.updateStates = new ConcurrentHashMap<IPlayerId, AtomicInteger>();
 		this.nextSubscriberPosition = FIRST_SUBSCRIBER_POSITION;
 		this.started = false;
 		this.originalGameData = gameData;
+		this.mailbox = new ConcurrentLinkedQueue<Runnable>();
+		this.mailboxSize = new AtomicInteger();
+		this.mailboxConsumer = new MailboxConsumer();
+	}
+
+	/**
+	 * Create the mailbox executor. Used for initialization of static values.
+	 *
+	 * @return an executor with a thread per running consumer, created by the view workers' factory and reused by the consumers of all controllers.
+	 */
+	private static Executor createMailboxExecutor() {
+
+		return Executors.newCachedThreadPool(BaseMultiThreadedView.getWorkerFactory());
+	}
+
+	@Override
+	public void acknowledgeUpdate(final IPlayerId playerId) {
+
+		final AtomicInteger updateState = playerId == null ? null : updateStates.get(playerId);
+		if (updateState != null && updateState.getAndSet(UPDATE_ACKNOWLEDGED) == UPDATE_SKIPPED) {
+			// ordered with the notifications, so the update is built from the current game data
+			post(new Runnable() {
+
+				@Override
+				public void run() {
+
+					synchronized (playerViews) {
+						if (started && updateStates.get(playerId) == updateState && updateState.compareAndSet(UPDATE_ACKNOWLEDGED, UPDATE_PENDING)) {
+							updatePlayer(playerId);
+						}
+					}
+				}
+			});
+		}
 	}
 
 	@Override
@@ -88,6 +182,7 @@ public class GameController extends BaseController implements IGameController {
 			}
 			// clear views
 			playerViews.clear();
+			updateStates.clear();
 			// reset subscriber position
 			nextSubscriberPosition = FIRST_SUBSCRIBER_POSITION;
 		}
@@ -102,60 +197,13 @@ public class GameController extends BaseController implements IGameController {
 	@Override
 	public ActionValidationCode handleGameAction(final IAction action) {
 
-		// TODO: ERROR on purpose, gameData = null -> critical invalid state
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setPlayerDatas(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setCharge(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setLastExecutedAction(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setOpponentTeam(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setPlayerTeam(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setStack(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData.setWinnerTeam(null);
-		// }
-		// if (Math.random() < 0.0001) {
-		// originalGameData = null;
-		// }
-
-		// TODO: ERROR on purpose -> uncritical invalid state
-		// if (Math.random() < 0.0001) {
-		// originalGameData.getCharge().setBasic(0);
-		// originalGameData.setColor(null);
-		// }
-
 		try {
-			// players can only hand in actions, if the game is started.
-			if (!started) {
-				return ActionValidationCode.TURN_NOTONTURN;
+			return submitGameAction(action).join();
+		} catch (final CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
-			// check if the player id is correct
-			if (!playerViews.containsKey(action.getPlayerId())) {
-				return ActionValidationCode.ID_INVALID;
-			}
-			ActionValidationCode retVal;
-			synchronized (originalGameData) {
-				retVal = action.execute(originalGameData);
-				if (retVal == ActionValidationCode.EXECUTED_CHANGES) {
-					notifyPlayers();
-					if (isPersisting()) {
-						getPersistenceHandler().persist(originalGameData.getPersistenceObject());
-					}
-				}
-			}
-			return retVal;
-		} catch (final NullPointerException e) {
-			return ActionValidationCode.REQUIRED_DATA_CORRUPT;
+			throw e;
 		}
 	}
 
@@ -165,7 +213,10 @@ public class GameController extends BaseController implements IGameController {
 		synchronized (playerViews) {
 			if (started) {
 				for (final IPlayerId playerId : playerViews.keySet()) {
-					playerViews.get(playerId).updateGameData(new PlayerUtils(new RestrictedGameData(playerId.getPosition(), originalGameData)));
+					// a skipped view gets the current game data, when it acknowledges the pending update
+					if (!skipUpdate(updateStates.get(playerId))) {
+						updatePlayer(playerId);
+					}
 				}
 			}
 		}
@@ -188,10 +239,36 @@ public class GameController extends BaseController implements IGameController {
 				}
 				started = true;
 			}
-			notifyPlayers();
+			// the first notification is ordered with the actions
+			post(new Runnable() {
+
+				@Override
+				public void run() {
+
+					notifyPlayers();
+				}
+			});
 		}
 	}
 
+	@Override
+	public CompletableFuture<ActionValidationCode> submitGameAction(final IAction action) {
+
+		if (isOutdated(action)) {
+			return CompletableFuture.completedFuture(ActionValidationCode.STATE_OUTDATED);
+		}
+		final CompletableFuture<ActionValidationCode> result = new CompletableFuture<ActionValidationCode>();
+		post(new Runnable() {
+
+			@Override
+			public void run() {
+
+				executeGameAction(action, result);
+			}
+		});
+		return result;
+	}
+
 	@Override
 	public boolean subscribePlayer(final IPlayerView playerView) {
 
@@ -211,6 +288,7 @@ public class GameController extends BaseController implements IGameController {
 			nextSubscriberPosition = nextSubscriberPosition.getNext();
 			// add playerView to subscribed views
 			playerViews.put(playerId, playerView);
+			updateStates.put(playerId, new AtomicInteger(UPDATE_UNACKNOWLEDGED));
 			// provide player with player id
 			playerView.setPlayerId(playerId);
 
@@ -218,4 +296,138 @@ public class GameController extends BaseController implements IGameController {
 		}
 
 	}
+
+	/**
+	 * Execute an action. Called by the mailbox consumer only, so the game data is changed by one thread at a time.
+	 *
+	 * @param action
+	 *            the action.
+	 * @param result
+	 *            the future completed with the action validation code.
+	 */
+	private void executeGameAction(final IAction action, final CompletableFuture<ActionValidationCode> result) {
+
+		// TODO: ERROR on purpose, gameData = null -> critical invalid state
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setPlayerDatas(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setCharge(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setLastExecutedAction(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setOpponentTeam(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setPlayerTeam(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setStack(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData.setWinnerTeam(null);
+		// }
+		// if (Math.random() < 0.0001) {
+		// originalGameData = null;
+		// }
+
+		// TODO: ERROR on purpose -> uncritical invalid state
+		// if (Math.random() < 0.0001) {
+		// originalGameData.getCharge().setBasic(0);
+		// originalGameData.setColor(null);
+		// }
+
+		ActionValidationCode retVal;
+		try {
+			// players can only hand in actions, if the game is started.
+			if (!started) {
+				retVal = ActionValidationCode.TURN_NOTONTURN;
+			} else if (!playerViews.containsKey(action.getPlayerId())) {
+				// check if the player id is correct
+				retVal = ActionValidationCode.ID_INVALID;
+			} else if (isOutdated(action)) {
+				retVal = ActionValidationCode.STATE_OUTDATED;
+			} else {
+				retVal = action.execute(originalGameData);
+				if (retVal == ActionValidationCode.EXECUTED_CHANGES) {
+					originalGameData.incrementStateVersion();
+				}
+			}
+		} catch (final NullPointerException e) {
+			retVal = ActionValidationCode.REQUIRED_DATA_CORRUPT;
+		} catch (final RuntimeException e) {
+			result.completeExceptionally(e);
+			return;
+		}
+		// the caller does not wait for the notification and the persistence, their failures are printed by the consumer
+		result.complete(retVal);
+		if (retVal == ActionValidationCode.EXECUTED_CHANGES) {
+			notifyPlayers();
+			if (isPersisting()) {
+				getPersistenceHandler().persist(originalGameData.getPersistenceObject());
+			}
+		}
+	}
+
+	/**
+	 * Check the state version of an action without locking.
+	 *
+	 * @param action
+	 *            the action.
+	 * @return true if the action is bound to a state version, that is not the current one of the game data.
+	 */
+	private boolean isOutdated(final IAction action) {
+
+		final IGameData gameData = originalGameData;
+		return action != null && gameData != null && action.getStateVersion() != IAction.ANY_STATE_VERSION
+				&& action.getStateVersion() != gameData.getStateVersion();
+	}
+
+	/**
+	 * Add a task to the mailbox and schedule the consumer, if it is not running.
+	 *
+	 * @param task
+	 *            the task.
+	 */
+	private void post(final Runnable task) {
+
+		mailbox.add(task);
+		if (mailboxSize.getAndIncrement() == 0) {
+			MAILBOX_EXECUTOR.execute(mailboxConsumer);
+		}
+	}
+
+	/**
+	 * Check, if the update of a view is skipped, and mark the update as pending otherwise.
+	 *
+	 * @param updateState
+	 *            the update state of the view.
+	 * @return true if the update is skipped.
+	 */
+	private boolean skipUpdate(final AtomicInteger updateState) {
+
+		// the view may acknowledge concurrently, so retry until the state is changed
+		while (true) {
+			final int current = updateState.get();
+			if (current == UPDATE_UNACKNOWLEDGED || current == UPDATE_SKIPPED) {
+				return current == UPDATE_SKIPPED;
+			}
+			if (updateState.compareAndSet(current, current == UPDATE_PENDING ? UPDATE_SKIPPED : UPDATE_PENDING)) {
+				return current == UPDATE_PENDING;
+			}
+		}
+	}
+
+	/**
+	 * Update a player view with a snapshot of the game data. Called with the lock of the {@link #playerViews}.
+	 *
+	 * @param playerId
+	 *            the player ID of the view.
+	 */
+	private void updatePlayer(final IPlayerId playerId) {
+
+		playerViews.get(playerId).updateGameData(new PlayerUtils(new RestrictedGameData(playerId.getPosition(), originalGameData)));
+	}
 }
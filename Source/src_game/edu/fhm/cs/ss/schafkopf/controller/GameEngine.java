@@ -0,0 +1,205 @@
+package edu.fhm.cs.ss.schafkopf.controller;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import edu.fhm.cs.ss.schafkopf.controller.interfaces.IGameEngine;
+import edu.fhm.cs.ss.schafkopf.model.PlayerData;
+import edu.fhm.cs.ss.schafkopf.model.PlayerId;
+import edu.fhm.cs.ss.schafkopf.model.RestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.FullAccessGameUtils;
+import edu.fhm.cs.ss.schafkopf.model.utilities.PlayerUtils;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.ChooseGameAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.GetCardsAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.PlayCardAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.RaiseAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.StrikeAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.StrikeBackAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IPlayerId;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * The game engine plays games between four AIs synchronously in the calling thread.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The players are asked in passes, starting with the player on turn. A player is only asked if he is expected to act, so the restricted copy of the game
+ * data is only created for the acting player.<br>
+ * - The AI is asked like in the action thread of the autonomous player view and the resulting actions are executed directly on the game data.<br>
+ * - A game is played until it is finished. Instead of accepting the restart, the next game is started by calling {@link #playNextGame()}.<br>
+ * - The engine is not thread safe, every thread has to use its own engine and game data.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class GameEngine implements IGameEngine {
+
+	/** The games first player if no game was played yet. */
+	public static final PlayerPosition FIRST_PLAYER_POSITION = PlayerPosition.BOTTOM;
+	/** The AIs indicated by their position. */
+	private final Map<PlayerPosition, IAI> ais;
+	/** The number of actions executed with changes. */
+	private long executedActions;
+	/** The game data instance the games are played on. */
+	private final IGameData gameData;
+	/** The player IDs indicated by their position. */
+	private final Map<PlayerPosition, IPlayerId> playerIds;
+
+	/**
+	 * Instantiate the engine with the given parameters. Player data is created for every position without player data in the game data.
+	 *
+	 * @param gameData
+	 *            the game data instance.
+	 * @param ais
+	 *            the AIs indicated by their position. There has to be an AI for every position.
+	 * @throws IllegalArgumentException
+	 *             if the game data is null or an AI is missing.
+	 */
+	public GameEngine(final IGameData gameData, final Map<PlayerPosition, IAI> ais) {
+
+		if (gameData == null || ais == null) {
+			throw new IllegalArgumentException();
+		}
+		this.gameData = gameData;
+		this.ais = new EnumMap<PlayerPosition, IAI>(PlayerPosition.class);
+		this.playerIds = new EnumMap<PlayerPosition, IPlayerId>(PlayerPosition.class);
+		this.executedActions = 0;
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			if (ais.get(position) == null) {
+				throw new IllegalArgumentException("No AI at position " + position + ".");
+			}
+			this.ais.put(position, ais.get(position));
+			this.playerIds.put(position, new PlayerId(position, UUID.randomUUID()));
+			if (gameData.getPlayerDatas().get(position) == null) {
+				gameData.getPlayerDatas().put(position, new PlayerData(gameData.getGameSettings(), position));
+			}
+		}
+	}
+
+	@Override
+	public long getExecutedActions() {
+
+		return executedActions;
+	}
+
+	@Override
+	public IGameData getGameData() {
+
+		return gameData;
+	}
+
+	@Override
+	public ActionValidationCode handleGameAction(final IAction action) {
+
+		if (!playerIds.containsValue(action.getPlayerId())) {
+			return ActionValidationCode.ID_INVALID;
+		}
+		try {
+			final ActionValidationCode retVal = action.execute(gameData);
+			if (retVal == ActionValidationCode.EXECUTED_CHANGES) {
+				++executedActions;
+			}
+			return retVal;
+		} catch (final NullPointerException e) {
+			return ActionValidationCode.REQUIRED_DATA_CORRUPT;
+		}
+	}
+
+	@Override
+	public IGameData play(final List<ICard> stack, final PlayerPosition firstPlayerPosition) {
+
+		if (firstPlayerPosition == null) {
+			throw new IllegalArgumentException();
+		}
+		new FullAccessGameUtils(gameData).initializeGameData(firstPlayerPosition, stack);
+		while (gameData.getGameState() != GameState.FINISHED) {
+			if (!playPass()) {
+				throw new IllegalStateException("No progress in game state " + gameData.getGameState() + ".");
+			}
+		}
+		return gameData;
+	}
+
+	@Override
+	public IGameData playNextGame() {
+
+		final PlayerPosition lastFirstPlayerPosition = gameData.getGamesFirstPlayerPosition();
+		return play(null, lastFirstPlayerPosition == null ? FIRST_PLAYER_POSITION : lastFirstPlayerPosition.getNext());
+	}
+
+	/**
+	 * Ask the AI for its next actions, the same way the autonomous player view does it.
+	 *
+	 * @param ai
+	 *            the AI.
+	 * @param playerId
+	 *            the AI's player ID.
+	 * @param playerUtils
+	 *            the restricted player utilities the AI decides on.
+	 * @return the actions in the order they have to be executed.
+	 */
+	private List<IAction> getActions(final IAI ai, final IPlayerId playerId, final IRestrictedPlayerUtils playerUtils) {
+
+		final List<IAction> actions = new ArrayList<IAction>(2);
+		switch (playerUtils.getRestrictedGameData().getGameState()) {
+			case GET_RAISE:
+				if (ai.raise(playerUtils)) {
+					actions.add(new RaiseAction(playerId));
+				}
+				actions.add(new GetCardsAction(playerId));
+				break;
+			case CHOOSE:
+				actions.add(new ChooseGameAction(playerId, ai.getBestGame(playerUtils)));
+				break;
+			case PLAY:
+				actions.add(new PlayCardAction(playerId, ai.getBestCard(playerUtils)));
+				break;
+			case STRIKE:
+				actions.add(new StrikeAction(playerId, ai.strike(playerUtils)));
+				break;
+			case STRIKEBACK:
+				actions.add(new StrikeBackAction(playerId, ai.strikeBack(playerUtils)));
+				break;
+			case FINISHED:
+				break;
+			default:
+				break;
+		}
+		return actions;
+	}
+
+	/**
+	 * Ask every player that is expected to act for his actions and execute them, starting with the player on turn.
+	 *
+	 * @return true if at least one action was executed with changes.
+	 */
+	private boolean playPass() {
+
+		boolean changed = false;
+		PlayerPosition position = gameData.getPlayerOnTurnPosition();
+		for (int i = 0; i < IRestrictedGameData.NUMBER_OF_PLAYERS && gameData.getGameState() != GameState.FINISHED; ++i) {
+			// check on the original data first, so the restricted copy is only created for acting players
+			if (new PlayerUtils(position, gameData).isExpectedToAct()) {
+				final IRestrictedPlayerUtils playerUtils = new PlayerUtils(new RestrictedGameData(position, gameData));
+				for (final IAction action : getActions(ais.get(position), playerIds.get(position), playerUtils)) {
+					if (handleGameAction(action) == ActionValidationCode.EXECUTED_CHANGES) {
+						changed = true;
+					}
+				}
+			}
+			position = position.getNext();
+		}
+		return changed;
+	}
+}
@@ -0,0 +1,618 @@
+package edu.fhm.cs.ss.schafkopf.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IMemoryFootprint;
+import edu.fhm.cs.ss.schafkopf.controller.interfaces.ITableManager;
+import edu.fhm.cs.ss.schafkopf.controller.interfaces.ITableMetrics;
+import edu.fhm.cs.ss.schafkopf.model.GameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.model.utilities.FullAccessGameUtils;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RandomnessProvider;
+import edu.fhm.cs.ss.schafkopf.view.AutonomousPlayerView;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
+
+/**
+ * This class implements the table manager with one {@link GameController} and four {@link AutonomousPlayerView}s per table.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The decisions of all AIs are computed by a shared pool with a fixed number of threads. The worker of a player view hands its decision to the pool and
+ * waits for it, so the number of tables is not limited by the number of processors. Accepting the restart is decided by the worker itself.<br>
+ * - The memory footprint of a table is estimated, when it is created: {@link #TABLE_FOOTPRINT} for the controller, the game data and the player views with
+ * their snapshots and threads, plus the footprint of every AI. An AI implementing {@link IMemoryFootprint} estimates its own state, the others are
+ * estimated with {@link #DEFAULT_AI_FOOTPRINT}. Caches shared by the AIs of all tables are not counted. A table is only created, if its footprint fits
+ * into the rest of the memory budget, a removed table returns its footprint.<br>
+ * - A paused table keeps its state, the workers of its views wait before their next decision. A removed table skips the decisions, that are not started
+ * yet, and stops the player view instead of handing in an action.<br>
+ * - The executed and refused actions are counted for {@link GameController#handleGameAction(IAction)} and
+ * {@link GameController#submitGameAction(IAction)}, when the action is completed.<br>
+ * - The random streams of a table are derived from the root seed of the manager and the table's ID, so a table is reproducible with the same AIs.<br>
+ * - The tables do not persist their game data.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class TableManager implements ITableManager {
+
+	/**
+	 * A table: the game controller, that counts the executed actions and finished games and holds the pause state.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class Table extends GameController {
+
+		/** The number of AI decisions. */
+		private final AtomicLong aiDecisions;
+		/** The computing time of the AIs in nanoseconds. */
+		private final AtomicLong aiNanos;
+		/** The number of actions executed with changes. */
+		private final AtomicLong executedActions;
+		/** True if the last notified game data was finished, only used by the mailbox consumer. */
+		private boolean finished;
+		/** The number of finished games. */
+		private final AtomicLong finishedGames;
+		/** The estimated memory footprint of the table in bytes. */
+		private final long memoryFootprint;
+		/** The lock guarding the pause and run state. */
+		private final Lock stateLock;
+		/** Signaled, if the table is resumed or removed. */
+		private final Condition stateChanged;
+		/** True if the table is paused. */
+		private boolean paused;
+		/** The number of actions, that were not executed. */
+		private final AtomicLong refusedActions;
+		/** True if the table is removed. */
+		private boolean removed;
+		/** The seed of the random streams. */
+		private final long rootSeed;
+		/** True if the table is started. */
+		private boolean running;
+		/** The ID of the table. */
+		private final int tableId;
+
+		/**
+		 * Instantiate the table with new game data.
+		 *
+		 * @param tableId
+		 *            the ID of the table.
+		 * @param rootSeed
+		 *            the seed of the random streams.
+		 * @param settings
+		 *            the game settings.
+		 * @param memoryFootprint
+		 *            the estimated memory footprint of the table in bytes.
+		 */
+		private Table(final int tableId, final long rootSeed, final IGameSettings settings, final long memoryFootprint) {
+
+			super(null, new GameData(settings, false), null);
+			getGameData().setRandomnessProvider(new RandomnessProvider(rootSeed));
+			this.tableId = tableId;
+			this.rootSeed = rootSeed;
+			this.memoryFootprint = memoryFootprint;
+			this.aiDecisions = new AtomicLong();
+			this.aiNanos = new AtomicLong();
+			this.executedActions = new AtomicLong();
+			this.finishedGames = new AtomicLong();
+			this.refusedActions = new AtomicLong();
+			this.stateLock = new ReentrantLock();
+			this.stateChanged = stateLock.newCondition();
+		}
+
+		@Override
+		public void notifyPlayers() {
+
+			// called by the mailbox consumer, after every executed action
+			final boolean nowFinished = getGameData().getGameState() == GameState.FINISHED;
+			if (nowFinished && !finished) {
+				finishedGames.incrementAndGet();
+			}
+			finished = nowFinished;
+			super.notifyPlayers();
+		}
+
+		@Override
+		public CompletableFuture<ActionValidationCode> submitGameAction(final IAction action) {
+
+			// handleGameAction waits for this future, so both are counted here
+			final CompletableFuture<ActionValidationCode> result = super.submitGameAction(action);
+			result.thenAccept(new Consumer<ActionValidationCode>() {
+
+				@Override
+				public void accept(final ActionValidationCode retVal) {
+
+					if (retVal == ActionValidationCode.EXECUTED_CHANGES) {
+						executedActions.incrementAndGet();
+					} else {
+						refusedActions.incrementAndGet();
+					}
+				}
+			});
+			return result;
+		}
+
+		/**
+		 * Wait while the table is paused.
+		 *
+		 * @return true if the table may decide, false if it is removed.
+		 */
+		private boolean awaitDecision() {
+
+			stateLock.lock();
+			try {
+				while (paused && !removed) {
+					stateChanged.awaitUninterruptibly();
+				}
+				return !removed;
+			} finally {
+				stateLock.unlock();
+			}
+		}
+
+		/**
+		 * @return the current metrics of the table.
+		 */
+		private ITableMetrics getMetrics() {
+
+			stateLock.lock();
+			try {
+				return new TableMetrics(tableId, rootSeed, running && !removed, paused, finishedGames.get(), executedActions.get(), refusedActions.get(),
+						aiDecisions.get(), aiNanos.get(), memoryFootprint);
+			} finally {
+				stateLock.unlock();
+			}
+		}
+
+		/**
+		 * Remove the table: release the waiting decisions and stop the player views.
+		 */
+		private void remove() {
+
+			stateLock.lock();
+			try {
+				removed = true;
+				stateChanged.signalAll();
+			} finally {
+				stateLock.unlock();
+			}
+			back();
+		}
+
+		/**
+		 * @param paused
+		 *            true to pause, false to resume the table.
+		 * @return true if the pause state changed.
+		 */
+		private boolean setPaused(final boolean paused) {
+
+			stateLock.lock();
+			try {
+				if (removed || this.paused == paused) {
+					return false;
+				}
+				this.paused = paused;
+				stateChanged.signalAll();
+				return true;
+			} finally {
+				stateLock.unlock();
+			}
+		}
+
+		/**
+		 * Start the table, if it is not started yet.
+		 *
+		 * @return true if the table was started.
+		 */
+		private boolean startOnce() {
+
+			stateLock.lock();
+			try {
+				if (running || removed) {
+					return false;
+				}
+				running = true;
+			} finally {
+				stateLock.unlock();
+			}
+			start();
+			return true;
+		}
+	}
+
+	/**
+	 * The AI of a player of a table: the decisions are computed by the pool of the manager, when the table is not paused. A skipped decision stops the view of
+	 * the player.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class TableAI implements IAI {
+
+		/** The AI of the player. */
+		private final IAI ai;
+		/** The pool computing the decisions. */
+		private final ExecutorService aiPool;
+		/** The table of the player. */
+		private final Table table;
+		/** The view of the player, it is stopped if a decision is skipped. */
+		private final AutonomousPlayerView view;
+
+		/**
+		 * Instantiate the AI with the given parameters.
+		 *
+		 * @param table
+		 *            the table of the player.
+		 * @param ai
+		 *            the AI of the player.
+		 * @param aiPool
+		 *            the pool computing the decisions.
+		 * @param view
+		 *            the view of the player.
+		 */
+		private TableAI(final Table table, final IAI ai, final ExecutorService aiPool, final AutonomousPlayerView view) {
+
+			this.table = table;
+			this.ai = ai;
+			this.aiPool = aiPool;
+			this.view = view;
+		}
+
+		@Override
+		public boolean acceptRestart(final IRestrictedPlayerUtils playerUtils) {
+
+			return ai.acceptRestart(playerUtils);
+		}
+
+		@Override
+		public ICard getBestCard(final IRestrictedPlayerUtils playerUtils) {
+
+			return decide(new Callable<ICard>() {
+
+				@Override
+				public ICard call() {
+
+					return ai.getBestCard(playerUtils);
+				}
+			}, null);
+		}
+
+		@Override
+		public IBasicGameData getBestGame(final IRestrictedPlayerUtils playerUtils) {
+
+			return decide(new Callable<IBasicGameData>() {
+
+				@Override
+				public IBasicGameData call() {
+
+					return ai.getBestGame(playerUtils);
+				}
+			}, null);
+		}
+
+		@Override
+		public boolean raise(final IRestrictedPlayerUtils playerUtils) {
+
+			return decide(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() {
+
+					return ai.raise(playerUtils);
+				}
+			}, false);
+		}
+
+		@Override
+		public boolean strike(final IRestrictedPlayerUtils playerUtils) {
+
+			return decide(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() {
+
+					return ai.strike(playerUtils);
+				}
+			}, false);
+		}
+
+		@Override
+		public boolean strikeBack(final IRestrictedPlayerUtils playerUtils) {
+
+			return decide(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() {
+
+					return ai.strikeBack(playerUtils);
+				}
+			}, false);
+		}
+
+		/**
+		 * Compute a decision in the pool and wait for it.
+		 *
+		 * @param decision
+		 *            the decision.
+		 * @param skipped
+		 *            the result, if the table is removed or the manager is shut down before the decision is started. The view is stopped then, so it does
+		 *            not hand in an action built from this result.
+		 * @param <T>
+		 *            the type of the result.
+		 * @return the result of the decision.
+		 */
+		private <T> T decide(final Callable<T> decision, final T skipped) {
+
+			if (!table.awaitDecision()) {
+				view.stop();
+				return skipped;
+			}
+			final Future<T> future;
+			try {
+				future = aiPool.submit(new Callable<T>() {
+
+					@Override
+					public T call() throws Exception {
+
+						final long start = System.nanoTime();
+						try {
+							return decision.call();
+						} finally {
+							table.aiNanos.addAndGet(System.nanoTime() - start);
+							table.aiDecisions.incrementAndGet();
+						}
+					}
+				});
+			} catch (final RejectedExecutionException e) {
+				view.stop();
+				return skipped;
+			}
+			boolean interrupted = false;
+			try {
+				while (true) {
+					try {
+						return future.get();
+					} catch (final InterruptedException e) {
+						// the decision is finished anyway, the interrupt is restored afterwards
+						interrupted = true;
+					}
+				}
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			} finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	/**
+	 * The estimated footprint of a table without its AIs in bytes: the controller with its mailbox, the game data and four player views, each with one
+	 * snapshot of the game data and a waiting worker thread. 2000 tables with default settings and deterministic AIs use about 8 KB of heap each, after
+	 * they played and were paused. Twice that leaves room for snapshots in flight.
+	 */
+	public static final long TABLE_FOOTPRINT = 16 * 1024;
+	/**
+	 * The estimated footprint of an AI, that does not implement {@link IMemoryFootprint}, in bytes. A new Monte Carlo AI uses less than 1 KB, the rest is
+	 * left for the positions its exclusive game prover remembers.
+	 */
+	public static final long DEFAULT_AI_FOOTPRINT = 16 * 1024;
+
+	/** The pool computing the decisions of the AIs. */
+	private final ExecutorService aiPool;
+	/** The ID of the next table. */
+	private final AtomicInteger nextTableId;
+	/** The seed the random streams of the tables are derived from. */
+	private final long rootSeed;
+	/** True if the manager is shut down. */
+	private volatile boolean shutDown;
+	/** The memory all tables together may use, in bytes. */
+	private final long memoryBudget;
+	/** The sum of the footprints of the tables, in bytes. */
+	private final AtomicLong usedMemory;
+	/** The tables indicated by their ID. */
+	private final ConcurrentHashMap<Integer, Table> tables;
+
+	/**
+	 * Instantiate the manager with a pool thread per processor, half of the maximum heap as memory budget and a root seed of the current time.
+	 */
+	public TableManager() {
+
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / 2, System.nanoTime());
+	}
+
+	/**
+	 * Instantiate the manager with the given parameters.
+	 *
+	 * @param aiThreads
+	 *            the number of threads computing the decisions of the AIs.
+	 * @param memoryBudget
+	 *            the memory all tables together may use, in bytes.
+	 * @param rootSeed
+	 *            the seed the random streams of the tables are derived from.
+	 * @throws IllegalArgumentException
+	 *             if a number is not positive.
+	 */
+	public TableManager(final int aiThreads, final long memoryBudget, final long rootSeed) {
+
+		if (aiThreads <= 0 || memoryBudget <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.aiPool = Executors.newFixedThreadPool(aiThreads, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(final Runnable runnable) {
+
+				final Thread thread = new Thread(runnable);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		this.nextTableId = new AtomicInteger();
+		this.rootSeed = rootSeed;
+		this.shutDown = false;
+		this.memoryBudget = memoryBudget;
+		this.usedMemory = new AtomicLong();
+		this.tables = new ConcurrentHashMap<Integer, Table>();
+	}
+
+	@Override
+	public int createTable(final IGameSettings settings, final List<IAI> ais) {
+
+		if (settings == null || ais == null || ais.size() != IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		for (final IAI ai : ais) {
+			if (ai == null) {
+				throw new IllegalArgumentException();
+			}
+		}
+		if (shutDown) {
+			throw new IllegalStateException("The table manager is shut down.");
+		}
+		final long memoryFootprint = estimateFootprint(ais);
+		if (!reserveMemory(memoryFootprint)) {
+			return -1;
+		}
+		final int tableId = nextTableId.getAndIncrement();
+		final Table table = new Table(tableId, new SplittableRandom(rootSeed + tableId).nextLong(), settings, memoryFootprint);
+		// the views subscribe in the order of the positions
+		for (final IAI ai : ais) {
+			final AutonomousPlayerView view = new AutonomousPlayerView(table, null);
+			view.setAi(new TableAI(table, ai, aiPool, view));
+		}
+		new FullAccessGameUtils(table.getGameData()).initializeGameData(GameEngine.FIRST_PLAYER_POSITION);
+		tables.put(tableId, table);
+		return tableId;
+	}
+
+	@Override
+	public List<ITableMetrics> getMetrics() {
+
+		final List<ITableMetrics> metrics = new ArrayList<ITableMetrics>(tables.size());
+		for (final Table table : tables.values()) {
+			metrics.add(table.getMetrics());
+		}
+		return metrics;
+	}
+
+	@Override
+	public ITableMetrics getMetrics(final int tableId) {
+
+		final Table table = tables.get(tableId);
+		return table == null ? null : table.getMetrics();
+	}
+
+	@Override
+	public int getTableCount() {
+
+		return tables.size();
+	}
+
+	@Override
+	public boolean pauseTable(final int tableId) {
+
+		final Table table = tables.get(tableId);
+		return table != null && table.setPaused(true);
+	}
+
+	@Override
+	public boolean removeTable(final int tableId) {
+
+		final Table table = tables.remove(tableId);
+		if (table == null) {
+			return false;
+		}
+		table.remove();
+		usedMemory.addAndGet(-table.memoryFootprint);
+		return true;
+	}
+
+	@Override
+	public boolean resumeTable(final int tableId) {
+
+		final Table table = tables.get(tableId);
+		return table != null && table.setPaused(false);
+	}
+
+	@Override
+	public void shutdown() {
+
+		shutDown = true;
+		for (final Integer tableId : tables.keySet()) {
+			removeTable(tableId);
+		}
+		aiPool.shutdown();
+	}
+
+	@Override
+	public boolean startTable(final int tableId) {
+
+		final Table table = tables.get(tableId);
+		return table != null && table.startOnce();
+	}
+
+	/**
+	 * Estimate the memory footprint of a table.
+	 *
+	 * @param ais
+	 *            the AIs of the table.
+	 * @return the estimated footprint in bytes.
+	 */
+	private long estimateFootprint(final List<IAI> ais) {
+
+		long memoryFootprint = TABLE_FOOTPRINT;
+		for (final IAI ai : ais) {
+			memoryFootprint += ai instanceof IMemoryFootprint ? ((IMemoryFootprint) ai).getMemoryFootprint() : DEFAULT_AI_FOOTPRINT;
+		}
+		return memoryFootprint;
+	}
+
+	/**
+	 * Reserve the footprint of a table without locking.
+	 *
+	 * @param memoryFootprint
+	 *            the footprint in bytes.
+	 * @return true if the footprint fits into the rest of the memory budget and is reserved.
+	 */
+	private boolean reserveMemory(final long memoryFootprint) {
+
+		while (true) {
+			final long used = usedMemory.get();
+			if (memoryFootprint > memoryBudget - used) {
+				return false;
+			}
+			if (usedMemory.compareAndSet(used, used + memoryFootprint)) {
+				return true;
+			}
+		}
+	}
+}
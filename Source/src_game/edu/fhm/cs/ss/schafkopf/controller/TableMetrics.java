@@ -0,0 +1,139 @@
+package edu.fhm.cs.ss.schafkopf.controller;
+
+import edu.fhm.cs.ss.schafkopf.controller.interfaces.ITableMetrics;
+
+/**
+ * This class implements the table metrics as an immutable snapshot.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class TableMetrics implements ITableMetrics {
+
+	/** The number of AI decisions. */
+	private final long aiDecisions;
+	/** The computing time of the AIs in nanoseconds. */
+	private final long aiNanos;
+	/** The number of actions executed with changes. */
+	private final long executedActions;
+	/** The number of finished games. */
+	private final long finishedGames;
+	/** The estimated memory footprint of the table in bytes. */
+	private final long memoryFootprint;
+	/** True if the table is paused. */
+	private final boolean paused;
+	/** The number of actions, that were not executed. */
+	private final long refusedActions;
+	/** The seed of the random streams. */
+	private final long rootSeed;
+	/** True if the table is started and not removed. */
+	private final boolean running;
+	/** The ID of the table. */
+	private final int tableId;
+
+	/**
+	 * Instantiate the metrics with the given values.
+	 *
+	 * @param tableId
+	 *            the ID of the table.
+	 * @param rootSeed
+	 *            the seed of the random streams.
+	 * @param running
+	 *            true if the table is started and not removed.
+	 * @param paused
+	 *            true if the table is paused.
+	 * @param finishedGames
+	 *            the number of finished games.
+	 * @param executedActions
+	 *            the number of actions executed with changes.
+	 * @param refusedActions
+	 *            the number of actions, that were not executed.
+	 * @param aiDecisions
+	 *            the number of AI decisions.
+	 * @param aiNanos
+	 *            the computing time of the AIs in nanoseconds.
+	 * @param memoryFootprint
+	 *            the estimated memory footprint of the table in bytes.
+	 */
+	public TableMetrics(final int tableId, final long rootSeed, final boolean running, final boolean paused, final long finishedGames, final long executedActions,
+			final long refusedActions, final long aiDecisions, final long aiNanos, final long memoryFootprint) {
+
+		this.tableId = tableId;
+		this.rootSeed = rootSeed;
+		this.running = running;
+		this.paused = paused;
+		this.finishedGames = finishedGames;
+		this.executedActions = executedActions;
+		this.refusedActions = refusedActions;
+		this.aiDecisions = aiDecisions;
+		this.aiNanos = aiNanos;
+		this.memoryFootprint = memoryFootprint;
+	}
+
+	@Override
+	public long getAiDecisions() {
+
+		return aiDecisions;
+	}
+
+	@Override
+	public long getAiNanos() {
+
+		return aiNanos;
+	}
+
+	@Override
+	public long getExecutedActions() {
+
+		return executedActions;
+	}
+
+	@Override
+	public long getFinishedGames() {
+
+		return finishedGames;
+	}
+
+	@Override
+	public long getMemoryFootprint() {
+
+		return memoryFootprint;
+	}
+
+	@Override
+	public long getRefusedActions() {
+
+		return refusedActions;
+	}
+
+	@Override
+	public long getRootSeed() {
+
+		return rootSeed;
+	}
+
+	@Override
+	public int getTableId() {
+
+		return tableId;
+	}
+
+	@Override
+	public boolean isPaused() {
+
+		return paused;
+	}
+
+	@Override
+	public boolean isRunning() {
+
+		return running;
+	}
+
+	@Override
+	public String toString() {
+
+		return "Table " + tableId + (running ? paused ? " paused" : " running" : " stopped") + ", games: " + finishedGames + ", actions: " + executedActions + "/"
+				+ refusedActions + ", AI decisions: " + aiDecisions + " in " + aiNanos / 1000000 + " ms, footprint: " + memoryFootprint / 1024 + " KB";
+	}
+}
@@ -0,0 +1,66 @@
+package edu.fhm.cs.ss.schafkopf.controller.interfaces;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This interface offers methods to play games between four {@link IAI}s without player views and threads.<br>
+ * <br>
+ *
+ * The AIs are asked for their actions in the same way an autonomous player view does it, and the actions are executed on the game data in the calling thread.
+ * Thus a game played with deterministic AIs leads to the same result as a game played by the {@link IGameController} with the same stack.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IGameEngine {
+
+	/**
+	 * @return the number of actions executed with changes since this engine was created.
+	 */
+	long getExecutedActions();
+
+	/**
+	 * @return the full access game data instance.
+	 */
+	IGameData getGameData();
+
+	/**
+	 * Execute an action on the game data. If the action is invalid, the action is not executed.
+	 *
+	 * @param action
+	 *            the action.
+	 * @return the action validation code.
+	 */
+	ActionValidationCode handleGameAction(IAction action);
+
+	/**
+	 * Initialize the game data with the given stack and first player and play the game until it is finished.
+	 *
+	 * @param stack
+	 *            the stack. If this is null, the game data will be initialized with a random stack.
+	 * @param firstPlayerPosition
+	 *            the games first player.
+	 * @return the game data of the finished game.
+	 * @throws IllegalArgumentException
+	 *             if the first player position is null.
+	 * @throws IllegalStateException
+	 *             if the AIs do not make the game progress.
+	 */
+	IGameData play(List<ICard> stack, PlayerPosition firstPlayerPosition);
+
+	/**
+	 * Play the next game with a random stack. The games first player is the next to the first player of the last game.
+	 *
+	 * @return the game data of the finished game.
+	 * @throws IllegalStateException
+	 *             if the AIs do not make the game progress.
+	 */
+	IGameData playNextGame();
+}
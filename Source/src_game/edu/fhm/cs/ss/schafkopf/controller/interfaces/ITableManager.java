@@ -0,0 +1,93 @@
+package edu.fhm.cs.ss.schafkopf.controller.interfaces;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * This interface offers methods to host many tables in one application. A table is a game controller with four autonomous player views, that play games
+ * continuously, as long as their AIs accept the restart.<br>
+ * <br>
+ *
+ * The views subscribe to the controller of their table and hand in their actions like with a single game controller. The decisions of the AIs of all tables
+ * share the computing resources of the manager.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ITableManager {
+
+	/**
+	 * Create a table. The table is not started.
+	 *
+	 * @param settings
+	 *            the game settings of the table.
+	 * @param ais
+	 *            the AIs of the players, in the order of the positions starting with the games first player of the first game.
+	 * @return the ID of the table, -1 if the estimated memory footprint of the table does not fit into the rest of the manager's memory budget.
+	 * @throws IllegalArgumentException
+	 *             if the settings are null or there is not one AI per player.
+	 * @throws IllegalStateException
+	 *             if the manager is shut down.
+	 */
+	int createTable(IGameSettings settings, List<IAI> ais);
+
+	/**
+	 * @return the metrics of all tables.
+	 */
+	List<ITableMetrics> getMetrics();
+
+	/**
+	 * @param tableId
+	 *            the ID of the table.
+	 * @return the metrics of the table, null if there is no table with the ID.
+	 */
+	ITableMetrics getMetrics(int tableId);
+
+	/**
+	 * @return the number of tables.
+	 */
+	int getTableCount();
+
+	/**
+	 * Pause a table. The AIs of the table do not start decisions, until the table is resumed.
+	 *
+	 * @param tableId
+	 *            the ID of the table.
+	 * @return true if the table was paused, false if there is no table with the ID or it is paused already.
+	 */
+	boolean pauseTable(int tableId);
+
+	/**
+	 * Remove a table. Its player views are stopped and the decisions of its AIs, that are not started yet, are skipped.
+	 *
+	 * @param tableId
+	 *            the ID of the table.
+	 * @return true if the table was removed, false if there is no table with the ID.
+	 */
+	boolean removeTable(int tableId);
+
+	/**
+	 * Resume a paused table.
+	 *
+	 * @param tableId
+	 *            the ID of the table.
+	 * @return true if the table was resumed, false if there is no table with the ID or it is not paused.
+	 */
+	boolean resumeTable(int tableId);
+
+	/**
+	 * Remove all tables and release the computing resources. No tables can be created afterwards.
+	 */
+	void shutdown();
+
+	/**
+	 * Start a table. Its player views are started and the first game is dealt.
+	 *
+	 * @param tableId
+	 *            the ID of the table.
+	 * @return true if the table was started, false if there is no table with the ID or it is started already.
+	 */
+	boolean startTable(int tableId);
+}
@@ -0,0 +1,60 @@
+package edu.fhm.cs.ss.schafkopf.controller.interfaces;
+
+/**
+ * This interface offers the metrics of a table of the {@link ITableManager} at the time they were taken.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ITableMetrics {
+
+	/**
+	 * @return the number of AI decisions made for the table.
+	 */
+	long getAiDecisions();
+
+	/**
+	 * @return the time the AIs of the table computed, in nanoseconds.
+	 */
+	long getAiNanos();
+
+	/**
+	 * @return the number of actions executed with changes.
+	 */
+	long getExecutedActions();
+
+	/**
+	 * @return the number of finished games.
+	 */
+	long getFinishedGames();
+
+	/**
+	 * @return the estimated memory footprint of the table in bytes, the table was admitted with.
+	 */
+	long getMemoryFootprint();
+
+	/**
+	 * @return the number of actions, that were not executed.
+	 */
+	long getRefusedActions();
+
+	/**
+	 * @return the seed the random streams of the table are derived from.
+	 */
+	long getRootSeed();
+
+	/**
+	 * @return the ID of the table.
+	 */
+	int getTableId();
+
+	/**
+	 * @return true if the table is paused.
+	 */
+	boolean isPaused();
+
+	/**
+	 * @return true if the table is started and not removed.
+	 */
+	boolean isRunning();
+}
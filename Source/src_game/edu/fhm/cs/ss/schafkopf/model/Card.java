@@ -1,5 +1,6 @@
 package edu.fhm.cs.ss.schafkopf.model;
 
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
@@ -66,23 +67,6 @@ public class Card implements ICard {
 		if (color != other.color) {
 			return false;
 		}
-		if (name == null) {
-			if (other.name != null) {
-				return false;
-			}
-		} else if (!name.equals(other.name)) {
-			return false;
-		}
-		if (points != other.points) {
-			return false;
-		}
-		if (id == null) {
-			if (other.id != null) {
-				return false;
-			}
-		} else if (!id.equals(other.id)) {
-			return false;
-		}
 		if (value != other.value) {
 			return false;
 		}
@@ -107,6 +91,15 @@ public class Card implements ICard {
 		return name;
 	}
 
+	/**
+	 * The ordinal is derived from color and value and thus is not stored.
+	 */
+	@Override
+	public int getOrdinal() {
+
+		return CardSet.ordinal(color, value);
+	}
+
 	@Override
 	public int getPoints() {
 
@@ -122,14 +115,7 @@ public class Card implements ICard {
 	@Override
 	public int hashCode() {
 
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + (color == null ? 0 : color.hashCode());
-		result = prime * result + (name == null ? 0 : name.hashCode());
-		result = prime * result + points;
-		result = prime * result + (id == null ? 0 : id.hashCode());
-		result = prime * result + (value == null ? 0 : value.hashCode());
-		return result;
+		return getOrdinal();
 	}
 
 	@Override
@@ -10,6 +10,7 @@ import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPersistableObject;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPersistenceObject;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IActionData;
@@ -37,6 +38,15 @@ public class GameData extends RestrictedGameData implements IGameData {
 	 * Buffer for actions if they cannot be executed immediately.
 	 */
 	private Map<PlayerPosition, IActionData> actionBuffer;
+	/**
+	 * The randomness provider of the table. It is neither persisted nor copied, it belongs to the table and not to a state of the game.
+	 */
+	private transient IRandomnessProvider randomnessProvider;
+	/**
+	 * The state version. It is written by the single thread changing the game data and read without locking, so stale actions can be refused early. It is
+	 * not persisted, the versions belong to a run of the table.
+	 */
+	private transient volatile long stateVersion;
 
 	/**
 	 * Copy Constructor.
@@ -83,6 +93,7 @@ public class GameData extends RestrictedGameData implements IGameData {
 		}
 
 		this.stack = gameData.getStack() == null ? null : new ArrayList<ICard>(gameData.getStack());
+		this.stateVersion = gameData.getStateVersion();
 	}
 
 	/**
@@ -190,6 +201,12 @@ public class GameData extends RestrictedGameData implements IGameData {
 		return playerDatas;
 	}
 
+	@Override
+	public IRandomnessProvider getRandomnessProvider() {
+
+		return randomnessProvider;
+	}
+
 	@Override
 	public Map<PlayerPosition, ? extends IRestrictedPlayerData> getRestrictedPlayerDatas() {
 
@@ -202,6 +219,12 @@ public class GameData extends RestrictedGameData implements IGameData {
 		return stack;
 	}
 
+	@Override
+	public long getStateVersion() {
+
+		return stateVersion;
+	}
+
 	@Override
 	public int hashCode() {
 
@@ -213,6 +236,13 @@ public class GameData extends RestrictedGameData implements IGameData {
 		return result;
 	}
 
+	@Override
+	public void incrementStateVersion() {
+
+		// only one thread writes, so the non atomic increment is safe
+		stateVersion++;
+	}
+
 	@Override
 	public void setActionBuffer(final Map<PlayerPosition, IActionData> actionBuffer) {
 
@@ -226,6 +256,12 @@ public class GameData extends RestrictedGameData implements IGameData {
 
 	}
 
+	@Override
+	public void setRandomnessProvider(final IRandomnessProvider randomnessProvider) {
+
+		this.randomnessProvider = randomnessProvider;
+	}
+
 	@Override
 	public void setStack(final List<ICard> stack) {
 
@@ -1,11 +1,11 @@
 package edu.fhm.cs.ss.schafkopf.model;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSetList;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
@@ -23,13 +23,13 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 	 */
 	private IBasicGameData chosenGame;
 	/**
-	 * The player's current hand.
+	 * The player's current hand as card set.
 	 */
-	private List<ICard> currentHand;
+	private int currentHand;
 	/**
-	 * The player's initial hand.
+	 * The player's initial hand as card set.
 	 */
-	private List<ICard> initialHand;
+	private int initialHand;
 
 	/**
 	 * Instantiate a player data instance with the given parameters.
@@ -57,8 +57,8 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 		super(playerData);
 
 		// own elements
-		this.currentHand = playerData.getCurrentHand() == null ? null : new ArrayList<ICard>(playerData.getCurrentHand());
-		this.initialHand = playerData.getInitialHand() == null ? null : new ArrayList<ICard>(playerData.getInitialHand());
+		this.currentHand = playerData.getCurrentHandSet();
+		this.initialHand = playerData.getInitialHandSet();
 	}
 
 	/**
@@ -81,14 +81,15 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 		super.setPlayedCard(null);
 		super.setPoints(0);
 		super.setPosition(position);
+		super.setPossibleCardSet(CardSet.ALL);
 		super.setRaising(false);
 		super.setStriking(false);
 		super.setStrikingBack(false);
-		super.setWonCards(new HashSet<ICard>());
+		super.setWonCardSet(CardSet.EMPTY);
 		// own elements
 		this.chosenGame = null;
-		this.currentHand = new ArrayList<ICard>();
-		this.initialHand = new ArrayList<ICard>();
+		this.currentHand = CardSet.EMPTY;
+		this.initialHand = CardSet.EMPTY;
 	}
 
 	@Override
@@ -104,18 +105,10 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 			return false;
 		}
 		final PlayerData other = (PlayerData) obj;
-		if (currentHand == null) {
-			if (other.currentHand != null) {
-				return false;
-			}
-		} else if (!currentHand.equals(other.currentHand)) {
+		if (currentHand != other.currentHand) {
 			return false;
 		}
-		if (initialHand == null) {
-			if (other.initialHand != null) {
-				return false;
-			}
-		} else if (!initialHand.equals(other.initialHand)) {
+		if (initialHand != other.initialHand) {
 			return false;
 		}
 		return true;
@@ -130,22 +123,57 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 	@Override
 	public List<ICard> getCurrentHand() {
 
+		return new CardSetList() {
+
+			@Override
+			protected int getSet() {
+
+				return currentHand;
+			}
+
+			@Override
+			protected void setSet(final int set) {
+
+				currentHand = set;
+			}
+		};
+	}
+
+	@Override
+	public int getCurrentHandSet() {
+
 		return currentHand;
 	}
 
 	@Override
 	public List<ICard> getInitialHand() {
 
+		return new CardSetList() {
+
+			@Override
+			protected int getSet() {
+
+				return initialHand;
+			}
+
+			@Override
+			protected void setSet(final int set) {
+
+				initialHand = set;
+			}
+		};
+	}
+
+	@Override
+	public int getInitialHandSet() {
+
 		return initialHand;
 	}
 
 	@Override
 	public int getSizeOfHand() {
 
-		if (this.currentHand == null) {
-			return 0;
-		}
-		return this.currentHand.size();
+		return CardSet.size(this.currentHand);
 	}
 
 	@Override
@@ -153,8 +181,8 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 
 		final int prime = 31;
 		int result = super.hashCode();
-		result = prime * result + (currentHand == null ? 0 : currentHand.hashCode());
-		result = prime * result + (initialHand == null ? 0 : initialHand.hashCode());
+		result = prime * result + currentHand;
+		result = prime * result + initialHand;
 		return result;
 	}
 
@@ -167,12 +195,24 @@ public class PlayerData extends RestrictedPlayerData implements IPlayerData {
 	@Override
 	public void setCurrentHand(final List<ICard> currentHand) {
 
+		this.currentHand = CardSet.of(currentHand);
+	}
+
+	@Override
+	public void setCurrentHandSet(final int currentHand) {
+
 		this.currentHand = currentHand;
 	}
 
 	@Override
 	public void setInitialHand(final List<ICard> initialHand) {
 
+		this.initialHand = CardSet.of(initialHand);
+	}
+
+	@Override
+	public void setInitialHandSet(final int initialHand) {
+
 		this.initialHand = initialHand;
 	}
 
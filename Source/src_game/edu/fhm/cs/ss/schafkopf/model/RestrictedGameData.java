@@ -88,6 +88,10 @@ public class RestrictedGameData extends BasicGameData implements IRestrictedGame
 	 * The Position of the player that makes/made the first draw of the current round.
 	 */
 	private PlayerPosition roundsFirstPlayerPosition;
+	/**
+	 * The state version of the copied game data. It is not persisted, the versions belong to a run of the table.
+	 */
+	private final transient long stateVersion;
 	/**
 	 * The value that gets paid to the winner in the next game.
 	 */
@@ -109,6 +113,7 @@ public class RestrictedGameData extends BasicGameData implements IRestrictedGame
 		super();
 		this.pointOfViewPosition = null;
 		this.restrictedPlayerDatas = null;
+		this.stateVersion = 0;
 	}
 
 	/**
@@ -130,6 +135,7 @@ public class RestrictedGameData extends BasicGameData implements IRestrictedGame
 		this.roundsFirstPlayerPosition = gameData.getRoundsFirstPlayerPosition();
 		this.gamesFirstPlayerPosition = gameData.getGamesFirstPlayerPosition();
 		this.roundNumber = gameData.getRoundNumber();
+		this.stateVersion = gameData.getStateVersion();
 		Map<PlayerPosition, IRestrictedPlayerData> playerDatas = null;
 		if (gameData.getPlayerDatas() != null) {
 			playerDatas = new EnumMap<PlayerPosition, IRestrictedPlayerData>(PlayerPosition.class);
@@ -344,6 +350,12 @@ public class RestrictedGameData extends BasicGameData implements IRestrictedGame
 		return roundsFirstPlayerPosition;
 	}
 
+	@Override
+	public long getStateVersion() {
+
+		return stateVersion;
+	}
+
 	@Override
 	public int getStock() {
 
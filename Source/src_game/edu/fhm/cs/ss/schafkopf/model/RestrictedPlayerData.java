@@ -1,9 +1,10 @@
 package edu.fhm.cs.ss.schafkopf.model;
 
 import java.util.Collection;
-import java.util.HashSet;
 
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSetList;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData;
@@ -43,6 +44,10 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 	 * Players position.
 	 */
 	private PlayerPosition position;
+	/**
+	 * The cards the player may still hold as card set.
+	 */
+	private int possibleCards;
 	/**
 	 * Player has raised.
 	 */
@@ -60,9 +65,9 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 	 */
 	private boolean acceptingNextGameStart;
 	/**
-	 * Player's won cards.
+	 * Player's won cards as card set.
 	 */
-	private Collection<ICard> wonCards;
+	private int wonCards;
 
 	/**
 	 * Default constructor. Size of hand is set to 0.
@@ -89,10 +94,11 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 		this.playedCard = playerData.getPlayedCard();
 		this.points = playerData.getPoints();
 		this.position = playerData.getPosition();
+		this.possibleCards = playerData.getPossibleCardSet();
 		this.raising = playerData.isRaising();
 		this.striking = playerData.isStriking();
 		this.strikingBack = playerData.isStrikingBack();
-		this.wonCards = playerData.getWonCards() == null ? null : new HashSet<ICard>(playerData.getWonCards());
+		this.wonCards = playerData.getWonCardSet();
 	}
 
 	@Override
@@ -150,6 +156,9 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 		if (position != other.position) {
 			return false;
 		}
+		if (possibleCards != other.possibleCards) {
+			return false;
+		}
 		if (raising != other.raising) {
 			return false;
 		}
@@ -159,11 +168,7 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 		if (strikingBack != other.strikingBack) {
 			return false;
 		}
-		if (wonCards == null) {
-			if (other.wonCards != null) {
-				return false;
-			}
-		} else if (!wonCards.equals(other.wonCards)) {
+		if (wonCards != other.wonCards) {
 			return false;
 		}
 		return true;
@@ -199,6 +204,12 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 		return position;
 	}
 
+	@Override
+	public int getPossibleCardSet() {
+
+		return possibleCards;
+	}
+
 	@Override
 	public int getSizeOfHand() {
 
@@ -206,11 +217,30 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 	}
 
 	@Override
-	public Collection<ICard> getWonCards() {
+	public int getWonCardSet() {
 
 		return wonCards;
 	}
 
+	@Override
+	public Collection<ICard> getWonCards() {
+
+		return new CardSetList() {
+
+			@Override
+			protected int getSet() {
+
+				return wonCards;
+			}
+
+			@Override
+			protected void setSet(final int set) {
+
+				wonCards = set;
+			}
+		};
+	}
+
 	/**
 	 * Pay attention, size of hand is not consistently set in the copy constructor, thus do not use it in hash code. See interface documentation for more
 	 * details.
@@ -226,10 +256,11 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 		result = prime * result + (playedCard == null ? 0 : playedCard.hashCode());
 		result = prime * result + points;
 		result = prime * result + (position == null ? 0 : position.hashCode());
+		result = prime * result + possibleCards;
 		result = prime * result + (raising ? 1231 : 1237);
 		result = prime * result + (striking ? 1231 : 1237);
 		result = prime * result + (strikingBack ? 1231 : 1237);
-		result = prime * result + (wonCards == null ? 0 : wonCards.hashCode());
+		result = prime * result + wonCards;
 		return result;
 	}
 
@@ -293,6 +324,12 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 		this.position = position;
 	}
 
+	@Override
+	public void setPossibleCardSet(final int possibleCards) {
+
+		this.possibleCards = possibleCards;
+	}
+
 	@Override
 	public void setRaising(final boolean raising) {
 
@@ -320,6 +357,12 @@ public class RestrictedPlayerData implements IRestrictedPlayerData {
 	@Override
 	public void setWonCards(final Collection<ICard> wonCards) {
 
+		this.wonCards = CardSet.of(wonCards);
+	}
+
+	@Override
+	public void setWonCardSet(final int wonCards) {
+
 		this.wonCards = wonCards;
 	}
 
@@ -3,6 +3,7 @@ package edu.fhm.cs.ss.schafkopf.model.interfaces;
 import java.util.List;
 import java.util.Map;
 
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IActionData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
@@ -39,11 +40,21 @@ public interface IGameData extends IRestrictedGameData, IPersistableObject, IPer
 	 */
 	Map<PlayerPosition, IPlayerData> getPlayerDatas();
 
+	/**
+	 * @return the randomness provider of the table the stacks are shuffled with, null if the stacks are shuffled with the global randomness.
+	 */
+	IRandomnessProvider getRandomnessProvider();
+
 	/**
 	 * @return the games card stack as an ArrayList.
 	 */
 	List<ICard> getStack();
 
+	/**
+	 * Increment the state version after a change was executed. Only one thread at a time may change the game data.
+	 */
+	void incrementStateVersion();
+
 	/**
 	 * @param actionBuffer
 	 *            the action buffer to set. It should never be set to null.
@@ -56,6 +67,12 @@ public interface IGameData extends IRestrictedGameData, IPersistableObject, IPer
 	 */
 	void setPlayerDatas(Map<PlayerPosition, IPlayerData> playerDatas);
 
+	/**
+	 * @param randomnessProvider
+	 *            the randomness provider of the table to set, null to shuffle with the global randomness.
+	 */
+	void setRandomnessProvider(IRandomnessProvider randomnessProvider);
+
 	/**
 	 * @param stack
 	 *            the game stack to set. It should never be set to null.
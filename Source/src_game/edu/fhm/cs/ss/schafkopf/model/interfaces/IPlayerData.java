@@ -27,12 +27,19 @@ public interface IPlayerData extends IRestrictedPlayerData {
 	/**
 	 * The players current hand contains all the cards the player currently has.
 	 *
-	 * Every card he plays is removed. Cards he gets in the initial round are added.
+	 * Every card he plays is removed. Cards he gets in the initial round are added. The list is a live view on the current hand card set, ordered by the
+	 * card ordinal.
 	 *
 	 * @return the players current hand.
 	 */
 	List<ICard> getCurrentHand();
 
+	/**
+	 * @return the players current hand as card set.
+	 * @see #getCurrentHand()
+	 */
+	int getCurrentHandSet();
+
 	@Override
 	int hashCode();
 
@@ -52,15 +59,33 @@ public interface IPlayerData extends IRestrictedPlayerData {
 	 */
 	List<ICard> getInitialHand();
 
+	/**
+	 * @return the players initial hand as card set.
+	 * @see #getInitialHand()
+	 */
+	int getInitialHandSet();
+
 	/**
 	 * @param currentHand
 	 *            the players current hand to set. Should not be null.
 	 */
 	void setCurrentHand(List<ICard> currentHand);
 
+	/**
+	 * @param currentHand
+	 *            the players current hand as card set.
+	 */
+	void setCurrentHandSet(int currentHand);
+
 	/**
 	 * @param initialHand
 	 *            the players initial hand to set. Should not be null.
 	 */
 	void setInitialHand(List<ICard> initialHand);
+
+	/**
+	 * @param initialHand
+	 *            the players initial hand as card set.
+	 */
+	void setInitialHandSet(int initialHand);
 }
\ No newline at end of file
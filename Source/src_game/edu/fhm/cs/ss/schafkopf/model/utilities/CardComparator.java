@@ -2,13 +2,16 @@ package edu.fhm.cs.ss.schafkopf.model.utilities;
 
 import java.util.Comparator;
 
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
-import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
 
 /**
- * A Comparator that compares two cards dependent of the game type and trump color.
+ * A Comparator that compares two cards dependent of the game type and trump color.<br>
+ * <br>
+ *
+ * The comparison is a lookup of the card ranks in the {@link RuleSet} for game type and trump color.
  *
  * @author Sebastian Stumpf
  */
@@ -30,14 +33,17 @@ public class CardComparator implements Comparator<ICard> {
 	 * The trump color to compare with.
 	 */
 	private CardColor trump;
+	/**
+	 * The compiled rules for game type and trump color, holding the card ranks.
+	 */
+	private IRuleSet ruleSet;
 
 	/**
 	 * Default Constructor initializes type and color with null.
 	 */
 	public CardComparator() {
 
-		this.gameType = null;
-		this.trump = null;
+		this(null, null);
 	}
 
 	/**
@@ -52,6 +58,7 @@ public class CardComparator implements Comparator<ICard> {
 
 		this.gameType = type;
 		this.trump = trump;
+		this.ruleSet = RuleSet.getInstance(type, trump);
 	}
 
 	/**
@@ -76,60 +83,7 @@ public class CardComparator implements Comparator<ICard> {
 		if (second == null) {
 			return -1;
 		}
-		if (first.equals(second)) {
-			return 0;
-		}
-
-		final int firstColorMulti;
-		final int firstValueMulti;
-		final int secondColorMulti;
-		final int secondValueMulti;
-
-		if (gameType == null) {
-			firstColorMulti = MULTI_COLOR;
-			firstValueMulti = first.getValue().equals(CardValue.OBER) ? MULTI_OBER : first.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-			secondColorMulti = MULTI_COLOR;
-			secondValueMulti = second.getValue().equals(CardValue.OBER) ? MULTI_OBER : second.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-		} else {
-			switch (gameType) {
-				case PASS:
-					firstColorMulti = MULTI_COLOR;
-					firstValueMulti = 1;
-					secondColorMulti = MULTI_COLOR;
-					secondValueMulti = 1;
-					break;
-				case SI:
-					firstColorMulti = MULTI_COLOR;
-					firstValueMulti = first.getValue().equals(CardValue.OBER) ? MULTI_OBER : first.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					secondColorMulti = MULTI_COLOR;
-					secondValueMulti = second.getValue().equals(CardValue.OBER) ? MULTI_OBER : second.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					break;
-				case WENZ:
-				case WENZ_TOUT:
-					firstColorMulti = MULTI_COLOR;
-					firstValueMulti = first.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					secondColorMulti = MULTI_COLOR;
-					secondValueMulti = second.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					break;
-				case FARBWENZ:
-				case FARBWENZ_TOUT:
-					firstColorMulti = !first.getValue().equals(CardValue.UNTER) && first.getColor().equals(trump) ? MULTI_TRUMP : MULTI_COLOR;
-					firstValueMulti = first.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					secondColorMulti = !second.getValue().equals(CardValue.UNTER) && second.getColor().equals(trump) ? MULTI_TRUMP : MULTI_COLOR;
-					secondValueMulti = second.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					break;
-				default:
-					firstColorMulti = !first.getValue().equals(CardValue.OBER) && !first.getValue().equals(CardValue.UNTER) && first.getColor().equals(trump) ? MULTI_TRUMP : MULTI_COLOR;
-					firstValueMulti = first.getValue().equals(CardValue.OBER) ? MULTI_OBER : first.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					secondColorMulti = !second.getValue().equals(CardValue.OBER) && !second.getValue().equals(CardValue.UNTER) && second.getColor().equals(trump) ? MULTI_TRUMP : MULTI_COLOR;
-					secondValueMulti = second.getValue().equals(CardValue.OBER) ? MULTI_OBER : second.getValue().equals(CardValue.UNTER) ? MULTI_UNTER : 1;
-					break;
-
-			}
-		}
-		final int cmpValueFirst = firstColorMulti * first.getColor().number + firstValueMulti * first.getValue().number;
-		final int cmpValueSecond = secondColorMulti * second.getColor().number + secondValueMulti * second.getValue().number;
-		return cmpValueSecond - cmpValueFirst;
+		return ruleSet.getRank(second.getOrdinal()) - ruleSet.getRank(first.getOrdinal());
 	}
 
 	/**
@@ -155,6 +109,7 @@ public class CardComparator implements Comparator<ICard> {
 	public void setGameType(final GameType gameType) {
 
 		this.gameType = gameType;
+		this.ruleSet = RuleSet.getInstance(gameType, trump);
 	}
 
 	/**
@@ -164,6 +119,7 @@ public class CardComparator implements Comparator<ICard> {
 	public void setTrump(final CardColor trump) {
 
 		this.trump = trump;
+		this.ruleSet = RuleSet.getInstance(gameType, trump);
 	}
 
 }
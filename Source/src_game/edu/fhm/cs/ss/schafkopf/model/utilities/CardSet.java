@@ -0,0 +1,341 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This utility class implements the operations on a card set, that is a primitive int bitmask where every bit represents one of the 32 cards.<br>
+ * <br>
+ *
+ * Bit n is set if the card with the ordinal n is contained, see {@link ICard#getOrdinal()}. The ordinals follow the order of a hand sorted by the
+ * {@link CardComparator} for a Sauspiel with trump color Herz: all Ober, all Unter, the Herz cards, then the Eichel, Gras and Schelln cards. Iterating a card
+ * set from the lowest to the highest bit thus yields the cards highest first in this order.<br>
+ * <br>
+ *
+ * The canonical card instance for every ordinal is provided by the {@link StackHandler}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class CardSet {
+
+	/**
+	 * The empty card set.
+	 */
+	public static final int EMPTY = 0;
+	/**
+	 * The card set containing all cards.
+	 */
+	public static final int ALL = 0xFFFFFFFF;
+	/**
+	 * Ordinals indicated by color ordinal and value ordinal.
+	 */
+	private static final int[][] ORDINALS = indicateOrdinals();
+	/**
+	 * All cards of a color, including Ober and Unter, indicated by the color ordinal.
+	 */
+	private static final int[] COLOR_MASKS = indicateColorMasks();
+	/**
+	 * All cards of a value indicated by the value ordinal.
+	 */
+	private static final int[] VALUE_MASKS = indicateValueMasks();
+	/**
+	 * The points of every card indicated by the card ordinal.
+	 */
+	private static final int[] POINTS = indicatePoints();
+
+	/**
+	 * Private constructor, this class only offers static methods.
+	 */
+	private CardSet() {
+
+	}
+
+	/**
+	 * Add a card to a card set.
+	 *
+	 * @param set
+	 *            the card set.
+	 * @param card
+	 *            the card to add.
+	 * @return the card set containing the card.
+	 */
+	public static int add(final int set, final ICard card) {
+
+		return set | bit(card);
+	}
+
+	/**
+	 * @param card
+	 *            the card.
+	 * @return the card set only containing the given card.
+	 */
+	public static int bit(final ICard card) {
+
+		return 1 << card.getOrdinal();
+	}
+
+	/**
+	 * @param ordinal
+	 *            the card's ordinal.
+	 * @return the canonical card instance for the ordinal.
+	 */
+	public static ICard card(final int ordinal) {
+
+		return StackHandler.getInstance().getCardByOrdinal(ordinal);
+	}
+
+	/**
+	 * @param color
+	 *            the color.
+	 * @return the card set containing all cards of the given color, including Ober and Unter.
+	 */
+	public static int colorMask(final CardColor color) {
+
+		return COLOR_MASKS[color.ordinal()];
+	}
+
+	/**
+	 * Compress the cards of a set, that are contained in the mask, to a compact set: the lowest card of the mask becomes ordinal 0, the next one ordinal 1 and
+	 * so on. The inverse of {@link #expand(int, int)}.
+	 *
+	 * @param set
+	 *            the card set.
+	 * @param mask
+	 *            the mask.
+	 * @return the compact set.
+	 */
+	public static int compress(final int set, final int mask) {
+
+		int compact = EMPTY;
+		int rest = mask;
+		for (int bit = 0; rest != 0; ++bit, rest &= rest - 1) {
+			if ((set & Integer.lowestOneBit(rest)) != 0) {
+				compact |= 1 << bit;
+			}
+		}
+		return compact;
+	}
+
+	/**
+	 * @param set
+	 *            the card set.
+	 * @param card
+	 *            the card.
+	 * @return true if the card is contained in the card set.
+	 */
+	public static boolean contains(final int set, final ICard card) {
+
+		return (set & bit(card)) != 0;
+	}
+
+	/**
+	 * Expand a compact set to the cards of the mask: ordinal 0 becomes the lowest card of the mask, ordinal 1 the next one and so on. The inverse of
+	 * {@link #compress(int, int)}.
+	 *
+	 * @param compact
+	 *            the compact set.
+	 * @param mask
+	 *            the mask.
+	 * @return the card set.
+	 */
+	public static int expand(final int compact, final int mask) {
+
+		int set = EMPTY;
+		int rest = mask;
+		for (int bit = 0; rest != 0; ++bit, rest &= rest - 1) {
+			if ((compact & 1 << bit) != 0) {
+				set |= Integer.lowestOneBit(rest);
+			}
+		}
+		return set;
+	}
+
+	/**
+	 * @param set
+	 *            the card set.
+	 * @return the lowest ordinal contained in the set, 32 if the set is empty.
+	 */
+	public static int first(final int set) {
+
+		return Integer.numberOfTrailingZeros(set);
+	}
+
+	/**
+	 * Calculate the ordinal of a card.
+	 *
+	 * @param color
+	 *            the card's color.
+	 * @param value
+	 *            the card's value.
+	 * @return the ordinal.
+	 */
+	public static int ordinal(final CardColor color, final CardValue value) {
+
+		return ORDINALS[color.ordinal()][value.ordinal()];
+	}
+
+	/**
+	 * Convert a collection of cards to a card set.
+	 *
+	 * @param cards
+	 *            the cards, null is treated as empty.
+	 * @return the card set.
+	 */
+	public static int of(final Collection<? extends ICard> cards) {
+
+		int set = EMPTY;
+		if (cards != null) {
+			for (final ICard card : cards) {
+				if (card != null) {
+					set |= bit(card);
+				}
+			}
+		}
+		return set;
+	}
+
+	/**
+	 * @param set
+	 *            the card set.
+	 * @return the sum of the points of all contained cards.
+	 */
+	public static int points(final int set) {
+
+		int points = 0;
+		for (int rest = set; rest != 0; rest &= rest - 1) {
+			points += POINTS[Integer.numberOfTrailingZeros(rest)];
+		}
+		return points;
+	}
+
+	/**
+	 * Remove a card from a card set.
+	 *
+	 * @param set
+	 *            the card set.
+	 * @param card
+	 *            the card to remove.
+	 * @return the card set without the card.
+	 */
+	public static int remove(final int set, final ICard card) {
+
+		return set & ~bit(card);
+	}
+
+	/**
+	 * @param set
+	 *            the card set.
+	 * @return the number of cards in the set.
+	 */
+	public static int size(final int set) {
+
+		return Integer.bitCount(set);
+	}
+
+	/**
+	 * Convert a card set to a new list of canonical cards.
+	 *
+	 * @param set
+	 *            the card set.
+	 * @return the list, ordered by ascending ordinal.
+	 */
+	public static List<ICard> toList(final int set) {
+
+		final List<ICard> cards = new ArrayList<ICard>(Integer.bitCount(set));
+		for (int rest = set; rest != 0; rest &= rest - 1) {
+			cards.add(card(Integer.numberOfTrailingZeros(rest)));
+		}
+		return cards;
+	}
+
+	/**
+	 * @param value
+	 *            the value.
+	 * @return the card set containing all cards of the given value.
+	 */
+	public static int valueMask(final CardValue value) {
+
+		return VALUE_MASKS[value.ordinal()];
+	}
+
+	/**
+	 * Generate the color masks. Used for initialization of static values.
+	 *
+	 * @return the color masks indicated by color ordinal.
+	 */
+	private static int[] indicateColorMasks() {
+
+		final int[] masks = new int[CardColor.values().length];
+		for (final CardColor color : CardColor.values()) {
+			for (final CardValue value : CardValue.values()) {
+				masks[color.ordinal()] |= 1 << ORDINALS[color.ordinal()][value.ordinal()];
+			}
+		}
+		return masks;
+	}
+
+	/**
+	 * Generate the ordinal table. Used for initialization of static values.
+	 *
+	 * @return the ordinals indicated by color ordinal and value ordinal.
+	 */
+	private static int[][] indicateOrdinals() {
+
+		final CardColor[] highCardColors = { CardColor.EICHEL, CardColor.GRAS, CardColor.HERZ, CardColor.SCHELLN };
+		final CardColor[] colors = { CardColor.HERZ, CardColor.EICHEL, CardColor.GRAS, CardColor.SCHELLN };
+		final CardValue[] highCardValues = { CardValue.OBER, CardValue.UNTER };
+		final CardValue[] values = { CardValue.SAU, CardValue.KNIG, CardValue.ZEHNER, CardValue.NEUNER, CardValue.ACHTER, CardValue.SIEBENER };
+
+		final int[][] ordinals = new int[CardColor.values().length][CardValue.values().length];
+		int ordinal = 0;
+		for (final CardValue value : highCardValues) {
+			for (final CardColor color : highCardColors) {
+				ordinals[color.ordinal()][value.ordinal()] = ordinal++;
+			}
+		}
+		for (final CardColor color : colors) {
+			for (final CardValue value : values) {
+				ordinals[color.ordinal()][value.ordinal()] = ordinal++;
+			}
+		}
+		return ordinals;
+	}
+
+	/**
+	 * Generate the points table. Used for initialization of static values.
+	 *
+	 * @return the points indicated by card ordinal.
+	 */
+	private static int[] indicatePoints() {
+
+		final int[] points = new int[Integer.SIZE];
+		for (final CardColor color : CardColor.values()) {
+			for (final CardValue value : CardValue.values()) {
+				points[ORDINALS[color.ordinal()][value.ordinal()]] = value.points;
+			}
+		}
+		return points;
+	}
+
+	/**
+	 * Generate the value masks. Used for initialization of static values.
+	 *
+	 * @return the value masks indicated by value ordinal.
+	 */
+	private static int[] indicateValueMasks() {
+
+		final int[] masks = new int[CardValue.values().length];
+		for (final CardValue value : CardValue.values()) {
+			for (final CardColor color : CardColor.values()) {
+				masks[value.ordinal()] |= 1 << ORDINALS[color.ordinal()][value.ordinal()];
+			}
+		}
+		return masks;
+	}
+}
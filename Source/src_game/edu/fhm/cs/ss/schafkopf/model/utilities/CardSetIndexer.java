@@ -0,0 +1,109 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This utility class maps card sets of the same size to dense indices and back, by the combinatorial number system over the card ordinals.<br>
+ * <br>
+ *
+ * The index of a set with the ordinals c1 < c2 < ... < ck is the sum of the binomial coefficients (ci choose i). The sets of a size are thus indicated by
+ * 0 to (32 choose size) - 1, ordered by their highest ordinal first.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class CardSetIndexer {
+
+	/**
+	 * The binomial coefficients indicated by n and k, for n and k from 0 to 32.
+	 */
+	private static final long[][] BINOMIALS = indicateBinomials();
+	/**
+	 * The number of different complete hands, 32 choose 8.
+	 */
+	public static final int NUMBER_OF_HANDS = (int) BINOMIALS[IStackHandler.NUMBER_OF_CARDS][IRestrictedGameData.MAX_HAND_SIZE];
+
+	/**
+	 * Private constructor, this class only offers static methods.
+	 */
+	private CardSetIndexer() {
+
+	}
+
+	/**
+	 * @param n
+	 *            the number of elements, from 0 to 32.
+	 * @param k
+	 *            the number of chosen elements.
+	 * @return n choose k, 0 if k is negative or greater than n.
+	 */
+	public static long binomial(final int n, final int k) {
+
+		return k < 0 || k > n ? 0 : BINOMIALS[n][k];
+	}
+
+	/**
+	 * Calculate the index of a card set among all sets of the same size.
+	 *
+	 * @param set
+	 *            the card set.
+	 * @return the index, from 0 to (32 choose size) - 1.
+	 */
+	public static long index(final int set) {
+
+		long index = 0;
+		int k = 0;
+		for (int rest = set; rest != 0; rest &= rest - 1) {
+			index += BINOMIALS[Integer.numberOfTrailingZeros(rest)][++k];
+		}
+		return index;
+	}
+
+	/**
+	 * Calculate the card set of an index.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param size
+	 *            the size of the card set.
+	 * @return the card set.
+	 * @throws IllegalArgumentException
+	 *             if the size is not between 0 and 32 or the index is not between 0 and (32 choose size) - 1.
+	 */
+	public static int set(final long index, final int size) {
+
+		if (size < 0 || size > IStackHandler.NUMBER_OF_CARDS || index < 0 || index >= BINOMIALS[IStackHandler.NUMBER_OF_CARDS][size]) {
+			throw new IllegalArgumentException();
+		}
+		int set = CardSet.EMPTY;
+		long rest = index;
+		int ordinal = IStackHandler.NUMBER_OF_CARDS;
+		for (int k = size; k > 0; --k) {
+			// the highest ordinal, whose coefficient fits into the rest
+			do {
+				--ordinal;
+			} while (BINOMIALS[ordinal][k] > rest);
+			set |= 1 << ordinal;
+			rest -= BINOMIALS[ordinal][k];
+		}
+		return set;
+	}
+
+	/**
+	 * Generate the binomial coefficients by Pascal's triangle. Used for initialization of static values.
+	 *
+	 * @return the binomial coefficients indicated by n and k.
+	 */
+	private static long[][] indicateBinomials() {
+
+		final long[][] binomials = new long[IStackHandler.NUMBER_OF_CARDS + 1][IStackHandler.NUMBER_OF_CARDS + 1];
+		for (int n = 0; n <= IStackHandler.NUMBER_OF_CARDS; ++n) {
+			binomials[n][0] = 1;
+			for (int k = 1; k <= n; ++k) {
+				binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+			}
+		}
+		return binomials;
+	}
+}
@@ -0,0 +1,157 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * A list view on a card set, see {@link CardSet}.<br>
+ * <br>
+ *
+ * The list does not hold any cards itself, all operations are mapped to bit operations on the card set that is read and written by the implementing class.
+ * Thus changes of the card set are visible in the list and vice versa. The cards are ordered by ascending ordinal and every card is contained at most once:
+ * adding a contained card does not change the list. Inserting at an index is not supported.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public abstract class CardSetList extends AbstractList<ICard> {
+
+	/**
+	 * Adds the card to the card set.
+	 *
+	 * @return true if the card was not contained yet.
+	 */
+	@Override
+	public boolean add(final ICard card) {
+
+		if (card == null) {
+			throw new IllegalArgumentException();
+		}
+		final int set = getSet();
+		setSet(CardSet.add(set, card));
+		return !CardSet.contains(set, card);
+	}
+
+	@Override
+	public void clear() {
+
+		setSet(CardSet.EMPTY);
+	}
+
+	@Override
+	public boolean contains(final Object obj) {
+
+		return obj instanceof ICard && CardSet.contains(getSet(), (ICard) obj);
+	}
+
+	@Override
+	public ICard get(final int index) {
+
+		if (index < 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		int rest = getSet();
+		for (int i = 0; i < index && rest != 0; ++i) {
+			rest &= rest - 1;
+		}
+		if (rest == 0) {
+			throw new IndexOutOfBoundsException();
+		}
+		return CardSet.card(CardSet.first(rest));
+	}
+
+	@Override
+	public int indexOf(final Object obj) {
+
+		if (!contains(obj)) {
+			return -1;
+		}
+		return CardSet.size(getSet() & (CardSet.bit((ICard) obj) - 1));
+	}
+
+	@Override
+	public Iterator<ICard> iterator() {
+
+		return new Iterator<ICard>() {
+			/**
+			 * The cards not yet returned.
+			 */
+			private int rest = getSet();
+			/**
+			 * The ordinal of the last returned card, -1 if there is none to remove.
+			 */
+			private int last = -1;
+
+			@Override
+			public boolean hasNext() {
+
+				return rest != 0;
+			}
+
+			@Override
+			public ICard next() {
+
+				if (rest == 0) {
+					throw new NoSuchElementException();
+				}
+				last = CardSet.first(rest);
+				rest &= rest - 1;
+				return CardSet.card(last);
+			}
+
+			@Override
+			public void remove() {
+
+				if (last < 0) {
+					throw new IllegalStateException();
+				}
+				setSet(getSet() & ~(1 << last));
+				last = -1;
+			}
+		};
+	}
+
+	@Override
+	public int lastIndexOf(final Object obj) {
+
+		return indexOf(obj);
+	}
+
+	@Override
+	public ICard remove(final int index) {
+
+		final ICard card = get(index);
+		setSet(CardSet.remove(getSet(), card));
+		return card;
+	}
+
+	@Override
+	public boolean remove(final Object obj) {
+
+		if (!contains(obj)) {
+			return false;
+		}
+		setSet(CardSet.remove(getSet(), (ICard) obj));
+		return true;
+	}
+
+	@Override
+	public int size() {
+
+		return CardSet.size(getSet());
+	}
+
+	/**
+	 * @return the card set this list is a view on.
+	 */
+	protected abstract int getSet();
+
+	/**
+	 * @param set
+	 *            the new card set this list is a view on.
+	 */
+	protected abstract void setSet(int set);
+}
@@ -0,0 +1,161 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.StockIndex;
+
+/**
+ * This utility class implements the formulas of the charge at the end of a game.<br>
+ * <br>
+ *
+ * The game utilities fill the charge of a finished game with them and the artificial intelligences calculate the results of solved games with them, so both
+ * always agree on the result of a game.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class ChargeModel {
+
+	/**
+	 * The points of the player team have to exceed this value for schneider.
+	 */
+	public static final int PLAYER_TEAM_SCHNEIDER_POINTS = 91;
+	/**
+	 * The points of the opponent team have to exceed this value for schneider.
+	 */
+	public static final int OPPONENT_TEAM_SCHNEIDER_POINTS = 90;
+	/**
+	 * The factor of the charge of a solo player.
+	 */
+	public static final int SOLO_PLAYER_MULTIPLIER = 3;
+
+	/**
+	 * Private constructor, this class only offers static methods.
+	 */
+	private ChargeModel() {
+
+	}
+
+	/**
+	 * Calculate the basic charge of a game.
+	 *
+	 * @param gameType
+	 *            the game type.
+	 * @param basicCharge
+	 *            the basic charge of the game settings.
+	 * @param soloMultiplier
+	 *            the solo multiplier of the game settings.
+	 * @return the basic charge, 0 for a pass.
+	 */
+	public static int calculateBasicCharge(final GameType gameType, final int basicCharge, final int soloMultiplier) {
+
+		if (gameType == GameType.PASS) {
+			return 0;
+		}
+		return gameType.isPartnerGame ? basicCharge : basicCharge * soloMultiplier;
+	}
+
+	/**
+	 * Calculate the charge a player wins or loses, without the stock.
+	 *
+	 * @param totalCharge
+	 *            the total charge of the game.
+	 * @param soloPlayer
+	 *            true if the player is the lead player of a solo game.
+	 * @param winner
+	 *            true if the player is in the winner team.
+	 * @return the charge, negative if the player loses.
+	 */
+	public static int calculatePlayerCharge(final int totalCharge, final boolean soloPlayer, final boolean winner) {
+
+		// a solo player wins and looses 3 times the total charge
+		final int charge = (soloPlayer ? SOLO_PLAYER_MULTIPLIER : 1) * totalCharge;
+		return winner ? charge : -charge;
+	}
+
+	/**
+	 * Calculate the schneider value of a game.
+	 *
+	 * @param winnerTeamPoints
+	 *            the points of the winner team.
+	 * @param playerTeamWins
+	 *            true if the winner team is the player team.
+	 * @param allCardsWon
+	 *            true if the winner team has won all cards.
+	 * @return 2 if the loser team has won no cards, 1 for schneider, else 0.
+	 */
+	public static int calculateSchneider(final int winnerTeamPoints, final boolean playerTeamWins, final boolean allCardsWon) {
+
+		if (allCardsWon) {
+			return 2;
+		}
+		return winnerTeamPoints > (playerTeamWins ? PLAYER_TEAM_SCHNEIDER_POINTS : OPPONENT_TEAM_SCHNEIDER_POINTS) ? 1 : 0;
+	}
+
+	/**
+	 * Calculate the credit a player gets from or pays to the stock.
+	 *
+	 * @param stockIndex
+	 *            the stock index of the game.
+	 * @param stockValue
+	 *            the stock value of the game.
+	 * @param winner
+	 *            true if the player is in the winner team.
+	 * @return the credit, negative if the player pays in.
+	 */
+	public static int calculateStockCharge(final StockIndex stockIndex, final int stockValue, final boolean winner) {
+
+		if (stockIndex == StockIndex.PAY_IN || stockIndex == StockIndex.DOUBLE && !winner) {
+			return -stockValue;
+		} else if (stockIndex == StockIndex.PAY_OUT && winner) {
+			return stockValue;
+		}
+		return 0;
+	}
+
+	/**
+	 * Calculate what to do with the stock at the end of a game.
+	 *
+	 * @param gameType
+	 *            the game type.
+	 * @param stock
+	 *            the stock before the game.
+	 * @param playerTeamWins
+	 *            true if the player team has won, ignored for a pass.
+	 * @return the stock index.
+	 */
+	public static StockIndex calculateStockIndex(final GameType gameType, final int stock, final boolean playerTeamWins) {
+
+		// each player has to pay basic value in to the stock
+		if (gameType == GameType.PASS) {
+			return StockIndex.PAY_IN;
+		}
+		// in a partner game, the stock is paid out to the winning player team or the players have to double it
+		if (stock > 0 && gameType.isPartnerGame) {
+			return playerTeamWins ? StockIndex.PAY_OUT : StockIndex.PAY_IN;
+		}
+		return StockIndex.IGNORE;
+	}
+
+	/**
+	 * Calculate the total charge of a game.
+	 *
+	 * @param basic
+	 *            the basic charge of the game, see {@link #calculateBasicCharge(GameType, int, int)}.
+	 * @param bounty
+	 *            the high cards in row.
+	 * @param schneider
+	 *            the schneider value.
+	 * @param exclusive
+	 *            true for an exclusive game, schneider is ignored then.
+	 * @param basicCharge
+	 *            the basic charge of the game settings.
+	 * @param multiplier
+	 *            the sum of all multipliers, the charge is doubled for each.
+	 * @return the total charge.
+	 */
+	public static int calculateTotalCharge(final int basic, final int bounty, final int schneider, final boolean exclusive, final int basicCharge,
+			final int multiplier) {
+
+		return (basic + (bounty + (exclusive ? 0 : schneider)) * basicCharge) << multiplier;
+	}
+}
@@ -0,0 +1,273 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+
+/**
+ * This class implements the constrained dealer by counting the valid deals.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The cards of the {@link StackHandler}'s stack are grouped by the players they are possible for. The cards of a group are interchangeable, so a deal is
+ * described by the number of cards every group gives to every player, and the choice of the cards inside the groups.<br>
+ * - The number of valid deals of the remaining groups for the remaining capacities of the players is counted once and cached. A deal is drawn group by
+ * group: the numbers of cards for the players are chosen with probabilities proportional to the number of deals they allow, then the cards are chosen
+ * uniformly inside the group. So every valid deal has the same probability and no deal is ever rejected.<br>
+ * - The counts are computed by the constructor, so the dealer can be used by several threads, each with its own random number generator.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class ConstrainedDealer implements IConstrainedDealer {
+
+	/**
+	 * The binomial coefficients up to the number of cards of the stack.
+	 */
+	private static final long[][] BINOMIALS = calculateBinomials(IStackHandler.NUMBER_OF_CARDS);
+
+	/**
+	 * The cards of the groups as card sets.
+	 */
+	private final int[] groupCards;
+	/**
+	 * The players of the groups as bits indicated by position ordinal.
+	 */
+	private final int[] groupPlayers;
+	/**
+	 * The number of deals of the groups from the index on, indicated by group index and encoded capacities, -1 if not counted yet.
+	 */
+	private final long[][] counts;
+	/**
+	 * The encoded capacities of all players at the beginning.
+	 */
+	private final int initialCapacities;
+	/**
+	 * The radix of a player's capacity in the encoded capacities, one more than the size of his hand, indicated by position ordinal.
+	 */
+	private final int[] radices;
+	/**
+	 * The weight of a player's capacity in the encoded capacities, indicated by position ordinal.
+	 */
+	private final int[] weights;
+
+	/**
+	 * Instantiate the dealer with the given constraints.
+	 *
+	 * @param possibleCards
+	 *            the cards every player can get, indicated by position ordinal.
+	 * @param handSizes
+	 *            the number of cards every player gets, indicated by position ordinal.
+	 * @throws IllegalArgumentException
+	 *             if the arrays are null or of different length, a hand size is negative or the hand sizes do not add up to the number of possible cards.
+	 */
+	public ConstrainedDealer(final int[] possibleCards, final int[] handSizes) {
+
+		if (possibleCards == null || handSizes == null || possibleCards.length != handSizes.length) {
+			throw new IllegalArgumentException();
+		}
+		int allCards = CardSet.EMPTY;
+		int totalHandSize = 0;
+		for (int position = 0; position < handSizes.length; ++position) {
+			if (handSizes[position] < 0) {
+				throw new IllegalArgumentException();
+			}
+			allCards |= possibleCards[position];
+			totalHandSize += handSizes[position];
+		}
+		if (totalHandSize != CardSet.size(allCards)) {
+			throw new IllegalArgumentException();
+		}
+		// group the cards by the players they are possible for
+		final int[] cardsByPlayers = new int[1 << handSizes.length];
+		for (int rest = allCards; rest != 0; rest &= rest - 1) {
+			final int card = CardSet.first(rest);
+			int players = 0;
+			for (int position = 0; position < possibleCards.length; ++position) {
+				if ((possibleCards[position] & 1 << card) != 0) {
+					players |= 1 << position;
+				}
+			}
+			cardsByPlayers[players] |= 1 << card;
+		}
+		int groups = 0;
+		for (final int cards : cardsByPlayers) {
+			if (cards != CardSet.EMPTY) {
+				++groups;
+			}
+		}
+		this.groupCards = new int[groups];
+		this.groupPlayers = new int[groups];
+		int group = 0;
+		for (int players = 0; players < cardsByPlayers.length; ++players) {
+			if (cardsByPlayers[players] != CardSet.EMPTY) {
+				groupCards[group] = cardsByPlayers[players];
+				groupPlayers[group++] = players;
+			}
+		}
+		// encode the capacities of the players as digits of a mixed radix number
+		this.radices = new int[handSizes.length];
+		this.weights = new int[handSizes.length];
+		int weight = 1;
+		int encoded = 0;
+		for (int position = 0; position < handSizes.length; ++position) {
+			radices[position] = handSizes[position] + 1;
+			weights[position] = weight;
+			encoded += handSizes[position] * weight;
+			weight *= radices[position];
+		}
+		this.initialCapacities = encoded;
+		this.counts = new long[groups + 1][weight];
+		for (final long[] groupCounts : counts) {
+			Arrays.fill(groupCounts, -1);
+		}
+		count(0, initialCapacities);
+	}
+
+	/**
+	 * @param n
+	 *            the maximum number of elements.
+	 * @return the binomial coefficients indicated by n and k.
+	 */
+	private static long[][] calculateBinomials(final int n) {
+
+		final long[][] binomials = new long[n + 1][n + 1];
+		for (int i = 0; i <= n; ++i) {
+			binomials[i][0] = 1;
+			for (int k = 1; k <= i; ++k) {
+				binomials[i][k] = binomials[i - 1][k - 1] + binomials[i - 1][k];
+			}
+		}
+		return binomials;
+	}
+
+	/**
+	 * Choose random cards of a card set.
+	 *
+	 * @param cards
+	 *            the card set.
+	 * @param number
+	 *            the number of cards to choose, at most the size of the card set.
+	 * @param random
+	 *            the random number generator.
+	 * @return the chosen cards as card set.
+	 */
+	private static int chooseCards(final int cards, final int number, final SplittableRandom random) {
+
+		int rest = cards;
+		int chosen = CardSet.EMPTY;
+		for (int i = 0; i < number; ++i) {
+			int card = rest;
+			for (int skip = random.nextInt(CardSet.size(rest)); skip > 0; --skip) {
+				card &= card - 1;
+			}
+			card &= -card;
+			chosen |= card;
+			rest &= ~card;
+		}
+		return chosen;
+	}
+
+	@Override
+	public long countDeals() {
+
+		return count(0, initialCapacities);
+	}
+
+	@Override
+	public int[] deal(final SplittableRandom random) {
+
+		if (countDeals() == 0) {
+			throw new IllegalStateException();
+		}
+		final int[] hands = new int[weights.length];
+		int capacities = initialCapacities;
+		for (int group = 0; group < groupCards.length; ++group) {
+			int rest = groupCards[group];
+			// the players of the group get their number of cards one after the other, the last one gets the rest
+			for (int players = groupPlayers[group]; players != 0; players &= players - 1) {
+				final int position = Integer.numberOfTrailingZeros(players);
+				final int remaining = CardSet.size(rest);
+				int number = remaining;
+				if ((players & players - 1) != 0) {
+					long target = random.nextLong(countDistributions(group, players, remaining, capacities));
+					final int maxNumber = Math.min(remaining, getCapacity(capacities, position));
+					for (number = 0; number < maxNumber; ++number) {
+						final long weight = BINOMIALS[remaining][number] * countDistributions(group, players & players - 1, remaining - number, capacities - number * weights[position]);
+						if (target < weight) {
+							break;
+						}
+						target -= weight;
+					}
+				}
+				final int chosen = chooseCards(rest, number, random);
+				hands[position] |= chosen;
+				rest &= ~chosen;
+				capacities -= number * weights[position];
+			}
+		}
+		return hands;
+	}
+
+	/**
+	 * Count the deals of the groups from the given index on, that fill the given capacities exactly.
+	 *
+	 * @param group
+	 *            the index of the first group.
+	 * @param capacities
+	 *            the encoded capacities of the players.
+	 * @return the number of deals.
+	 */
+	private long count(final int group, final int capacities) {
+
+		if (group == groupCards.length) {
+			return capacities == 0 ? 1 : 0;
+		}
+		if (counts[group][capacities] < 0) {
+			counts[group][capacities] = countDistributions(group, groupPlayers[group], CardSet.size(groupCards[group]), capacities);
+		}
+		return counts[group][capacities];
+	}
+
+	/**
+	 * Count the deals, where the remaining cards of a group are distributed to the given players of the group, and the following groups fill the capacities
+	 * left.
+	 *
+	 * @param group
+	 *            the index of the group.
+	 * @param players
+	 *            the players of the group, who did not get cards yet.
+	 * @param remaining
+	 *            the number of cards of the group, that are not distributed yet.
+	 * @param capacities
+	 *            the encoded capacities of the players.
+	 * @return the number of deals.
+	 */
+	private long countDistributions(final int group, final int players, final int remaining, final int capacities) {
+
+		if (players == 0) {
+			return remaining == 0 ? count(group + 1, capacities) : 0;
+		}
+		final int position = Integer.numberOfTrailingZeros(players);
+		final int maxNumber = Math.min(remaining, getCapacity(capacities, position));
+		long total = 0;
+		for (int number = 0; number <= maxNumber; ++number) {
+			total += BINOMIALS[remaining][number] * countDistributions(group, players & players - 1, remaining - number, capacities - number * weights[position]);
+		}
+		return total;
+	}
+
+	/**
+	 * @param capacities
+	 *            the encoded capacities of the players.
+	 * @param position
+	 *            the position ordinal of the player.
+	 * @return the capacity of the player.
+	 */
+	private int getCapacity(final int capacities, final int position) {
+
+		return capacities / weights[position] % radices[position];
+	}
+}
@@ -0,0 +1,187 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This utility class maps complete deals to dense indices and back. A deal is given by the hands in the order the players draw their cards, the stack of a
+ * deal is the stack {@link IStackHandler#getPredefinedStack(String[], String[], String[], String[])} returns for the hands in ascending ordinal order.<br>
+ * <br>
+ *
+ * The index is a mixed radix number: the index of the first hand among all hands, the index of the second hand among the hands of the 24 remaining cards
+ * and the index of the third hand among the hands of the 16 remaining cards, see {@link CardSetIndexer}. The fourth hand is determined by the others. The
+ * deals are thus indicated by 0 to {@link #NUMBER_OF_DEALS} - 1, which fits into 57 bits.<br>
+ * <br>
+ *
+ * The deals with the same leading hands have consecutive indices, see {@link #range(int...)}, so a subspace of deals can be enumerated completely or by a
+ * stride through its range.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class DealIndexer {
+
+	/**
+	 * The number of deals with the same leading hands, indicated by the number of leading hands.
+	 */
+	private static final long[] RADICES = indicateRadices();
+	/**
+	 * The number of different deals, 32! / 8!^4.
+	 */
+	public static final long NUMBER_OF_DEALS = RADICES[0];
+
+	/**
+	 * Private constructor, this class only offers static methods.
+	 */
+	private DealIndexer() {
+
+	}
+
+	/**
+	 * Calculate the hands of an index.
+	 *
+	 * @param index
+	 *            the index.
+	 * @return the hands in the order the players draw their cards.
+	 * @throws IllegalArgumentException
+	 *             if the index is not between 0 and {@link #NUMBER_OF_DEALS} - 1.
+	 */
+	public static int[] deal(final long index) {
+
+		if (index < 0 || index >= NUMBER_OF_DEALS) {
+			throw new IllegalArgumentException();
+		}
+		final int[] hands = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		int free = CardSet.ALL;
+		for (int player = 0; player < hands.length - 1; ++player) {
+			final long handIndex = index % RADICES[player] / RADICES[player + 1];
+			hands[player] = CardSet.expand(CardSetIndexer.set(handIndex, IRestrictedGameData.MAX_HAND_SIZE), free);
+			free &= ~hands[player];
+		}
+		hands[hands.length - 1] = free;
+		return hands;
+	}
+
+	/**
+	 * Calculate the index of a deal.
+	 *
+	 * @param hands
+	 *            the hands in the order the players draw their cards.
+	 * @return the index, from 0 to {@link #NUMBER_OF_DEALS} - 1.
+	 * @throws IllegalArgumentException
+	 *             if the hands are not a complete deal.
+	 */
+	public static long index(final int[] hands) {
+
+		if (hands == null || hands.length != IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		int dealt = CardSet.EMPTY;
+		for (final int hand : hands) {
+			if (CardSet.size(hand) != IRestrictedGameData.MAX_HAND_SIZE || (dealt & hand) != 0) {
+				throw new IllegalArgumentException();
+			}
+			dealt |= hand;
+		}
+		return range(hands[0], hands[1], hands[2])[0];
+	}
+
+	/**
+	 * Calculate the index of the deal of a stack.
+	 *
+	 * @param stack
+	 *            the complete stack, the top first.
+	 * @return the index, from 0 to {@link #NUMBER_OF_DEALS} - 1.
+	 * @throws IllegalArgumentException
+	 *             if the stack is not complete or contains a card twice.
+	 */
+	public static long index(final List<ICard> stack) {
+
+		if (stack == null || stack.size() != IStackHandler.NUMBER_OF_CARDS) {
+			throw new IllegalArgumentException();
+		}
+		final int[] hands = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		for (int position = 0; position < stack.size(); ++position) {
+			final int player = position / IRestrictedGameData.DRAWN_CARDS_PER_ACTION % hands.length;
+			hands[player] = CardSet.add(hands[player], stack.get(position));
+		}
+		return index(hands);
+	}
+
+	/**
+	 * Calculate the range of the deals with the given leading hands. The range of no leading hands contains all deals.
+	 *
+	 * @param leadingHands
+	 *            the hands of the first players, in the order the players draw their cards.
+	 * @return the first index and the end of the range, exclusive.
+	 * @throws IllegalArgumentException
+	 *             if the leading hands are more than three, not complete or not disjoint.
+	 */
+	public static long[] range(final int... leadingHands) {
+
+		if (leadingHands == null || leadingHands.length >= IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		long index = 0;
+		int free = CardSet.ALL;
+		for (int player = 0; player < leadingHands.length; ++player) {
+			final int hand = leadingHands[player];
+			if (CardSet.size(hand) != IRestrictedGameData.MAX_HAND_SIZE || (hand & ~free) != 0) {
+				throw new IllegalArgumentException();
+			}
+			index += CardSetIndexer.index(CardSet.compress(hand, free)) * RADICES[player + 1];
+			free &= ~hand;
+		}
+		return new long[] { index, index + RADICES[leadingHands.length] };
+	}
+
+	/**
+	 * Calculate the stack of an index. The cards a player draws at once are in descending ordinal order, like the stack of the stack handler for hands in
+	 * ascending ordinal order.
+	 *
+	 * @param index
+	 *            the index.
+	 * @return the stack, the top first.
+	 * @throws IllegalArgumentException
+	 *             if the index is not between 0 and {@link #NUMBER_OF_DEALS} - 1.
+	 */
+	public static List<ICard> stack(final long index) {
+
+		final int[] hands = deal(index);
+		final List<List<ICard>> handLists = new ArrayList<List<ICard>>(hands.length);
+		for (final int hand : hands) {
+			handLists.add(CardSet.toList(hand));
+		}
+		final List<ICard> stack = new ArrayList<ICard>(IStackHandler.NUMBER_OF_CARDS);
+		// the players draw the higher half of their hands first
+		for (int drawn = IRestrictedGameData.MAX_HAND_SIZE; drawn > 0; drawn -= IRestrictedGameData.DRAWN_CARDS_PER_ACTION) {
+			for (final List<ICard> hand : handLists) {
+				for (int card = drawn - 1; card >= drawn - IRestrictedGameData.DRAWN_CARDS_PER_ACTION; --card) {
+					stack.add(hand.get(card));
+				}
+			}
+		}
+		return stack;
+	}
+
+	/**
+	 * Generate the radices of the index. Used for initialization of static values.
+	 *
+	 * @return the number of deals with the same leading hands, indicated by the number of leading hands.
+	 */
+	private static long[] indicateRadices() {
+
+		final long[] radices = new long[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		radices[radices.length - 1] = 1;
+		for (int player = radices.length - 2; player >= 0; --player) {
+			// the hand of the player is chosen from the cards the leading hands left
+			final int free = IStackHandler.NUMBER_OF_CARDS - IRestrictedGameData.MAX_HAND_SIZE * player;
+			radices[player] = radices[player + 1] * CardSetIndexer.binomial(free, IRestrictedGameData.MAX_HAND_SIZE);
+		}
+		return radices;
+	}
+}
@@ -1,7 +1,6 @@
 package edu.fhm.cs.ss.schafkopf.model.utilities;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -9,7 +8,8 @@ import java.util.Map;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IFullAccessGameUtils;
-import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
@@ -57,27 +57,22 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 	@Override
 	public int calculateBasicChargeForCurrentGame() {
 
-		int retVal = 0;
-		if (getGameData().getGameType().equals(GameType.PASS)) {
-			return retVal;
-		} else if (getGameData().getGameType().isPartnerGame) {
-			retVal = getGameData().getGameSettings().getBasicCharge();
-		} else {
-			retVal = getGameData().getGameSettings().getBasicCharge() * getGameData().getGameSettings().getSoloMultiplier();
-		}
-		return retVal;
+		return ChargeModel.calculateBasicCharge(getGameData().getGameType(), getGameData().getGameSettings().getBasicCharge(), getGameData().getGameSettings()
+				.getSoloMultiplier());
 
 	}
 
 	@Override
 	public PlayerPosition calculateWinnerCardPosition(final Map<PlayerPosition, ICard> stich) {
 
+		final IRuleSet ruleSet = getRuleSet();
 		final PlayerPosition firstPlayerPosition = getGameData().getRoundsFirstPlayerPosition();
-		ICard winnerCard = stich.get(firstPlayerPosition);
+		int winnerCard = stich.get(firstPlayerPosition).getOrdinal();
 		PlayerPosition winnerCardPosition = firstPlayerPosition;
 		for (PlayerPosition position = firstPlayerPosition.getNext(); !position.equals(firstPlayerPosition); position = position.getNext()) {
-			if (dominates(winnerCard, stich.get(position))) {
-				winnerCard = stich.get(position);
+			final int card = stich.get(position).getOrdinal();
+			if (ruleSet.dominates(winnerCard, card)) {
+				winnerCard = card;
 				winnerCardPosition = position;
 			}
 		}
@@ -100,29 +95,15 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 		if (playerData == null || number < 0) {
 			throw new IllegalArgumentException();
 		}
-		// have to instantiate a new List here, because sublist is just a view
-		// on the original list
-		final List<ICard> drawnCards = new ArrayList<ICard>();
-		if (getGameData().getStack().size() < number) {
-			drawnCards.addAll(getGameData().getStack().subList(0, getGameData().getStack().size()));
-		} else {
-			drawnCards.addAll(getGameData().getStack().subList(0, number));
-		}
-		getGameData().getStack().removeAll(drawnCards);
-		if (playerData.getCurrentHand() == null) {
-			playerData.setCurrentHand(drawnCards);
-		} else {
-			playerData.getCurrentHand().addAll(drawnCards);
-		}
-		if (playerData.getInitialHand() == null) {
-			playerData.setInitialHand(drawnCards);
-		} else {
-			playerData.getInitialHand().addAll(drawnCards);
-		}
-		// sort players current hand by sauspiel, herz
-		final CardComparator comp = new CardComparator(GameType.SAUSPIEL, CardColor.HERZ);
-		Collections.sort(playerData.getInitialHand(), comp);
-		Collections.sort(playerData.getCurrentHand(), comp);
+		// the drawn cards are taken from the top of the stack, the sublist is
+		// a view on the stack, thus clearing it removes them from the stack
+		final List<ICard> drawnCards = getGameData().getStack().subList(0, Math.min(number, getGameData().getStack().size()));
+		final int drawnSet = CardSet.of(drawnCards);
+		drawnCards.clear();
+		// the hands are card sets, thus they are always sorted by sauspiel,
+		// herz
+		playerData.setCurrentHandSet(playerData.getCurrentHandSet() | drawnSet);
+		playerData.setInitialHandSet(playerData.getInitialHandSet() | drawnSet);
 	}
 
 	@Override
@@ -213,7 +194,10 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 			initializePlayerData(player);
 		}
 
-		if (stack == null) {
+		if (stack == null && getGameData().getRandomnessProvider() != null) {
+			// initialize stack reproducible from the table's root seed
+			getGameData().setStack(StackHandler.getInstance().getShuffledStack(getGameData().getRandomnessProvider().getStackRandom()));
+		} else if (stack == null) {
 			// initialize stack
 			getGameData().setStack(StackHandler.getInstance().getShuffledStack());
 		} else {
@@ -226,14 +210,15 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 
 		playerData.setAcceptingNextGameStart(false);
 		playerData.setChosenGame(null);
-		playerData.getCurrentHand().clear();
-		playerData.getInitialHand().clear();
+		playerData.setCurrentHandSet(CardSet.EMPTY);
+		playerData.setInitialHandSet(CardSet.EMPTY);
 		playerData.setPlayedCard(null);
 		playerData.setPoints(0);
+		playerData.setPossibleCardSet(CardSet.ALL);
 		playerData.setRaising(false);
 		playerData.setStriking(false);
 		playerData.setStrikingBack(false);
-		playerData.getWonCards().clear();
+		playerData.setWonCardSet(CardSet.EMPTY);
 	}
 
 	@Override
@@ -254,19 +239,45 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 			}
 			// set teams as far as known
 			getGameData().getTeam(Team.PLAYER_TEAM).add(getGameData().getLeadPlayerPosition());
+			if (getGameData().getGameType().equals(GameType.SAUSPIEL)) {
+				// the lead player must not call a sau he holds himself
+				final IPlayerData leadPlayer = getGameData().getPlayerDatas().get(getGameData().getLeadPlayerPosition());
+				leadPlayer.setPossibleCardSet(leadPlayer.getPossibleCardSet() & ~(1 << CardSet.ordinal(getGameData().getColor(), CardValue.SAU)));
+			}
 			if (!getGameData().getGameType().isPartnerGame) {
 				// in a solo game, the partners are known from the beginning
 				fillOpponentTeam();
 			}
-			final CardComparator comparator = new CardComparator(getGameData().getGameType(), getTrumpColor());
-			for (final IPlayerData playerData : getGameData().getPlayerDatas().values()) {
-				Collections.sort(playerData.getCurrentHand(), comparator);
-			}
 			getGameData().incrementRoundNumber();
 			getGameData().setGameState(GameState.PLAY);
 		}
 	}
 
+	@Override
+	public void updatePossibleCardSets(final PlayerPosition position, final ICard card) {
+
+		final int cardBit = CardSet.bit(card);
+		for (final IPlayerData player : getGameData().getPlayerDatas().values()) {
+			player.setPossibleCardSet(player.getPossibleCardSet() & ~cardBit);
+		}
+		final ICard firstCard = getFirstPlayedCard();
+		if (firstCard == null || position.equals(getGameData().getRoundsFirstPlayerPosition())) {
+			return;
+		}
+		final IPlayerData player = getGameData().getPlayerDatas().get(position);
+		final int followSet = getRuleSet().getFollowSet(firstCard.getOrdinal());
+		if ((followSet & cardBit) == 0) {
+			// the player did not follow, so he has none of the cards to follow with
+			player.setPossibleCardSet(player.getPossibleCardSet() & ~followSet);
+		} else if (getGameData().getGameType().equals(GameType.SAUSPIEL) && getGameData().getTeam(Team.PLAYER_TEAM).size() < 2) {
+			// the called sau has to be played, when its color is played first and the mates do not know each other
+			final int calledSau = 1 << CardSet.ordinal(getGameData().getColor(), CardValue.SAU);
+			if ((followSet & calledSau) != 0) {
+				player.setPossibleCardSet(player.getPossibleCardSet() & ~calledSau);
+			}
+		}
+	}
+
 	/**
 	 * Calculate the bounty for the current game and fill it to the game data's charge.
 	 */
@@ -307,15 +318,9 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 		if (getGameData().getGameType().equals(GameType.PASS)) {
 			return;
 		}
-		final int winnersPoints = getTeamsPoints(getGameData().getWinnerTeam());
-		// loser team has won no cards
-		if (getTeamsWonCards(getGameData().getWinnerTeam()).size() == 32) {
-			getGameData().getCharge().setSchneider(2);
-		}
-		// winner is player team -> winner needs 91 points for schneider
-		else if (getGameData().getWinnerTeam().equals(Team.PLAYER_TEAM) && winnersPoints > 91 || getGameData().getWinnerTeam().equals(Team.OPPONENT_TEAM) && winnersPoints > 90) {
-			getGameData().getCharge().setSchneider(1);
-		}
+		final Team winnerTeam = getGameData().getWinnerTeam();
+		getGameData().getCharge().setSchneider(
+				ChargeModel.calculateSchneider(getTeamsPoints(winnerTeam), winnerTeam.equals(Team.PLAYER_TEAM), getTeamsWonCards(winnerTeam).size() == 32));
 	}
 
 	/**
@@ -323,25 +328,14 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 	 */
 	private void calculateAndFillStock() {
 
-		// all players passed
-		if (getGameData().getGameType().equals(GameType.PASS)) {
-			// each player has to pay basic value in to the stock
-			getGameData().getCharge().setStockIndex(StockIndex.PAY_IN);
-			getGameData().getCharge().setStockValue(getGameData().getGameSettings().getBasicCharge());
-		}
-		// stock is not empty and we play a partner game
-		else if (getGameData().getStock() > 0 && getGameData().getGameType().isPartnerGame) {
-			// if player wins the stock is paid out
-			if (getGameData().getWinnerTeam().equals(Team.PLAYER_TEAM)) {
-				getGameData().getCharge().setStockIndex(StockIndex.PAY_OUT);
-			}
-			// if the opponent team wins, the players have to double the
-			// stock
-			else {
-				getGameData().getCharge().setStockIndex(StockIndex.PAY_IN);
-			}
-			getGameData().getCharge().setStockValue(getGameData().getStock() / 2);
+		final GameType gameType = getGameData().getGameType();
+		final StockIndex stockIndex = ChargeModel.calculateStockIndex(gameType, getGameData().getStock(), Team.PLAYER_TEAM.equals(getGameData().getWinnerTeam()));
+		if (stockIndex.equals(StockIndex.IGNORE)) {
+			return;
 		}
+		getGameData().getCharge().setStockIndex(stockIndex);
+		// all players pay in the basic charge, or the players of a partner game share half of the stock
+		getGameData().getCharge().setStockValue(gameType.equals(GameType.PASS) ? getGameData().getGameSettings().getBasicCharge() : getGameData().getStock() / 2);
 	}
 
 	/**
@@ -349,13 +343,11 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 	 */
 	private void calculateAndFillTotalCharge() {
 
-		// the total multiplier is 2 ^ the sum of all added multipliers
-		final int totalMultiplicator = getTotalMultiplier();
-		// in an exclusive game, schneider is ignored
-		final int chargeWithoutMultiplier = getGameData().getCharge().getBasic()
-				+ (getGameData().getCharge().getBounty() + (getGameData().getCharge().getExclusiveMultiplier() == 0 ? getGameData().getCharge().getSchneider() : 0))
-				* getGameData().getGameSettings().getBasicCharge();
-		getGameData().getCharge().setTotalCharge(chargeWithoutMultiplier * totalMultiplicator);
+		final ICharge charge = getGameData().getCharge();
+		// the total charge is doubled for each of the added multipliers
+		final int multiplier = charge.getExclusiveMultiplier() + charge.getInitialMultiplier() + charge.getStrikeMultiplier();
+		charge.setTotalCharge(ChargeModel.calculateTotalCharge(charge.getBasic(), charge.getBounty(), charge.getSchneider(), charge.getExclusiveMultiplier() != 0,
+				getGameData().getGameSettings().getBasicCharge(), multiplier));
 	}
 
 	/**
@@ -383,25 +375,13 @@ public class FullAccessGameUtils extends PlayerUtils implements IFullAccessGameU
 		final ICharge charge = getGameData().getCharge();
 		for (final IPlayerData player : getGameData().getPlayerDatas().values()) {
 			final boolean winner = getGameData().getTeam(getGameData().getWinnerTeam()).contains(player.getPosition());
-			// manipulate stock values
-			if (charge.getStockIndex().equals(StockIndex.PAY_IN)) {
-				player.addCredit(-charge.getStockValue());
-				getGameData().setStock(getGameData().getStock() + charge.getStockValue());
-			} else if (charge.getStockIndex().equals(StockIndex.PAY_OUT) && winner) {
-				player.addCredit(charge.getStockValue());
-				getGameData().setStock(getGameData().getStock() - charge.getStockValue());
-			} else if (charge.getStockIndex().equals(StockIndex.DOUBLE) && !winner) {
-				player.addCredit(-charge.getStockValue());
-				getGameData().setStock(getGameData().getStock() + charge.getStockValue());
-			}
-			// a solo player wins and looses 3 times the total charge
-			final int soloPlayerMultiplier = player.getPosition().equals(getGameData().getLeadPlayerPosition()) && getGameData().getTeam(Team.PLAYER_TEAM).size() == 1 ? 3 : 1;
+			// manipulate stock values, what a player pays in is added to the stock
+			final int stockCharge = ChargeModel.calculateStockCharge(charge.getStockIndex(), charge.getStockValue(), winner);
+			player.addCredit(stockCharge);
+			getGameData().setStock(getGameData().getStock() - stockCharge);
 			// manipulate charge values
-			if (winner) {
-				player.addCredit(soloPlayerMultiplier * charge.getTotalCharge());
-			} else {
-				player.addCredit(soloPlayerMultiplier * -charge.getTotalCharge());
-			}
+			final boolean soloPlayer = player.getPosition().equals(getGameData().getLeadPlayerPosition()) && getGameData().getTeam(Team.PLAYER_TEAM).size() == 1;
+			player.addCredit(ChargeModel.calculatePlayerCharge(charge.getTotalCharge(), soloPlayer, winner));
 		}
 	}
 }
@@ -6,6 +6,7 @@ import java.util.EnumMap;
 import java.util.Map;
 
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IGameUtils;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
@@ -60,24 +61,7 @@ public class GameUtils implements IGameUtils {
 	@Override
 	public boolean dominates(final ICard first, final ICard second) {
 
-		final CardComparator comparator = new CardComparator(restrictedGameData.getGameType(), getTrumpColor());
-		// because the card comparator does not have the functionality to check that only a card from the same color can dominate the other, we have to do that
-		// here
-		if (comparator.compare(first, second) > 0) {
-			// in that case the card comparator is right
-			if (first.getColor().equals(getTrumpColor())) {
-				return true;
-			} else {
-				if (second.getColor().equals(getTrumpColor())) {
-					return true;
-				} else {
-					// the second card can only dominate another color card if it is from the same color
-					return first.getColor().equals(second.getColor());
-				}
-			}
-		} else {
-			return false;
-		}
+		return getRuleSet().dominates(first, second);
 	}
 
 	@Override
@@ -95,7 +79,10 @@ public class GameUtils implements IGameUtils {
 	@Override
 	public ICard getFirstPlayedCard() {
 
-		return getCardsOnTable().get(restrictedGameData.getRoundsFirstPlayerPosition());
+		if (restrictedGameData.getRoundsFirstPlayerPosition() == null) {
+			return null;
+		}
+		return restrictedGameData.getRestrictedPlayerDatas().get(restrictedGameData.getRoundsFirstPlayerPosition()).getPlayedCard();
 	}
 
 	@Override
@@ -104,6 +91,19 @@ public class GameUtils implements IGameUtils {
 		return restrictedGameData;
 	}
 
+	@Override
+	public IRuleSet getRuleSet() {
+
+		final GameType gameType = restrictedGameData.getGameType();
+		return RuleSet.getInstance(gameType, GameType.SAUSPIEL.equals(gameType) ? IRestrictedGameData.SAUSPIEL_TRUMP_COLOR : restrictedGameData.getColor());
+	}
+
+	@Override
+	public IRuleSet getRuleSet(final IBasicGameData game) {
+
+		return RuleSet.getInstance(game.getGameType(), getTrumpColor(game));
+	}
+
 	@Override
 	public int getTeamsPoints(final Team team) {
 
@@ -171,20 +171,7 @@ public class GameUtils implements IGameUtils {
 		if (gameType == null || card == null) {
 			throw new IllegalArgumentException();
 		}
-		switch (gameType) {
-			case SOLO:
-			case SOLO_TOUT:
-			case SAUSPIEL:
-				return card.getValue().equals(CardValue.OBER) || card.getValue().equals(CardValue.UNTER);
-			case WENZ:
-			case WENZ_TOUT:
-			case FARBWENZ:
-			case FARBWENZ_TOUT:
-				return card.getValue().equals(CardValue.UNTER);
-			default:
-				break;
-		}
-		return false;
+		return RuleSet.getInstance(gameType, null).isHighTrump(card);
 	}
 
 	@Override
@@ -205,7 +192,10 @@ public class GameUtils implements IGameUtils {
 	@Override
 	public boolean isCardTrump(final IBasicGameData game, final ICard card) {
 
-		return isCardHighTrump(game, card) || card.getColor().equals(getTrumpColor(game));
+		if (card == null) {
+			throw new IllegalArgumentException();
+		}
+		return getRuleSet(game).isTrump(card);
 	}
 
 	@Override
@@ -0,0 +1,148 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This utility class maps a hand to a canonical representative of all hands, that are equivalent in a game up to swapping colors.<br>
+ * <br>
+ *
+ * The trump cards and the colors with a special meaning in a game are fixed: the trump color and the called color of a Sauspiel. The non-trump cards of all
+ * other colors are interchangeable, because they never beat each other. E.g. in a Wenz every color is interchangeable, in a Solo every color except the
+ * trump color and in a pass every color including Ober and Unter. The canonical hand assigns the interchangeable colors in the order of their ordinals,
+ * the color with the highest cards first.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class HandCanonicalizer {
+
+	/**
+	 * The number of low bits used by a canonical key, the higher bits are 0.
+	 */
+	public static final int KEY_BITS = 40;
+	/**
+	 * All colors indicated by ordinal.
+	 */
+	private static final CardColor[] COLORS = CardColor.values();
+	/**
+	 * All values in the order of the suit patterns, highest first.
+	 */
+	private static final CardValue[] VALUES = { CardValue.OBER, CardValue.UNTER, CardValue.SAU, CardValue.ZEHNER, CardValue.KNIG, CardValue.NEUNER,
+			CardValue.ACHTER, CardValue.SIEBENER };
+
+	/**
+	 * Private constructor, this class only offers static methods.
+	 */
+	private HandCanonicalizer() {
+
+	}
+
+	/**
+	 * Calculate the canonical hand.
+	 *
+	 * @param hand
+	 *            the card set of the hand, may be incomplete.
+	 * @param gameType
+	 *            the game type, null for the default rules with Ober and Unter as high trumps.
+	 * @param color
+	 *            the color of the game, i.e. the called color of a Sauspiel, null if there is none.
+	 * @return the card set of the canonical hand.
+	 */
+	public static int canonicalHand(final int hand, final GameType gameType, final CardColor color) {
+
+		final IRuleSet ruleSet = RuleSet.getInstance(gameType, gameType == GameType.SAUSPIEL ? IRestrictedGameData.SAUSPIEL_TRUMP_COLOR : color);
+		final CardColor calledColor = gameType == GameType.SAUSPIEL ? color : null;
+		final int[] patterns = new int[COLORS.length];
+		int count = 0;
+		int canonical = hand;
+		for (final CardColor suit : COLORS) {
+			if (suit != ruleSet.getTrumpColor() && suit != calledColor) {
+				patterns[count++] = toPattern(hand, suit, ruleSet.getSuitSet(suit));
+				canonical &= ~ruleSet.getSuitSet(suit);
+			}
+		}
+		// insertion sort, highest pattern first
+		for (int i = 1; i < count; ++i) {
+			final int pattern = patterns[i];
+			int j = i;
+			for (; j > 0 && patterns[j - 1] < pattern; --j) {
+				patterns[j] = patterns[j - 1];
+			}
+			patterns[j] = pattern;
+		}
+		int index = 0;
+		for (final CardColor suit : COLORS) {
+			if (suit != ruleSet.getTrumpColor() && suit != calledColor) {
+				canonical |= fromPattern(patterns[index++], suit, ruleSet.getSuitSet(suit));
+			}
+		}
+		return canonical;
+	}
+
+	/**
+	 * Calculate the canonical key of a hand in a game. Hands have the same key, if and only if they are equivalent in the same game.
+	 *
+	 * @param hand
+	 *            the card set of the hand, may be incomplete.
+	 * @param gameType
+	 *            the game type, null for the default rules with Ober and Unter as high trumps.
+	 * @param color
+	 *            the color of the game, i.e. the called color of a Sauspiel, null if there is none.
+	 * @return the canonical key, only the lowest {@link #KEY_BITS} bits are used.
+	 */
+	public static long canonicalKey(final int hand, final GameType gameType, final CardColor color) {
+
+		final long gameTypeIndex = gameType == null ? 0 : gameType.ordinal() + 1;
+		final long colorIndex = color == null ? 0 : color.ordinal() + 1;
+		return canonicalHand(hand, gameType, color) & 0xFFFFFFFFL | gameTypeIndex << Integer.SIZE | colorIndex << Integer.SIZE + 4;
+	}
+
+	/**
+	 * Convert a suit pattern back to cards.
+	 *
+	 * @param pattern
+	 *            the suit pattern.
+	 * @param suit
+	 *            the color.
+	 * @param suitSet
+	 *            the non-trump cards of the color.
+	 * @return the card set.
+	 */
+	private static int fromPattern(final int pattern, final CardColor suit, final int suitSet) {
+
+		int cards = CardSet.EMPTY;
+		for (int i = 0; i < VALUES.length; ++i) {
+			if ((pattern & 1 << VALUES.length - 1 - i) != 0) {
+				cards |= 1 << CardSet.ordinal(suit, VALUES[i]);
+			}
+		}
+		return cards & suitSet;
+	}
+
+	/**
+	 * Convert the non-trump cards of a color to a suit pattern, that is equal for the same values in every color. A higher card has a higher bit.
+	 *
+	 * @param hand
+	 *            the card set of the hand.
+	 * @param suit
+	 *            the color.
+	 * @param suitSet
+	 *            the non-trump cards of the color.
+	 * @return the suit pattern.
+	 */
+	private static int toPattern(final int hand, final CardColor suit, final int suitSet) {
+
+		final int cards = hand & suitSet;
+		int pattern = 0;
+		for (int i = 0; i < VALUES.length; ++i) {
+			if ((cards & 1 << CardSet.ordinal(suit, VALUES[i])) != 0) {
+				pattern |= 1 << VALUES.length - 1 - i;
+			}
+		}
+		return pattern;
+	}
+}
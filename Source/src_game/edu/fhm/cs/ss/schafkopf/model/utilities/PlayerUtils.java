@@ -11,6 +11,7 @@ import edu.fhm.cs.ss.schafkopf.model.BasicGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IPlayerUtils;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
@@ -21,6 +22,7 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData;
 
 /**
  * This utility wrapper extends {@link GameUtils} by high level player dependent methods. <br>
@@ -104,27 +106,35 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 	@Override
 	public int calculateHighCardsInRow(final IBasicGameData gameData, final Collection<IPlayerData> players) {
 
-		if (gameData == null || gameData.getGameType() == null || players == null) {
+		if (players == null) {
 			return 0;
 		}
+		int cards = CardSet.EMPTY;
+		for (final IPlayerData data : players) {
+			cards |= data.getInitialHandSet();
+		}
+		return calculateHighCardsInRow(gameData, cards);
+	}
 
-		if (gameData.getGameType().equals(GameType.PASS)) {
+	@Override
+	public int calculateHighCardsInRow(final IBasicGameData gameData, final int cards) {
+
+		if (gameData == null || gameData.getGameType() == null) {
 			return 0;
 		}
-		final ArrayList<ICard> cards = new ArrayList<ICard>();
-		for (final IPlayerData data : players) {
-			if (data.getInitialHand() != null) {
-				cards.addAll(data.getInitialHand());
-			}
+
+		if (gameData.getGameType().equals(GameType.PASS)) {
+			return 0;
 		}
-		Collections.sort(cards, new CardComparator(gameData.getGameType(), getTrumpColor(gameData)));
 		final List<ICard> sortedStack = StackHandler.getInstance().getSortedCards(gameData.getGameType(), getTrumpColor(gameData));
+		final int size = CardSet.size(cards);
 		int retVal = 0;
-		for (int i = 0; i < cards.size(); i++) {
-			if (!cards.get(i).equals(sortedStack.get(i))) {
-				retVal = i;
-				break;
-			}
+		while (retVal < size && CardSet.contains(cards, sortedStack.get(retVal))) {
+			retVal++;
+		}
+		// the row only counts, if it ends with a card of the other team
+		if (retVal == size) {
+			retVal = 0;
 		}
 		// in wenz games the high cards in row have to be at least 2
 		if (gameData.getGameType().equals(GameType.WENZ) || gameData.getGameType().equals(GameType.WENZ_TOUT)) {
@@ -172,13 +182,7 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 		if (player == null || gameType == null || color == null) {
 			throw new IllegalArgumentException();
 		}
-		int retVal = 0;
-		for (final ICard card : player.getCurrentHand()) {
-			if (!isCardHighTrump(gameType, card) && card.getColor().equals(color)) {
-				retVal++;
-			}
-		}
-		return retVal;
+		return CardSet.size(player.getCurrentHandSet() & CardSet.colorMask(color) & ~RuleSet.getInstance(gameType, null).getHighTrumpSet());
 	}
 
 	@Override
@@ -209,13 +213,7 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 		if (player == null) {
 			throw new IllegalArgumentException();
 		}
-		int retVal = 0;
-		for (final ICard card : player.getCurrentHand()) {
-			if (isCardTrump(game, card)) {
-				retVal++;
-			}
-		}
-		return retVal;
+		return CardSet.size(player.getCurrentHandSet() & getRuleSet(game).getTrumpSet());
 	}
 
 	@Override
@@ -245,15 +243,7 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 			throw new IllegalArgumentException();
 		}
 
-		final Collection<ICard> retVal = new ArrayList<ICard>();
-		if (player.getCurrentHand() != null) {
-			for (final ICard card : player.getCurrentHand()) {
-				if (card.getColor().equals(color) && !isCardHighTrump(game, card)) {
-					retVal.add(card);
-				}
-			}
-		}
-		return retVal;
+		return CardSet.toList(player.getCurrentHandSet() & CardSet.colorMask(color) & ~getRuleSet(game).getHighTrumpSet());
 	}
 
 	@Override
@@ -280,15 +270,7 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 		if (player == null) {
 			throw new IllegalArgumentException();
 		}
-		final Collection<ICard> retVal = new ArrayList<ICard>();
-		if (player.getCurrentHand() != null) {
-			for (final ICard card : player.getCurrentHand()) {
-				if (isCardTrump(game, card)) {
-					retVal.add(card);
-				}
-			}
-		}
-		return retVal;
+		return CardSet.toList(player.getCurrentHandSet() & getRuleSet(game).getTrumpSet());
 	}
 
 	@Override
@@ -300,124 +282,57 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 	@Override
 	public Collection<ICard> getAvailableCards(final IPlayerData player) {
 
+		return CardSet.toList(getAvailableCardSet(player));
+	}
+
+	@Override
+	public int getAvailableCardSet() {
+
+		return getAvailableCardSet(povPlayerData);
+	}
+
+	@Override
+	public int getAvailableCardSet(final IPlayerData player) {
+
 		if (player == null) {
 			throw new IllegalArgumentException();
 		}
-		final Collection<ICard> availableCards = new ArrayList<ICard>();
 		if (!getRestrictedGameData().getGameState().equals(GameState.PLAY)) {
-			return availableCards;
-		}
-		try {
-			final ICard firstCard = getFirstPlayedCard();
-			if (player.getCurrentHand() != null) {
-				// in a SAUSPIEL more rules have to be regarded
-				if (getRestrictedGameData().getGameType().equals(GameType.SAUSPIEL)) {
-					// player comes out
-					if (firstCard == null) {
-						if (isLeadPlayerMate(player)) {
-							final boolean isAllowedToRunAway = isAllowedToRunAway(player);
-							for (final ICard card : player.getCurrentHand()) {
-								// player is allowed to play the card, if one of the
-								// following is true:
-								// players know each other | card is not of mate
-								// color | player is allowed to run away | card is
-								// mate sau
-								if (getRestrictedGameData().getPlayerTeam().size() == 2 || !card.getColor().equals(getRestrictedGameData().getColor()) || isAllowedToRunAway
-										|| card.getValue().equals(CardValue.SAU)) {
-									availableCards.add(card);
-								}
-							}
-						} else {
-							availableCards.addAll(player.getCurrentHand());
-						}
-					}
-					// player must serve a player before him
-					else {
-						final boolean matesUnknown = getRestrictedGameData().getPlayerTeam().size() < 2;
-						// trump is played
-						if (isCardTrump(firstCard)) {
-							final Collection<ICard> trumpCards = getAllTrumpCards(player);
-							// player has no trump, so he doesn't need to serve
-							if (trumpCards.isEmpty()) {
-								availableCards.addAll(player.getCurrentHand());
-								// if the player is mate and the mate has not been
-								// searched yet, he must not play the mate SAU
-								// expect it is the last card on his hand
-								if (matesUnknown && isLeadPlayerMate(player) && getPovPlayerData().getCurrentHand().size() > 1) {
-									availableCards.remove(StackHandler.getInstance().getCardByColorAndValue(getRestrictedGameData().getColor(), CardValue.SAU));
-								}
-								availableCards.addAll(trumpCards);
-							}
-							// player has trump, so he must serve with trump
-							else {
-								availableCards.addAll(trumpCards);
-							}
-						}
-						// color is played
-						else {
-							final Collection<ICard> colorCards = getAllColorCards(player, firstCard.getColor());
-							// player has no color, so he can doesn't need to serve
-							if (colorCards.isEmpty()) {
-								availableCards.addAll(player.getCurrentHand());
-								// if the player is mate and the mate has not been
-								// searched yet, he must not play the mate SAU
-								if (matesUnknown && isLeadPlayerMate(player) && getPovPlayerData().getCurrentHand().size() > 1) {
-									availableCards.remove(StackHandler.getInstance().getCardByColorAndValue(getRestrictedGameData().getColor(), CardValue.SAU));
-								}
-							}
-							// player has color and so has to serve
-							else {
-								// if mate is searched we have to serve with the
-								// mate
-								// sau
-								if (isMateSearchedInThisRound() && isLeadPlayerMate(player)) {
-									availableCards.add(StackHandler.getInstance().getCardByColorAndValue(getRestrictedGameData().getColor(), CardValue.SAU));
-								} else {
-									availableCards.addAll(colorCards);
-								}
-							}
-						}
-					}
-				}
-				// in a solo game rules over searching the mate need not be observed
-				else {
-					// player comes out
-					if (firstCard == null) {
-						availableCards.addAll(player.getCurrentHand());
-					} else {
-						// trump is played
-						if (isCardTrump(firstCard)) {
-							final Collection<ICard> trumpCards = getAllTrumpCards(player);
-							// player has no trump and can play what he wants
-							if (trumpCards.isEmpty()) {
-								availableCards.addAll(player.getCurrentHand());
-							}
-							// player has trump, so he must serve with trump
-							else {
-								availableCards.addAll(trumpCards);
-							}
-						}
-						// color is played
-						else {
-							final Collection<ICard> colorCards = getAllColorCards(player, firstCard.getColor());
-							// player has no color and can play what he wants
-							if (colorCards.isEmpty()) {
-								availableCards.addAll(player.getCurrentHand());
-							}
-							// player has color and must serve
-							else {
-								availableCards.addAll(colorCards);
-							}
-						}
-					}
-				}
+			return CardSet.EMPTY;
+		}
+		final int hand = player.getCurrentHandSet();
+		final ICard firstCard = getFirstPlayedCard();
+		final IRuleSet ruleSet = getRuleSet();
+		// the cards the player has to serve with, if a card is played before
+		final int servingCards = firstCard == null ? CardSet.EMPTY : hand & ruleSet.getFollowSet(firstCard.getOrdinal());
+
+		// in a SAUSPIEL more rules have to be regarded, as long as the player
+		// is the mate and the mates do not know each other
+		if (!getRestrictedGameData().getGameType().equals(GameType.SAUSPIEL) || getRestrictedGameData().getPlayerTeam().size() == 2 || !isLeadPlayerMate(player)) {
+			// player comes out or has to serve if he can
+			return servingCards == CardSet.EMPTY ? hand : servingCards;
+		}
+		final CardColor mateColor = getRestrictedGameData().getColor();
+		final int mateSau = 1 << CardSet.ordinal(mateColor, CardValue.SAU);
+		// player comes out
+		if (firstCard == null) {
+			// player must not play the mate color, except the mate sau or if
+			// he is allowed to run away
+			if (isAllowedToRunAway(player)) {
+				return hand;
 			}
-			return availableCards;
-		} catch (final NullPointerException e) {
-			// seems game data is corrupt!! must noch happen, please check tests
-			availableCards.clear();
-			return availableCards;
+			return hand & ~(ruleSet.getSuitSet(mateColor) & ~mateSau);
 		}
+		// player has not to serve, but must not play the mate sau except it
+		// is the last card on his hand
+		if (servingCards == CardSet.EMPTY) {
+			return CardSet.size(hand) > 1 ? hand & ~mateSau : hand;
+		}
+		// if mate is searched we have to serve with the mate sau
+		if (isMateSearchedInThisRound()) {
+			return servingCards & mateSau;
+		}
+		return servingCards;
 	}
 
 	@Override
@@ -532,19 +447,48 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 			return retVal;
 		}
 		// player is not allowed to play the card
-		else if (!getAvailableCards(playerData).contains(card)) {
+		else if (card == null || (getAvailableCardSet(playerData) & CardSet.bit(card)) == 0) {
 			retVal = ActionValidationCode.CARD_NOTALLOWED;
 		}
 
 		return retVal;
 	}
 
+	@Override
+	public int getPossibleCardSet(final PlayerPosition position) {
+
+		if (position == povPlayerData.getPosition()) {
+			return povPlayerData.getCurrentHandSet();
+		}
+		return getRestrictedGameData().getRestrictedPlayerDatas().get(position).getPossibleCardSet() & ~povPlayerData.getCurrentHandSet();
+	}
+
 	@Override
 	public IPlayerData getPovPlayerData() {
 
 		return povPlayerData;
 	}
 
+	@Override
+	public int getRemainingTrumpSet() {
+
+		final GameType gameType = getRestrictedGameData().getGameType();
+		if (gameType == null || gameType == GameType.PASS) {
+			return CardSet.EMPTY;
+		}
+		return getUnknownCardSet() & getRuleSet().getTrumpSet();
+	}
+
+	@Override
+	public List<ICard> getSortedHand() {
+
+		final List<ICard> hand = new ArrayList<ICard>(povPlayerData.getCurrentHand());
+		if (getRestrictedGameData().getGameType() != null) {
+			Collections.sort(hand, new CardComparator(getRestrictedGameData().getGameType(), getTrumpColor()));
+		}
+		return hand;
+	}
+
 	@Override
 	public ActionValidationCode getRaiseValidationCode(final IPlayerData playerData) {
 
@@ -592,6 +536,19 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 		return retVal;
 	}
 
+	@Override
+	public int getUnknownCardSet() {
+
+		// every card held by another player is possible for him, so the possible cards of the others are the unknown cards
+		int unknown = CardSet.EMPTY;
+		for (final IRestrictedPlayerData player : getRestrictedGameData().getRestrictedPlayerDatas().values()) {
+			if (player.getPosition() != povPlayerData.getPosition()) {
+				unknown |= player.getPossibleCardSet();
+			}
+		}
+		return unknown & ~povPlayerData.getCurrentHandSet();
+	}
+
 	@Override
 	public boolean hasSi() {
 
@@ -824,10 +781,7 @@ public class PlayerUtils extends GameUtils implements IPlayerUtils {
 		if (player == null || color == null || value == null) {
 			throw new IllegalArgumentException();
 		}
-		if (player.getCurrentHand() == null) {
-			return false;
-		}
-		return player.getCurrentHand().contains(StackHandler.getInstance().getCardByColorAndValue(color, value));
+		return (player.getCurrentHandSet() & 1 << CardSet.ordinal(color, value)) != 0;
 	}
 
 	@Override
@@ -0,0 +1,74 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+
+/**
+ * This class implements the randomness provider by splitting a {@link SplittableRandom} seeded with the root seed.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The streams are split once at construction, in a fixed order: the stack stream first, then the player streams in the order of the positions. Providers with
+ * the same root seed thus offer the same streams.<br>
+ * - Every call returns the same stream instance, the streams are not reset.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class RandomnessProvider implements IRandomnessProvider {
+
+	/**
+	 * The streams of the players indicated by their position.
+	 */
+	private final Map<PlayerPosition, SplittableRandom> playerRandoms;
+	/**
+	 * The seed all streams are derived from.
+	 */
+	private final long rootSeed;
+	/**
+	 * The stream the stacks are shuffled with.
+	 */
+	private final SplittableRandom stackRandom;
+
+	/**
+	 * Instantiate the provider with the given root seed.
+	 *
+	 * @param rootSeed
+	 *            the seed all streams are derived from.
+	 */
+	public RandomnessProvider(final long rootSeed) {
+
+		final SplittableRandom root = new SplittableRandom(rootSeed);
+		this.rootSeed = rootSeed;
+		this.stackRandom = root.split();
+		this.playerRandoms = new EnumMap<PlayerPosition, SplittableRandom>(PlayerPosition.class);
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			playerRandoms.put(position, root.split());
+		}
+	}
+
+	@Override
+	public SplittableRandom getPlayerRandom(final PlayerPosition position) {
+
+		if (position == null) {
+			throw new IllegalArgumentException();
+		}
+		return playerRandoms.get(position);
+	}
+
+	@Override
+	public long getRootSeed() {
+
+		return rootSeed;
+	}
+
+	@Override
+	public SplittableRandom getStackRandom() {
+
+		return stackRandom;
+	}
+}
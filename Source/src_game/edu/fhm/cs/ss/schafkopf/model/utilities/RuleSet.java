@@ -0,0 +1,274 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This immutable class holds the compiled card rules for a game type and trump color.<br>
+ * <br>
+ *
+ * The rule sets for all combinations are created once when the class is loaded and are accessed via {@link #getInstance(GameType, CardColor)}. The trump
+ * color is ignored for game types without trump color.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public final class RuleSet implements IRuleSet {
+
+	/**
+	 * All rule sets indicated by game type ordinal and trump color ordinal. The last index of each dimension is used for null.
+	 */
+	private static final IRuleSet[][] RULE_SETS = compileRuleSets();
+
+	/**
+	 * The follow sets indicated by card ordinal.
+	 */
+	private final int[] followSets;
+	/**
+	 * The game type. Null for the default rules.
+	 */
+	private final GameType gameType;
+	/**
+	 * All high trump cards.
+	 */
+	private final int highTrumpSet;
+	/**
+	 * The ranks indicated by card ordinal.
+	 */
+	private final int[] ranks;
+	/**
+	 * All cards, highest first.
+	 */
+	private final List<ICard> sortedCards;
+	/**
+	 * The cards of every color that are no trump, indicated by color ordinal.
+	 */
+	private final int[] suitSets;
+	/**
+	 * The trump color. Null if there is none.
+	 */
+	private final CardColor trumpColor;
+	/**
+	 * All trump cards.
+	 */
+	private final int trumpSet;
+
+	/**
+	 * Compile the rules for the given parameters.
+	 *
+	 * @param gameType
+	 *            the game type, null for the default rules with Ober and Unter as high trumps.
+	 * @param trumpColor
+	 *            the trump color, null if there is none.
+	 */
+	private RuleSet(final GameType gameType, final CardColor trumpColor) {
+
+		this.gameType = gameType;
+		this.trumpColor = trumpColor;
+		this.highTrumpSet = compileHighTrumpSet(gameType);
+		this.trumpSet = trumpColor == null ? highTrumpSet : highTrumpSet | CardSet.colorMask(trumpColor);
+
+		this.suitSets = new int[CardColor.values().length];
+		for (final CardColor color : CardColor.values()) {
+			suitSets[color.ordinal()] = CardSet.colorMask(color) & ~trumpSet;
+		}
+
+		this.ranks = new int[IStackHandler.NUMBER_OF_CARDS];
+		this.followSets = new int[IStackHandler.NUMBER_OF_CARDS];
+		final ICard[] cards = new ICard[IStackHandler.NUMBER_OF_CARDS];
+		for (int ordinal = 0; ordinal < IStackHandler.NUMBER_OF_CARDS; ++ordinal) {
+			final ICard card = CardSet.card(ordinal);
+			final int bit = 1 << ordinal;
+			cards[ordinal] = card;
+			if ((highTrumpSet & bit) != 0) {
+				ranks[ordinal] = (card.getValue().equals(CardValue.OBER) ? CardComparator.MULTI_OBER : CardComparator.MULTI_UNTER) + card.getColor().number;
+			} else if ((trumpSet & bit) != 0) {
+				ranks[ordinal] = CardComparator.MULTI_TRUMP + card.getValue().number;
+			} else {
+				ranks[ordinal] = CardComparator.MULTI_COLOR * card.getColor().number + card.getValue().number;
+			}
+			followSets[ordinal] = (trumpSet & bit) != 0 ? trumpSet : suitSets[card.getColor().ordinal()];
+		}
+		Arrays.sort(cards, new Comparator<ICard>() {
+
+			@Override
+			public int compare(final ICard first, final ICard second) {
+
+				return ranks[second.getOrdinal()] - ranks[first.getOrdinal()];
+			}
+		});
+		this.sortedCards = Collections.unmodifiableList(Arrays.asList(cards));
+	}
+
+	/**
+	 * Returns the compiled rules for a game type and trump color.
+	 *
+	 * @param gameType
+	 *            the game type, null for the default rules with Ober and Unter as high trumps.
+	 * @param trumpColor
+	 *            the trump color, may be null.
+	 * @return the rule set.
+	 */
+	public static IRuleSet getInstance(final GameType gameType, final CardColor trumpColor) {
+
+		return RULE_SETS[gameType == null ? GameType.values().length : gameType.ordinal()][trumpColor == null ? CardColor.values().length : trumpColor.ordinal()];
+	}
+
+	/**
+	 * Calculate the high trump cards of a game type.
+	 *
+	 * @param gameType
+	 *            the game type, may be null.
+	 * @return the set of high trump cards.
+	 */
+	private static int compileHighTrumpSet(final GameType gameType) {
+
+		if (gameType == null) {
+			return CardSet.valueMask(CardValue.OBER) | CardSet.valueMask(CardValue.UNTER);
+		}
+		switch (gameType) {
+			case SI:
+			case SOLO:
+			case SOLO_TOUT:
+			case SAUSPIEL:
+				return CardSet.valueMask(CardValue.OBER) | CardSet.valueMask(CardValue.UNTER);
+			case WENZ:
+			case WENZ_TOUT:
+			case FARBWENZ:
+			case FARBWENZ_TOUT:
+				return CardSet.valueMask(CardValue.UNTER);
+			default:
+				return CardSet.EMPTY;
+		}
+	}
+
+	/**
+	 * Compile all rule sets. Used for initialization of static values.
+	 *
+	 * @return the rule sets indicated by game type ordinal and trump color ordinal.
+	 */
+	private static IRuleSet[][] compileRuleSets() {
+
+		final GameType[] gameTypes = Arrays.copyOf(GameType.values(), GameType.values().length + 1);
+		final CardColor[] colors = Arrays.copyOf(CardColor.values(), CardColor.values().length + 1);
+		final IRuleSet[][] ruleSets = new IRuleSet[gameTypes.length][colors.length];
+		for (int i = 0; i < gameTypes.length; ++i) {
+			for (int j = 0; j < colors.length; ++j) {
+				ruleSets[i][j] = new RuleSet(gameTypes[i], hasTrumpColor(gameTypes[i]) ? colors[j] : null);
+			}
+		}
+		return ruleSets;
+	}
+
+	/**
+	 * @param gameType
+	 *            the game type, may be null.
+	 * @return true if a trump color is used for this game type.
+	 */
+	private static boolean hasTrumpColor(final GameType gameType) {
+
+		return gameType != null && gameType.needsColor;
+	}
+
+	@Override
+	public boolean dominates(final int first, final int second) {
+
+		if ((followSets[first] & 1 << second) != 0) {
+			return ranks[second] > ranks[first];
+		}
+		return (trumpSet & 1 << second) != 0;
+	}
+
+	@Override
+	public boolean dominates(final ICard first, final ICard second) {
+
+		return dominates(first.getOrdinal(), second.getOrdinal());
+	}
+
+	@Override
+	public int getFollowSet(final int ordinal) {
+
+		return followSets[ordinal];
+	}
+
+	@Override
+	public GameType getGameType() {
+
+		return gameType;
+	}
+
+	@Override
+	public int getHighTrumpSet() {
+
+		return highTrumpSet;
+	}
+
+	@Override
+	public int getRank(final int ordinal) {
+
+		return ranks[ordinal];
+	}
+
+	@Override
+	public List<ICard> getSortedCards() {
+
+		return sortedCards;
+	}
+
+	@Override
+	public int getSuitSet(final CardColor color) {
+
+		return suitSets[color.ordinal()];
+	}
+
+	@Override
+	public CardColor getTrumpColor() {
+
+		return trumpColor;
+	}
+
+	@Override
+	public int getTrumpSet() {
+
+		return trumpSet;
+	}
+
+	@Override
+	public boolean isHighTrump(final ICard card) {
+
+		return (highTrumpSet & CardSet.bit(card)) != 0;
+	}
+
+	@Override
+	public boolean isTrump(final ICard card) {
+
+		return (trumpSet & CardSet.bit(card)) != 0;
+	}
+
+	@Override
+	public String toString() {
+
+		return gameType + " " + trumpColor;
+	}
+
+	@Override
+	public int winnerIndex(final int... ordinals) {
+
+		int winner = 0;
+		for (int i = 1; i < ordinals.length; ++i) {
+			if (dominates(ordinals[winner], ordinals[i])) {
+				winner = i;
+			}
+		}
+		return winner;
+	}
+}
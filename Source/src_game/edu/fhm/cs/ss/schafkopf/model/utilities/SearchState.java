@@ -0,0 +1,789 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.ISearchState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData;
+
+/**
+ * This class implements a search state on primitive fields.<br>
+ * <br>
+ *
+ * Players are indicated by the ordinal of their position. Every move pushes the values it overwrites packed into one int to the history, see the MOVE_ and
+ * SHIFT_ constants, the played cards of all rounds are kept. Thus a move and its undo only consist of a few field assignments and do not allocate any
+ * objects.<br>
+ * <br>
+ *
+ * The history starts with the instantiation, moves made before can not be undone.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class SearchState implements ISearchState {
+
+	/** Move type of playing a card. */
+	private static final int MOVE_PLAY = 0;
+	/** Move type of choosing a game. */
+	private static final int MOVE_CHOOSE = 1;
+	/** Move type of striking. */
+	private static final int MOVE_STRIKE = 2;
+	/** Move type of striking back. */
+	private static final int MOVE_STRIKEBACK = 3;
+	/** Shift of the card ordinal or the striking flag. */
+	private static final int SHIFT_VALUE = 2;
+	/** Shift of the previous game state. */
+	private static final int SHIFT_STATE = 8;
+	/** Shift of the previous player on turn. */
+	private static final int SHIFT_ON_TURN = 11;
+	/** Shift of the previous first player of the round. */
+	private static final int SHIFT_ROUNDS_FIRST = 13;
+	/** Shift of the previous winner of the last round plus one. */
+	private static final int SHIFT_LAST_WINNER = 15;
+	/** Shift of the previous team known flag. */
+	private static final int SHIFT_TEAM_KNOWN = 18;
+	/** Shift of the previous game type plus one. */
+	private static final int SHIFT_GAME_TYPE = 19;
+	/** Shift of the previous color plus one. */
+	private static final int SHIFT_COLOR = 23;
+	/** Shift of the previous lead player plus one. */
+	private static final int SHIFT_LEAD = 26;
+	/** Mask for two bits. */
+	private static final int MASK_2 = 0x3;
+	/** Mask for three bits. */
+	private static final int MASK_3 = 0x7;
+	/** Mask for four bits. */
+	private static final int MASK_4 = 0xF;
+	/** Mask for six bits. */
+	private static final int MASK_6 = 0x3F;
+	/** All colors indicated by ordinal. */
+	private static final CardColor[] COLORS = CardColor.values();
+	/** All game states indicated by ordinal. */
+	private static final GameState[] GAME_STATES = GameState.values();
+	/** All game types indicated by ordinal. */
+	private static final GameType[] GAME_TYPES = GameType.values();
+	/** All positions indicated by ordinal. */
+	private static final PlayerPosition[] POSITIONS = PlayerPosition.values();
+
+	/** The color of the game, for the lead player's choice while the game is chosen. */
+	private CardColor color;
+	/** The number of cards on the table. */
+	private int cardsOnTable;
+	/** The first player of the game. */
+	private final int gamesFirstPlayer;
+	/** The game state. */
+	private GameState gameState;
+	/** The game type. */
+	private GameType gameType;
+	/** The hands indicated by position. */
+	private final int[] hands;
+	/** The moves packed with the values they changed. */
+	private final int[] history;
+	/** The number of moves in the history. */
+	private int historySize;
+	/** The winner of the last round, -1 if there is none. */
+	private int lastRoundsWinner;
+	/** The lead player, -1 if there is none. */
+	private int leadPlayer;
+	/** The lead player's mate, -1 if there is none. */
+	private int mate;
+	/** The player on turn. */
+	private int playerOnTurn;
+	/** The points indicated by position. */
+	private final int[] points;
+	/** The round number. */
+	private int roundNumber;
+	/** The first player of the current round. */
+	private int roundsFirstPlayer;
+	/** The rules of the game. */
+	private IRuleSet ruleSet;
+	/** The number of strikes and strike backs. */
+	private int strikeMultiplier;
+	/** The set of cards on the table. */
+	private int tableSet;
+	/** True if all players know the teams. */
+	private boolean teamKnown;
+	/** The played card ordinals indicated by round number * 4 + index in the round. */
+	private final int[] trickCards;
+	/** The won cards indicated by position. */
+	private final int[] wonCards;
+
+	/**
+	 * Instantiate the state from full access game data, the hands are taken from the player data.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @throws IllegalArgumentException
+	 *             if the game data is null or the cards are not dealt yet.
+	 */
+	public SearchState(final IGameData gameData) {
+
+		this(gameData, readHands(gameData), readChosenColor(gameData));
+	}
+
+	/**
+	 * Instantiate the state from restricted game data and the hands of all players, e.g. a sampled distribution of the unknown cards.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null, the number of hands is wrong or the cards are not dealt yet.
+	 */
+	public SearchState(final IRestrictedGameData gameData, final int[] hands) {
+
+		this(gameData, hands, gameData == null ? null : gameData.getColor());
+	}
+
+	/**
+	 * Instantiate the state of a new game with the given hands, before any player has chosen a game, e.g. a sampled deal.
+	 *
+	 * @param gamesFirstPlayer
+	 *            the first player of the game, he chooses first and plays the first card.
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @throws IllegalArgumentException
+	 *             if an argument is null or the number of hands is wrong.
+	 */
+	public SearchState(final PlayerPosition gamesFirstPlayer, final int[] hands) {
+
+		if (gamesFirstPlayer == null || hands == null || hands.length != IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		this.hands = hands.clone();
+		this.history = new int[MAX_MOVES];
+		this.historySize = 0;
+		this.points = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.wonCards = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.trickCards = new int[IRestrictedGameData.ROUNDS_PER_GAME * IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.gameState = GameState.CHOOSE;
+		this.gameType = null;
+		this.color = null;
+		this.ruleSet = getRuleSet(null, null);
+		this.gamesFirstPlayer = gamesFirstPlayer.ordinal();
+		this.playerOnTurn = this.gamesFirstPlayer;
+		this.roundsFirstPlayer = this.gamesFirstPlayer;
+		// like the game data, the round number is -1 until all players have chosen
+		this.roundNumber = -1;
+		this.leadPlayer = -1;
+		this.lastRoundsWinner = -1;
+		this.strikeMultiplier = 0;
+		this.mate = -1;
+		this.teamKnown = false;
+	}
+
+	/**
+	 * Copy constructor, the history is not copied.
+	 *
+	 * @param toCopy
+	 *            the state to copy.
+	 */
+	public SearchState(final SearchState toCopy) {
+
+		this.color = toCopy.color;
+		this.cardsOnTable = toCopy.cardsOnTable;
+		this.gamesFirstPlayer = toCopy.gamesFirstPlayer;
+		this.gameState = toCopy.gameState;
+		this.gameType = toCopy.gameType;
+		this.hands = toCopy.hands.clone();
+		this.history = new int[MAX_MOVES];
+		this.historySize = 0;
+		this.lastRoundsWinner = toCopy.lastRoundsWinner;
+		this.leadPlayer = toCopy.leadPlayer;
+		this.mate = toCopy.mate;
+		this.playerOnTurn = toCopy.playerOnTurn;
+		this.points = toCopy.points.clone();
+		this.roundNumber = toCopy.roundNumber;
+		this.roundsFirstPlayer = toCopy.roundsFirstPlayer;
+		this.ruleSet = toCopy.ruleSet;
+		this.strikeMultiplier = toCopy.strikeMultiplier;
+		this.tableSet = toCopy.tableSet;
+		this.teamKnown = toCopy.teamKnown;
+		this.trickCards = toCopy.trickCards.clone();
+		this.wonCards = toCopy.wonCards.clone();
+	}
+
+	/**
+	 * Copy constructor with other hands, e.g. another sampled distribution of the unknown cards. The history is not copied.
+	 *
+	 * @param toCopy
+	 *            the state to copy.
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @throws IllegalArgumentException
+	 *             if the number of hands is wrong.
+	 */
+	public SearchState(final SearchState toCopy, final int[] hands) {
+
+		this(toCopy);
+		if (hands == null || hands.length != IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		System.arraycopy(hands, 0, this.hands, 0, hands.length);
+		// the mate is defined by the hands, as long as the teams are not known
+		if (gameState != GameState.CHOOSE && gameType == GameType.SAUSPIEL && !teamKnown) {
+			mate = findMate();
+		}
+	}
+
+	/**
+	 * Instantiate the state with the given parameters.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @param chosenColor
+	 *            the color of the game or the color chosen by the lead player so far.
+	 */
+	private SearchState(final IRestrictedGameData gameData, final int[] hands, final CardColor chosenColor) {
+
+		if (gameData == null || hands == null || hands.length != IRestrictedGameData.NUMBER_OF_PLAYERS) {
+			throw new IllegalArgumentException();
+		}
+		if (gameData.getGameState() == GameState.GET_RAISE) {
+			throw new IllegalArgumentException("Cards are not dealt yet.");
+		}
+		this.hands = hands.clone();
+		this.history = new int[MAX_MOVES];
+		this.historySize = 0;
+		this.points = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.wonCards = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.trickCards = new int[IRestrictedGameData.ROUNDS_PER_GAME * IRestrictedGameData.NUMBER_OF_PLAYERS];
+		this.gameState = gameData.getGameState();
+		this.gameType = gameData.getGameType();
+		this.color = chosenColor;
+		this.ruleSet = getRuleSet(gameType, color);
+		this.gamesFirstPlayer = gameData.getGamesFirstPlayerPosition().ordinal();
+		this.playerOnTurn = gameData.getPlayerOnTurnPosition().ordinal();
+		this.roundsFirstPlayer = gameData.getRoundsFirstPlayerPosition().ordinal();
+		this.roundNumber = gameData.getRoundNumber();
+		this.leadPlayer = toOrdinal(gameData.getLeadPlayerPosition());
+		this.lastRoundsWinner = toOrdinal(gameData.getLastRoundsWinner());
+		this.strikeMultiplier = gameData.getCharge() == null ? 0 : gameData.getCharge().getStrikeMultiplier();
+		for (final IRestrictedPlayerData player : gameData.getRestrictedPlayerDatas().values()) {
+			points[player.getPosition().ordinal()] = player.getPoints();
+			wonCards[player.getPosition().ordinal()] = player.getWonCardSet();
+		}
+		// the cards on the table in the order they were played
+		int position = roundsFirstPlayer;
+		for (int i = 0; i < IRestrictedGameData.NUMBER_OF_PLAYERS; ++i) {
+			final ICard card = gameData.getRestrictedPlayerDatas().get(POSITIONS[position]).getPlayedCard();
+			if (card == null) {
+				break;
+			}
+			trickCards[roundNumber * IRestrictedGameData.NUMBER_OF_PLAYERS + cardsOnTable++] = card.getOrdinal();
+			tableSet |= CardSet.bit(card);
+			position = next(position);
+		}
+		// teams
+		this.mate = -1;
+		this.teamKnown = gameState != GameState.CHOOSE && gameType != null && !gameType.isPartnerGame;
+		if (gameState != GameState.CHOOSE && gameType == GameType.SAUSPIEL) {
+			final List<PlayerPosition> playerTeam = gameData.getPlayerTeam();
+			if (playerTeam != null && playerTeam.size() == 2) {
+				mate = playerTeam.get(0).ordinal() == leadPlayer ? playerTeam.get(1).ordinal() : playerTeam.get(0).ordinal();
+				teamKnown = true;
+			} else {
+				mate = findMate();
+			}
+		}
+	}
+
+	/**
+	 * @param gameType
+	 *            the game type, may be null.
+	 * @param color
+	 *            the color of the game, may be null.
+	 * @return the rules of the game, in a Sauspiel the trump color is {@link IRestrictedGameData#SAUSPIEL_TRUMP_COLOR}.
+	 */
+	private static IRuleSet getRuleSet(final GameType gameType, final CardColor color) {
+
+		return RuleSet.getInstance(gameType, gameType == GameType.SAUSPIEL ? IRestrictedGameData.SAUSPIEL_TRUMP_COLOR : color);
+	}
+
+	/**
+	 * Read the lead player's chosen color, if the game is not started yet.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @return the chosen color.
+	 */
+	private static CardColor readChosenColor(final IGameData gameData) {
+
+		if (gameData == null) {
+			throw new IllegalArgumentException();
+		}
+		if (gameData.getGameState() == GameState.CHOOSE && gameData.getLeadPlayerPosition() != null) {
+			return gameData.getPlayerDatas().get(gameData.getLeadPlayerPosition()).getChosenGame().getColor();
+		}
+		return gameData.getColor();
+	}
+
+	/**
+	 * Read the hands of all players.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @return the hands indicated by position ordinal.
+	 */
+	private static int[] readHands(final IGameData gameData) {
+
+		if (gameData == null) {
+			throw new IllegalArgumentException();
+		}
+		final int[] hands = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+		for (final PlayerPosition position : POSITIONS) {
+			hands[position.ordinal()] = gameData.getPlayerDatas().get(position).getCurrentHandSet();
+		}
+		return hands;
+	}
+
+	/**
+	 * @param position
+	 *            the position.
+	 * @return the next position.
+	 */
+	private static int next(final int position) {
+
+		return position + 1 & MASK_2;
+	}
+
+	/**
+	 * @param ordinal
+	 *            the color ordinal, may be -1.
+	 * @return the color, null for -1.
+	 */
+	private static CardColor toColor(final int ordinal) {
+
+		return ordinal < 0 ? null : COLORS[ordinal];
+	}
+
+	/**
+	 * @param ordinal
+	 *            the game type ordinal, may be -1.
+	 * @return the game type, null for -1.
+	 */
+	private static GameType toGameType(final int ordinal) {
+
+		return ordinal < 0 ? null : GAME_TYPES[ordinal];
+	}
+
+	/**
+	 * @param position
+	 *            the position ordinal, may be -1.
+	 * @return the position, null for -1.
+	 */
+	private static PlayerPosition toPosition(final int position) {
+
+		return position < 0 ? null : POSITIONS[position];
+	}
+
+	/**
+	 * @param position
+	 *            the position, may be null.
+	 * @return the position ordinal, -1 for null.
+	 */
+	private static int toOrdinal(final PlayerPosition position) {
+
+		return position == null ? -1 : position.ordinal();
+	}
+
+	@Override
+	public void choose(final GameType chosenGameType, final CardColor chosenColor) {
+
+		if (chosenGameType == null) {
+			throw new IllegalArgumentException();
+		}
+		if (gameState != GameState.CHOOSE) {
+			throw new IllegalStateException();
+		}
+		push(MOVE_CHOOSE);
+		if (chosenGameType.dominates(gameType)) {
+			gameType = chosenGameType;
+			color = chosenColor;
+			leadPlayer = playerOnTurn;
+			ruleSet = getRuleSet(gameType, color);
+		}
+		playerOnTurn = next(playerOnTurn);
+		// all players have chosen
+		if (playerOnTurn == gamesFirstPlayer) {
+			teamKnown = !gameType.isPartnerGame;
+			if (gameType == GameType.PASS) {
+				gameState = GameState.FINISHED;
+			} else {
+				mate = gameType == GameType.SAUSPIEL ? findMate() : -1;
+				roundNumber = 0;
+				gameState = GameState.PLAY;
+			}
+		}
+	}
+
+	@Override
+	public int getCardsOnTable() {
+
+		return tableSet;
+	}
+
+	@Override
+	public CardColor getColor() {
+
+		return color;
+	}
+
+	@Override
+	public int getFirstPlayedCard() {
+
+		return cardsOnTable == 0 ? -1 : trickCards[roundNumber * IRestrictedGameData.NUMBER_OF_PLAYERS];
+	}
+
+	@Override
+	public GameState getGameState() {
+
+		return gameState;
+	}
+
+	@Override
+	public GameType getGameType() {
+
+		return gameType;
+	}
+
+	@Override
+	public int getHand(final PlayerPosition position) {
+
+		return hands[position.ordinal()];
+	}
+
+	@Override
+	public int getHistorySize() {
+
+		return historySize;
+	}
+
+	@Override
+	public PlayerPosition getLastRoundsWinner() {
+
+		return toPosition(lastRoundsWinner);
+	}
+
+	@Override
+	public PlayerPosition getLeadPlayerPosition() {
+
+		return toPosition(leadPlayer);
+	}
+
+	@Override
+	public int getLegalMoves() {
+
+		if (gameState != GameState.PLAY) {
+			return CardSet.EMPTY;
+		}
+		final int hand = hands[playerOnTurn];
+		final int firstCard = getFirstPlayedCard();
+		// the cards the player has to serve with, if a card is played before
+		final int servingCards = firstCard < 0 ? CardSet.EMPTY : hand & ruleSet.getFollowSet(firstCard);
+		// in a sauspiel more rules have to be regarded, as long as the player is the mate and the mates do not know each other
+		if (gameType != GameType.SAUSPIEL || teamKnown || playerOnTurn != mate) {
+			return servingCards == CardSet.EMPTY ? hand : servingCards;
+		}
+		final int mateSuit = ruleSet.getSuitSet(color);
+		final int mateSau = 1 << CardSet.ordinal(color, CardValue.SAU);
+		// player comes out and must not play the mate color, except the mate sau or if he is allowed to run away
+		if (firstCard < 0) {
+			return CardSet.size(hand & mateSuit) > IRestrictedGameData.CARDS_NEEDED_TO_RUN_AWAY ? hand : hand & ~(mateSuit & ~mateSau);
+		}
+		// player has not to serve, but must not play the mate sau except it is the last card on his hand
+		if (servingCards == CardSet.EMPTY) {
+			return CardSet.size(hand) > 1 ? hand & ~mateSau : hand;
+		}
+		// if mate is searched we have to serve with the mate sau
+		if (isMateSearched(firstCard)) {
+			return servingCards & mateSau;
+		}
+		return servingCards;
+	}
+
+	@Override
+	public PlayerPosition getMatePosition() {
+
+		return toPosition(mate);
+	}
+
+	@Override
+	public int getPlayedCard(final PlayerPosition position) {
+
+		final int index = position.ordinal() - roundsFirstPlayer & MASK_2;
+		return index < cardsOnTable ? trickCards[roundNumber * IRestrictedGameData.NUMBER_OF_PLAYERS + index] : -1;
+	}
+
+	@Override
+	public PlayerPosition getPlayerOnTurnPosition() {
+
+		return POSITIONS[playerOnTurn];
+	}
+
+	@Override
+	public int getPoints(final PlayerPosition position) {
+
+		return points[position.ordinal()];
+	}
+
+	@Override
+	public int getRoundNumber() {
+
+		return roundNumber;
+	}
+
+	@Override
+	public PlayerPosition getRoundsFirstPlayerPosition() {
+
+		return POSITIONS[roundsFirstPlayer];
+	}
+
+	@Override
+	public IRuleSet getRuleSet() {
+
+		return ruleSet;
+	}
+
+	@Override
+	public int getStrikeMultiplier() {
+
+		return strikeMultiplier;
+	}
+
+	@Override
+	public int getTeamPoints(final Team team) {
+
+		final int playerTeamPoints = leadPlayer < 0 ? 0 : points[leadPlayer] + (mate < 0 ? 0 : points[mate]);
+		if (team == Team.PLAYER_TEAM) {
+			return playerTeamPoints;
+		}
+		return points[0] + points[1] + points[2] + points[3] - playerTeamPoints;
+	}
+
+	@Override
+	public Team getWinnerTeam() {
+
+		if (gameState != GameState.FINISHED || gameType == GameType.PASS) {
+			return null;
+		}
+		final int opponentTeamPoints = getTeamPoints(Team.OPPONENT_TEAM);
+		if (gameType.isExclusive) {
+			return opponentTeamPoints == 0 ? Team.PLAYER_TEAM : Team.OPPONENT_TEAM;
+		}
+		return getTeamPoints(Team.PLAYER_TEAM) > opponentTeamPoints ? Team.PLAYER_TEAM : Team.OPPONENT_TEAM;
+	}
+
+	@Override
+	public int getWonCards(final PlayerPosition position) {
+
+		return wonCards[position.ordinal()];
+	}
+
+	@Override
+	public boolean isPlayerTeam(final PlayerPosition position) {
+
+		return position.ordinal() == leadPlayer || position.ordinal() == mate;
+	}
+
+	@Override
+	public boolean isTeamKnown() {
+
+		return teamKnown;
+	}
+
+	@Override
+	public void play(final ICard card) {
+
+		play(card.getOrdinal());
+	}
+
+	@Override
+	public void play(final int ordinal) {
+
+		final int bit = 1 << ordinal;
+		if ((getLegalMoves() & bit) == 0) {
+			throw new IllegalArgumentException("Card " + ordinal + " is not allowed.");
+		}
+		push(MOVE_PLAY | ordinal << SHIFT_VALUE);
+		final int trickStart = roundNumber * IRestrictedGameData.NUMBER_OF_PLAYERS;
+		hands[playerOnTurn] &= ~bit;
+		trickCards[trickStart + cardsOnTable++] = ordinal;
+		tableSet |= bit;
+		final boolean allPlayersPlayedCard = cardsOnTable == IRestrictedGameData.NUMBER_OF_PLAYERS;
+
+		// mate sau manipulations, only if the mates do not know each other
+		if (gameType == GameType.SAUSPIEL && !teamKnown) {
+			final int mateSau = CardSet.ordinal(color, CardValue.SAU);
+			// mate sau was played or the mate ran away
+			if (ordinal == mateSau || allPlayersPlayedCard && isMateSearched(trickCards[trickStart]) && (tableSet & 1 << mateSau) == 0) {
+				teamKnown = true;
+			}
+		}
+
+		// end round manipulations if all players played their card
+		if (allPlayersPlayedCard) {
+			int winnerIndex = 0;
+			for (int i = 1; i < IRestrictedGameData.NUMBER_OF_PLAYERS; ++i) {
+				if (ruleSet.dominates(trickCards[trickStart + winnerIndex], trickCards[trickStart + i])) {
+					winnerIndex = i;
+				}
+			}
+			final int winner = roundsFirstPlayer + winnerIndex & MASK_2;
+			wonCards[winner] |= tableSet;
+			points[winner] += CardSet.points(tableSet);
+			roundsFirstPlayer = winner;
+			playerOnTurn = winner;
+			lastRoundsWinner = winner;
+			cardsOnTable = 0;
+			tableSet = CardSet.EMPTY;
+			if (++roundNumber == IRestrictedGameData.ROUNDS_PER_GAME) {
+				gameState = GameState.FINISHED;
+			}
+		} else {
+			playerOnTurn = next(playerOnTurn);
+		}
+		// the first card of the game was played, so the opponents may strike now
+		if (roundNumber == 0 && cardsOnTable == 1) {
+			gameState = GameState.STRIKE;
+		}
+	}
+
+	@Override
+	public void strike(final boolean striking) {
+
+		if (gameState != GameState.STRIKE) {
+			throw new IllegalStateException();
+		}
+		push(MOVE_STRIKE | (striking ? 1 : 0) << SHIFT_VALUE);
+		if (striking) {
+			++strikeMultiplier;
+			gameState = GameState.STRIKEBACK;
+		} else {
+			gameState = GameState.PLAY;
+		}
+	}
+
+	@Override
+	public void strikeBack(final boolean strikingBack) {
+
+		if (gameState != GameState.STRIKEBACK) {
+			throw new IllegalStateException();
+		}
+		push(MOVE_STRIKEBACK | (strikingBack ? 1 : 0) << SHIFT_VALUE);
+		if (strikingBack) {
+			++strikeMultiplier;
+		}
+		gameState = GameState.PLAY;
+	}
+
+	@Override
+	public String toString() {
+
+		final StringBuilder builder = new StringBuilder();
+		builder.append(gameType).append(' ').append(color).append(' ').append(gameState).append(" round ").append(roundNumber);
+		for (final PlayerPosition position : POSITIONS) {
+			builder.append('\n').append(position).append(": ").append(CardSet.toList(hands[position.ordinal()])).append(' ').append(points[position.ordinal()]);
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public void undo() {
+
+		if (historySize == 0) {
+			throw new IllegalStateException("No move to undo.");
+		}
+		final int move = history[--historySize];
+		final int value = move >>> SHIFT_VALUE & MASK_6;
+		switch (move & MASK_2) {
+			case MOVE_PLAY:
+				// the move completed a round, so it is restored from the played cards
+				if (cardsOnTable == 0) {
+					--roundNumber;
+					cardsOnTable = IRestrictedGameData.NUMBER_OF_PLAYERS;
+					final int trickStart = roundNumber * IRestrictedGameData.NUMBER_OF_PLAYERS;
+					tableSet = 1 << trickCards[trickStart] | 1 << trickCards[trickStart + 1] | 1 << trickCards[trickStart + 2] | 1 << trickCards[trickStart + 3];
+					// the winner is the first player of the next round
+					wonCards[roundsFirstPlayer] &= ~tableSet;
+					points[roundsFirstPlayer] -= CardSet.points(tableSet);
+				}
+				--cardsOnTable;
+				tableSet &= ~(1 << value);
+				hands[move >>> SHIFT_ON_TURN & MASK_2] |= 1 << value;
+				break;
+			case MOVE_CHOOSE:
+				gameType = toGameType((move >>> SHIFT_GAME_TYPE & MASK_4) - 1);
+				color = toColor((move >>> SHIFT_COLOR & MASK_3) - 1);
+				leadPlayer = (move >>> SHIFT_LEAD & MASK_3) - 1;
+				ruleSet = getRuleSet(gameType, color);
+				roundNumber = -1;
+				mate = -1;
+				break;
+			case MOVE_STRIKE:
+			case MOVE_STRIKEBACK:
+				strikeMultiplier -= value;
+				break;
+			default:
+				break;
+		}
+		gameState = GAME_STATES[move >>> SHIFT_STATE & MASK_3];
+		playerOnTurn = move >>> SHIFT_ON_TURN & MASK_2;
+		roundsFirstPlayer = move >>> SHIFT_ROUNDS_FIRST & MASK_2;
+		lastRoundsWinner = (move >>> SHIFT_LAST_WINNER & MASK_3) - 1;
+		teamKnown = (move >>> SHIFT_TEAM_KNOWN & 1) != 0;
+	}
+
+	/**
+	 * Find the real mate in a Sauspiel by the owner of the mate sau.
+	 *
+	 * @return the mate's position ordinal, -1 if no player owns the mate sau.
+	 */
+	private int findMate() {
+
+		final int mateSau = 1 << CardSet.ordinal(color, CardValue.SAU);
+		for (int position = 0; position < IRestrictedGameData.NUMBER_OF_PLAYERS; ++position) {
+			if ((hands[position] & mateSau) != 0) {
+				return position;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The mate is searched if the first card of the round is a card of the mate color, but not the mate sau itself.
+	 *
+	 * @param firstCard
+	 *            the ordinal of the first card of the round.
+	 * @return true if the mate is searched.
+	 */
+	private boolean isMateSearched(final int firstCard) {
+
+		return (ruleSet.getSuitSet(color) & 1 << firstCard) != 0 && firstCard != CardSet.ordinal(color, CardValue.SAU);
+	}
+
+	/**
+	 * Push a move to the history, packed with the values that are changed by any move.
+	 *
+	 * @param move
+	 *            the move type and its value.
+	 */
+	private void push(final int move) {
+
+		history[historySize++] = move | gameState.ordinal() << SHIFT_STATE | playerOnTurn << SHIFT_ON_TURN | roundsFirstPlayer << SHIFT_ROUNDS_FIRST
+				| lastRoundsWinner + 1 << SHIFT_LAST_WINNER | (teamKnown ? 1 : 0) << SHIFT_TEAM_KNOWN | (gameType == null ? 0 : gameType.ordinal() + 1) << SHIFT_GAME_TYPE
+				| (color == null ? 0 : color.ordinal() + 1) << SHIFT_COLOR | leadPlayer + 1 << SHIFT_LEAD;
+	}
+}
@@ -9,6 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import edu.fhm.cs.ss.schafkopf.model.Card;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
@@ -37,6 +38,10 @@ public final class StackHandler implements IStackHandler {
 	 * All cards indicated by color and value for quick access.
 	 */
 	private static final Map<CardColor, Map<CardValue, ICard>> CARDS_BY_COLOR_AND_VALUE = indicateCardsByColorAndValue();
+	/**
+	 * All cards indicated by their ordinal for quick access.
+	 */
+	private static final ICard[] CARDS_BY_ORDINAL = indicateCardsByOrdinal();
 	/**
 	 * All cards indicated by their source for quick access.
 	 */
@@ -94,6 +99,20 @@ public final class StackHandler implements IStackHandler {
 		return sortedCards;
 	}
 
+	/**
+	 * Generate an array of all cards, indicated by their ordinal. Used for initialization of static values.
+	 *
+	 * @return array of all cards indicated by ordinal.
+	 */
+	private static ICard[] indicateCardsByOrdinal() {
+
+		final ICard[] cards = new ICard[IStackHandler.NUMBER_OF_CARDS];
+		for (final ICard card : ALL_CARDS) {
+			cards[card.getOrdinal()] = card;
+		}
+		return cards;
+	}
+
 	/**
 	 * Generate a map of all cards, indicated by their id. Used for initialization of static values.
 	 *
@@ -123,6 +142,15 @@ public final class StackHandler implements IStackHandler {
 		return CARDS_BY_ID.get(id);
 	}
 
+	@Override
+	public ICard getCardByOrdinal(final int ordinal) {
+
+		if (ordinal < 0 || ordinal >= IStackHandler.NUMBER_OF_CARDS) {
+			throw new IllegalArgumentException();
+		}
+		return CARDS_BY_ORDINAL[ordinal];
+	}
+
 	@Override
 	public List<ICard> getPredefinedStack(final String[] firstHand, final String[] secondHand, final String[] thirdHand, final String[] fourthHand) {
 
@@ -212,11 +240,23 @@ public final class StackHandler implements IStackHandler {
 	}
 
 	@Override
-	public List<ICard> getSortedCards(final GameType type, final CardColor trump) {
+	public List<ICard> getShuffledStack(final SplittableRandom random) {
 
+		if (random == null) {
+			throw new IllegalArgumentException();
+		}
 		final List<ICard> retVal = new ArrayList<ICard>(ALL_CARDS);
-		Collections.sort(retVal, new CardComparator(type, trump));
+		// fisher yates, like collections shuffle
+		for (int i = retVal.size() - 1; i > 0; --i) {
+			Collections.swap(retVal, i, random.nextInt(i + 1));
+		}
 		return retVal;
 	}
 
+	@Override
+	public List<ICard> getSortedCards(final GameType type, final CardColor trump) {
+
+		return RuleSet.getInstance(type, trump).getSortedCards();
+	}
+
 }
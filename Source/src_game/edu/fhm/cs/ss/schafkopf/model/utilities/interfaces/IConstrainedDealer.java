@@ -0,0 +1,34 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities.interfaces;
+
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+
+/**
+ * This interface offers uniformly distributed deals of a set of cards, where every player only gets cards that are possible for him and exactly the number
+ * of cards he needs.<br>
+ * <br>
+ *
+ * The hands and the possible cards are card sets, see {@link CardSet}, indicated by position ordinal. All cards, that are possible for any player, are dealt.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IConstrainedDealer {
+
+	/**
+	 * @return the number of different valid deals, 0 if the constraints can not be satisfied.
+	 */
+	long countDeals();
+
+	/**
+	 * Deal the cards. Every valid deal is returned with the same probability.
+	 *
+	 * @param random
+	 *            the random number generator.
+	 * @return the hands indicated by position ordinal.
+	 * @throws IllegalStateException
+	 *             if there is no valid deal.
+	 */
+	int[] deal(SplittableRandom random);
+}
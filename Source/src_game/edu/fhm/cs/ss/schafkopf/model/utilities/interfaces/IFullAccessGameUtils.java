@@ -7,6 +7,7 @@ import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData;
 
 /**
  * The interfaces extends {@link IPlayerUtils} by a collection of high level functions to manipulate a game data object. Also contains some read functionality,
@@ -108,4 +109,15 @@ public interface IFullAccessGameUtils extends IPlayerUtils {
 	 * Game state, round number, teams and other values will be changed according to the set lead player and his chosen game.
 	 */
 	void startGameManipulations();
+
+	/**
+	 * Update the possible cards of the players after a card was played, see {@link IRestrictedPlayerData#getPossibleCardSet()}. The card has to be set as
+	 * the player's played card already. Only the played card and the first card of the round are regarded, so the update takes constant time.
+	 *
+	 * @param position
+	 *            the position of the player who played the card.
+	 * @param card
+	 *            the played card.
+	 */
+	void updatePossibleCardSets(PlayerPosition position, ICard card);
 }
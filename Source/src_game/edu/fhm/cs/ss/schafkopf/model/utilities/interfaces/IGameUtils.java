@@ -64,6 +64,20 @@ public interface IGameUtils {
 	 */
 	IRestrictedGameData getRestrictedGameData();
 
+	/**
+	 * @return the compiled rules of the current game.
+	 */
+	IRuleSet getRuleSet();
+
+	/**
+	 * Get the compiled rules for a given game.
+	 *
+	 * @param game
+	 *            the game.
+	 * @return the rule set for game type and trump color of the game.
+	 */
+	IRuleSet getRuleSet(final IBasicGameData game);
+
 	/**
 	 * Note: calculates the team points only as far as the teams are known in the current game progress.
 	 *
@@ -147,6 +147,17 @@ public interface IPlayerUtils extends IRestrictedPlayerUtils {
 	 */
 	Collection<ICard> getAvailableCards(final IPlayerData playerData);
 
+	/**
+	 * Calculate the cards, a given playerData is allowed to play dependent of the current game, as card set. This is the allocation free variant of
+	 * {@link #getAvailableCards(IPlayerData)}.
+	 *
+	 * @param playerData
+	 *            the player data.
+	 *
+	 * @return a card set containing the available cards.
+	 */
+	int getAvailableCardSet(final IPlayerData playerData);
+
 	/**
 	 * Calculate the available colors that can be chosen for the given game type.<br>
 	 * Note: If GameType is SAUSPIEL, the returned colors are the mates that can be chosen and not the trump colors.
@@ -0,0 +1,38 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities.interfaces;
+
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+
+/**
+ * A randomness provider offers the independent streams of random numbers of a table: one to shuffle the stacks and one per player. All streams are derived
+ * from a single root seed, so the random decisions of a table are reproducible from the root seed regardless of the thread scheduling.<br>
+ * <br>
+ *
+ * A {@link SplittableRandom} is not thread safe, every stream must only be used by one thread, e.g. the stream of a player by the thread asking the player's
+ * AI. Use {@link SplittableRandom#split()} to hand out randomness to further threads.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IRandomnessProvider {
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the stream of the player at the position.
+	 * @throws IllegalArgumentException
+	 *             if the position is null.
+	 */
+	SplittableRandom getPlayerRandom(PlayerPosition position);
+
+	/**
+	 * @return the seed all streams are derived from.
+	 */
+	long getRootSeed();
+
+	/**
+	 * @return the stream the stacks are shuffled with.
+	 */
+	SplittableRandom getStackRandom();
+}
@@ -0,0 +1,116 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities.interfaces;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This interface offers the precomputed card rules of a game type and trump color.<br>
+ * <br>
+ *
+ * All information is held in tables indicated by the card ordinal and in card sets, see {@link CardSet}, so every query is a lookup without allocation.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IRuleSet {
+
+	/**
+	 * Returns true if the second card dominates the first, e.g. wins the trick against it if the first card is leading.
+	 *
+	 * @param first
+	 *            the first card's ordinal.
+	 * @param second
+	 *            the second card's ordinal.
+	 * @return true if second > first.
+	 */
+	boolean dominates(int first, int second);
+
+	/**
+	 * @param first
+	 *            the first card.
+	 * @param second
+	 *            the second card.
+	 * @return true if second > first.
+	 * @see #dominates(int, int)
+	 */
+	boolean dominates(ICard first, ICard second);
+
+	/**
+	 * The follow set of a card contains all cards that have to be played if the card is leading: the trump cards for a trump card, the cards of the same color
+	 * that are no trump otherwise.
+	 *
+	 * @param ordinal
+	 *            the card's ordinal.
+	 * @return the follow set of the card.
+	 */
+	int getFollowSet(int ordinal);
+
+	/**
+	 * @return the game type the rules are compiled for. Null for the default rules.
+	 */
+	GameType getGameType();
+
+	/**
+	 * @return the set of all high trump cards, e.g. Ober and Unter in a Sauspiel.
+	 */
+	int getHighTrumpSet();
+
+	/**
+	 * The rank orders the cards by their strength, cards with a higher rank are higher. Comparing ranks is only meaningful within the same follow set, see
+	 * {@link #dominates(int, int)}.
+	 *
+	 * @param ordinal
+	 *            the card's ordinal.
+	 * @return the card's rank.
+	 */
+	int getRank(int ordinal);
+
+	/**
+	 * @return all cards sorted by their rank, highest card first. The returned list is not modifiable.
+	 */
+	List<ICard> getSortedCards();
+
+	/**
+	 * @param color
+	 *            the color.
+	 * @return the set of all cards of the given color, that are no trump.
+	 */
+	int getSuitSet(CardColor color);
+
+	/**
+	 * @return the trump color the rules are compiled for. Null if there is no trump color.
+	 */
+	CardColor getTrumpColor();
+
+	/**
+	 * @return the set of all trump cards, including the high trump cards.
+	 */
+	int getTrumpSet();
+
+	/**
+	 * @param card
+	 *            the card.
+	 * @return true if the card is a high trump.
+	 */
+	boolean isHighTrump(ICard card);
+
+	/**
+	 * @param card
+	 *            the card.
+	 * @return true if the card is a trump.
+	 */
+	boolean isTrump(ICard card);
+
+	/**
+	 * Calculates the position of the winning card within a trick.
+	 *
+	 * @param ordinals
+	 *            the ordinals of the cards in the order they were played, the first card is leading.
+	 * @return the index of the winning card.
+	 */
+	int winnerIndex(int... ordinals);
+}
@@ -0,0 +1,220 @@
+package edu.fhm.cs.ss.schafkopf.model.utilities.interfaces;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This interface offers a compact game state for search algorithms, that is changed by moves and restored by undoing them.<br>
+ * <br>
+ *
+ * The moves follow the rules of the game actions: choosing a game, striking, striking back and playing a card. Every move can be undone exactly, so a search
+ * tree can be traversed on a single instance without copying the game data. All four hands are known to the state, cards are handled as card sets, see
+ * {@link CardSet}.<br>
+ * <br>
+ *
+ * The state distinguishes the real teams, defined by the hands, from the knowledge of the players about the teams, that is needed to determine the legal
+ * moves in a Sauspiel.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ISearchState {
+
+	/**
+	 * The maximum number of moves from the choose state to the end of a game.
+	 */
+	int MAX_MOVES = 40;
+
+	/**
+	 * The player on turn chooses a game. If it dominates the game chosen so far, he becomes the lead player. After all players have chosen, the game is started.
+	 *
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color, null if the game type needs none.
+	 * @throws IllegalArgumentException
+	 *             if the game type is null.
+	 * @throws IllegalStateException
+	 *             if the state is not {@link GameState#CHOOSE}.
+	 */
+	void choose(GameType gameType, CardColor color);
+
+	/**
+	 * @return the set of cards on the table.
+	 */
+	int getCardsOnTable();
+
+	/**
+	 * @return the color of the game, null if there is none.
+	 */
+	CardColor getColor();
+
+	/**
+	 * @return the ordinal of the first card played in the current round, -1 if no card is on the table.
+	 */
+	int getFirstPlayedCard();
+
+	/**
+	 * @return the game state.
+	 */
+	GameState getGameState();
+
+	/**
+	 * @return the game type, null if no game was chosen yet.
+	 */
+	GameType getGameType();
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the player's hand.
+	 */
+	int getHand(PlayerPosition position);
+
+	/**
+	 * @return the number of moves that can be undone.
+	 */
+	int getHistorySize();
+
+	/**
+	 * @return the winner of the last completed round, null if there is none.
+	 */
+	PlayerPosition getLastRoundsWinner();
+
+	/**
+	 * @return the lead player's position, null if no game was chosen yet.
+	 */
+	PlayerPosition getLeadPlayerPosition();
+
+	/**
+	 * Calculate the cards the player on turn is allowed to play, the same way {@link IPlayerUtils#getAvailableCardSet()} does it.
+	 *
+	 * @return the set of playable cards, empty if the state is not {@link GameState#PLAY}.
+	 */
+	int getLegalMoves();
+
+	/**
+	 * @return the position of the lead player's mate, null if there is none.
+	 */
+	PlayerPosition getMatePosition();
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the ordinal of the card the player played in the current round, -1 if he has not played yet.
+	 */
+	int getPlayedCard(PlayerPosition position);
+
+	/**
+	 * @return the player on turn.
+	 */
+	PlayerPosition getPlayerOnTurnPosition();
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the points the player has won.
+	 */
+	int getPoints(PlayerPosition position);
+
+	/**
+	 * @return the round number, -1 while the game is chosen.
+	 */
+	int getRoundNumber();
+
+	/**
+	 * @return the first player of the current round.
+	 */
+	PlayerPosition getRoundsFirstPlayerPosition();
+
+	/**
+	 * @return the rules of the game.
+	 */
+	IRuleSet getRuleSet();
+
+	/**
+	 * @return the number of strikes and strike backs.
+	 */
+	int getStrikeMultiplier();
+
+	/**
+	 * @param team
+	 *            the team.
+	 * @return the points the real team has won.
+	 */
+	int getTeamPoints(Team team);
+
+	/**
+	 * @return the winner team of a finished game, null if the game is not finished or all players passed.
+	 */
+	Team getWinnerTeam();
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return the cards the player has won.
+	 */
+	int getWonCards(PlayerPosition position);
+
+	/**
+	 * @param position
+	 *            the player's position.
+	 * @return true if the player is in the real player team.
+	 */
+	boolean isPlayerTeam(PlayerPosition position);
+
+	/**
+	 * @return true if all players know the teams.
+	 */
+	boolean isTeamKnown();
+
+	/**
+	 * @param card
+	 *            the card.
+	 * @see #play(int)
+	 */
+	void play(ICard card);
+
+	/**
+	 * The player on turn plays a card. If the round is complete, the winner gets the cards and is the next player on turn.
+	 *
+	 * @param ordinal
+	 *            the card's ordinal.
+	 * @throws IllegalArgumentException
+	 *             if the card is not a legal move, see {@link #getLegalMoves()}.
+	 */
+	void play(int ordinal);
+
+	/**
+	 * The opponents decide if they strike.
+	 *
+	 * @param striking
+	 *            true if at least one opponent strikes.
+	 * @throws IllegalStateException
+	 *             if the state is not {@link GameState#STRIKE}.
+	 */
+	void strike(boolean striking);
+
+	/**
+	 * The lead player decides if he strikes back.
+	 *
+	 * @param strikingBack
+	 *            true if he strikes back.
+	 * @throws IllegalStateException
+	 *             if the state is not {@link GameState#STRIKEBACK}.
+	 */
+	void strikeBack(boolean strikingBack);
+
+	/**
+	 * Undo the last move and restore the state before it exactly.
+	 *
+	 * @throws IllegalStateException
+	 *             if there is no move to undo.
+	 */
+	void undo();
+}
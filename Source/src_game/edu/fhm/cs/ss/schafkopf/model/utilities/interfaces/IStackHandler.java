@@ -1,6 +1,7 @@
 package edu.fhm.cs.ss.schafkopf.model.utilities.interfaces;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import edu.fhm.cs.ss.schafkopf.model.utilities.CardComparator;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
@@ -41,6 +42,15 @@ public interface IStackHandler {
 	 */
 	ICard getCardById(String source);
 
+	/**
+	 * Returns the canonical card instance with the given ordinal.
+	 *
+	 * @param ordinal
+	 *            the card's ordinal, see {@link ICard#getOrdinal()}.
+	 * @return the card.
+	 */
+	ICard getCardByOrdinal(int ordinal);
+
 	/**
 	 * Get a stack so every player gets the card defined in the parameters.
 	 *
@@ -62,7 +72,19 @@ public interface IStackHandler {
 	List<ICard> getShuffledStack();
 
 	/**
-	 * Returns a full stack sorted by a given game type and color with the {@link CardComparator}.
+	 * Shuffles the stack with the given random number generator, so the stack is reproducible from its seed.
+	 *
+	 * @param random
+	 *            the random number generator.
+	 * @return a complete, shuffled stack.
+	 * @throws IllegalArgumentException
+	 *             if the random number generator is null.
+	 */
+	List<ICard> getShuffledStack(SplittableRandom random);
+
+	/**
+	 * Returns a full stack sorted by a given game type and color with the {@link CardComparator}. The sorted stacks are precomputed, thus the returned list is
+	 * not modifiable.
 	 *
 	 * @param type
 	 *            the game type.
@@ -2,7 +2,8 @@ package edu.fhm.cs.ss.schafkopf.view;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 import edu.fhm.cs.ss.schafkopf.view.baseclasses.BasePlayerView;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IAutonomousPlayerView;
@@ -16,31 +17,37 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.StrikeActio
 import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.StrikeBackAction;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.interfaces.IPrimitiveGameController;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestrictedPlayerUtils;
 
 /**
  * This view is acting autonomously, if an action is expected on the current game data. It interacts with a {@link IPrimitiveGameController}.<br>
  * <br>
  * 
- * The actions are created an forwarded to the controller by a Thread, that checks for each incoming game data if it is expected to act. If an action has to be
+ * The actions are created an forwarded to the controller by a worker, that checks for each incoming game data if it is expected to act. If an action has to be
  * done, the AI, this view was initialized with, is asked for the best move to make. According to the AI's answer, an action is created and send to the
  * controller.the An active player that Observes the game data and makes an action, if it is his turn. This view is not displaying the received game data in any
  * way.<br>
  * Only one move is forwarded to the controller for each received game data. If the AI calculates invalid moves, the game will end up in a deadlock because this
- * view will not act properly.
+ * view will not act properly.<br>
+ * The first action of a move is bound to the state version of the received game data. If the controller refuses it as outdated, the rest of the move is
+ * dropped, the view acts again on the newer game data.<br>
+ * Only the latest received game data is kept. A worker, that is still busy, skips the game data replaced meanwhile. The taken game data is acknowledged at
+ * the controller before the actions are handed in, so the controller does not build snapshots for this view, while its AI is deciding. If the view is
+ * stopped while its AI is deciding, the actions are not handed in.
  * 
  * @author Sebastian Stumpf
  * 
  */
 public class AutonomousPlayerView extends BasePlayerView implements IAutonomousPlayerView {
 	/**
-	 * The thread that creates actions according to the best move that is calculated by the {@link #ai} if it is expected to act. This is checked with
-	 * {@link IRestrictedPlayerUtils#isExpectedToAct()}. The Thread will terminate if {@link #isStopped()} returns true.
+	 * The worker that creates actions according to the best move that is calculated by the {@link #ai} if it is expected to act. This is checked with
+	 * {@link IRestrictedPlayerUtils#isExpectedToAct()}. The worker will terminate if {@link #isStopped()} returns true.
 	 * 
 	 * @author Sebastian Stumpf
 	 * 
 	 */
-	private class ActionThread extends Thread {
+	private class ActionWorker implements Runnable {
 
 		@Override
 		public void run() {
@@ -48,42 +55,46 @@ public class AutonomousPlayerView extends BasePlayerView implements IAutonomousP
 			IRestrictedPlayerUtils currentActionPlayerUtils;
 			final List<IAction> actions = new LinkedList<>();
 			while (!isStopped()) {
-				synchronized (updateUtilsMonitor) {
-					try {
-						while (ai == null || getPlayerId() == null || playerUtilsQueue.isEmpty()) {
-							updateUtilsMonitor.wait();
-						}
-					} catch (final InterruptedException e) {
-						if (isStopped()) {
-							break;
-						}
-					}
-					// working reference
-					currentActionPlayerUtils = playerUtilsQueue.remove();
+				// an update of the taken player utilities and the stop call release one permit
+				pendingUpdates.acquireUninterruptibly();
+				if (isStopped()) {
+					break;
+				}
+				currentActionPlayerUtils = latestPlayerUtils.getAndSet(null);
+				if (currentActionPlayerUtils == null || getPlayerId() == null) {
+					continue;
+				}
+				if (ai == null) {
+					getGameController().acknowledgeUpdate(getPlayerId());
+					continue;
 				}
 
+				// the following actions of a move are computed on the state, the first action leads to
+				long stateVersion = currentActionPlayerUtils.getRestrictedGameData().getStateVersion();
 				if (ai.acceptRestart(currentActionPlayerUtils)) {
-					actions.add(new StartNextGameAction(getPlayerId()));
+					actions.add(new StartNextGameAction(getPlayerId(), stateVersion));
+					stateVersion = IAction.ANY_STATE_VERSION;
 				}
 				if (currentActionPlayerUtils.isExpectedToAct()) {
 					switch (currentActionPlayerUtils.getRestrictedGameData().getGameState()) {
 						case GET_RAISE:
 							if (ai.raise(currentActionPlayerUtils)) {
-								actions.add(new RaiseAction(getPlayerId()));
+								actions.add(new RaiseAction(getPlayerId(), stateVersion));
+								stateVersion = IAction.ANY_STATE_VERSION;
 							}
-							actions.add(new GetCardsAction(getPlayerId()));
+							actions.add(new GetCardsAction(getPlayerId(), stateVersion));
 							break;
 						case CHOOSE:
-							actions.add(new ChooseGameAction(getPlayerId(), ai.getBestGame(currentActionPlayerUtils)));
+							actions.add(new ChooseGameAction(getPlayerId(), ai.getBestGame(currentActionPlayerUtils), stateVersion));
 							break;
 						case PLAY:
-							actions.add(new PlayCardAction(getPlayerId(), ai.getBestCard(currentActionPlayerUtils)));
+							actions.add(new PlayCardAction(getPlayerId(), ai.getBestCard(currentActionPlayerUtils), stateVersion));
 							break;
 						case STRIKE:
-							actions.add(new StrikeAction(getPlayerId(), ai.strike(currentActionPlayerUtils)));
+							actions.add(new StrikeAction(getPlayerId(), ai.strike(currentActionPlayerUtils), stateVersion));
 							break;
 						case STRIKEBACK:
-							actions.add(new StrikeBackAction(getPlayerId(), ai.strikeBack(currentActionPlayerUtils)));
+							actions.add(new StrikeBackAction(getPlayerId(), ai.strikeBack(currentActionPlayerUtils), stateVersion));
 							break;
 						case FINISHED:
 							break;
@@ -92,8 +103,16 @@ public class AutonomousPlayerView extends BasePlayerView implements IAutonomousP
 					}
 				}
 
+				// the AI may stop the view instead of deciding, the actions are not handed in then
+				if (isStopped()) {
+					break;
+				}
+				// acknowledged before the actions are handed in, so the game data they lead to is not skipped
+				getGameController().acknowledgeUpdate(getPlayerId());
 				for (final IAction action : actions) {
-					getGameController().handleGameAction(action);
+					if (getGameController().handleGameAction(action) == ActionValidationCode.STATE_OUTDATED) {
+						break;
+					}
 				}
 
 				actions.clear();
@@ -101,10 +120,10 @@ public class AutonomousPlayerView extends BasePlayerView implements IAutonomousP
 		}
 	}
 
-	/** The player utilities received with an update are stored here and processed in order by the {@link ActionThread}. */
-	private final Queue<IRestrictedPlayerUtils> playerUtilsQueue;
-	/** This monitor is used to synchronize the access on the player utility queue. */
-	private final Object updateUtilsMonitor;
+	/** The latest player utilities received with an update, null if they are taken by the {@link ActionWorker}. */
+	private final AtomicReference<IRestrictedPlayerUtils> latestPlayerUtils;
+	/** Holds a permit, if the latest player utilities are not taken yet. The {@link ActionWorker} waits for it. */
+	private final Semaphore pendingUpdates;
 	/** The players AI will be asked for the best moves to make. */
 	private IAI ai;
 
@@ -138,9 +157,9 @@ public class AutonomousPlayerView extends BasePlayerView implements IAutonomousP
 	public AutonomousPlayerView(final IPrimitiveGameController controller, final IAI ai) {
 
 		super(controller);
-		this.playerUtilsQueue = new LinkedList<IRestrictedPlayerUtils>();
+		this.latestPlayerUtils = new AtomicReference<IRestrictedPlayerUtils>();
 		this.ai = ai;
-		this.updateUtilsMonitor = new Object();
+		this.pendingUpdates = new Semaphore(0);
 	}
 
 	@Override
@@ -158,7 +177,7 @@ public class AutonomousPlayerView extends BasePlayerView implements IAutonomousP
 	@Override
 	public void start() {
 
-		registerThreads(new ActionThread());
+		registerWorkers(new ActionWorker());
 		super.start();
 
 	}
@@ -172,9 +191,15 @@ public class AutonomousPlayerView extends BasePlayerView implements IAutonomousP
 	@Override
 	public void updateGameData(final IRestrictedPlayerUtils restrictedplayerUtils) {
 
-		synchronized (updateUtilsMonitor) {
-			playerUtilsQueue.add(restrictedplayerUtils);
-			updateUtilsMonitor.notifyAll();
+		// replaced player utilities, that are not taken yet, already hold the permit
+		if (latestPlayerUtils.getAndSet(restrictedplayerUtils) == null) {
+			pendingUpdates.release();
 		}
 	}
+
+	@Override
+	protected void releaseWorkers() {
+
+		pendingUpdates.release();
+	}
 }
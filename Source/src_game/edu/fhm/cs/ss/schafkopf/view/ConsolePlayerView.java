@@ -2,9 +2,12 @@ package edu.fhm.cs.ss.schafkopf.view;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import edu.fhm.cs.ss.schafkopf.view.baseclasses.BasePlayerView;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IInteractivePlayerView;
@@ -33,8 +36,8 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestri
  * Game data received in an update is displayed in the console and all user inputs are tried to interpret as actions. Successfully interpreted actions are
  * forwarded to the controller without validating them here. If the action was invalid and thus not executed by the controller, the returned
  * {@link ActionValidationCode} is used for a formatted output of the reason for the controllers refuse.<br>
- * This implementation uses 3 Threads. One for displaying incoming game data. One to scan user input and one to interpret the last scanned user input. To scan
- * and interpret user input the producer consumer pattern is used. all Threads will terminate, if {@link BasePlayerView#isStopped()} returns true.
+ * This implementation uses 3 workers. One for displaying incoming game data. One to scan user input and one to interpret the last scanned user input. To scan
+ * and interpret user input the producer consumer pattern is used. all workers will terminate, if {@link BasePlayerView#isStopped()} returns true.
  *
  * @author Sebastian Stumpf
  *
@@ -42,27 +45,23 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces.IRestri
 public class ConsolePlayerView extends BasePlayerView implements IInteractivePlayerView {
 
 	/**
-	 * This Thread consumes commands provided by the {@link ReaderThread}.
+	 * This worker consumes commands provided by the {@link ReaderWorker}.
 	 *
 	 * @author Sebastian Stumpf
 	 *
 	 */
-	private class ConsumerThread extends Thread {
+	private class ConsumerWorker implements Runnable {
 
 		@Override
 		public void run() {
 
 			while (!isStopped()) {
-				try {
-					synchronized (consumeMonitor) {
-						consumeMonitor.wait();
-					}
-				} catch (final InterruptedException e) {
-					if (isStopped()) {
-						break;
-					}
+				commandRead.acquireUninterruptibly();
+				if (isStopped()) {
+					break;
 				}
-				synchronized (displayMonitor) {
+				displayLock.lock();
+				try {
 					if (currentCommand.startsWith("command")) {
 						displayAvailableCommands();
 					}
@@ -125,55 +124,49 @@ public class ConsolePlayerView extends BasePlayerView implements IInteractivePla
 							currentAction = null;
 						}
 					}
+				} finally {
+					displayLock.unlock();
 				}
-				synchronized (readMonitor) {
-					readMonitor.notifyAll();
-				}
+				commandConsumed.release();
 			}
 		}
 	}
 
 	/**
-	 * This Thread displays the game data objects from the {@link #playerUtilsQueue}.
+	 * This worker displays the game data objects from the {@link #playerUtilsQueue}.
 	 *
 	 * @author Sebastian Stumpf
 	 *
 	 */
-	private class DisplayGameThread extends Thread {
+	private class DisplayGameWorker implements Runnable {
 		@Override
 		public void run() {
 
 			boolean firstRun = true;
 			while (!isStopped()) {
-				IRestrictedPlayerUtils playerUtils;
+				pendingUpdates.acquireUninterruptibly();
+				final IRestrictedPlayerUtils playerUtils = playerUtilsQueue.poll();
+				if (isStopped() || playerUtils == null) {
+					continue;
+				}
+				displayLock.lock();
 				try {
-					synchronized (updateutilsMonitor) {
-						while (playerUtilsQueue.isEmpty()) {
-							updateutilsMonitor.wait();
-						}
-						playerUtils = playerUtilsQueue.poll();
-						synchronized (displayMonitor) {
-							displayGame(firstRun, playerUtils);
-							firstRun = false;
-						}
-					}
-				} catch (final InterruptedException e) {
-					if (isStopped()) {
-						break;
-					}
+					displayGame(firstRun, playerUtils);
+					firstRun = false;
+				} finally {
+					displayLock.unlock();
 				}
-
 			}
 		}
 	}
 
 	/**
-	 * This Thread reads commands from the command line and notifies the {@link ConsumerThread} if a new command war read.
+	 * This worker reads commands from the command line and hands them to the {@link ConsumerWorker}, it waits until the command is consumed.
 	 *
 	 * @author Sebastian Stumpf
 	 *
 	 */
-	private class ReaderThread extends Thread {
+	private class ReaderWorker implements Runnable {
 
 		@Override
 		public void run() {
@@ -181,38 +174,32 @@ public class ConsolePlayerView extends BasePlayerView implements IInteractivePla
 			while (!isStopped()) {
 				try {
 					currentCommand = scanner.nextLine();
-					synchronized (consumeMonitor) {
-						consumeMonitor.notifyAll();
-					}
-					synchronized (readMonitor) {
-						readMonitor.wait();
-					}
-				} catch (final InterruptedException | IndexOutOfBoundsException e) {
-					if (isStopped()) {
-						break;
-					}
+				} catch (final IndexOutOfBoundsException e) {
+					continue;
 				}
+				commandRead.release();
+				commandConsumed.acquireUninterruptibly();
 			}
 		}
 	}
 
-	/** Monitor used to synchronize and notify the consumer thread. */
-	private final Object consumeMonitor;
+	/** Released by the reader worker, if a command was read. */
+	private final Semaphore commandRead;
+	/** Released by the consumer worker, if the read command was consumed. */
+	private final Semaphore commandConsumed;
 	/** Holds the last interpreted action. */
 	private IAction currentAction;
 	/** Holds the last read command. */
 	private String currentCommand;
-	/** Monitor used to synchronize access to the playerUtilsQueue. */
-	private final Object updateutilsMonitor;
+	/** Holds a permit for every queued player utilities, the display worker waits for them. */
+	private final Semaphore pendingUpdates;
 	/**
-	 * Monitor used to display on the console. So the consumer thread cann not display error messages into a current displaying of the game data and thus
+	 * Lock used to display on the console. So the consumer worker cann not display error messages into a current displaying of the game data and thus
 	 * destroy the layout.
 	 */
-	private final Object displayMonitor;
+	private final Lock displayLock;
 	/** The interpreter provides the utility to interprete strings as actions. */
 	private final Interpreter interpreter;
-	/** Monitor used to synchronize and update the read thread. */
-	private final Object readMonitor;
 	/** The scanner for console inputs. */
 	private final Scanner scanner;
 	/** The incoming player utilities are stored in this queue until the display thread consumes them. */
@@ -236,18 +223,18 @@ public class ConsolePlayerView extends BasePlayerView implements IInteractivePla
 
 		super(controller);
 		this.scanner = SharedViewRessources.getScanner();
-		updateutilsMonitor = new Object();
-		displayMonitor = new Object();
-		readMonitor = new Object();
-		consumeMonitor = new Object();
-		this.playerUtilsQueue = new LinkedList<IRestrictedPlayerUtils>();
+		pendingUpdates = new Semaphore(0);
+		displayLock = new ReentrantLock();
+		commandRead = new Semaphore(0);
+		commandConsumed = new Semaphore(0);
+		this.playerUtilsQueue = new ConcurrentLinkedQueue<IRestrictedPlayerUtils>();
 		this.interpreter = new Interpreter();
 	}
 
 	@Override
 	public void start() {
 
-		registerThreads(new ConsumerThread(), new ReaderThread(), new DisplayGameThread());
+		registerWorkers(new ConsumerWorker(), new ReaderWorker(), new DisplayGameWorker());
 		// provide interpreter with player id
 		interpreter.setPlayerId(getPlayerId());
 		super.start();
@@ -262,11 +249,16 @@ public class ConsolePlayerView extends BasePlayerView implements IInteractivePla
 	@Override
 	public void updateGameData(final IRestrictedPlayerUtils restrictedplayerUtils) {
 
-		synchronized (updateutilsMonitor) {
-			playerUtilsQueue.add(restrictedplayerUtils);
-			updateutilsMonitor.notifyAll();
-		}
+		playerUtilsQueue.add(restrictedplayerUtils);
+		pendingUpdates.release();
+	}
+
+	@Override
+	protected void releaseWorkers() {
 
+		commandRead.release();
+		commandConsumed.release();
+		pendingUpdates.release();
 	}
 
 	/**
@@ -404,7 +396,7 @@ public class ConsolePlayerView extends BasePlayerView implements IInteractivePla
 		System.out.format("%-32s%-32s%n", "Gespielte Karte: ", data.getPlayedCard() == null ? "keine" : data.getPlayedCard());
 		final StringBuilder builder = new StringBuilder();
 		if (data.getPosition().equals(playerUtils.getPovPlayerData().getPosition())) {
-			for (final ICard card : playerUtils.getPovPlayerData().getCurrentHand()) {
+			for (final ICard card : playerUtils.getSortedHand()) {
 				builder.append("[" + card + "] ");
 			}
 			if (builder.length() == 0) {
@@ -1,6 +1,9 @@
 package edu.fhm.cs.ss.schafkopf.view;
 
 import java.util.Scanner;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import edu.fhm.cs.ss.schafkopf.view.baseclasses.BaseMultiThreadedView;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.ISettingsView;
@@ -13,7 +16,7 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IPrimitiveGameSet
  * The settings view is an interactive view, that interacts with a {@link IPrimitiveSettingsController} and displays {@link IPrimitiveGameSettings}.<br>
  * <br>
  * 
- * The display and interaction task are each taken over by one thread.
+ * The display and interaction task are each taken over by one worker.
  * 
  * @author Sebastian Stumpf
  * 
@@ -25,21 +28,23 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 	 * @author Sebastian Stumpf
 	 * 
 	 */
-	private class DisplaySettingsThread extends Thread {
+	private class DisplaySettingsWorker implements Runnable {
 		@Override
 		public void run() {
 
 			while (!isStopped()) {
+				displayRequests.acquireUninterruptibly();
+				if (isStopped()) {
+					// released by stop call -> worker will terminate
+					break;
+				}
+				displaySettingsLock.lock();
 				try {
-					synchronized (displaySettingsmonitor) {
-						displaySettingsmonitor.wait();
-						if (settings != null) {
-							displaySettings();
-						}
+					if (settings != null) {
+						displaySettings();
 					}
-
-				} catch (final InterruptedException e) {
-					// interrupted by stop call -> thread will terminate
+				} finally {
+					displaySettingsLock.unlock();
 				}
 			}
 		}
@@ -51,7 +56,7 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 	 * @author Sebastian Stumpf
 	 * 
 	 */
-	private class InteractionThread extends Thread {
+	private class InteractionWorker implements Runnable {
 		@Override
 		public void run() {
 
@@ -60,21 +65,22 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 			boolean validInput;
 			boolean back = false;
 			while (!isStopped()) {
-				synchronized (displaySettingsmonitor) {
+				displaySettingsLock.lock();
+				try {
 					System.out.println();
 					System.out.println("Bitte whlen:");
 					System.out.printf("%-32s%-32s%n", "1", "Einstellungen anzeigen");
 					System.out.printf("%-32s%-32s%n", "2", "Einstellung ndern");
 					System.out.printf("%-32s%-32s%n", "3", "Einstellungen speichern");
 					System.out.printf("%-32s%-32s%n", "4", "Zurck zum Startbildschirm");
+				} finally {
+					displaySettingsLock.unlock();
 				}
 
 				try {
 					switch (Integer.parseInt(scanner.nextLine())) {
 						case 1:
-							synchronized (displaySettingsmonitor) {
-								displaySettingsmonitor.notifyAll();
-							}
+							displayRequests.release();
 							validInput = true;
 							break;
 						case 2:
@@ -82,12 +88,15 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 							validInput = true;
 							break;
 						case 3:
-							synchronized (displaySettingsmonitor) {
+							displaySettingsLock.lock();
+							try {
 								if (controller.saveSettings()) {
 									System.out.println("Einstellungen gespeichert.");
 								} else {
 									System.out.println("Fehler beim speichern.");
 								}
+							} finally {
+								displaySettingsLock.unlock();
 							}
 							validInput = true;
 							break;
@@ -106,13 +115,8 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 					System.out.println("Falsche Eingabe, bitte 1/2/3/4 eingeben.");
 				}
 				if (back) {
-					try {
-						synchronized (this) {
-							// wait for stop call causing interrupt
-							this.wait();
-						}
-					} catch (final InterruptedException e) {
-					}
+					// wait for stop call
+					awaitStop();
 				}
 			}
 		}
@@ -122,8 +126,10 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 	private final IPrimitiveSettingsController controller;
 	/** The scanner to read user commands from the command line. */
 	private final Scanner scanner;
-	/** A monitor to display the settings an menu as one block. */
-	private final Object displaySettingsmonitor;
+	/** A lock to display the settings an menu as one block. */
+	private final Lock displaySettingsLock;
+	/** Holds a permit for every requested display of the settings. */
+	private final Semaphore displayRequests;
 	/** The settings data. */
 	private final IPrimitiveGameSettings settings;
 
@@ -139,7 +145,8 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 		this.controller = controller;
 		this.settings = controller.getPrimitiveSettings();
 		this.scanner = SharedViewRessources.getScanner();
-		this.displaySettingsmonitor = new Object();
+		this.displaySettingsLock = new ReentrantLock();
+		this.displayRequests = new Semaphore(0);
 		// set me as the controllers view
 		controller.setView(this);
 	}
@@ -147,16 +154,20 @@ public class ConsoleSettingsView extends BaseMultiThreadedView implements ISetti
 	@Override
 	public void start() {
 
-		registerThreads(new DisplaySettingsThread(), new InteractionThread());
+		registerWorkers(new DisplaySettingsWorker(), new InteractionWorker());
 		super.start();
 	}
 
 	@Override
 	public void update() {
 
-		synchronized (displaySettingsmonitor) {
-			displaySettingsmonitor.notifyAll();
-		}
+		displayRequests.release();
+	}
+
+	@Override
+	protected void releaseWorkers() {
+
+		displayRequests.release();
 	}
 
 	/**
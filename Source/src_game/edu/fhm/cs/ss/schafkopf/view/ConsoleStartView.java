@@ -12,7 +12,7 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.interfaces.IPrimitiveSt
  * The settings view is an interactive view, that interacts with a {@link IPrimitiveStartController} but with no data to display.<br>
  * <br>
  *
- * It starts the different views of the application. The user interaction menu is running in a own thread.
+ * It starts the different views of the application. The user interaction menu is running in a own worker.
  *
  * @author Sebastian Stumpf
  *
@@ -26,7 +26,7 @@ public class ConsoleStartView extends BaseMultiThreadedView implements IStartVie
 	 * @author Sebastian Stumpf
 	 *
 	 */
-	private class DisplayStartThread extends Thread {
+	private class DisplayStartWorker implements Runnable {
 		@Override
 		public void run() {
 
@@ -79,14 +79,8 @@ public class ConsoleStartView extends BaseMultiThreadedView implements IStartVie
 					System.out.println("Falsche Eingabe, bitte 1/2/3/4 eingeben.");
 				}
 				if (pause) {
-					try {
-						synchronized (this) {
-							// wait for stop call from created view causing interrupt
-							this.wait();
-						}
-
-					} catch (final InterruptedException e) {
-					}
+					// wait for stop call from created view
+					awaitStop();
 				}
 			}
 		}
@@ -119,7 +113,7 @@ public class ConsoleStartView extends BaseMultiThreadedView implements IStartVie
 	@Override
 	public void start() {
 
-		registerThreads(new DisplayStartThread());
+		registerWorkers(new DisplayStartWorker());
 		super.start();
 	}
 
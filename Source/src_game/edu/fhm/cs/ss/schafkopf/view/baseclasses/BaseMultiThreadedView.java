@@ -2,88 +2,227 @@ package edu.fhm.cs.ss.schafkopf.view.baseclasses;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IView;
 
 /**
- * This implements threading functionality, available for all views, that use threads for displaying their data or user interaction.<br>
+ * This implements threading functionality, available for all views, that use workers for displaying their data or user interaction.<br>
  * <br>
- * 
- * If the threads are correctly registered, the start and stop methods are handling starting all threads at a {@link #start()} call and interrupting them at an
- * incoming {@link #stop()}. The registered threads should check the {@link #isStopped()} flag and -if it is set - terminate. stop is clearing this view's
- * thread list. So new threads can be registered again.
- * 
+ *
+ * If the workers are correctly registered, the start and stop methods are handling starting all workers at a {@link #start()} call and releasing them at an
+ * incoming {@link #stop()}. The registered workers should check the {@link #isStopped()} flag and -if it is set - terminate. stop is clearing this view's
+ * worker list. So new workers can be registered again.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - Every worker runs on its own virtual thread, if the runtime offers them, otherwise on a daemon platform thread. So the number of views is not limited by
+ * the number of threads.<br>
+ * - Workers are not interrupted. Workers waiting for a handoff of their view are released by {@link #releaseWorkers()}, workers waiting for the stop call
+ * use {@link #awaitStop()}.<br>
+ * - The worker threads do not keep the application alive. An application, that only runs views, waits for them with {@link #awaitWorkers()}.
+ *
  * @author Sebastian Stumpf
- * 
+ *
  */
 public abstract class BaseMultiThreadedView implements IView {
-	/** The monitor used to synchronize the start and stop method. */
-	private final Object stopMonitor;
+	/** The factory, the threads of all workers are created with. */
+	private static final ThreadFactory WORKER_FACTORY = createWorkerFactory();
+	/** The lock used to count the running workers of all views. */
+	private static final Lock WORKERS_LOCK = new ReentrantLock();
+	/** Signaled, when the last running worker of all views has terminated. */
+	private static final Condition NO_WORKERS = WORKERS_LOCK.newCondition();
+	/** The number of running workers of all views. */
+	private static int runningWorkers;
+
+	/** The lock used to synchronize the start and stop method. */
+	private final Lock stopLock;
+	/** Counted down by the stop call of the current run. */
+	private volatile CountDownLatch stopLatch;
 	/** true, if this view is stopped. */
-	private boolean stopped;
-	/** The registered threads are stored in this list. */
-	private final List<Thread> threadList;
+	private volatile boolean stopped;
+	/** The registered workers are stored in this list until they are started. */
+	private final List<Runnable> workerList;
 
 	/**
 	 * Constructor initializing all attributes.
 	 */
 	public BaseMultiThreadedView() {
 
-		this.threadList = new LinkedList<Thread>();
+		this.workerList = new LinkedList<Runnable>();
 		stopped = true;
-		this.stopMonitor = new Object();
+		this.stopLatch = new CountDownLatch(0);
+		this.stopLock = new ReentrantLock();
+
+	}
+
+	/**
+	 * Wait until the workers of all views have terminated.
+	 */
+	public static void awaitWorkers() {
+
+		WORKERS_LOCK.lock();
+		try {
+			while (runningWorkers > 0) {
+				NO_WORKERS.awaitUninterruptibly();
+			}
+		} finally {
+			WORKERS_LOCK.unlock();
+		}
+	}
+
+	/**
+	 * Create the worker factory. Used for initialization of static values.<br>
+	 * Virtual threads are looked up by reflection, so the views still run on runtimes without them.
+	 *
+	 * @return the factory of virtual threads, if available. Otherwise a factory of daemon platform threads.
+	 */
+	private static ThreadFactory createWorkerFactory() {
+
+		try {
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(Thread.class.getMethod("ofVirtual").invoke(null));
+		} catch (final ReflectiveOperationException | RuntimeException e) {
+			return new ThreadFactory() {
+
+				@Override
+				public Thread newThread(final Runnable runnable) {
+
+					final Thread thread = new Thread(runnable);
+					thread.setDaemon(true);
+					return thread;
+				}
+			};
+		}
+	}
+
+	/**
+	 * @return the factory, the threads of all workers are created with. Creates virtual threads, if the runtime offers them, otherwise daemon platform
+	 *         threads.
+	 */
+	public static ThreadFactory getWorkerFactory() {
 
+		return WORKER_FACTORY;
+	}
+
+	/**
+	 * Count a worker as terminated.
+	 */
+	private static void workerTerminated() {
+
+		WORKERS_LOCK.lock();
+		try {
+			if (--runningWorkers == 0) {
+				NO_WORKERS.signalAll();
+			}
+		} finally {
+			WORKERS_LOCK.unlock();
+		}
 	}
 
 	@Override
 	public void start() {
 
-		synchronized (stopMonitor) {
+		stopLock.lock();
+		try {
 			stopped = false;
-			for (final Thread thread : threadList) {
-				if (!thread.isAlive()) {
-					thread.start();
+			stopLatch = new CountDownLatch(1);
+			for (final Runnable worker : workerList) {
+				WORKERS_LOCK.lock();
+				try {
+					++runningWorkers;
+				} finally {
+					WORKERS_LOCK.unlock();
 				}
+				WORKER_FACTORY.newThread(new Runnable() {
+
+					@Override
+					public void run() {
+
+						try {
+							worker.run();
+						} finally {
+							workerTerminated();
+						}
+					}
+				}).start();
 			}
+			workerList.clear();
+		} finally {
+			stopLock.unlock();
 		}
 	}
 
 	@Override
 	public void stop() {
 
-		synchronized (stopMonitor) {
+		stopLock.lock();
+		try {
 			stopped = true;
-			for (final Thread thread : threadList) {
-				thread.interrupt();
+			stopLatch.countDown();
+			releaseWorkers();
+			workerList.clear();
+		} finally {
+			stopLock.unlock();
+		}
+	}
+
+	/**
+	 * This method is provided for the workers of implementing views, to wait for the stop call of the current run.
+	 */
+	protected final void awaitStop() {
+
+		boolean waiting = true;
+		while (waiting) {
+			try {
+				stopLatch.await();
+				waiting = false;
+			} catch (final InterruptedException e) {
+				// workers are not interrupted by this view, keep waiting
 			}
-			threadList.clear();
 		}
 	}
 
 	/**
-	 * This method is provided for the threads of implementing views, to check if they should terminate.
-	 * 
+	 * This method is provided for the workers of implementing views, to check if they should terminate.
+	 *
 	 * @return true if the view is stopped.
 	 */
 	protected final boolean isStopped() {
 
-		synchronized (stopMonitor) {
-			return stopped;
-		}
+		return stopped;
 	}
 
 	/**
-	 * Register a thread. registered threads will be started at a start call and interrupted at a stop call.
-	 * 
-	 * @param threads
-	 *            the threads to register.
+	 * Register a worker. registered workers will be started at a start call and released at a stop call.
+	 *
+	 * @param workers
+	 *            the workers to register.
 	 */
-	protected final void registerThreads(final Thread... threads) {
+	protected final void registerWorkers(final Runnable... workers) {
 
-		if (threads != null) {
-			for (final Thread thread : threads) {
-				this.threadList.add(thread);
+		if (workers != null) {
+			stopLock.lock();
+			try {
+				for (final Runnable worker : workers) {
+					this.workerList.add(worker);
+				}
+			} finally {
+				stopLock.unlock();
 			}
 		}
 	}
+
+	/**
+	 * Called by {@link #stop()} after the stop flag is set. Implementing views release their workers waiting for a handoff here, so they can check the
+	 * {@link #isStopped()} flag. The default implementation does nothing.
+	 */
+	protected void releaseWorkers() {
+
+		// no handoffs to release
+	}
 }
@@ -8,7 +8,7 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IPlayerId;
  * The base action implements basic functionality, all actions have in common.<br>
  * <br>
  * 
- * In this case, this is only the handling of the player ID.
+ * In this case, this is the handling of the player ID and the state version.
  * 
  * @author Sebastian Stumpf
  * 
@@ -18,16 +18,34 @@ public abstract class BaseAction implements IAction {
 	 * The player ID of the player that created this action.
 	 */
 	private final IPlayerId playerId;
+	/**
+	 * The state version of the game data, the action was computed on.
+	 */
+	private final long stateVersion;
 
 	/**
-	 * Instantiate an action with the given player ID.
+	 * Instantiate an action with the given player ID, that is not bound to a state version.
 	 * 
 	 * @param playerId
 	 *            the player ID.
 	 */
 	public BaseAction(final IPlayerId playerId) {
 
+		this(playerId, ANY_STATE_VERSION);
+	}
+
+	/**
+	 * Instantiate an action with the given player ID and state version.
+	 * 
+	 * @param playerId
+	 *            the player ID.
+	 * @param stateVersion
+	 *            the state version of the game data, the action was computed on. {@link #ANY_STATE_VERSION} if it is not bound to a state version.
+	 */
+	public BaseAction(final IPlayerId playerId, final long stateVersion) {
+
 		this.playerId = playerId;
+		this.stateVersion = stateVersion;
 	}
 
 	@Override
@@ -41,4 +59,10 @@ public abstract class BaseAction implements IAction {
 
 		return playerId.getPosition();
 	}
+
+	@Override
+	public long getStateVersion() {
+
+		return stateVersion;
+	}
 }
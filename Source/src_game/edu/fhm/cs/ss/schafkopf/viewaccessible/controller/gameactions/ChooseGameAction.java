@@ -43,7 +43,7 @@ public class ChooseGameAction extends BaseAction implements IChooseGameAction {
 	}
 
 	/**
-	 * Instantiate the action with the given parameters.
+	 * Instantiate the action with the given parameters. The action is not bound to a state version.
 	 * 
 	 * @param playerId
 	 *            the player ID.
@@ -52,7 +52,22 @@ public class ChooseGameAction extends BaseAction implements IChooseGameAction {
 	 */
 	public ChooseGameAction(final IPlayerId playerId, final IBasicGameData chosenGame) {
 
-		super(playerId);
+		this(playerId, chosenGame, ANY_STATE_VERSION);
+	}
+
+	/**
+	 * Instantiate the action with the given parameters.
+	 * 
+	 * @param playerId
+	 *            the player ID.
+	 * @param chosenGame
+	 *            the chosen game.
+	 * @param stateVersion
+	 *            the state version of the game data, the action was computed on.
+	 */
+	public ChooseGameAction(final IPlayerId playerId, final IBasicGameData chosenGame, final long stateVersion) {
+
+		super(playerId, stateVersion);
 		this.chosenGame = chosenGame;
 	}
 
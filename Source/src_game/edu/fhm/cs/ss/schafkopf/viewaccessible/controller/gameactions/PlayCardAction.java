@@ -6,6 +6,7 @@ import edu.fhm.cs.ss.schafkopf.model.ActionData;
 import edu.fhm.cs.ss.schafkopf.model.Card;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
 import edu.fhm.cs.ss.schafkopf.model.utilities.FullAccessGameUtils;
 import edu.fhm.cs.ss.schafkopf.model.utilities.StackHandler;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IFullAccessGameUtils;
@@ -51,7 +52,7 @@ public class PlayCardAction extends BaseAction implements IPlayCardAction {
 	}
 
 	/**
-	 * Instantiate the action with the given parameters.
+	 * Instantiate the action with the given parameters. The action is not bound to a state version.
 	 * 
 	 * @param playerId
 	 *            the player ID.
@@ -60,7 +61,22 @@ public class PlayCardAction extends BaseAction implements IPlayCardAction {
 	 */
 	public PlayCardAction(final IPlayerId playerId, final ICard chosenCard) {
 
-		super(playerId);
+		this(playerId, chosenCard, ANY_STATE_VERSION);
+	}
+
+	/**
+	 * Instantiate the action with the given parameters.
+	 * 
+	 * @param playerId
+	 *            the player ID.
+	 * @param chosenCard
+	 *            the chosen card.
+	 * @param stateVersion
+	 *            the state version of the game data, the action was computed on.
+	 */
+	public PlayCardAction(final IPlayerId playerId, final ICard chosenCard, final long stateVersion) {
+
+		super(playerId, stateVersion);
 		this.chosenCard = chosenCard;
 	}
 
@@ -71,8 +87,9 @@ public class PlayCardAction extends BaseAction implements IPlayCardAction {
 
 		ActionValidationCode retVal = validate(utils);
 		if (retVal == ActionValidationCode.VALIDATION_SUCCESS) {
-			utils.getPovPlayerData().getCurrentHand().remove(getChosenCard());
+			utils.getPovPlayerData().setCurrentHandSet(CardSet.remove(utils.getPovPlayerData().getCurrentHandSet(), getChosenCard()));
 			utils.getPovPlayerData().setPlayedCard(getChosenCard());
+			utils.updatePossibleCardSets(getPosition(), getChosenCard());
 
 			final boolean allPlayersPlayedCard = utils.haveAllPlayersPlayedCard();
 			final Map<PlayerPosition, ICard> cardsOnTable = utils.getCardsOnTable();
@@ -100,7 +117,7 @@ public class PlayCardAction extends BaseAction implements IPlayCardAction {
 			if (allPlayersPlayedCard) {
 				final IPlayerData winner = utils.getGameData().getPlayerDatas().get(utils.calculateWinnerCardPosition(cardsOnTable));
 				final int points = utils.calculatePointsOfCards(cardsOnTable.values());
-				winner.getWonCards().addAll(cardsOnTable.values());
+				winner.setWonCardSet(winner.getWonCardSet() | CardSet.of(cardsOnTable.values()));
 				winner.addPoints(points);
 				utils.getGameData().setRoundsFirstPlayerPosition(winner.getPosition());
 				utils.getGameData().setPlayerOnTurnPosition(winner.getPosition());
@@ -19,14 +19,27 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IPlayerId;
  */
 public class StartNextGameAction extends BaseAction implements IStartNextGameAction {
 	/**
-	 * Instantiate the action with the given parameters.
+	 * Instantiate the action with the given parameters. The action is not bound to a state version.
 	 * 
 	 * @param playerId
 	 *            the player ID.
 	 */
 	public StartNextGameAction(final IPlayerId playerId) {
 
-		super(playerId);
+		this(playerId, ANY_STATE_VERSION);
+	}
+
+	/**
+	 * Instantiate the action with the given parameters.
+	 * 
+	 * @param playerId
+	 *            the player ID.
+	 * @param stateVersion
+	 *            the state version of the game data, the action was computed on.
+	 */
+	public StartNextGameAction(final IPlayerId playerId, final long stateVersion) {
+
+		super(playerId, stateVersion);
 	}
 
 	@Override
@@ -27,7 +27,7 @@ public class StrikeAction extends BaseAction implements IStrikeAction {
 	private final boolean striking;
 
 	/**
-	 * Instantiate the action with the given parameters.
+	 * Instantiate the action with the given parameters. The action is not bound to a state version.
 	 *
 	 * @param playerId
 	 *            the player ID.
@@ -36,7 +36,22 @@ public class StrikeAction extends BaseAction implements IStrikeAction {
 	 */
 	public StrikeAction(final IPlayerId playerId, final boolean striking) {
 
-		super(playerId);
+		this(playerId, striking, ANY_STATE_VERSION);
+	}
+
+	/**
+	 * Instantiate the action with the given parameters.
+	 *
+	 * @param playerId
+	 *            the player ID.
+	 * @param striking
+	 *            true if the player wants to strike.
+	 * @param stateVersion
+	 *            the state version of the game data, the action was computed on.
+	 */
+	public StrikeAction(final IPlayerId playerId, final boolean striking, final long stateVersion) {
+
+		super(playerId, stateVersion);
 		this.striking = striking;
 	}
 
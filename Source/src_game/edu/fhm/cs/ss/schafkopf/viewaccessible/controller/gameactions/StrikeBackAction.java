@@ -25,7 +25,7 @@ public class StrikeBackAction extends BaseAction implements IStrikeBackAction {
 	private final boolean strikingBack;
 
 	/**
-	 * Instantiate the action with the given parameters.
+	 * Instantiate the action with the given parameters. The action is not bound to a state version.
 	 *
 	 * @param playerId
 	 *            the player ID.
@@ -34,7 +34,22 @@ public class StrikeBackAction extends BaseAction implements IStrikeBackAction {
 	 */
 	public StrikeBackAction(final IPlayerId playerId, final boolean strikingBack) {
 
-		super(playerId);
+		this(playerId, strikingBack, ANY_STATE_VERSION);
+	}
+
+	/**
+	 * Instantiate the action with the given parameters.
+	 *
+	 * @param playerId
+	 *            the player ID.
+	 * @param strikingBack
+	 *            true, if the player wants to strike back.
+	 * @param stateVersion
+	 *            the state version of the game data, the action was computed on.
+	 */
+	public StrikeBackAction(final IPlayerId playerId, final boolean strikingBack, final long stateVersion) {
+
+		super(playerId, stateVersion);
 		this.strikingBack = strikingBack;
 	}
 
@@ -12,13 +12,22 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IPlayerId;
  * <br>
  * 
  * So an action can be validated an executed, without having to know exactly what action it is. All the execution and validation logic has to be implemented in
- * the concrete classes. Every action must also offer an ID, so the controller can check if the action is coming from a valid player.
+ * the concrete classes. Every action must also offer an ID, so the controller can check if the action is coming from a valid player.<br>
+ * <br>
+ * 
+ * An action can be bound to the state version of the game data it was computed on. The controller refuses it without validation, if the game data has
+ * changed since then.
  * 
  * @author Sebastian Stumpf
  * 
  */
 public interface IAction {
 
+	/**
+	 * The state version of actions, that are not bound to a state version.
+	 */
+	final long ANY_STATE_VERSION = -1;
+
 	/**
 	 * Execute the action. Call {@link #validate()} before to check if execution is allowed. If the validation code is not
 	 * {@link ActionValidationCode#VALIDATION_SUCCESS}, the action is not executed. The position of the player data is taken from the player data id. In the
@@ -41,6 +50,11 @@ public interface IAction {
 	 */
 	PlayerPosition getPosition();
 
+	/**
+	 * @return the state version of the game data, this action was computed on. {@link #ANY_STATE_VERSION} if it is not bound to a state version.
+	 */
+	long getStateVersion();
+
 	/**
 	 * Validate the action on the current game data.
 	 * 
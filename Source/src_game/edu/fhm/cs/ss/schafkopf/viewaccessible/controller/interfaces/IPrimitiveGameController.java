@@ -1,8 +1,11 @@
 package edu.fhm.cs.ss.schafkopf.viewaccessible.controller.interfaces;
 
+import java.util.concurrent.CompletableFuture;
+
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IPlayerView;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IPlayerId;
 
 /**
  * This interface offers methods that can be called by the player views to interact with the controller on a current game.<br>
@@ -16,6 +19,15 @@ import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
  */
 public interface IPrimitiveGameController extends IPrimitiveController {
 
+	/**
+	 * Acknowledge, that the player view has processed its last update. Once a view acknowledges, it is only updated again after it has acknowledged the
+	 * previous update. The updates skipped meanwhile are replaced by a single update with the current game data, when the view acknowledges.
+	 *
+	 * @param playerId
+	 *            the player ID of the view.
+	 */
+	void acknowledgeUpdate(IPlayerId playerId);
+
 	/**
 	 * Execute an action on the game data. If the action is invalid, that means not {@link ActionValidationCode#VALIDATION_SUCCESS} or
 	 * {@link ActionValidationCode#SUCCESS_UNCHANGED}, the action is not executed.
@@ -26,6 +38,15 @@ public interface IPrimitiveGameController extends IPrimitiveController {
 	 */
 	ActionValidationCode handleGameAction(IAction action);
 
+	/**
+	 * Hand in an action without waiting for it. The actions are executed in the order they are handed in, like with {@link #handleGameAction(IAction)}.
+	 *
+	 * @param action
+	 *            the action.
+	 * @return the future action validation code.
+	 */
+	CompletableFuture<ActionValidationCode> submitGameAction(IAction action);
+
 	/**
 	 * Subscribe the view as a player to the controller.
 	 *
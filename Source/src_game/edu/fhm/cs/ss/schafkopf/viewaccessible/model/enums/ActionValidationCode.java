@@ -45,5 +45,7 @@ public enum ActionValidationCode {
 	/** The action was not allowed, because the player is not on turn. */
 	TURN_NOTONTURN,
 	/** The player is only allowed to accept the next game once. */
-	STARTNEXT_ALREADYACCEPTING;
+	STARTNEXT_ALREADYACCEPTING,
+	/** The action was computed on a state version of the game data, that is outdated. It was refused without validation. */
+	STATE_OUTDATED;
 }
@@ -31,6 +31,13 @@ public interface ICard {
 	 */
 	String getName();
 
+	/**
+	 * The ordinal is the index of the card's bit in a card set and identifies the card uniquely.
+	 *
+	 * @return the card's ordinal, between 0 and 31.
+	 */
+	int getOrdinal();
+
 	/**
 	 * 
 	 * @return the card's points.
@@ -131,6 +131,11 @@ public interface IRestrictedGameData extends IBasicGameData {
 	 */
 	PlayerPosition getRoundsFirstPlayerPosition();
 
+	/**
+	 * @return the state version of the game data. It is incremented with every executed change and copied to the restricted game data of the players.
+	 */
+	long getStateVersion();
+
 	/**
 	 * @return the stock.
 	 */
@@ -55,12 +55,28 @@ public interface IRestrictedPlayerData {
 	 */
 	PlayerPosition getPosition();
 
+	/**
+	 * The possible cards are derived from the cards played so far, they are visible to all players. A played card is removed from all players, a player who
+	 * does not follow the first card of a round loses all cards he would have had to follow with. In a SAUSPIEL the lead player and every player who does not
+	 * play the called sau, when it is searched, lose it.
+	 *
+	 * @return the cards the player may still hold as card set, see CardSet.
+	 */
+	int getPossibleCardSet();
+
 	/**
 	 * @return the size of the player's hand.
 	 */
 	int getSizeOfHand();
 
 	/**
+	 * @return the player's won cards as card set, see CardSet.
+	 */
+	int getWonCardSet();
+
+	/**
+	 * The returned collection is a live view on the won card set.
+	 *
 	 * @return the player's won cards.
 	 */
 	Collection<ICard> getWonCards();
@@ -124,6 +140,12 @@ public interface IRestrictedPlayerData {
 	 */
 	void setPosition(PlayerPosition position);
 
+	/**
+	 * @param possibleCards
+	 *            the cards the player may still hold as card set.
+	 */
+	void setPossibleCardSet(int possibleCards);
+
 	/**
 	 * @param raising
 	 *            true if the player is raising.
@@ -154,6 +176,12 @@ public interface IRestrictedPlayerData {
 	 */
 	void setWonCards(Collection<ICard> wonCards);
 
+	/**
+	 * @param wonCards
+	 *            the player's won cards as card set.
+	 */
+	void setWonCardSet(int wonCards);
+
 	@Override
 	String toString();
 }
@@ -1,12 +1,14 @@
 package edu.fhm.cs.ss.schafkopf.viewaccessible.model.utilities.interfaces;
 
 import java.util.Collection;
+import java.util.List;
 
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IGameUtils;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IBasicGameData;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
 
@@ -40,6 +42,17 @@ public interface IRestrictedPlayerUtils extends IGameUtils {
 	 */
 	int calculateHighCardsInRow(IBasicGameData gameData);
 
+	/**
+	 * Calculates the number of high cards in row of a card set for a given game, e.g. of the common initial hands of a team.
+	 *
+	 * @param gameData
+	 *            the game.
+	 * @param cards
+	 *            the cards as card set.
+	 * @return the number if high cards in row.
+	 */
+	int calculateHighCardsInRow(IBasicGameData gameData, int cards);
+
 	/**
 	 * Counts the cards of a given color in the player's hand for the current game, excluding the high trump cards. High trump cards are excluded.
 	 *
@@ -127,6 +140,14 @@ public interface IRestrictedPlayerUtils extends IGameUtils {
 	 */
 	Collection<ICard> getAvailableCards();
 
+	/**
+	 * Calculate the cards, the player is allowed to play dependent of the current game, as card set.
+	 *
+	 * @return a card set containing the available cards.
+	 * @see #getAvailableCards()
+	 */
+	int getAvailableCardSet();
+
 	/**
 	 * Calculate the available trump / mate colors for a given game type of the player.<br>
 	 * Note: If GameType is SAUSPIEL, the returned colors are the mates that can be chosen and not the trump colors.
@@ -144,11 +165,42 @@ public interface IRestrictedPlayerUtils extends IGameUtils {
 	 */
 	Collection<GameType> getAvailableGameTypes();
 
+	/**
+	 * Get the cards a player may hold from the point-of-view player's view. This is the player's possible card set tracked by the game, without the cards in
+	 * the point-of-view player's hand, see {@link edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedPlayerData#getPossibleCardSet()}.
+	 *
+	 * @param position
+	 *            the player's position.
+	 * @return the possible cards as card set, the current hand for the point-of-view player.
+	 */
+	int getPossibleCardSet(PlayerPosition position);
+
 	/**
 	 * @return the point-of-view player data this utilities offer information about.
 	 */
 	IPlayerData getPovPlayerData();
 
+	/**
+	 * Get the trump cards of the current game held by the other players.
+	 *
+	 * @return the remaining trump cards as card set, empty if no game is chosen yet.
+	 */
+	int getRemainingTrumpSet();
+
+	/**
+	 * The hand itself is ordered by card ordinal, this is the sauspiel order. Use this method to display the hand in the order of the current game.
+	 *
+	 * @return a new list with the point-of-view player's current hand, sorted by the current game type and trump color. Highest card first.
+	 */
+	List<ICard> getSortedHand();
+
+	/**
+	 * Get the cards held by the other players, these are all cards that are neither in the point-of-view player's hand nor played.
+	 *
+	 * @return the unknown cards as card set.
+	 */
+	int getUnknownCardSet();
+
 	/**
 	 * Check if the player has a SI.
 	 *
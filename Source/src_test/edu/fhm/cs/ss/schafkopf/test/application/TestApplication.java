@@ -84,6 +84,43 @@ public class TestApplication {
 		System.out.format(FORMAT_STRING, "Print Test Case", "Die Spielstnde eines vorgegebenen Test Cases werden nacheinander ausgegeben.");
 		System.out.format(FORMAT_STRING, "-------------------------------", "");
 		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "AI Turnier", "Die in den TestSettings vorgegebenen KI's spielen paarweise auf denselben Stacks gegeneinander,");
+		System.out.format(FORMAT_STRING, "-------------------------------", "jeder Stack wird mit rotierten Sitzpltzen wiederholt, so dass sich das Kartenglck aufhebt.");
+		System.out.format(FORMAT_STRING, "", "Ein Match endet, sobald ein sequentieller Test entscheidet, welche KI strker ist.");
+		System.out.format(FORMAT_STRING, "", "Ausgegeben werden die Ergebnisse der Matches sowie Rating und Guthaben jeder KI.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Engine Cross Check", "Dieselben Stacks werden mit einer deterministischen KI einmal vom Game Controller mit Autonomous Views");
+		System.out.format(FORMAT_STRING, "-------------------------------", "und einmal von der Game Engine gespielt. Die beendeten Spiele mssen gleich sein,");
+		System.out.format(FORMAT_STRING, "", "Abweichungen werden als Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Solver Cross Check", "Der Double Dummy Solver der KI's wird auf zuflligen Endspielen mit einer Brute Force Suche ber alle");
+		System.out.format(FORMAT_STRING, "-------------------------------", "erlaubten Zge verglichen, Abweichungen werden als Warnung ausgegeben. Danach werden volle Deals");
+		System.out.format(FORMAT_STRING, "", "jedes Spieltyps gelst und die Zeiten und Knoten ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Prover Cross Check", "Starke Hnde der exklusiven Spiele werden vom Exclusive Game Prover bewiesen und vom Double Dummy Solver");
+		System.out.format(FORMAT_STRING, "-------------------------------", "auf zuflligen Verteilungen der brigen Karten gelst. Eine bewiesene Hand, die eine Verteilung");
+		System.out.format(FORMAT_STRING, "", "verliert, wird als Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Search State Cross Check", "Zufllige KI's spielen Spiele mit der Game Engine, jede ausgefhrte Aktion wird auch als Zug auf dem Search State");
+		System.out.format(FORMAT_STRING, "-------------------------------", "gemacht und mit dem Zustand der Game Data verglichen. Nach dem Spiel werden alle Zge zurckgenommen und mit");
+		System.out.format(FORMAT_STRING, "", "den Zustnden davor verglichen. Abweichungen werden als Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Dealer Cross Check", "Fr zufllige Vorgaben mglicher Karten werden alle gltigen Deals aufgezhlt. Der Constrained Dealer muss gleich viele");
+		System.out.format(FORMAT_STRING, "-------------------------------", "Deals zhlen, nur gltige Deals ziehen und alle gleich oft, was ein Chi-Quadrat Test prft. Abweichungen werden als");
+		System.out.format(FORMAT_STRING, "", "Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Canonicalizer Cross Check", "Die austauschbaren Farben zuflliger Hnde werden auf alle Arten vertauscht, alle vertauschten Hnde mssen denselben");
+		System.out.format(FORMAT_STRING, "-------------------------------", "Schlssel haben und die kanonische Hand muss darunter sein. Einige Deals werden vertauscht und vom Double Dummy Solver");
+		System.out.format(FORMAT_STRING, "", "gelst, sie mssen gleich viele Punkte ergeben. Abweichungen werden als Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Indexer Cross Check", "Zufllige Indizes des Deal Indexers mssen ber ihren Deal und ihren Stack wieder denselben Index ergeben, der Stack muss");
+		System.out.format(FORMAT_STRING, "-------------------------------", "dem Predefined Stack des Stack Handlers gleichen. Danach werden ganze Teilrume aufgezhlt. Abweichungen werden als");
+		System.out.format(FORMAT_STRING, "", "Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
+		System.out.format(FORMAT_STRING, "Endgame Cache Cross Check", "Der Endgame Cache wird erst von einem und dann von mehreren Threads gleichzeitig beschrieben und gelesen. Gelesene Schranken");
+		System.out.format(FORMAT_STRING, "-------------------------------", "mssen den Wert der Position enthalten, sonst wurden Schranken einer anderen Position oder halb geschriebene Slots gelesen.");
+		System.out.format(FORMAT_STRING, "", "Abweichungen werden als Warnung ausgegeben.");
+		System.out.println("----------------------------------------------------------------------------------------------------------------------------------------");
 		System.out.println();
 		System.out.println();
 		System.out.format("%-32s%n", "Geladene Einstellungen");
@@ -97,6 +134,15 @@ public class TestApplication {
 		System.out.format(FORMAT_STRING, "Stress Test Timeout", TestSettings.TIMEOUT);
 		System.out.format(FORMAT_STRING, "Stress Test Games", TestSettings.STRESSTEST_GAMES);
 		System.out.format(FORMAT_STRING, "Custom Stress Test Games", TestSettings.CUSTOM_STRESSTEST_GAMES);
+		System.out.format(FORMAT_STRING, "Tournament AIs", TestSettings.TOURNAMENT_AIS);
+		System.out.format(FORMAT_STRING, "Cross Check AI", TestSettings.CROSS_CHECK_AI);
+		System.out.format(FORMAT_STRING, "Solver Cross Check Endgames", TestSettings.CROSS_CHECK_SOLVER_ENDGAMES);
+		System.out.format(FORMAT_STRING, "Prover Cross Check Hands", TestSettings.CROSS_CHECK_PROVER_HANDS);
+		System.out.format(FORMAT_STRING, "Search State Cross Check Games", TestSettings.CROSS_CHECK_SEARCH_STATE_GAMES);
+		System.out.format(FORMAT_STRING, "Dealer Cross Check Sets", TestSettings.CROSS_CHECK_DEALER_SETS);
+		System.out.format(FORMAT_STRING, "Canonicalizer Cross Check Hands", TestSettings.CROSS_CHECK_CANONICALIZER_HANDS);
+		System.out.format(FORMAT_STRING, "Indexer Cross Check Indices", TestSettings.CROSS_CHECK_INDEXER_INDICES);
+		System.out.format(FORMAT_STRING, "Cache Cross Check Operations", TestSettings.CROSS_CHECK_CACHE_OPERATIONS);
 		System.out.format("%-32s", "View access packages");
 		int counter = 0;
 		for (final String suffix : TestSettings.ALLOWED_IMPORT_SUFFIXES) {
@@ -131,6 +177,15 @@ public class TestApplication {
 			System.out.format(FORMAT_STRING, "8", "Interaktives Spiel (Random Stack)");
 			System.out.format(FORMAT_STRING, "9", "Interaktives Spiel (Custom Stack)");
 			System.out.format(FORMAT_STRING, "10", "Test Case ausgeben");
+			System.out.format(FORMAT_STRING, "11", "AI Turnier");
+			System.out.format(FORMAT_STRING, "12", "Engine Cross Check");
+			System.out.format(FORMAT_STRING, "13", "Solver Cross Check");
+			System.out.format(FORMAT_STRING, "14", "Prover Cross Check");
+			System.out.format(FORMAT_STRING, "15", "Search State Cross Check");
+			System.out.format(FORMAT_STRING, "16", "Dealer Cross Check");
+			System.out.format(FORMAT_STRING, "17", "Canonicalizer Cross Check");
+			System.out.format(FORMAT_STRING, "18", "Indexer Cross Check");
+			System.out.format(FORMAT_STRING, "19", "Endgame Cache Cross Check");
 			System.out.format(FORMAT_STRING, "0", "Ende");
 			System.out.format("%-32s", "Eingabe:");
 			try {
@@ -209,6 +264,33 @@ public class TestApplication {
 						name = scanner.nextLine();
 						testController.printTestCase(folder, name);
 						break;
+					case 11:
+						testController.aiTournament();
+						break;
+					case 12:
+						testController.engineCrossCheck();
+						break;
+					case 13:
+						testController.solverCrossCheck();
+						break;
+					case 14:
+						testController.proverCrossCheck();
+						break;
+					case 15:
+						testController.searchStateCrossCheck();
+						break;
+					case 16:
+						testController.dealerCrossCheck();
+						break;
+					case 17:
+						testController.canonicalizerCrossCheck();
+						break;
+					case 18:
+						testController.indexerCrossCheck();
+						break;
+					case 19:
+						testController.endgameCacheCrossCheck();
+						break;
 					case 0:
 						choice = -1;
 						break;
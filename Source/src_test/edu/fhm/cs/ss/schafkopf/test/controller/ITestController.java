@@ -26,6 +26,22 @@ public interface ITestController {
 	 */
 	void aiDeterminationTest();
 
+	/**
+	 * This test measures the strength of the AIs defined in {@link TestSettings#TOURNAMENT_AIS} in a round robin tournament on duplicate deals. Every pair of
+	 * AIs plays a match on all cores, until a sequential test decides which AI is stronger or the maximum number of deals is played. The settings of the
+	 * matches can be edited in {@link TestSettings} too.<br>
+	 * The result of every match and the credits and ratings of every AI are printed to the console.
+	 */
+	void aiTournament();
+
+	/**
+	 * This test checks the hand canonicalizer on {@link TestSettings#CROSS_CHECK_CANONICALIZER_HANDS} random hands per game type: every permutation of the
+	 * interchangeable colors has to give the same key and the canonical hand has to be one of them. {@link TestSettings#CROSS_CHECK_CANONICALIZER_DEALS} deals
+	 * per game type are solved by the double dummy solver before and after a permutation, the points have to be equal. Every difference is printed to the
+	 * console as a warning, followed by the number of different keys per game type.
+	 */
+	void canonicalizerCrossCheck();
+
 	/**
 	 * This test will generate a lot of games, the exact number is defined in {@link TestSettings#CUSTOM_STRESSTEST_GAMES}, and start them with the AI Views and
 	 * AIs defined in {@link TestSettings#AUTONOMOUS_VIEW} and {@link TestSettings#AI}. All occurring errors are displayed to the console. <br>
@@ -35,6 +51,27 @@ public interface ITestController {
 	 */
 	void customStressTest();
 
+	/**
+	 * This test compares the constrained dealer on {@link TestSettings#CROSS_CHECK_DEALER_SETS} random sets of possible cards with an enumeration of all valid
+	 * deals. The dealer has to count the same number of deals and {@link TestSettings#CROSS_CHECK_DEALER_SAMPLES} deals per valid deal are drawn, which have to
+	 * be valid and pass a chi-square test of uniformity. Every difference is printed to the console as a warning, followed by the drawn deals and their speed.
+	 */
+	void dealerCrossCheck();
+
+	/**
+	 * This test checks the endgame cache with {@link TestSettings#CROSS_CHECK_CACHE_OPERATIONS} operations per thread, first by one thread and then by several
+	 * threads at once. Every position has a true value, that all stored bounds contain, so the bounds of a lookup have to contain it too. Every wrong lookup is
+	 * printed to the console as a warning, followed by the hit rates and the operations per second.
+	 */
+	void endgameCacheCrossCheck();
+
+	/**
+	 * This test plays {@link TestSettings#CROSS_CHECK_ENGINE_GAMES} stacks with the deterministic {@link TestSettings#CROSS_CHECK_AI} twice: by the threaded game
+	 * controller with autonomous player views and by the synchronous game engine. The finished games have to be equal, every difference is printed to the
+	 * console as a warning, followed by the number of compared games and the speed of both.
+	 */
+	void engineCrossCheck();
+
 	/**
 	 * This is not a test, but an option to generate test cases that can be loaded and used for a {@link #aiDeterminationTest()} afterwards.<br>
 	 * The loaded stack feed - which one can be edited in {@link TestSettings#STACK_FEED_TO_LOAD} - will be used to generate stacks for the test games. One test
@@ -66,6 +103,14 @@ public interface ITestController {
 	 */
 	void generateTestCasesWithRandomStacks(String dirName, int number, String fileprefix);
 
+	/**
+	 * This test checks the deal indexer on {@link TestSettings#CROSS_CHECK_INDEXER_INDICES} random indices: every index has to round-trip through its deal and
+	 * its stack, the stack has to equal the predefined stack of the stack handler for the same hands and the ranges of the leading hands have to contain the
+	 * index. Afterwards {@link TestSettings#CROSS_CHECK_INDEXER_SUBSPACES} subspaces of two leading hands are enumerated completely. Every difference is printed
+	 * to the console as a warning, followed by the time per index and the enumerated deals per second.
+	 */
+	void indexerCrossCheck();
+
 	/**
 	 * This is also an option and loads all test cases found in the given directory. These can then be used for the {@link #aiDeterminationTest()}.<br>
 	 * The path, the given directory has to be in, is defined in {@link TestSettings#TESTCASE_FOLDER_RELATIVE_PATH}.
@@ -118,6 +163,27 @@ public interface ITestController {
 	 */
 	void printTestCase(String dirName, String testCaseFilename);
 
+	/**
+	 * This test checks the exclusive game prover of the AIs on {@link TestSettings#CROSS_CHECK_PROVER_HANDS} strong hands per exclusive game type: every hand
+	 * is solved by the double dummy solver on up to {@link TestSettings#CROSS_CHECK_PROVER_SAMPLES} distributions of the other cards. A proven hand losing a
+	 * distribution is printed to the console as a warning, followed by the proven and the won hands and the time of the prover.
+	 */
+	void proverCrossCheck();
+
+	/**
+	 * This test plays {@link TestSettings#CROSS_CHECK_SEARCH_STATE_GAMES} games of random AIs with the game engine and makes every executed choose, strike,
+	 * strike back and play card action also as a move on a search state. The search state has to equal the game data after every move and the states before
+	 * the moves after undoing them. Every difference is printed to the console as a warning, followed by the compared moves and their speed.
+	 */
+	void searchStateCrossCheck();
+
+	/**
+	 * This test compares the double dummy solver of the AIs on {@link TestSettings#CROSS_CHECK_SOLVER_ENDGAMES} random endgames with a brute force search over
+	 * all legal moves. Every difference is printed to the console as a warning. Afterwards {@link TestSettings#CROSS_CHECK_SOLVER_DEALS} full deals per game type
+	 * are solved, the average and maximum time and the searched nodes are printed.
+	 */
+	void solverCrossCheck();
+
 	/**
 	 * This test is basically the same as {@link #customStressTest()}, but the AI's used for validation are tested on the current implementation and do not
 	 * cause errors.<br>
@@ -4,12 +4,24 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 
 import edu.fhm.cs.ss.schafkopf.model.GameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RandomnessProvider;
 import edu.fhm.cs.ss.schafkopf.model.utilities.XMLFilePersistenceHandler;
 import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IPersistenceHandler;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.CanonicalizerCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.DealerCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.EndgameCacheCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.EngineCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.ICrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.IndexerCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.ProverCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.SearchStateCrossCheck;
+import edu.fhm.cs.ss.schafkopf.test.crosscheck.SolverCrossCheck;
 import edu.fhm.cs.ss.schafkopf.test.formattingandvalidation.FormattingUtils;
 import edu.fhm.cs.ss.schafkopf.test.formattingandvalidation.PackageValidation;
 import edu.fhm.cs.ss.schafkopf.test.formattingandvalidation.TestUtils;
@@ -21,6 +33,8 @@ import edu.fhm.cs.ss.schafkopf.test.model.TestValidationInfo;
 import edu.fhm.cs.ss.schafkopf.test.recording.ITestGameController;
 import edu.fhm.cs.ss.schafkopf.test.recording.TestGameController;
 import edu.fhm.cs.ss.schafkopf.test.settings.TestSettings;
+import edu.fhm.cs.ss.schafkopf.test.tournament.ITournamentResult;
+import edu.fhm.cs.ss.schafkopf.test.tournament.TournamentRunner;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IPlayerView;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
@@ -74,6 +88,11 @@ public class TestController implements ITestController {
 	 * The total feedback code to be able to quickly see, if a test was successful. Edited in {@link #testFeedBack(ITestValidationInfo)}.
 	 */
 	private TestValidationCode totalFeedBackValidationCode;
+	/**
+	 * The root seeds of the created test games are drawn from this generator, seeded with {@link TestSettings#ROOT_SEED}. Only used by the thread calling the
+	 * tests.
+	 */
+	private final SplittableRandom rootSeeds;
 
 	/**
 	 * Instantiates a test controller with default values and empty lists.
@@ -87,6 +106,7 @@ public class TestController implements ITestController {
 		this.feedbackMonitor = new Object();
 		this.feedBackCounter = 0;
 		this.expectedFeedBacks = 0;
+		this.rootSeeds = new SplittableRandom(TestSettings.ROOT_SEED);
 	}
 
 	@Override
@@ -123,7 +143,7 @@ public class TestController implements ITestController {
 			final PlayerPosition firstPlayerPos = testCase.getGamesList().get(0).getGamesFirstPlayerPosition();
 
 			// create a new test case replaying the loaded one and the compare these
-			createSingleTestcase(stack, players, testCase + "_determinism_replay", firstPlayerPos);
+			createSingleTestcase(stack, players, testCase + "_determinism_replay", firstPlayerPos, new RandomnessProvider(testCase.getRootSeed()));
 			expectedFeedBacks = 1;
 			waitForFeedbacks(execInfo, false, TestSettings.TIMEOUT);
 			if (execInfo.getTotalValidationCode().equals(TestValidationCode.ERROR_GENERAL)) {
@@ -172,6 +192,26 @@ public class TestController implements ITestController {
 		}
 	}
 
+	@Override
+	public void aiTournament() {
+
+		final ITestValidationInfo execInfo = new TestValidationInfo();
+		final ITournamentResult result = new TournamentRunner(testGameSettings, rootSeeds.nextLong()).run(execInfo, TestSettings.TOURNAMENT_AIS);
+		if (result == null) {
+			System.err.println(execInfo.getFurtherInformation());
+		} else {
+			System.out.println("The tournament finished.");
+			System.out.println(FormattingUtils.generateTournamentString(result));
+		}
+	}
+
+	@Override
+	public void canonicalizerCrossCheck() {
+
+		runCrossCheck(new CanonicalizerCrossCheck(rootSeeds.nextLong(), TestSettings.CROSS_CHECK_CANONICALIZER_HANDS, TestSettings.CROSS_CHECK_CANONICALIZER_DEALS),
+				"canonicalizer");
+	}
+
 	@Override
 	public void customStressTest() {
 
@@ -191,6 +231,24 @@ public class TestController implements ITestController {
 		}
 	}
 
+	@Override
+	public void dealerCrossCheck() {
+
+		runCrossCheck(new DealerCrossCheck(rootSeeds.nextLong(), TestSettings.CROSS_CHECK_DEALER_SETS, TestSettings.CROSS_CHECK_DEALER_SAMPLES), "dealer");
+	}
+
+	@Override
+	public void endgameCacheCrossCheck() {
+
+		runCrossCheck(new EndgameCacheCrossCheck(rootSeeds.nextLong(), TestSettings.CROSS_CHECK_CACHE_OPERATIONS), "endgame cache");
+	}
+
+	@Override
+	public void engineCrossCheck() {
+
+		runCrossCheck(new EngineCrossCheck(testGameSettings, rootSeeds.nextLong(), TestSettings.CROSS_CHECK_ENGINE_GAMES, TestSettings.CROSS_CHECK_AI), "engine");
+	}
+
 	@Override
 	public void generateTestCasesWithCustomStacks(final String dirName, final String fileprefix) {
 
@@ -289,6 +347,12 @@ public class TestController implements ITestController {
 		}
 	}
 
+	@Override
+	public void indexerCrossCheck() {
+
+		runCrossCheck(new IndexerCrossCheck(rootSeeds.nextLong(), TestSettings.CROSS_CHECK_INDEXER_INDICES, TestSettings.CROSS_CHECK_INDEXER_SUBSPACES), "indexer");
+	}
+
 	@Override
 	public void loadAllTestCases(final String dirName) {
 
@@ -394,6 +458,24 @@ public class TestController implements ITestController {
 		}
 	}
 
+	@Override
+	public void proverCrossCheck() {
+
+		runCrossCheck(new ProverCrossCheck(rootSeeds.nextLong(), TestSettings.CROSS_CHECK_PROVER_HANDS, TestSettings.CROSS_CHECK_PROVER_SAMPLES), "prover");
+	}
+
+	@Override
+	public void searchStateCrossCheck() {
+
+		runCrossCheck(new SearchStateCrossCheck(testGameSettings, rootSeeds.nextLong(), TestSettings.CROSS_CHECK_SEARCH_STATE_GAMES), "search state");
+	}
+
+	@Override
+	public void solverCrossCheck() {
+
+		runCrossCheck(new SolverCrossCheck(rootSeeds.nextLong(), TestSettings.CROSS_CHECK_SOLVER_ENDGAMES, TestSettings.CROSS_CHECK_SOLVER_DEALS), "solver");
+	}
+
 	@Override
 	public void stressTestRandomAi() {
 
@@ -415,11 +497,14 @@ public class TestController implements ITestController {
 			// twice the games defined in the settings are generated per loop.
 			for (int j = 0; j < runsPerInnerLoop; ++j) {
 				// test a -> random acceptState
-				createSingleTestcase(null, TestUtils.getRandomTestPlayers(allAcceptableRestartStates[(int) (Math.random() * allAcceptableRestartStates.length)], forbiddenGameTypes[i]), "stress_test_"
-						+ i + "_a_" + j, TestSettings.FIRST_PLAYER_POSITION);
+				final IRandomnessProvider randomnessProviderA = new RandomnessProvider(rootSeeds.nextLong());
+				createSingleTestcase(null, TestUtils.getRandomTestPlayers(allAcceptableRestartStates[rootSeeds.nextInt(allAcceptableRestartStates.length)], forbiddenGameTypes[i], randomnessProviderA),
+						"stress_test_" + i + "_a_" + j, TestSettings.FIRST_PLAYER_POSITION, randomnessProviderA);
 				// test b gameState.FINISHED accept state, games always run
 				// through
-				createSingleTestcase(null, TestUtils.getRandomTestPlayers(GameState.FINISHED, forbiddenGameTypes[i]), "stress_test_" + i + "_b_" + j, TestSettings.FIRST_PLAYER_POSITION);
+				final IRandomnessProvider randomnessProviderB = new RandomnessProvider(rootSeeds.nextLong());
+				createSingleTestcase(null, TestUtils.getRandomTestPlayers(GameState.FINISHED, forbiddenGameTypes[i], randomnessProviderB), "stress_test_" + i + "_b_" + j,
+						TestSettings.FIRST_PLAYER_POSITION, randomnessProviderB);
 			}
 		}
 		// by waiting twice the time of a automatical test timeout,
@@ -477,10 +562,14 @@ public class TestController implements ITestController {
 	 *            the test case filename.
 	 * @param firstPlayerPosition
 	 *            the game's first player position.
+	 * @param randomnessProvider
+	 *            the randomness provider of the game.
 	 */
-	private void createSingleTestcase(final List<ICard> stack, final Map<PlayerPosition, IPlayerView> players, final String testCaseFilename, final PlayerPosition firstPlayerPosition) {
+	private void createSingleTestcase(final List<ICard> stack, final Map<PlayerPosition, IPlayerView> players, final String testCaseFilename, final PlayerPosition firstPlayerPosition,
+			final IRandomnessProvider randomnessProvider) {
 
-		final ITestGameController gameController = new TestGameController(this, new GameData(testGameSettings, false), stack, players, firstPlayerPosition, testCaseFilename);
+		final ITestGameController gameController = new TestGameController(this, new GameData(testGameSettings, false), stack, players, firstPlayerPosition, testCaseFilename,
+				randomnessProvider);
 		gameController.start();
 	}
 
@@ -510,7 +599,7 @@ public class TestController implements ITestController {
 			if (!execInfo.getTotalValidationCode().equals(TestValidationCode.SUCCESS)) {
 				break;
 			}
-			createSingleTestcase(stack, customPlayers, fileNamePrefix + (runs > 1 ? "_" + i : ""), TestSettings.FIRST_PLAYER_POSITION);
+			createSingleTestcase(stack, customPlayers, fileNamePrefix + (runs > 1 ? "_" + i : ""), TestSettings.FIRST_PLAYER_POSITION, new RandomnessProvider(rootSeeds.nextLong()));
 			if (interactive) {
 				expectedFeedBacks = 1;
 				waitForFeedbacks(execInfo, interactive, 0);
@@ -617,6 +706,28 @@ public class TestController implements ITestController {
 		}
 	}
 
+	/**
+	 * Run a cross check and print its errors and its report.
+	 *
+	 * @param crossCheck
+	 *            the cross check.
+	 * @param name
+	 *            the name of the cross check in the success message.
+	 */
+	private void runCrossCheck(final ICrossCheck crossCheck, final String name) {
+
+		final ITestValidationInfo execInfo = new TestValidationInfo();
+		final String report = crossCheck.run(execInfo);
+		if (!execInfo.getTotalValidationCode().equals(TestValidationCode.SUCCESS)) {
+			System.err.println(execInfo.getFurtherInformation());
+		} else {
+			System.out.println("The " + name + " cross check successfully finished.");
+		}
+		if (report != null) {
+			System.out.println(report);
+		}
+	}
+
 	/**
 	 * This is a blocking method, waiting for all the feedbacks from started test games to return.
 	 *
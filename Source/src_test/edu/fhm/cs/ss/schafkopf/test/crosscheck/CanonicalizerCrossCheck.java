@@ -0,0 +1,277 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.DoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.HandCanonicalizer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the cross check of the {@link HandCanonicalizer} with the permutations of the interchangeable colors: all permuted hands have to get
+ * the same key, the canonical hand has to be one of them, and a permuted deal has to give the same result as the original one.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The interchangeable colors of a game are all colors except the trump color and the called color of a Sauspiel. A permutation of them maps every
+ * non-trump card of a color to the card of the same value in the permuted color, the trumps are kept.<br>
+ * - For every random hand all permutations are applied. A permuted hand with another key or a canonical hand, that is not one of the permuted hands, is a
+ * {@link TestValidationCode#WARNING}. Since the key is built from the canonical hand, this covers both directions: hands get the same key if and only if
+ * they are equivalent.<br>
+ * - For the given number of hands per game the other cards are dealt and the game is solved by the {@link DoubleDummySolver} once with the original and once
+ * with a randomly permuted deal. Different points are a {@link TestValidationCode#WARNING}: the permutation does not preserve the game. A pass is not
+ * played, so its hands are only compared by their keys.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class CanonicalizerCrossCheck implements ICrossCheck {
+
+	/** All colors indicated by ordinal. */
+	private static final CardColor[] COLORS = CardColor.values();
+	/** The checked game types. */
+	private static final GameType[] GAME_TYPES = { GameType.SAUSPIEL, GameType.SOLO, GameType.WENZ, GameType.FARBWENZ, GameType.SI, GameType.PASS };
+	/** The colors of the checked game types, the called color of a Sauspiel, null if the game type needs none. */
+	private static final CardColor[] GAME_COLORS = { CardColor.GRAS, CardColor.HERZ, null, CardColor.SCHELLN, null, null };
+
+	/** The number of solved deals per game type. */
+	private final int deals;
+	/** The number of hands per game type. */
+	private final int hands;
+	/** The seed of the hands and the deals. */
+	private final long seed;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param seed
+	 *            the seed of the hands and the deals.
+	 * @param hands
+	 *            the number of hands per game type.
+	 * @param deals
+	 *            the number of solved deals per game type, at most the number of hands.
+	 * @throws IllegalArgumentException
+	 *             if a number is not positive or there are more deals than hands.
+	 */
+	public CanonicalizerCrossCheck(final long seed, final int hands, final int deals) {
+
+		if (hands <= 0 || deals <= 0 || deals > hands) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = seed;
+		this.hands = hands;
+		this.deals = deals;
+	}
+
+	/**
+	 * Collect all permutations of the given colors.
+	 *
+	 * @param colors
+	 *            the colors.
+	 * @param count
+	 *            the number of colors, that are not permuted yet.
+	 * @param permutations
+	 *            the permutations found so far, every permutation maps the color ordinals to color ordinals.
+	 */
+	private static void collectPermutations(final int[] colors, final int count, final List<int[]> permutations) {
+
+		if (count <= 1) {
+			final int[] permutation = new int[COLORS.length];
+			for (int color = 0; color < COLORS.length; ++color) {
+				permutation[color] = color;
+			}
+			int index = 0;
+			for (final CardColor color : COLORS) {
+				if (contains(colors, color.ordinal())) {
+					permutation[color.ordinal()] = colors[index++];
+				}
+			}
+			permutations.add(permutation);
+			return;
+		}
+		for (int i = 0; i < count; ++i) {
+			swap(colors, i, count - 1);
+			collectPermutations(colors, count - 1, permutations);
+			swap(colors, i, count - 1);
+		}
+	}
+
+	/**
+	 * @param values
+	 *            the values.
+	 * @param value
+	 *            the searched value.
+	 * @return true if the values contain the searched value.
+	 */
+	private static boolean contains(final int[] values, final int value) {
+
+		for (final int current : values) {
+			if (current == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Permute the interchangeable colors of a card set.
+	 *
+	 * @param cards
+	 *            the card set.
+	 * @param ruleSet
+	 *            the rules of the game.
+	 * @param permutation
+	 *            the permutation of the color ordinals, the other colors are mapped to themselves.
+	 * @return the permuted card set.
+	 */
+	private static int permute(final int cards, final IRuleSet ruleSet, final int[] permutation) {
+
+		int permuted = CardSet.EMPTY;
+		for (int rest = cards; rest != 0; rest &= rest - 1) {
+			final int ordinal = CardSet.first(rest);
+			final ICard card = CardSet.card(ordinal);
+			final CardColor color = card.getColor();
+			if ((ruleSet.getTrumpSet() & 1 << ordinal) == 0) {
+				permuted |= 1 << CardSet.ordinal(COLORS[permutation[color.ordinal()]], card.getValue());
+			} else {
+				permuted |= 1 << ordinal;
+			}
+		}
+		return permuted;
+	}
+
+	/**
+	 * Solve a deal with the first player as lead player.
+	 *
+	 * @param solver
+	 *            the solver.
+	 * @param deal
+	 *            the hands indicated by position ordinal.
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, null if the game type needs none.
+	 * @return the points of the player team.
+	 */
+	private static int solve(final IDoubleDummySolver solver, final int[] deal, final GameType gameType, final CardColor color) {
+
+		final SearchState state = new SearchState(PlayerPosition.values()[0], deal);
+		state.choose(gameType, color);
+		for (int player = 1; player < IRestrictedGameData.NUMBER_OF_PLAYERS; ++player) {
+			state.choose(GameType.PASS, null);
+		}
+		return solver.solve(state);
+	}
+
+	/**
+	 * @param values
+	 *            the values.
+	 * @param first
+	 *            the index of the first value.
+	 * @param second
+	 *            the index of the second value.
+	 */
+	private static void swap(final int[] values, final int first, final int second) {
+
+		final int value = values[first];
+		values[first] = values[second];
+		values[second] = value;
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		final IDoubleDummySolver solver = new DoubleDummySolver();
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-12s%-12s%-12s%-12s%-12s%n", "Spiel", "Hnde", "Schlssel", "Falsch", "Deals", "Abweichungen"));
+		for (int game = 0; game < GAME_TYPES.length; ++game) {
+			final GameType gameType = GAME_TYPES[game];
+			final CardColor color = GAME_COLORS[game];
+			final IRuleSet ruleSet = RuleSet.getInstance(gameType, gameType == GameType.SAUSPIEL ? IRestrictedGameData.SAUSPIEL_TRUMP_COLOR : color);
+			final CardColor calledColor = gameType == GameType.SAUSPIEL ? color : null;
+			// the interchangeable colors and all their permutations
+			int count = 0;
+			final int[] colors = new int[COLORS.length];
+			for (final CardColor suit : COLORS) {
+				if (suit != ruleSet.getTrumpColor() && suit != calledColor) {
+					colors[count++] = suit.ordinal();
+				}
+			}
+			final List<int[]> permutations = new ArrayList<int[]>();
+			final int[] interchangeable = new int[count];
+			System.arraycopy(colors, 0, interchangeable, 0, count);
+			collectPermutations(interchangeable, count, permutations);
+			final Set<Long> keys = new HashSet<Long>();
+			int wrong = 0;
+			int solved = 0;
+			int differences = 0;
+			for (int number = 0; number < hands; ++number) {
+				final int[] deal = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+				// shuffle the cards and deal them in seat order
+				final int[] cards = new int[IStackHandler.NUMBER_OF_CARDS];
+				for (int card = 0; card < cards.length; ++card) {
+					cards[card] = card;
+				}
+				for (int i = cards.length - 1; i > 0; --i) {
+					swap(cards, i, random.nextInt(i + 1));
+				}
+				for (int card = 0; card < cards.length; ++card) {
+					deal[card / IRestrictedGameData.ROUNDS_PER_GAME] |= 1 << cards[card];
+				}
+				final int hand = deal[0];
+				final long key = HandCanonicalizer.canonicalKey(hand, gameType, color);
+				final int canonical = HandCanonicalizer.canonicalHand(hand, gameType, color);
+				keys.add(key);
+				boolean canonicalFound = false;
+				for (final int[] permutation : permutations) {
+					final int permuted = permute(hand, ruleSet, permutation);
+					canonicalFound |= permuted == canonical;
+					if (HandCanonicalizer.canonicalKey(permuted, gameType, color) != key) {
+						++wrong;
+						testValidationInfo.appendInformation(TestValidationCode.WARNING, "The equivalent hands " + CardSet.toList(hand) + " and "
+								+ CardSet.toList(permuted) + " have different keys in a " + gameType + " " + color + ".");
+						break;
+					}
+				}
+				if (!canonicalFound) {
+					++wrong;
+					testValidationInfo.appendInformation(TestValidationCode.WARNING, "The canonical hand " + CardSet.toList(canonical) + " of "
+							+ CardSet.toList(hand) + " is not equivalent in a " + gameType + " " + color + ".");
+				}
+				if (gameType != GameType.PASS && number < deals) {
+					final int[] permutation = permutations.get(random.nextInt(permutations.size()));
+					final int[] permutedDeal = new int[deal.length];
+					for (int player = 0; player < deal.length; ++player) {
+						permutedDeal[player] = permute(deal[player], ruleSet, permutation);
+					}
+					final int points = solve(solver, deal, gameType, color);
+					final int permutedPoints = solve(solver, permutedDeal, gameType, color);
+					++solved;
+					if (points != permutedPoints) {
+						++differences;
+						testValidationInfo.appendInformation(TestValidationCode.WARNING, "The permuted deal of " + CardSet.toList(hand) + " gives " + permutedPoints
+								+ " instead of " + points + " points in a " + gameType + " " + color + ".");
+					}
+				}
+			}
+			builder.append(String.format("%-32s%-12d%-12d%-12d%-12d%-12d%n", gameType, hands, keys.size(), wrong, solved, differences));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,252 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.ConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IConstrainedDealer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+
+/**
+ * This class implements the cross check of the {@link ConstrainedDealer} with an enumeration of all valid deals: the dealer has to count the same number of
+ * deals, deal only valid ones and every valid deal with the same probability.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The constraints are random: three players get 1 to {@link #MAX_HAND_SIZE} random cards, most cards are possible for all players, the others for a random
+ * part of them, like after a player did not serve a color.<br>
+ * - The valid deals are enumerated by assigning every card to every possible player with free space in his hand.<br>
+ * - For every valid deal the given number of deals is drawn on average, the frequencies are compared with the uniform distribution by a chi-square test.
+ * With the Wilson-Hilferty approximation a statistic more than {@link #MAX_DEVIATION} standard deviations above the mean is considered not uniform.<br>
+ * - A wrong count, an invalid deal or a non uniform distribution is a {@link TestValidationCode#WARNING}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class DealerCrossCheck implements ICrossCheck {
+
+	/** The maximum number of cards of a player. */
+	private static final int MAX_HAND_SIZE = 3;
+	/** The maximum deviation of the chi-square statistic in standard deviations, about 3e-5 false warnings per constraint set. */
+	private static final double MAX_DEVIATION = 4;
+	/** The number of players the cards are dealt to. */
+	private static final int PLAYERS = 3;
+
+	/** The average number of deals drawn per valid deal. */
+	private final int samples;
+	/** The seed of the constraints and the deals. */
+	private final long seed;
+	/** The number of checked constraint sets. */
+	private final int sets;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param seed
+	 *            the seed of the constraints and the deals.
+	 * @param sets
+	 *            the number of checked constraint sets.
+	 * @param samples
+	 *            the average number of deals drawn per valid deal.
+	 * @throws IllegalArgumentException
+	 *             if a number is not positive.
+	 */
+	public DealerCrossCheck(final long seed, final int sets, final int samples) {
+
+		if (sets <= 0 || samples <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = seed;
+		this.sets = sets;
+		this.samples = samples;
+	}
+
+	/**
+	 * Encode a deal, every card of the universe gets two bits for the position ordinal of its player.
+	 *
+	 * @param universe
+	 *            all dealt cards.
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @return the encoded deal, -1 if a card of the universe is not dealt.
+	 */
+	private static int encode(final int universe, final int[] hands) {
+
+		int key = 0;
+		int shift = 0;
+		for (int rest = universe; rest != 0; rest &= rest - 1, shift += 2) {
+			final int card = rest & -rest;
+			int player = 0;
+			while (player < hands.length && (hands[player] & card) == 0) {
+				++player;
+			}
+			if (player == hands.length) {
+				return -1;
+			}
+			key |= player << shift;
+		}
+		return key;
+	}
+
+	/**
+	 * Enumerate all valid deals.
+	 *
+	 * @param rest
+	 *            the cards not assigned yet.
+	 * @param universe
+	 *            all dealt cards.
+	 * @param possibleCards
+	 *            the cards every player can get, indicated by position ordinal.
+	 * @param capacities
+	 *            the free space in the hands, indicated by position ordinal.
+	 * @param hands
+	 *            the hands assigned so far, indicated by position ordinal.
+	 * @param deals
+	 *            the encoded valid deals found so far with their index.
+	 */
+	private static void enumerate(final int rest, final int universe, final int[] possibleCards, final int[] capacities, final int[] hands,
+			final Map<Integer, Integer> deals) {
+
+		if (rest == CardSet.EMPTY) {
+			deals.put(encode(universe, hands), deals.size());
+			return;
+		}
+		final int card = rest & -rest;
+		for (int player = 0; player < hands.length; ++player) {
+			if ((possibleCards[player] & card) != 0 && capacities[player] > 0) {
+				--capacities[player];
+				hands[player] |= card;
+				enumerate(rest & ~card, universe, possibleCards, capacities, hands, deals);
+				hands[player] &= ~card;
+				++capacities[player];
+			}
+		}
+	}
+
+	/**
+	 * @param hands
+	 *            the hands indicated by position ordinal.
+	 * @param possibleCards
+	 *            the cards every player can get, indicated by position ordinal.
+	 * @param handSizes
+	 *            the number of cards every player gets, indicated by position ordinal.
+	 * @return true if every player got the right number of cards and only possible ones.
+	 */
+	private static boolean isValid(final int[] hands, final int[] possibleCards, final int[] handSizes) {
+
+		for (int player = 0; player < hands.length; ++player) {
+			if (CardSet.size(hands[player]) != handSizes[player] || (hands[player] & ~possibleCards[player]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param cardSets
+	 *            the card sets.
+	 * @return the cards of the sets.
+	 */
+	private static String toString(final int[] cardSets) {
+
+		final StringBuilder builder = new StringBuilder();
+		for (final int cardSet : cardSets) {
+			builder.append(CardSet.toList(cardSet));
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		int wrongCounts = 0;
+		int invalidDeals = 0;
+		int notUniform = 0;
+		long drawn = 0;
+		long time = 0;
+		for (int set = 0; set < sets; ++set) {
+			// random hand sizes and cards
+			final int[] handSizes = new int[PLAYERS];
+			int size = 0;
+			for (int player = 0; player < PLAYERS; ++player) {
+				handSizes[player] = 1 + random.nextInt(MAX_HAND_SIZE);
+				size += handSizes[player];
+			}
+			int universe = CardSet.EMPTY;
+			while (CardSet.size(universe) < size) {
+				universe |= 1 << random.nextInt(IStackHandler.NUMBER_OF_CARDS);
+			}
+			// most cards are possible for all players, the others for a random non empty part of them
+			final int[] possibleCards = new int[PLAYERS];
+			for (int rest = universe; rest != 0; rest &= rest - 1) {
+				final int players = random.nextInt(3) > 0 ? (1 << PLAYERS) - 1 : 1 + random.nextInt((1 << PLAYERS) - 1);
+				for (int player = 0; player < PLAYERS; ++player) {
+					if ((players & 1 << player) != 0) {
+						possibleCards[player] |= rest & -rest;
+					}
+				}
+			}
+			final Map<Integer, Integer> deals = new HashMap<Integer, Integer>();
+			enumerate(universe, universe, possibleCards, handSizes.clone(), new int[PLAYERS], deals);
+			final IConstrainedDealer dealer = new ConstrainedDealer(possibleCards, handSizes);
+			final String constraints = "possible " + toString(possibleCards) + " sizes " + handSizes[0] + " " + handSizes[1] + " " + handSizes[2];
+			if (dealer.countDeals() != deals.size()) {
+				++wrongCounts;
+				testValidationInfo.appendInformation(TestValidationCode.WARNING, "The dealer counted " + dealer.countDeals() + " instead of " + deals.size()
+						+ " deals for " + constraints);
+				continue;
+			}
+			if (deals.isEmpty()) {
+				continue;
+			}
+			// draw the deals and count their frequencies
+			final long[] frequencies = new long[deals.size()];
+			final long draws = (long) samples * deals.size();
+			boolean valid = true;
+			final long start = System.nanoTime();
+			for (long draw = 0; draw < draws && valid; ++draw) {
+				final int[] hands = dealer.deal(random);
+				final Integer index = deals.get(encode(universe, hands));
+				if (index == null || !isValid(hands, possibleCards, handSizes)) {
+					valid = false;
+					testValidationInfo.appendInformation(TestValidationCode.WARNING, "The dealer dealt " + toString(hands) + " for " + constraints);
+				} else {
+					++frequencies[index];
+				}
+			}
+			time += System.nanoTime() - start;
+			drawn += draws;
+			if (!valid) {
+				++invalidDeals;
+				continue;
+			}
+			// chi-square test, the degrees of freedom are the number of deals minus one
+			if (deals.size() > 1) {
+				double statistic = 0;
+				for (final long frequency : frequencies) {
+					statistic += (frequency - samples) * (double) (frequency - samples) / samples;
+				}
+				final double freedom = deals.size() - 1;
+				final double deviation = (Math.cbrt(statistic / freedom) - 1 + 2 / (9 * freedom)) / Math.sqrt(2 / (9 * freedom));
+				if (deviation > MAX_DEVIATION) {
+					++notUniform;
+					testValidationInfo.appendInformation(TestValidationCode.WARNING, String.format("The deals of %d valid ones are not uniform "
+							+ "(chi-square %.1f, %.1f standard deviations) for %s", deals.size(), statistic, deviation, constraints));
+				}
+			}
+		}
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-32d%n", "Geprfte Vorgaben", sets));
+		builder.append(String.format("%-32s%-32d%n", "Falsche Anzahl", wrongCounts));
+		builder.append(String.format("%-32s%-32d%n", "Ungltige Deals", invalidDeals));
+		builder.append(String.format("%-32s%-32d%n", "Nicht gleichverteilt", notUniform));
+		builder.append(String.format("%-32s%-32d%n", "Gezogene Deals", drawn));
+		builder.append(String.format("%-32s%-32.0f%n", "Deals/s", drawn / (time / 1e9)));
+		return builder.toString();
+	}
+}
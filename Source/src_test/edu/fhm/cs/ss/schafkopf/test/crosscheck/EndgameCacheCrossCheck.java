@@ -0,0 +1,266 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IEndgameCache;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.DoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.EndgameCache;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+
+/**
+ * This class implements the cross check of the {@link EndgameCache} with the values its positions were stored with: a lookup may miss, but it must never
+ * return bounds of another position, neither by one thread nor by several threads at once.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - Every position of a random pool has a true value derived from its keys. Every stored lower and upper bound contains the true value, so all bounds a
+ * lookup returns have to contain it too. The pool has {@link #POSITIONS_PER_SLOT} times more positions than the cache has slots, so slots are replaced all
+ * the time.<br>
+ * - First one thread stores and looks up the positions. Without other threads a position stored is found immediately afterwards, with its bounds narrowed
+ * by the bounds found before.<br>
+ * - Then at least {@link #MIN_THREADS} threads store and look up the same positions at once, half of the operations are lookups.<br>
+ * - Wrong bounds are a {@link TestValidationCode#WARNING}, only the first ones of every thread are reported.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EndgameCacheCrossCheck implements ICrossCheck {
+
+	/** The memory budget of the checked cache in bytes, small so the slots are contended. */
+	private static final long BUDGET = 64L << 10;
+	/** The minimum number of threads using the cache at once. */
+	private static final int MIN_THREADS = 4;
+	/** The number of positions per slot of the cache. */
+	private static final int POSITIONS_PER_SLOT = 4;
+
+	/** The number of operations per thread. */
+	private final int operations;
+	/** The seed of the positions and the operations. */
+	private final long seed;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param seed
+	 *            the seed of the positions and the operations.
+	 * @param operations
+	 *            the number of operations per thread.
+	 * @throws IllegalArgumentException
+	 *             if the number of operations is not positive.
+	 */
+	public EndgameCacheCrossCheck(final long seed, final int operations) {
+
+		if (operations <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = seed;
+		this.operations = operations;
+	}
+
+	/**
+	 * @param cardsKey
+	 *            the cards key.
+	 * @param gameKey
+	 *            the game key.
+	 * @return the true value of the position.
+	 */
+	private static int getValue(final long cardsKey, final long gameKey) {
+
+		return (int) Long.remainderUnsigned((cardsKey ^ gameKey) * 0x9E3779B97F4A7C15L, DoubleDummySolver.TOTAL_POINTS + 1);
+	}
+
+	/**
+	 * Check the bounds returned by a lookup.
+	 *
+	 * @param bounds
+	 *            the returned bounds, -1 if the position is not stored.
+	 * @param value
+	 *            the true value of the position.
+	 * @return true if the position is not stored or the bounds contain the true value.
+	 */
+	private static boolean isValid(final int bounds, final int value) {
+
+		if (bounds == -1) {
+			return true;
+		}
+		final int lower = bounds & IEndgameCache.MASK_POINTS;
+		final int upper = bounds >>> IEndgameCache.SHIFT_UPPER & IEndgameCache.MASK_POINTS;
+		return bounds >>> 2 * IEndgameCache.SHIFT_UPPER == 0 && lower <= value && value <= upper;
+	}
+
+	/**
+	 * Run operations on the cache.
+	 *
+	 * @param cache
+	 *            the cache.
+	 * @param cardsKeys
+	 *            the cards keys of the positions.
+	 * @param gameKeys
+	 *            the game keys of the positions.
+	 * @param random
+	 *            the random number generator.
+	 * @param count
+	 *            the number of operations.
+	 * @param alone
+	 *            true if no other thread uses the cache, then a stored position is also looked up immediately.
+	 * @return the result.
+	 */
+	private static OperationResult operate(final IEndgameCache cache, final long[] cardsKeys, final long[] gameKeys, final SplittableRandom random,
+			final int count, final boolean alone) {
+
+		final OperationResult result = new OperationResult();
+		final long start = System.nanoTime();
+		for (int operation = 0; operation < count; ++operation) {
+			final int position = random.nextInt(cardsKeys.length);
+			final long cardsKey = cardsKeys[position];
+			final long gameKey = gameKeys[position];
+			final int value = getValue(cardsKey, gameKey);
+			final int bounds = cache.get(cardsKey, gameKey);
+			if (!isValid(bounds, value)) {
+				result.addWrong(String.format("The lookup of %016x %x returned %x for the value %d.", cardsKey, gameKey, bounds, value));
+			}
+			if (bounds != -1) {
+				++result.hits;
+			}
+			if (!random.nextBoolean()) {
+				continue;
+			}
+			final int lower = random.nextInt(value + 1);
+			final int upper = value + random.nextInt(DoubleDummySolver.TOTAL_POINTS + 1 - value);
+			cache.put(cardsKey, gameKey, lower, upper);
+			if (alone) {
+				// the stored bounds are narrowed by the bounds found before
+				int expected = upper << IEndgameCache.SHIFT_UPPER | lower;
+				if (bounds != -1) {
+					expected = Math.min(upper, bounds >>> IEndgameCache.SHIFT_UPPER) << IEndgameCache.SHIFT_UPPER
+							| Math.max(lower, bounds & IEndgameCache.MASK_POINTS);
+				}
+				final int stored = cache.get(cardsKey, gameKey);
+				if (stored != expected) {
+					result.addWrong(String.format("The position %016x %x was stored as %x and found as %x.", cardsKey, gameKey, expected, stored));
+				}
+			}
+		}
+		result.time = System.nanoTime() - start;
+		return result;
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		final IEndgameCache cache = new EndgameCache(BUDGET);
+		// positions of the last rounds, the cards key holds the remaining cards in the low bits
+		final long[] cardsKeys = new long[cache.getCapacity() * POSITIONS_PER_SLOT];
+		final long[] gameKeys = new long[cardsKeys.length];
+		for (int position = 0; position < cardsKeys.length; ++position) {
+			final int size = IEndgameCache.MIN_CARDS + random.nextInt(IEndgameCache.MAX_CARDS - IEndgameCache.MIN_CARDS + 1);
+			int cards = 0;
+			while (Integer.bitCount(cards) < size) {
+				cards |= 1 << random.nextInt(Integer.SIZE);
+			}
+			cardsKeys[position] = random.nextLong() << Integer.SIZE | cards & 0xFFFFFFFFL;
+			gameKeys[position] = random.nextInt(1 << 12);
+		}
+		final OperationResult sequential = operate(cache, cardsKeys, gameKeys, random.split(), operations, true);
+		for (final String wrong : sequential.wrongs) {
+			testValidationInfo.appendInformation(TestValidationCode.WARNING, wrong);
+		}
+		// all threads start at once
+		final int threads = Math.max(MIN_THREADS, Runtime.getRuntime().availableProcessors());
+		final CountDownLatch startSignal = new CountDownLatch(threads);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final List<OperationResult> results = new ArrayList<OperationResult>();
+		final long start = System.nanoTime();
+		try {
+			final List<Future<OperationResult>> futures = new ArrayList<Future<OperationResult>>();
+			for (int thread = 0; thread < threads; ++thread) {
+				final SplittableRandom threadRandom = random.split();
+				futures.add(executor.submit(new Callable<OperationResult>() {
+
+					@Override
+					public OperationResult call() throws InterruptedException {
+
+						startSignal.countDown();
+						startSignal.await();
+						return operate(cache, cardsKeys, gameKeys, threadRandom, operations, false);
+					}
+				}));
+			}
+			for (final Future<OperationResult> future : futures) {
+				results.add(future.get());
+			}
+		} catch (final InterruptedException | ExecutionException e) {
+			testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "The endgame cache cross check was aborted.\n" + (e.getCause() == null ? e : e
+					.getCause()));
+			return null;
+		} finally {
+			executor.shutdownNow();
+		}
+		final long time = System.nanoTime() - start;
+		long wrongs = 0;
+		long hits = 0;
+		for (final OperationResult result : results) {
+			wrongs += result.wrongCount;
+			hits += result.hits;
+			for (final String wrong : result.wrongs) {
+				testValidationInfo.appendInformation(TestValidationCode.WARNING, wrong);
+			}
+		}
+		final long total = (long) threads * operations;
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-32d%n", "Slots", cache.getCapacity()));
+		builder.append(String.format("%-32s%-32d%n", "Positionen", cardsKeys.length));
+		builder.append(String.format("%-32s%-32d%n", "Threads", threads));
+		builder.append(String.format("%-32s%-32d%n", "Falsch 1 Thread", sequential.wrongCount));
+		builder.append(String.format("%-32s%-32d%n", "Falsch parallel", wrongs));
+		builder.append(String.format("%-32s%-32.1f%n", "Treffer % 1 Thread", 100.0 * sequential.hits / operations));
+		builder.append(String.format("%-32s%-32.1f%n", "Treffer % parallel", 100.0 * hits / total));
+		builder.append(String.format("%-32s%-32.0f%n", "Operationen/s 1 Thread", operations / (sequential.time / 1e9)));
+		builder.append(String.format("%-32s%-32.0f%n", "Operationen/s parallel", total / (time / 1e9)));
+		return builder.toString();
+	}
+
+	/**
+	 * This class holds the result of the operations of one thread.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class OperationResult {
+
+		/** The maximum number of reported wrong bounds. */
+		private static final int MAX_REPORTED = 5;
+
+		/** The number of lookups, that found the position. */
+		private long hits;
+		/** The time of the operations in nanoseconds. */
+		private long time;
+		/** The number of wrong bounds. */
+		private long wrongCount;
+		/** The first wrong bounds. */
+		private final List<String> wrongs = new ArrayList<String>();
+
+		/**
+		 * Count wrong bounds and remember the first ones.
+		 *
+		 * @param wrong
+		 *            the description of the wrong bounds.
+		 */
+		private void addWrong(final String wrong) {
+
+			if (++wrongCount <= MAX_REPORTED) {
+				wrongs.add(wrong);
+			}
+		}
+	}
+}
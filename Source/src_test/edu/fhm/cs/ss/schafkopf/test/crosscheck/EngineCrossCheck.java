@@ -0,0 +1,260 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import edu.fhm.cs.ss.schafkopf.controller.GameController;
+import edu.fhm.cs.ss.schafkopf.controller.GameEngine;
+import edu.fhm.cs.ss.schafkopf.model.GameData;
+import edu.fhm.cs.ss.schafkopf.model.PlayerData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.FullAccessGameUtils;
+import edu.fhm.cs.ss.schafkopf.test.formattingandvalidation.TestUtils;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.test.settings.TestSettings;
+import edu.fhm.cs.ss.schafkopf.view.AutonomousPlayerView;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICharge;
+
+/**
+ * This class implements the cross check of the {@link GameEngine} with the {@link GameController}: both play the same stacks with the same deterministic AI,
+ * the finished games have to be equal.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The controller plays the game with {@link AutonomousPlayerView}s, the engine asks the AIs synchronously. Every game starts with a new game data.<br>
+ * - The compared game data are the game, the teams, the charge, the credits and the won cards of every player.<br>
+ * - A difference is a {@link TestValidationCode#WARNING}, a controller game not finished within {@link TestSettings#TIMEOUT} a
+ * {@link TestValidationCode#ERROR_DEADLOCK}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class EngineCrossCheck implements ICrossCheck {
+
+	/** The deterministic AI the games are played with. */
+	private final Class<? extends IAI> ai;
+	/** The game settings the games are played with, null for the default settings. */
+	private final IGameSettings gameSettings;
+	/** The number of compared games. */
+	private final int games;
+	/** The seed of the stacks. */
+	private final long seed;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param gameSettings
+	 *            the game settings the games are played with, null for the default settings.
+	 * @param seed
+	 *            the seed of the stacks.
+	 * @param games
+	 *            the number of compared games.
+	 * @param ai
+	 *            the deterministic AI the games are played with, it needs a constructor taking the accept restart state.
+	 * @throws IllegalArgumentException
+	 *             if the AI is null or the number of games is not positive.
+	 */
+	public EngineCrossCheck(final IGameSettings gameSettings, final long seed, final int games, final Class<? extends IAI> ai) {
+
+		if (ai == null || games <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.gameSettings = gameSettings;
+		this.seed = seed;
+		this.games = games;
+		this.ai = ai;
+	}
+
+	/**
+	 * Summarize the result of a finished game.
+	 *
+	 * @param gameData
+	 *            the game data.
+	 * @return the summary, equal games have equal summaries.
+	 */
+	private static String summarize(final IGameData gameData) {
+
+		final ICharge charge = gameData.getCharge();
+		final StringBuilder builder = new StringBuilder();
+		builder.append(gameData.getGameType()).append(' ').append(gameData.getColor()).append(' ').append(gameData.getLeadPlayerPosition()).append(' ')
+				.append(gameData.getWinnerTeam());
+		builder.append(" charge ").append(charge.getBasic()).append(' ').append(charge.getBounty()).append(' ').append(charge.getSchneider()).append(' ')
+				.append(charge.getInitialMultiplier()).append(' ').append(charge.getStrikeMultiplier()).append(' ').append(charge.getExclusiveMultiplier())
+				.append(' ').append(charge.getStockIndex()).append(' ').append(charge.getStockValue()).append(' ').append(charge.getTotalCharge());
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			builder.append(String.format(" %s %.0f %08x", position, gameData.getPlayerDatas().get(position).getCredit(), gameData.getPlayerDatas().get(position)
+					.getWonCardSet()));
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final Map<PlayerPosition, IAI> engineAis = TestUtils.getCustomTestAis(testValidationInfo, ai, GameState.FINISHED);
+		if (engineAis == null) {
+			return null;
+		}
+		final SplittableRandom random = new SplittableRandom(seed);
+		final PlayerPosition[] positions = PlayerPosition.values();
+		long engineTime = 0;
+		long controllerTime = 0;
+		int differences = 0;
+		try {
+			for (int game = 0; game < games; ++game) {
+				final List<ICard> stack = DealIndexer.stack(random.nextLong(DealIndexer.NUMBER_OF_DEALS));
+				final PlayerPosition firstPlayerPosition = positions[game % positions.length];
+				long start = System.nanoTime();
+				// the stack is consumed by dealing, every game gets its own copy
+				final String engineSummary = summarize(new GameEngine(new GameData(gameSettings, false), engineAis).play(new ArrayList<ICard>(stack),
+						firstPlayerPosition));
+				engineTime += System.nanoTime() - start;
+				start = System.nanoTime();
+				final String controllerSummary = playWithController(testValidationInfo, new ArrayList<ICard>(stack), firstPlayerPosition);
+				controllerTime += System.nanoTime() - start;
+				if (controllerSummary == null) {
+					return null;
+				}
+				if (!engineSummary.equals(controllerSummary)) {
+					++differences;
+					testValidationInfo.appendInformation(TestValidationCode.WARNING, "The games of the stack " + DealIndexer.index(stack) + " differ.\nEngine:     "
+							+ engineSummary + "\nController: " + controllerSummary);
+				}
+			}
+		} catch (final InterruptedException e) {
+			testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "The engine cross check was interrupted.");
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-32s%n", "KI", ai.getSimpleName()));
+		builder.append(String.format("%-32s%-32d%n", "Verglichene Spiele", games));
+		builder.append(String.format("%-32s%-32d%n", "Abweichungen", differences));
+		builder.append(String.format("%-32s%-32.0f%n", "Spiele/s Engine", games / (engineTime / 1e9)));
+		builder.append(String.format("%-32s%-32.0f%n", "Spiele/s Controller", games / (controllerTime / 1e9)));
+		return builder.toString();
+	}
+
+	/**
+	 * Play a game with the game controller and autonomous player views.
+	 *
+	 * @param testValidationInfo
+	 *            the test validation info to append errors to.
+	 * @param stack
+	 *            the stack, it is consumed by dealing.
+	 * @param firstPlayerPosition
+	 *            the position of the first player.
+	 * @return the summary of the finished game, null if errors occurred.
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting for the game.
+	 */
+	private String playWithController(final ITestValidationInfo testValidationInfo, final List<ICard> stack, final PlayerPosition firstPlayerPosition)
+			throws InterruptedException {
+
+		final Map<PlayerPosition, IAI> ais = TestUtils.getCustomTestAis(testValidationInfo, ai, GameState.FINISHED);
+		if (ais == null) {
+			return null;
+		}
+		final IGameData gameData = new GameData(gameSettings, false);
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			gameData.getPlayerDatas().put(position, new PlayerData(gameData.getGameSettings(), position));
+		}
+		new FullAccessGameUtils(gameData).initializeGameData(firstPlayerPosition, stack);
+		final ComparedGameController controller = new ComparedGameController(gameData);
+		// the views are subscribed in the order of the positions
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			new AutonomousPlayerView(ais.get(position)).setGameController(controller);
+		}
+		controller.start();
+		try {
+			final String summary = controller.awaitSummary(TestSettings.TIMEOUT);
+			if (summary == null) {
+				testValidationInfo.appendInformation(TestValidationCode.ERROR_DEADLOCK, "The controller game of the stack " + DealIndexer.index(stack)
+						+ " did not finish within " + TestSettings.TIMEOUT + " ms.");
+			}
+			return summary;
+		} finally {
+			controller.back();
+		}
+	}
+
+	/**
+	 * This game controller summarizes the game data as soon as the game is finished. All actions afterwards are refused, so the next game is not started.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class ComparedGameController extends GameController {
+
+		/** Counted down when the game is finished. */
+		private final CountDownLatch finished;
+		/** A monitor used to synchronize the action handling. */
+		private final Object gameMonitor;
+		/** The summary of the finished game, null while it is running. */
+		private String summary;
+
+		/**
+		 * Instantiate the controller with the given game data.
+		 *
+		 * @param gameData
+		 *            the initialized game data.
+		 */
+		private ComparedGameController(final IGameData gameData) {
+
+			super(null, gameData, null);
+			this.finished = new CountDownLatch(1);
+			this.gameMonitor = new Object();
+		}
+
+		/**
+		 * This method now also summarizes the finished game and refuses all later actions. See the interface documentation for more information.
+		 */
+		@Override
+		public ActionValidationCode handleGameAction(final IAction action) {
+
+			synchronized (gameMonitor) {
+				if (summary != null) {
+					return ActionValidationCode.STATE_WRONG;
+				}
+				final ActionValidationCode retVal = super.handleGameAction(action);
+				if (getGameData().getGameState() == GameState.FINISHED) {
+					summary = summarize(getGameData());
+					finished.countDown();
+				}
+				return retVal;
+			}
+		}
+
+		/**
+		 * Wait until the game is finished.
+		 *
+		 * @param timeout
+		 *            the timeout in milliseconds.
+		 * @return the summary of the finished game, null if it did not finish in time.
+		 * @throws InterruptedException
+		 *             if the thread is interrupted while waiting.
+		 */
+		private String awaitSummary(final long timeout) throws InterruptedException {
+
+			if (!finished.await(timeout, TimeUnit.MILLISECONDS)) {
+				return null;
+			}
+			synchronized (gameMonitor) {
+				return summary;
+			}
+		}
+	}
+}
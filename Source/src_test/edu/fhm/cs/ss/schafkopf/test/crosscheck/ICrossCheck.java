@@ -0,0 +1,22 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+
+/**
+ * A cross check compares an implementation with an independent reference on the same inputs, e.g. the threaded game controller with the synchronous game
+ * engine. Every difference found is appended to the test validation info.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ICrossCheck {
+
+	/**
+	 * Run the check. The call blocks until all inputs are compared.
+	 *
+	 * @param testValidationInfo
+	 *            the test validation info to append the differences and errors to.
+	 * @return the report of the compared inputs and the measured numbers, null if the check could not be run.
+	 */
+	String run(ITestValidationInfo testValidationInfo);
+}
@@ -0,0 +1,247 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.StackHandler;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the cross check of the {@link DealIndexer} with the {@link StackHandler}: every index has to round-trip through its deal and its
+ * stack, and the stack has to be the one {@link IStackHandler#getPredefinedStack(String[], String[], String[], String[])} returns for the hands.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The indices are random, the first and the last index are always checked. The deal of an index has to be a complete deal with the same index.<br>
+ * - The hands are passed to the stack handler as card ids in ascending ordinal order, the returned stack has to equal the stack of the index. The hands
+ * are passed again in a random order, the returned stack has to have the same index.<br>
+ * - The range of the leading hands of every deal has to contain the index, its first and last deal have to start with the same hands, the deals next to it
+ * not.<br>
+ * - For the given number of subspaces with two random leading hands all deals of the range are enumerated: every index has to round-trip and the deals
+ * have to be different.<br>
+ * - A difference is a {@link TestValidationCode#WARNING}.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class IndexerCrossCheck implements ICrossCheck {
+
+	/** The number of checked random indices. */
+	private final int indices;
+	/** The seed of the indices. */
+	private final long seed;
+	/** The number of completely enumerated subspaces. */
+	private final int subspaces;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param seed
+	 *            the seed of the indices.
+	 * @param indices
+	 *            the number of checked random indices.
+	 * @param subspaces
+	 *            the number of completely enumerated subspaces.
+	 * @throws IllegalArgumentException
+	 *             if the number of indices is not positive or the number of subspaces is negative.
+	 */
+	public IndexerCrossCheck(final long seed, final int indices, final int subspaces) {
+
+		if (indices <= 0 || subspaces < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = seed;
+		this.indices = indices;
+		this.subspaces = subspaces;
+	}
+
+	/**
+	 * Check an index.
+	 *
+	 * @param index
+	 *            the index.
+	 * @param random
+	 *            the random number generator.
+	 * @return the difference, null if there is none.
+	 */
+	private static String checkIndex(final long index, final SplittableRandom random) {
+
+		final int[] hands = DealIndexer.deal(index);
+		int all = CardSet.EMPTY;
+		for (final int hand : hands) {
+			if (CardSet.size(hand) != IRestrictedGameData.MAX_HAND_SIZE || (all & hand) != 0) {
+				return "The deal of " + index + " is not complete: " + Arrays.toString(hands);
+			}
+			all |= hand;
+		}
+		if (DealIndexer.index(hands) != index) {
+			return "The deal of " + index + " has the index " + DealIndexer.index(hands) + ".";
+		}
+		final List<ICard> stack = DealIndexer.stack(index);
+		final List<ICard> predefinedStack = StackHandler.getInstance().getPredefinedStack(toIds(hands[0], null), toIds(hands[1], null), toIds(hands[2], null),
+				toIds(hands[3], null));
+		if (predefinedStack == null || !Arrays.equals(ordinals(stack), ordinals(predefinedStack))) {
+			return "The stack of " + index + " differs from the predefined stack.\nIndexer:       " + stack + "\nStack handler: " + predefinedStack;
+		}
+		if (DealIndexer.index(stack) != index) {
+			return "The stack of " + index + " has the index " + DealIndexer.index(stack) + ".";
+		}
+		final List<ICard> shuffledStack = StackHandler.getInstance().getPredefinedStack(toIds(hands[0], random), toIds(hands[1], random),
+				toIds(hands[2], random), toIds(hands[3], random));
+		if (DealIndexer.index(shuffledStack) != index) {
+			return "The predefined stack of the shuffled hands of " + index + " has the index " + DealIndexer.index(shuffledStack) + ".";
+		}
+		for (int leading = 0; leading < IRestrictedGameData.NUMBER_OF_PLAYERS; ++leading) {
+			final String difference = checkRange(index, hands, leading);
+			if (difference != null) {
+				return difference;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Check the range of the leading hands of a deal.
+	 *
+	 * @param index
+	 *            the index of the deal.
+	 * @param hands
+	 *            the hands of the deal.
+	 * @param leading
+	 *            the number of leading hands.
+	 * @return the difference, null if there is none.
+	 */
+	private static String checkRange(final long index, final int[] hands, final int leading) {
+
+		final int[] leadingHands = Arrays.copyOf(hands, leading);
+		final long[] range = DealIndexer.range(leadingHands);
+		if (index < range[0] || index >= range[1]) {
+			return "The range " + Arrays.toString(range) + " of " + leading + " leading hands does not contain the index " + index + ".";
+		}
+		if (!startsWith(DealIndexer.deal(range[0]), leadingHands) || !startsWith(DealIndexer.deal(range[1] - 1), leadingHands)) {
+			return "The range " + Arrays.toString(range) + " of " + leading + " leading hands contains other leading hands.";
+		}
+		if (range[0] > 0 && startsWith(DealIndexer.deal(range[0] - 1), leadingHands) || range[1] < DealIndexer.NUMBER_OF_DEALS
+				&& startsWith(DealIndexer.deal(range[1]), leadingHands)) {
+			return "The range " + Arrays.toString(range) + " of " + leading + " leading hands is not complete.";
+		}
+		return null;
+	}
+
+	/**
+	 * @param stack
+	 *            the stack.
+	 * @return the ordinals of the cards of the stack, so stacks can be compared independently of the card instances.
+	 */
+	private static int[] ordinals(final List<ICard> stack) {
+
+		final int[] ordinals = new int[stack.size()];
+		for (int position = 0; position < ordinals.length; ++position) {
+			ordinals[position] = stack.get(position).getOrdinal();
+		}
+		return ordinals;
+	}
+
+	/**
+	 * @param hands
+	 *            the hands of a deal.
+	 * @param leadingHands
+	 *            the leading hands.
+	 * @return true if the deal starts with the leading hands.
+	 */
+	private static boolean startsWith(final int[] hands, final int[] leadingHands) {
+
+		return Arrays.equals(Arrays.copyOf(hands, leadingHands.length), leadingHands);
+	}
+
+	/**
+	 * Convert a hand to card ids.
+	 *
+	 * @param hand
+	 *            the card set of the hand.
+	 * @param random
+	 *            the random number generator to shuffle the ids with, null to keep the ascending ordinal order.
+	 * @return the card ids.
+	 */
+	private static String[] toIds(final int hand, final SplittableRandom random) {
+
+		final List<ICard> cards = CardSet.toList(hand);
+		final String[] ids = new String[cards.size()];
+		for (int card = 0; card < ids.length; ++card) {
+			ids[card] = cards.get(card).getId();
+		}
+		if (random != null) {
+			for (int i = ids.length - 1; i > 0; --i) {
+				final int j = random.nextInt(i + 1);
+				final String id = ids[i];
+				ids[i] = ids[j];
+				ids[j] = id;
+			}
+		}
+		return ids;
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		final List<Long> checkedIndices = new ArrayList<Long>();
+		checkedIndices.add(0L);
+		checkedIndices.add(DealIndexer.NUMBER_OF_DEALS - 1);
+		while (checkedIndices.size() < indices) {
+			checkedIndices.add(random.nextLong(DealIndexer.NUMBER_OF_DEALS));
+		}
+		int wrongIndices = 0;
+		final long start = System.nanoTime();
+		for (final long index : checkedIndices) {
+			final String difference = checkIndex(index, random);
+			if (difference != null) {
+				++wrongIndices;
+				testValidationInfo.appendInformation(TestValidationCode.WARNING, difference);
+			}
+		}
+		final long indexTime = System.nanoTime() - start;
+		// enumerate the subspaces of two random leading hands, the third hand determines the deal
+		int wrongSubspaces = 0;
+		long enumerated = 0;
+		long enumerationTime = 0;
+		for (int subspace = 0; subspace < subspaces; ++subspace) {
+			final int[] hands = DealIndexer.deal(random.nextLong(DealIndexer.NUMBER_OF_DEALS));
+			final int[] leadingHands = Arrays.copyOf(hands, IRestrictedGameData.NUMBER_OF_PLAYERS - 2);
+			final long[] range = DealIndexer.range(leadingHands);
+			final long subspaceStart = System.nanoTime();
+			final Set<Integer> thirdHands = new HashSet<Integer>();
+			for (long index = range[0]; index < range[1]; ++index) {
+				final int[] deal = DealIndexer.deal(index);
+				if (!startsWith(deal, leadingHands) || !thirdHands.add(deal[leadingHands.length]) || DealIndexer.index(deal) != index) {
+					++wrongSubspaces;
+					testValidationInfo.appendInformation(TestValidationCode.WARNING, "The enumeration of the range " + Arrays.toString(range) + " fails at "
+							+ index + ".");
+					break;
+				}
+			}
+			enumerationTime += System.nanoTime() - subspaceStart;
+			enumerated += range[1] - range[0];
+		}
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-32d%n", "Geprfte Indizes", checkedIndices.size()));
+		builder.append(String.format("%-32s%-32d%n", "Abweichungen Indizes", wrongIndices));
+		builder.append(String.format("%-32s%-32.1f%n", "s/Index", indexTime / 1e3 / checkedIndices.size()));
+		builder.append(String.format("%-32s%-32d%n", "Aufgezhlte Teilrume", subspaces));
+		builder.append(String.format("%-32s%-32d%n", "Abweichungen Teilrume", wrongSubspaces));
+		if (enumerated > 0) {
+			builder.append(String.format("%-32s%-32.0f%n", "Deals/s Aufzhlung", enumerated / (enumerationTime / 1e9)));
+		}
+		return builder.toString();
+	}
+}
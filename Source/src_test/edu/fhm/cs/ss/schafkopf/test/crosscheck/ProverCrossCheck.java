@@ -0,0 +1,229 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.DoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.ExclusiveGameProver;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.RuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRuleSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the cross check of the {@link ExclusiveGameProver} with the {@link DoubleDummySolver}: a hand proven to win for sure has to win every
+ * sampled distribution of the other cards.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The hands are random, but strong: they hold 4 to 8 of the highest trumps and prefer high cards otherwise, so a good part of them is proven. The seat of
+ * the lead player is random.<br>
+ * - Every hand is solved on random distributions of the other cards, until a distribution is lost or all samples are won.<br>
+ * - A proven hand losing a distribution is a {@link TestValidationCode#WARNING}. Hands won on all samples, but not proven, are only counted: the prover is
+ * not complete and stops at its budget.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class ProverCrossCheck implements ICrossCheck {
+
+	/** The minimum number of trumps of a hand. */
+	private static final int MIN_TRUMPS = 4;
+	/** The checked game types. */
+	private static final GameType[] GAME_TYPES = { GameType.SOLO_TOUT, GameType.WENZ_TOUT, GameType.FARBWENZ_TOUT, GameType.SI };
+	/** The colors of the checked game types, null if the game type needs none. */
+	private static final CardColor[] GAME_COLORS = { CardColor.HERZ, null, CardColor.EICHEL, null };
+
+	/** The number of hands per game type. */
+	private final int hands;
+	/** The maximum number of distributions solved per hand. */
+	private final int samples;
+	/** The seed of the hands. */
+	private final long seed;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param seed
+	 *            the seed of the hands.
+	 * @param hands
+	 *            the number of hands per game type.
+	 * @param samples
+	 *            the maximum number of distributions solved per hand.
+	 * @throws IllegalArgumentException
+	 *             if a number is not positive.
+	 */
+	public ProverCrossCheck(final long seed, final int hands, final int samples) {
+
+		if (hands <= 0 || samples <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = seed;
+		this.hands = hands;
+		this.samples = samples;
+	}
+
+	/**
+	 * Deal a random strong hand.
+	 *
+	 * @param random
+	 *            the random number generator.
+	 * @param ruleSet
+	 *            the rules of the game.
+	 * @return the hand.
+	 */
+	private static int dealStrongHand(final SplittableRandom random, final IRuleSet ruleSet) {
+
+		final int trumps = Math.min(CardSet.size(ruleSet.getTrumpSet()), MIN_TRUMPS + random.nextInt(IRestrictedGameData.ROUNDS_PER_GAME - MIN_TRUMPS + 1));
+		int hand = CardSet.EMPTY;
+		// the trumps from the highest on, a few are skipped
+		for (int rest = ruleSet.getTrumpSet(); rest != 0 && CardSet.size(hand) < trumps;) {
+			final int card = getHighestCard(rest, ruleSet);
+			rest &= ~(1 << card);
+			if (random.nextInt(10) < 8) {
+				hand |= 1 << card;
+			}
+		}
+		// the higher of two random cards
+		while (CardSet.size(hand) < IRestrictedGameData.ROUNDS_PER_GAME) {
+			final int first = random.nextInt(IStackHandler.NUMBER_OF_CARDS);
+			final int second = random.nextInt(IStackHandler.NUMBER_OF_CARDS);
+			hand |= 1 << (ruleSet.getRank(first) >= ruleSet.getRank(second) ? first : second);
+		}
+		return hand;
+	}
+
+	/**
+	 * @param set
+	 *            the card set, not empty.
+	 * @param ruleSet
+	 *            the rules of the game.
+	 * @return the card of the set with the highest rank.
+	 */
+	private static int getHighestCard(final int set, final IRuleSet ruleSet) {
+
+		int highest = CardSet.first(set);
+		for (int rest = set & set - 1; rest != 0; rest &= rest - 1) {
+			if (ruleSet.getRank(CardSet.first(rest)) > ruleSet.getRank(highest)) {
+				highest = CardSet.first(rest);
+			}
+		}
+		return highest;
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		final IExclusiveGameProver prover = new ExclusiveGameProver();
+		final IDoubleDummySolver solver = new DoubleDummySolver();
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-12s%-12s%-12s%-12s%-12s%-12s%-12s%n", "Spiel", "Hnde", "Bewiesen", "Gewonnen", "Falsch", "Budget", " s", "max s"));
+		for (int game = 0; game < GAME_TYPES.length; ++game) {
+			final GameType gameType = GAME_TYPES[game];
+			final CardColor color = GAME_COLORS[game];
+			final IRuleSet ruleSet = RuleSet.getInstance(gameType, color);
+			int proven = 0;
+			int won = 0;
+			int unsound = 0;
+			int exhausted = 0;
+			long sum = 0;
+			long max = 0;
+			for (int count = 0; count < hands; ++count) {
+				final int hand = dealStrongHand(random, ruleSet);
+				final int seat = random.nextInt(IRestrictedGameData.NUMBER_OF_PLAYERS);
+				final long start = System.nanoTime();
+				final boolean sureWin = prover.isSureWin(hand, gameType, color, seat);
+				final long time = System.nanoTime() - start;
+				sum += time;
+				max = Math.max(max, time);
+				if (prover.isExhausted()) {
+					++exhausted;
+				}
+				final boolean wins = winsAllSamples(random, solver, hand, gameType, color, seat);
+				if (sureWin) {
+					++proven;
+				}
+				if (wins) {
+					++won;
+				}
+				if (sureWin && !wins) {
+					++unsound;
+					testValidationInfo.appendInformation(TestValidationCode.WARNING, "The prover proved a lost " + gameType + " " + color + " on seat " + seat
+							+ ": " + CardSet.toList(hand));
+				}
+			}
+			builder.append(String.format("%-32s%-12d%-12d%-12d%-12d%-12d%-12.1f%-12.1f%n", gameType, hands, proven, won, unsound, exhausted, sum / 1e3 / hands,
+					max / 1e3));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Solve the game on random distributions of the other cards.
+	 *
+	 * @param random
+	 *            the random number generator.
+	 * @param solver
+	 *            the solver.
+	 * @param hand
+	 *            the hand of the lead player.
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, null if the game type needs none.
+	 * @param seat
+	 *            the seat of the lead player relative to the game's first player.
+	 * @return true if the lead player wins all distributions.
+	 */
+	private boolean winsAllSamples(final SplittableRandom random, final IDoubleDummySolver solver, final int hand, final GameType gameType, final CardColor color,
+			final int seat) {
+
+		final int[] others = new int[IStackHandler.NUMBER_OF_CARDS - IRestrictedGameData.ROUNDS_PER_GAME];
+		int index = 0;
+		for (int rest = ~hand; index < others.length; rest &= rest - 1) {
+			others[index++] = CardSet.first(rest);
+		}
+		final PlayerPosition[] positions = PlayerPosition.values();
+		for (int sample = 0; sample < samples; ++sample) {
+			// shuffle the other cards and deal them to the opponents in seat order
+			for (int i = others.length - 1; i > 0; --i) {
+				final int j = random.nextInt(i + 1);
+				final int card = others[i];
+				others[i] = others[j];
+				others[j] = card;
+			}
+			final int[] deal = new int[IRestrictedGameData.NUMBER_OF_PLAYERS];
+			index = 0;
+			for (int player = 0; player < IRestrictedGameData.NUMBER_OF_PLAYERS; ++player) {
+				if (player == seat) {
+					deal[player] = hand;
+					continue;
+				}
+				for (int card = 0; card < IRestrictedGameData.ROUNDS_PER_GAME; ++card) {
+					deal[player] |= 1 << others[index++];
+				}
+			}
+			final SearchState state = new SearchState(positions[0], deal);
+			for (int player = 0; player < IRestrictedGameData.NUMBER_OF_PLAYERS; ++player) {
+				if (player == seat) {
+					state.choose(gameType, color);
+				} else {
+					state.choose(GameType.PASS, null);
+				}
+			}
+			if (!solver.solveWin(state)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
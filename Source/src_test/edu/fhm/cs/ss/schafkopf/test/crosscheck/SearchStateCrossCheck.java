@@ -0,0 +1,240 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.ai.sets.random.RandomAI;
+import edu.fhm.cs.ss.schafkopf.controller.GameEngine;
+import edu.fhm.cs.ss.schafkopf.model.GameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.ChooseGameAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.PlayCardAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.StrikeAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.StrikeBackAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.controller.gameactions.interfaces.IAction;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.ActionValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This class implements the cross check of the {@link SearchState} with the game actions: every move made on the search state has to give the same state as
+ * the executed action on the game data, and undoing all moves has to restore every state in between.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The games are played by a {@link GameEngine} with seeded {@link RandomAI}s, so all game types, runaways and strikes occur.<br>
+ * - The search state is created from the game data when the first game is chosen. Every executed choose, strike, strike back and play card action is made
+ * on it and the result is compared with a new search state of the game data. The compared values are the game, the teams, the player on turn, the round,
+ * the last round's winner, the strikes and the hand, the points, the won and the played card of every player.<br>
+ * - After the game all moves are undone and compared with the states before the moves.<br>
+ * - A difference is a {@link TestValidationCode#WARNING}, only the first difference of a game is reported.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class SearchStateCrossCheck implements ICrossCheck {
+
+	/** The game settings the games are played with, null for the default settings. */
+	private final IGameSettings gameSettings;
+	/** The number of compared games. */
+	private final int games;
+	/** The seed of the stacks and the AIs. */
+	private final long seed;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param gameSettings
+	 *            the game settings the games are played with, null for the default settings.
+	 * @param seed
+	 *            the seed of the stacks and the AIs.
+	 * @param games
+	 *            the number of compared games.
+	 * @throws IllegalArgumentException
+	 *             if the number of games is not positive.
+	 */
+	public SearchStateCrossCheck(final IGameSettings gameSettings, final long seed, final int games) {
+
+		if (games <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.gameSettings = gameSettings;
+		this.seed = seed;
+		this.games = games;
+	}
+
+	/**
+	 * Summarize a search state.
+	 *
+	 * @param state
+	 *            the search state.
+	 * @return the summary, equal states have equal summaries.
+	 */
+	private static String summarize(final SearchState state) {
+
+		final StringBuilder builder = new StringBuilder();
+		builder.append(state.getGameType()).append(' ').append(state.getColor()).append(' ').append(state.getGameState()).append(" lead ")
+				.append(state.getLeadPlayerPosition()).append(" mate ").append(state.getMatePosition()).append(" known ").append(state.isTeamKnown());
+		builder.append(" turn ").append(state.getPlayerOnTurnPosition()).append(" round ").append(state.getRoundNumber()).append(' ')
+				.append(state.getRoundsFirstPlayerPosition()).append(" last ").append(state.getLastRoundsWinner()).append(" strikes ")
+				.append(state.getStrikeMultiplier()).append(" winner ").append(state.getWinnerTeam());
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			builder.append(String.format("%n%s %08x %3d %08x %2d", position, state.getHand(position), state.getPoints(position), state.getWonCards(position),
+					state.getPlayedCard(position)));
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		final Map<PlayerPosition, IAI> ais = new EnumMap<PlayerPosition, IAI>(PlayerPosition.class);
+		for (final PlayerPosition position : PlayerPosition.values()) {
+			ais.put(position, new RandomAI(GameState.FINISHED, null, random.split()));
+		}
+		final PlayerPosition[] positions = PlayerPosition.values();
+		final ComparedGameEngine engine = new ComparedGameEngine(new GameData(gameSettings, false), ais);
+		int moveDifferences = 0;
+		int undoDifferences = 0;
+		for (int game = 0; game < games; ++game) {
+			final List<ICard> stack = DealIndexer.stack(random.nextLong(DealIndexer.NUMBER_OF_DEALS));
+			final String stackIndex = Long.toString(DealIndexer.index(stack));
+			engine.reset();
+			engine.play(new ArrayList<ICard>(stack), positions[game % positions.length]);
+			if (engine.difference != null) {
+				++moveDifferences;
+				testValidationInfo.appendInformation(TestValidationCode.WARNING, "The move " + engine.summaries.size() + " of the stack " + stackIndex
+						+ " differs.\n" + engine.difference);
+				continue;
+			}
+			final String undoDifference = engine.undoAll();
+			if (undoDifference != null) {
+				++undoDifferences;
+				testValidationInfo.appendInformation(TestValidationCode.WARNING, "Undoing the game of the stack " + stackIndex + " differs.\n" + undoDifference);
+			}
+		}
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-32d%n", "Verglichene Spiele", games));
+		builder.append(String.format("%-32s%-32d%n", "Verglichene Zge", engine.moves));
+		builder.append(String.format("%-32s%-32d%n", "Abweichungen Zge", moveDifferences));
+		builder.append(String.format("%-32s%-32d%n", "Abweichungen Undo", undoDifferences));
+		builder.append(String.format("%-32s%-32.0f%n", "Zge/s Aktionen", engine.moves / (engine.actionTime / 1e9)));
+		builder.append(String.format("%-32s%-32.0f%n", "Zge/s Search State", engine.moves / (engine.moveTime / 1e9)));
+		return builder.toString();
+	}
+
+	/**
+	 * This game engine makes every executed move also on a search state and compares it with the game data.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class ComparedGameEngine extends GameEngine {
+
+		/** The time spent executing the compared actions in nanoseconds. */
+		private long actionTime;
+		/** The first difference of the current game, null if there is none. */
+		private String difference;
+		/** The number of compared moves. */
+		private long moves;
+		/** The time spent making the moves on the search state in nanoseconds. */
+		private long moveTime;
+		/** The search state of the current game, null until the first game is chosen. */
+		private SearchState state;
+		/** The summaries of the search state before every move of the current game. */
+		private final List<String> summaries;
+
+		/**
+		 * Instantiate the engine with the given parameters.
+		 *
+		 * @param gameData
+		 *            the game data instance.
+		 * @param ais
+		 *            the AIs indicated by their position.
+		 */
+		private ComparedGameEngine(final IGameData gameData, final Map<PlayerPosition, IAI> ais) {
+
+			super(gameData, ais);
+			this.summaries = new ArrayList<String>();
+		}
+
+		/**
+		 * This method now also makes the executed choose, strike, strike back and play card actions on the search state and compares the states. See the
+		 * interface documentation for more information.
+		 */
+		@Override
+		public ActionValidationCode handleGameAction(final IAction action) {
+
+			final boolean compared = difference == null
+					&& (action instanceof ChooseGameAction || action instanceof StrikeAction || action instanceof StrikeBackAction || action instanceof PlayCardAction);
+			if (compared && state == null) {
+				state = new SearchState(getGameData());
+			}
+			long start = System.nanoTime();
+			final ActionValidationCode retVal = super.handleGameAction(action);
+			if (!compared || retVal != ActionValidationCode.EXECUTED_CHANGES) {
+				return retVal;
+			}
+			actionTime += System.nanoTime() - start;
+			summaries.add(summarize(state));
+			start = System.nanoTime();
+			if (action instanceof ChooseGameAction) {
+				state.choose(((ChooseGameAction) action).getChosenGame().getGameType(), ((ChooseGameAction) action).getChosenGame().getColor());
+			} else if (action instanceof StrikeAction) {
+				state.strike(((StrikeAction) action).isStriking());
+			} else if (action instanceof StrikeBackAction) {
+				state.strikeBack(((StrikeBackAction) action).isStrikingBack());
+			} else {
+				state.play(((PlayCardAction) action).getChosenCard());
+			}
+			moveTime += System.nanoTime() - start;
+			++moves;
+			final String expected = summarize(new SearchState(getGameData()));
+			final String actual = summarize(state);
+			if (!expected.equals(actual)) {
+				difference = "Action: " + action.getClass().getSimpleName() + " " + CardSet.toList(state.getCardsOnTable()) + "\nActions:      " + expected
+						+ "\nSearch state: " + actual;
+			}
+			return retVal;
+		}
+
+		/**
+		 * Forget the search state and the difference of the last game.
+		 */
+		private void reset() {
+
+			state = null;
+			difference = null;
+			summaries.clear();
+		}
+
+		/**
+		 * Undo all moves of the current game and compare the states with the states before the moves.
+		 *
+		 * @return the first difference, null if there is none.
+		 */
+		private String undoAll() {
+
+			for (int move = summaries.size() - 1; move >= 0; --move) {
+				state.undo();
+				final String actual = summarize(state);
+				if (!summaries.get(move).equals(actual)) {
+					return "Move: " + move + "\nBefore: " + summaries.get(move) + "\nUndone: " + actual;
+				}
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package edu.fhm.cs.ss.schafkopf.test.crosscheck;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import edu.fhm.cs.ss.schafkopf.ai.interfaces.IDoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.ai.utilities.DoubleDummySolver;
+import edu.fhm.cs.ss.schafkopf.model.utilities.CardSet;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
+import edu.fhm.cs.ss.schafkopf.model.utilities.SearchState;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IStackHandler;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardColor;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.CardValue;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameType;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.Team;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IRestrictedGameData;
+
+/**
+ * This class implements the cross check of the {@link DoubleDummySolver} with a brute force minimax search and measures the time the solver needs for full
+ * deals.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The endgames are random deals of all game types, played randomly until 9 to 18 cards are left. The brute force search plays every legal move, so it is
+ * only feasible for endgames.<br>
+ * - The points of every legal move, the points of the endgame and the win are compared. The state has to be restored by the solver. The transposition table
+ * is cleared before every second endgame, so the solver is checked with and without the entries of earlier searches.<br>
+ * - A difference is a {@link TestValidationCode#WARNING}.<br>
+ * - The full deals are solved with a cleared transposition table, the time and the searched nodes are reported per game type.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class SolverCrossCheck implements ICrossCheck {
+
+	/** The minimum number of cards played before an endgame is compared. */
+	private static final int MIN_PLAYED_CARDS = 14;
+	/** The maximum number of cards played before an endgame is compared. */
+	private static final int MAX_PLAYED_CARDS = 23;
+	/** The called colors of a Sauspiel. */
+	private static final CardColor[] CALLED_COLORS = { CardColor.EICHEL, CardColor.GRAS, CardColor.SCHELLN };
+	/** The checked game types. */
+	private static final GameType[] GAME_TYPES = { GameType.SAUSPIEL, GameType.SOLO, GameType.WENZ, GameType.FARBWENZ, GameType.SOLO_TOUT, GameType.WENZ_TOUT,
+			GameType.FARBWENZ_TOUT, GameType.SI };
+
+	/** The number of full deals solved per game type. */
+	private final int deals;
+	/** The number of compared endgames. */
+	private final int endgames;
+	/** The seed of the deals. */
+	private final long seed;
+
+	/**
+	 * Instantiate the check with the given parameters.
+	 *
+	 * @param seed
+	 *            the seed of the deals.
+	 * @param endgames
+	 *            the number of compared endgames.
+	 * @param deals
+	 *            the number of full deals solved per game type.
+	 * @throws IllegalArgumentException
+	 *             if a number is negative.
+	 */
+	public SolverCrossCheck(final long seed, final int endgames, final int deals) {
+
+		if (endgames < 0 || deals < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.seed = seed;
+		this.endgames = endgames;
+		this.deals = deals;
+	}
+
+	/**
+	 * The minimax search over all legal moves, striking does not change the points.
+	 *
+	 * @param state
+	 *            the state, it is restored afterwards.
+	 * @return the points the player team wins in the whole game.
+	 */
+	private static int bruteForce(final SearchState state) {
+
+		if (state.getGameState() == GameState.FINISHED) {
+			return state.getTeamPoints(Team.PLAYER_TEAM);
+		}
+		if (state.getGameState() == GameState.STRIKE) {
+			state.strike(false);
+			final int points = bruteForce(state);
+			state.undo();
+			return points;
+		}
+		final boolean maximizing = state.isPlayerTeam(state.getPlayerOnTurnPosition());
+		int best = maximizing ? -1 : DoubleDummySolver.TOTAL_POINTS + 1;
+		for (int rest = state.getLegalMoves(); rest != 0; rest &= rest - 1) {
+			state.play(CardSet.first(rest));
+			final int points = bruteForce(state);
+			state.undo();
+			best = maximizing ? Math.max(best, points) : Math.min(best, points);
+		}
+		return best;
+	}
+
+	/**
+	 * Deal a random game of the given type, all other players pass.
+	 *
+	 * @param random
+	 *            the random number generator.
+	 * @param gameType
+	 *            the game type.
+	 * @param color
+	 *            the color of the game, null if the game type needs none.
+	 * @return the state at the start of the play phase.
+	 */
+	private static SearchState deal(final SplittableRandom random, final GameType gameType, final CardColor color) {
+
+		final PlayerPosition[] positions = PlayerPosition.values();
+		while (true) {
+			final PlayerPosition gamesFirstPlayer = positions[random.nextInt(positions.length)];
+			final SearchState state = new SearchState(gamesFirstPlayer, DealIndexer.deal(random.nextLong(DealIndexer.NUMBER_OF_DEALS)));
+			// the player of a Sauspiel must not have the called Sau
+			if (gameType != GameType.SAUSPIEL || (state.getHand(gamesFirstPlayer) & 1 << CardSet.ordinal(color, CardValue.SAU)) == 0) {
+				state.choose(gameType, color);
+				for (int i = 1; i < IRestrictedGameData.NUMBER_OF_PLAYERS; ++i) {
+					state.choose(GameType.PASS, null);
+				}
+				return state;
+			}
+		}
+	}
+
+	/**
+	 * @param random
+	 *            the random number generator.
+	 * @param gameType
+	 *            the game type.
+	 * @return a random color of the game type, null if it needs none.
+	 */
+	private static CardColor randomColor(final SplittableRandom random, final GameType gameType) {
+
+		if (!gameType.needsColor) {
+			return null;
+		}
+		if (gameType == GameType.SAUSPIEL) {
+			return CALLED_COLORS[random.nextInt(CALLED_COLORS.length)];
+		}
+		return CardColor.values()[random.nextInt(CardColor.values().length)];
+	}
+
+	@Override
+	public String run(final ITestValidationInfo testValidationInfo) {
+
+		final SplittableRandom random = new SplittableRandom(seed);
+		final IDoubleDummySolver solver = new DoubleDummySolver();
+		final StringBuilder builder = new StringBuilder();
+		final int differences = compareEndgames(testValidationInfo, random, solver);
+		builder.append(String.format("%-32s%-32d%n", "Verglichene Endspiele", endgames));
+		builder.append(String.format("%-32s%-32d%n", "Abweichungen", differences));
+		if (deals > 0) {
+			builder.append("\n");
+			builder.append(String.format("%-32s%-16s%-16s%-16s%n", "Spiel", "ms/Deal", "max ms", "Knoten/Deal"));
+			for (final GameType gameType : GAME_TYPES) {
+				final long startNodes = solver.getNodes();
+				long sum = 0;
+				long max = 0;
+				for (int deal = 0; deal < deals; ++deal) {
+					final SearchState state = deal(random, gameType, randomColor(random, gameType));
+					solver.clear();
+					final long start = System.nanoTime();
+					solver.solve(state);
+					final long time = System.nanoTime() - start;
+					sum += time;
+					max = Math.max(max, time);
+				}
+				builder.append(String.format("%-32s%-16.2f%-16.1f%-16d%n", gameType, sum / 1e6 / deals, max / 1e6, (solver.getNodes() - startNodes) / deals));
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Compare the solver with the brute force search on random endgames.
+	 *
+	 * @param testValidationInfo
+	 *            the test validation info to append the differences to.
+	 * @param random
+	 *            the random number generator.
+	 * @param solver
+	 *            the solver.
+	 * @return the number of endgames with differences.
+	 */
+	private int compareEndgames(final ITestValidationInfo testValidationInfo, final SplittableRandom random, final IDoubleDummySolver solver) {
+
+		int differences = 0;
+		int compared = 0;
+		while (compared < endgames) {
+			final GameType gameType = GAME_TYPES[compared % GAME_TYPES.length];
+			final SearchState state = deal(random, gameType, randomColor(random, gameType));
+			final int playedCards = MIN_PLAYED_CARDS + random.nextInt(MAX_PLAYED_CARDS - MIN_PLAYED_CARDS + 1);
+			int played = 0;
+			while (played < playedCards && state.getGameState() != GameState.FINISHED) {
+				if (state.getGameState() == GameState.STRIKE) {
+					state.strike(random.nextBoolean());
+				} else if (state.getGameState() == GameState.STRIKEBACK) {
+					state.strikeBack(false);
+				} else {
+					int moves = state.getLegalMoves();
+					for (int skip = random.nextInt(CardSet.size(moves)); skip > 0; --skip) {
+						moves &= moves - 1;
+					}
+					state.play(CardSet.first(moves));
+					++played;
+				}
+			}
+			if (state.getGameState() != GameState.PLAY) {
+				continue;
+			}
+			if (compared % 2 == 0) {
+				solver.clear();
+			}
+			final String before = state.toString() + state.getHistorySize();
+			final boolean maximizing = state.isPlayerTeam(state.getPlayerOnTurnPosition());
+			final int[] values = solver.evaluateMoves(state);
+			final int[] expectedValues = new int[IStackHandler.NUMBER_OF_CARDS];
+			int expected = maximizing ? -1 : DoubleDummySolver.TOTAL_POINTS + 1;
+			for (int move = 0; move < IStackHandler.NUMBER_OF_CARDS; ++move) {
+				expectedValues[move] = -1;
+				if ((state.getLegalMoves() & 1 << move) != 0) {
+					state.play(move);
+					expectedValues[move] = bruteForce(state);
+					state.undo();
+					expected = maximizing ? Math.max(expected, expectedValues[move]) : Math.min(expected, expectedValues[move]);
+				}
+			}
+			final int points = solver.solve(state);
+			final boolean win = solver.solveWin(state);
+			final boolean expectedWin = gameType.isExclusive ? expected == DoubleDummySolver.TOTAL_POINTS : expected >= DoubleDummySolver.WIN_POINTS;
+			if (points != expected || win != expectedWin || !Arrays.equals(values, expectedValues) || !before.equals(state.toString() + state.getHistorySize())) {
+				++differences;
+				testValidationInfo.appendInformation(TestValidationCode.WARNING, "The solver differs from the brute force search: points " + points + " instead of "
+						+ expected + ", win " + win + " instead of " + expectedWin + ".\n" + state);
+			}
+			++compared;
+		}
+		return differences;
+	}
+}
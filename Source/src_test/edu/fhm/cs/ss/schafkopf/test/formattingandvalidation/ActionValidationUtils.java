@@ -381,6 +381,10 @@ public class ActionValidationUtils {
 			consistentGameData.setPlayerDatas(previousState.getPlayerDatas());
 		} else {
 			consistentGameData.getPlayerDatas().put(executingPosition, previousPlayerData);
+			// the played card is removed from the possible cards of all players
+			for (final PlayerPosition position : PlayerPosition.values()) {
+				consistentGameData.getPlayerDatas().get(position).setPossibleCardSet(previousState.getPlayerDatas().get(position).getPossibleCardSet());
+			}
 		}
 		if (!previousState.equals(consistentGameData)) {
 			testValidationInfo.appendInformation(TestValidationCode.ERROR_INVALID_ACTION_EXECUTION, executedAction.getActionType() + " invalid change : consistent values in game data have changed.");
@@ -10,6 +10,9 @@ import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IPlayerData;
 import edu.fhm.cs.ss.schafkopf.model.utilities.FullAccessGameUtils;
 import edu.fhm.cs.ss.schafkopf.test.model.ITestGameData;
+import edu.fhm.cs.ss.schafkopf.test.tournament.IMatchResult;
+import edu.fhm.cs.ss.schafkopf.test.tournament.ITournamentResult;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.IActionData;
@@ -353,4 +356,30 @@ public class FormattingUtils {
 		builder.append(action.getBoolean());
 		return builder.toString();
 	}
+
+	/**
+	 * Generate a string of the matches and the totals of all AIs of a tournament.
+	 *
+	 * @param result
+	 *            the tournament result.
+	 * @return the tournament string.
+	 */
+	public static String generateTournamentString(final ITournamentResult result) {
+
+		if (result == null) {
+			return "null";
+		}
+		final StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-32s%-32s%-16s%-16s%-16s%-24s%n", "KI 1", "KI 2", "Deals", "Spiele", "Score/Deal", "Entscheidung"));
+		for (final IMatchResult match : result.getMatches()) {
+			builder.append(String.format("%-32s%-32s%-16d%-16d%-16s%-24s%n", match.getFirstAi().getSimpleName(), match.getSecondAi().getSimpleName(), match.getDeals(),
+					match.getGames(), String.format("%.2f +- %.2f", match.getMeanScore(), match.getStandardError()), match.getDecision()));
+		}
+		builder.append("\n");
+		builder.append(String.format("%-32s%-16s%-16s%-16s%n", "KI", "Rating", "Spiele", "Guthaben"));
+		for (final Class<? extends IAI> ai : result.getAis()) {
+			builder.append(String.format("%-32s%-16.0f%-16d%-16.0f%n", ai.getSimpleName(), result.getRating(ai), result.getGames(ai), result.getCredits(ai)));
+		}
+		return builder.toString();
+	}
 }
@@ -21,7 +21,9 @@ import org.xml.sax.SAXException;
 
 import edu.fhm.cs.ss.schafkopf.ai.sets.random.RandomAI;
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
 import edu.fhm.cs.ss.schafkopf.model.utilities.StackHandler;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider;
 import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
 import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
 import edu.fhm.cs.ss.schafkopf.test.settings.TestSettings;
@@ -112,6 +114,33 @@ public class TestUtils {
 		return generatedPlayerViews;
 	}
 
+	/**
+	 * Creates an instance of the given AI for every position. This is used in tournaments, where every thread needs its own instances.
+	 *
+	 * @param execInfo
+	 *            the test validation info to append errors to.
+	 * @param ai
+	 *            the AI class, it needs a constructor taking the accept state.
+	 * @param acceptRestartState
+	 *            the accept state.
+	 * @return the map of created AIs, null if errors occurred.
+	 */
+	public static Map<PlayerPosition, IAI> getCustomTestAis(final ITestValidationInfo execInfo, final Class<? extends IAI> ai, final GameState acceptRestartState) {
+
+		final Map<PlayerPosition, IAI> generatedAis = new EnumMap<>(PlayerPosition.class);
+
+		try {
+			for (final PlayerPosition pos : PlayerPosition.values()) {
+				generatedAis.put(pos, ai.getConstructor(GameState.class).newInstance(acceptRestartState));
+			}
+		} catch (NullPointerException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+			execInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "Could not create AIs of " + ai + "\nReason:" + e.getMessage());
+			return null;
+		}
+
+		return generatedAis;
+	}
+
 	/**
 	 * @return a variety of forbidden game type arrays.
 	 */
@@ -137,19 +166,22 @@ public class TestUtils {
 	 *            the restart state of the AI's.
 	 * @param randomAiForbiddenGameTypes
 	 *            the array of forbidden game types that won't be chosen by the AI's.
+	 * @param randomnessProvider
+	 *            the randomness provider of the table, every AI decides with the stream of its position.
 	 * @return the map of random AI players.
 	 */
-	public static Map<PlayerPosition, IPlayerView> getRandomTestPlayers(final GameState restartState, final GameType[] randomAiForbiddenGameTypes) {
+	public static Map<PlayerPosition, IPlayerView> getRandomTestPlayers(final GameState restartState, final GameType[] randomAiForbiddenGameTypes, final IRandomnessProvider randomnessProvider) {
 
 		final Map<PlayerPosition, IPlayerView> retVal = new EnumMap<PlayerPosition, IPlayerView>(PlayerPosition.class);
 		for (final PlayerPosition position : PlayerPosition.values()) {
-			retVal.put(position, new AutonomousPlayerView(null, new RandomAI(restartState, randomAiForbiddenGameTypes)));
+			retVal.put(position, new AutonomousPlayerView(null, new RandomAI(restartState, randomAiForbiddenGameTypes, randomnessProvider.getPlayerRandom(position))));
 		}
 		return retVal;
 	}
 
 	/**
-	 * Load the stacks from the given stack feed path.
+	 * Load the stacks from the given stack feed path. A stack is given by the hands in the order the players draw their cards, or by the index of its deal in
+	 * the attribute deal, see {@link DealIndexer}.
 	 *
 	 * @param testValidationInfo
 	 *            the test validation info to append errors to.
@@ -179,14 +211,24 @@ public class TestUtils {
 		final NodeList stackNodes = document.getElementsByTagName("stack");
 
 		for (int i = 0; i < stackNodes.getLength(); ++i) {
-			final NodeList handNodes = stackNodes.item(i).getChildNodes();
+			final Element stackElement = (Element) stackNodes.item(i);
+			final NodeList handNodes = stackElement.getChildNodes();
 			List<ICard> loadedStack = null;
-			try {
-				loadedStack = StackHandler.getInstance().getPredefinedStack(handNodes.item(0).getTextContent().split(","), handNodes.item(1).getTextContent().split(","),
-						handNodes.item(2).getTextContent().split(","), handNodes.item(3).getTextContent().split(","));
-			} catch (final NullPointerException e) {
-				testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "Stack Feed at " + stackFeedPath + " content could not be read.");
-				return null;
+			// a stack may be given by the index of its deal instead of the hands
+			if (stackElement.hasAttribute("deal")) {
+				try {
+					loadedStack = DealIndexer.stack(Long.parseLong(stackElement.getAttribute("deal")));
+				} catch (final IllegalArgumentException e) {
+					loadedStack = null;
+				}
+			} else {
+				try {
+					loadedStack = StackHandler.getInstance().getPredefinedStack(handNodes.item(0).getTextContent().split(","), handNodes.item(1).getTextContent().split(","),
+							handNodes.item(2).getTextContent().split(","), handNodes.item(3).getTextContent().split(","));
+				} catch (final NullPointerException e) {
+					testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "Stack Feed at " + stackFeedPath + " content could not be read.");
+					return null;
+				}
 			}
 			if (loadedStack == null || loadedStack.isEmpty()) {
 				testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "Stack at index " + i + " could not be properly loaded.");
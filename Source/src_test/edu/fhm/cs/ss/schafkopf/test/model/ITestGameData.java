@@ -50,6 +50,11 @@ public interface ITestGameData {
 	 */
 	List<IGameData> getGamesList();
 
+	/**
+	 * @return the index of the deal of the initial stack, see {@link edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer}, -1 if the stack is not complete.
+	 */
+	long getInitialDeal();
+
 	/**
 	 * @return the stack the game was initialized with.
 	 */
@@ -65,4 +70,9 @@ public interface ITestGameData {
 	 */
 	List<IActionData> getRaiseActionlist();
 
+	/**
+	 * @return the root seed of the randomness provider, the stacks and random decisions of the game are reproducible from.
+	 */
+	long getRootSeed();
+
 }
\ No newline at end of file
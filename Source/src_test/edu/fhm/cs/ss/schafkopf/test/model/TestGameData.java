@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 
 import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
 import edu.fhm.cs.ss.schafkopf.view.interfaces.IPlayerView;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
 import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.GameState;
@@ -32,6 +33,10 @@ public class TestGameData implements ITestGameData {
 	 * The initial stack.
 	 */
 	private final List<ICard> initialStack;
+	/**
+	 * The root seed of the randomness provider.
+	 */
+	private final long rootSeed;
 	/**
 	 * The used player view classes.
 	 */
@@ -66,12 +71,15 @@ public class TestGameData implements ITestGameData {
 	 *            the accept state.
 	 * @param initialStack
 	 *            the initial stack.
+	 * @param rootSeed
+	 *            the root seed of the randomness provider.
 	 */
-	public TestGameData(final String fileName, final GameState acceptRestartState, final ArrayList<ICard> initialStack) {
+	public TestGameData(final String fileName, final GameState acceptRestartState, final ArrayList<ICard> initialStack, final long rootSeed) {
 
 		this.fileName = fileName;
 		this.acceptRestartState = acceptRestartState;
 		this.initialStack = initialStack;
+		this.rootSeed = rootSeed;
 	}
 
 	@Override
@@ -110,6 +118,16 @@ public class TestGameData implements ITestGameData {
 		return gamesList;
 	}
 
+	@Override
+	public long getInitialDeal() {
+
+		try {
+			return DealIndexer.index(initialStack);
+		} catch (final IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
 	@Override
 	public List<ICard> getInitialStack() {
 
@@ -128,6 +146,12 @@ public class TestGameData implements ITestGameData {
 		return raiseActionlist;
 	}
 
+	@Override
+	public long getRootSeed() {
+
+		return rootSeed;
+	}
+
 	@Override
 	public String toString() {
 
@@ -124,15 +124,17 @@ public class GameRecorder implements IGameRecorder {
 	 *            the filename, the test game data should be created with.
 	 * @param initialStack
 	 *            the initial stack that will be stored to the test game data.
+	 * @param rootSeed
+	 *            the root seed of the randomness provider that will be stored to the test game data.
 	 */
-	public GameRecorder(final boolean interactive, final ITestGameController controller, final String testDataFilename, final ArrayList<ICard> initialStack) {
+	public GameRecorder(final boolean interactive, final ITestGameController controller, final String testDataFilename, final ArrayList<ICard> initialStack, final long rootSeed) {
 
 		this.finished = false;
 		this.validState = true;
 		this.interactive = interactive;
 		this.controller = controller;
 		this.testValidationInfo = new TestValidationInfo();
-		this.testGameData = new TestGameData(testDataFilename, TestSettings.ACCEPT_RESTART_STATE, initialStack);
+		this.testGameData = new TestGameData(testDataFilename, TestSettings.ACCEPT_RESTART_STATE, initialStack, rootSeed);
 	}
 
 	@Override
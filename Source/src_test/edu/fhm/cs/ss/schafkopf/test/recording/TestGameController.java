@@ -8,6 +8,7 @@ import edu.fhm.cs.ss.schafkopf.controller.GameController;
 import edu.fhm.cs.ss.schafkopf.model.ActionData;
 import edu.fhm.cs.ss.schafkopf.model.GameData;
 import edu.fhm.cs.ss.schafkopf.model.utilities.FullAccessGameUtils;
+import edu.fhm.cs.ss.schafkopf.model.utilities.interfaces.IRandomnessProvider;
 import edu.fhm.cs.ss.schafkopf.test.controller.ITestController;
 import edu.fhm.cs.ss.schafkopf.test.controller.TestController;
 import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
@@ -70,9 +71,11 @@ public class TestGameController extends GameController implements ITestGameContr
 	 *            the position of the first player used to initialize the game data.
 	 * @param testGameDataFilename
 	 *            the filename of the created test game data.
+	 * @param randomnessProvider
+	 *            the randomness provider of the table, its root seed is stored to the test game data.
 	 */
 	public TestGameController(final ITestController controller, final GameData gameData, final List<ICard> stack, final Map<PlayerPosition, IPlayerView> players,
-			final PlayerPosition firstPlayerPosition, final String testGameDataFilename) {
+			final PlayerPosition firstPlayerPosition, final String testGameDataFilename, final IRandomnessProvider randomnessProvider) {
 
 		super(null, gameData, null);
 		this.testController = controller;
@@ -84,10 +87,11 @@ public class TestGameController extends GameController implements ITestGameContr
 				break;
 			}
 		}
-		// initializing the game
+		// initializing the game, random stacks are shuffled reproducible from the root seed
+		getGameData().setRandomnessProvider(randomnessProvider);
 		new FullAccessGameUtils(getGameData()).initializeGameData(firstPlayerPosition, stack);
 		// need to give a copy of the stack instance to the observer, so it is not changed by reference by the player actions.
-		this.gameRecorder = new GameRecorder(interactive, this, testGameDataFilename, new ArrayList<ICard>(gameData.getStack()));
+		this.gameRecorder = new GameRecorder(interactive, this, testGameDataFilename, new ArrayList<ICard>(gameData.getStack()), randomnessProvider.getRootSeed());
 		// subscribe players and set their game controller.
 		for (final PlayerPosition position : players.keySet()) {
 			players.get(position).setGameController(this);
@@ -1,5 +1,10 @@
 package edu.fhm.cs.ss.schafkopf.test.settings;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.ai.sets.random.RandomAI;
 import edu.fhm.cs.ss.schafkopf.ai.sets.simpledeterministic.SimpleDeterministicAI;
 import edu.fhm.cs.ss.schafkopf.view.AutonomousPlayerView;
 import edu.fhm.cs.ss.schafkopf.view.ConsolePlayerView;
@@ -44,7 +49,7 @@ public final class TestSettings {
 	public static final Class<? extends IInteractivePlayerView> INTERACTIVE_VIEW = ConsolePlayerView.class;
 	/** The created autonomous views. */
 	public static final Class<? extends IAutonomousPlayerView> AUTONOMOUS_VIEW = AutonomousPlayerView.class;
-	/** The AI, autonomous views are initialized with. */
+	/** The AI, autonomous views are initialized with. The LearnedAI can only be selected after its model is trained, see its documentation. */
 	public static final Class<? extends IAI> AI = SimpleDeterministicAI.class;
 
 	// settings for automated tests
@@ -54,6 +59,52 @@ public final class TestSettings {
 	public static final int STRESSTEST_GAMES = 12000;
 	/** The number of custom stress test games created. */
 	public static final int CUSTOM_STRESSTEST_GAMES = 5000;
+	/** The seed the root seeds of the created test games are drawn from, a test run is reproducible from it. */
+	public static final long ROOT_SEED = 0x5EED5EEDL;
+
+	// settings for tournaments
+	/** The AIs competing in a tournament, every pair of them plays a match. The LearnedAI can only compete after its model is trained. */
+	public static final List<Class<? extends IAI>> TOURNAMENT_AIS = Collections.unmodifiableList(Arrays.<Class<? extends IAI>> asList(SimpleDeterministicAI.class, RandomAI.class));
+	/** The maximum number of duplicate deals of a match. */
+	public static final int TOURNAMENT_MAX_DEALS = 1000000;
+	/** The number of deals a thread takes from a match at once, the match is only decided between batches. */
+	public static final int TOURNAMENT_BATCH_DEALS = 100;
+	/** The number of deals a match is played at least, before the sequential test starts. */
+	public static final int TOURNAMENT_MIN_DEALS = 200;
+	/** The difference of credits per deal, the sequential test of a match decides for. */
+	public static final double TOURNAMENT_SPRT_DELTA = 5;
+	/** The probability that the sequential test of a match decides for the wrong AI. */
+	public static final double TOURNAMENT_SPRT_ERROR = 0.05;
+
+	// settings for cross checks
+	/** The deterministic AI the engine cross check plays the games with. */
+	public static final Class<? extends IAI> CROSS_CHECK_AI = SimpleDeterministicAI.class;
+	/** The number of games compared by the engine cross check. */
+	public static final int CROSS_CHECK_ENGINE_GAMES = 1000;
+	/** The number of endgames compared by the solver cross check. */
+	public static final int CROSS_CHECK_SOLVER_ENDGAMES = 1500;
+	/** The number of full deals per game type solved by the solver cross check. */
+	public static final int CROSS_CHECK_SOLVER_DEALS = 20;
+	/** The number of hands per exclusive game type checked by the prover cross check. */
+	public static final int CROSS_CHECK_PROVER_HANDS = 50;
+	/** The maximum number of distributions solved per hand by the prover cross check. */
+	public static final int CROSS_CHECK_PROVER_SAMPLES = 10;
+	/** The number of games compared by the search state cross check. */
+	public static final int CROSS_CHECK_SEARCH_STATE_GAMES = 1000;
+	/** The number of random sets of possible cards checked by the dealer cross check. */
+	public static final int CROSS_CHECK_DEALER_SETS = 500;
+	/** The average number of deals drawn per valid deal by the dealer cross check. */
+	public static final int CROSS_CHECK_DEALER_SAMPLES = 20;
+	/** The number of hands per game type checked by the canonicalizer cross check. */
+	public static final int CROSS_CHECK_CANONICALIZER_HANDS = 2000;
+	/** The number of deals per game type solved before and after a permutation by the canonicalizer cross check. */
+	public static final int CROSS_CHECK_CANONICALIZER_DEALS = 10;
+	/** The number of random indices checked by the indexer cross check. */
+	public static final int CROSS_CHECK_INDEXER_INDICES = 10000;
+	/** The number of subspaces of two leading hands enumerated completely by the indexer cross check. */
+	public static final int CROSS_CHECK_INDEXER_SUBSPACES = 20;
+	/** The number of operations per thread of the endgame cache cross check. */
+	public static final int CROSS_CHECK_CACHE_OPERATIONS = 2000000;
 
 	// settings for package validation
 	/** The folder, the files will be checked in. */
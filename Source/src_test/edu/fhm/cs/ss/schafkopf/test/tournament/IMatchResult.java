@@ -0,0 +1,73 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * The result of a match between two AIs on duplicate deals. Every deal is played once per seat rotation, so both AIs play every hand. The score of a deal is
+ * the difference of the credits both AIs won on it, seen from the first AI.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface IMatchResult {
+
+	/**
+	 * @return the number of played deals.
+	 */
+	int getDeals();
+
+	/**
+	 * @return the number of deals both AIs won the same credits on.
+	 */
+	int getDealsDrawn();
+
+	/**
+	 * @return the number of deals the first AI won more credits on than the second AI.
+	 */
+	int getDealsWon();
+
+	/**
+	 * @return the decision of the sequential test, {@link MatchDecision#UNDECIDED} as long as the match is running.
+	 */
+	MatchDecision getDecision();
+
+	/**
+	 * @return the first AI.
+	 */
+	Class<? extends IAI> getFirstAi();
+
+	/**
+	 * @return the credits the first AI won in all games.
+	 */
+	double getFirstCredits();
+
+	/**
+	 * @return the number of played games.
+	 */
+	int getGames();
+
+	/**
+	 * @return the log likelihood ratio of the sequential test, positive values are in favor of the first AI.
+	 */
+	double getLogLikelihoodRatio();
+
+	/**
+	 * @return the mean score of a deal.
+	 */
+	double getMeanScore();
+
+	/**
+	 * @return the second AI.
+	 */
+	Class<? extends IAI> getSecondAi();
+
+	/**
+	 * @return the credits the second AI won in all games.
+	 */
+	double getSecondCredits();
+
+	/**
+	 * @return the standard error of the mean score.
+	 */
+	double getStandardError();
+}
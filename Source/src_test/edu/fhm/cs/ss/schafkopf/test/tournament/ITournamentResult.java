@@ -0,0 +1,45 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * The result of a round robin tournament: the matches of all pairs of AIs and the totals and ratings of every AI.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ITournamentResult {
+
+	/**
+	 * @return the competing AIs, in the order they were given to the tournament.
+	 */
+	List<Class<? extends IAI>> getAis();
+
+	/**
+	 * @param ai
+	 *            the AI.
+	 * @return the credits the AI won in all its games, 0 if it did not compete.
+	 */
+	double getCredits(Class<? extends IAI> ai);
+
+	/**
+	 * @param ai
+	 *            the AI.
+	 * @return the number of games the AI played, 0 if it did not compete.
+	 */
+	int getGames(Class<? extends IAI> ai);
+
+	/**
+	 * @return the matches of all pairs of AIs.
+	 */
+	List<IMatchResult> getMatches();
+
+	/**
+	 * @param ai
+	 *            the AI.
+	 * @return the Elo like rating of the AI, the mean rating of all AIs is 0. {@link Double#NaN} if it did not compete.
+	 */
+	double getRating(Class<? extends IAI> ai);
+}
@@ -0,0 +1,27 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * A tournament runner plays a round robin tournament between AIs to measure their strength: every pair of AIs plays a match on duplicate deals, so the card
+ * luck cancels out.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public interface ITournamentRunner {
+
+	/**
+	 * Play the tournament. The call blocks until all matches are decided or played to their maximum number of deals.
+	 *
+	 * @param testValidationInfo
+	 *            the test validation info to append errors to.
+	 * @param ais
+	 *            the competing AIs, at least two. Every AI needs a constructor taking the accept restart state.
+	 * @return the result, null if errors occurred.
+	 */
+	ITournamentResult run(ITestValidationInfo testValidationInfo, List<Class<? extends IAI>> ais);
+}
@@ -0,0 +1,16 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+/**
+ * The decision of the sequential test of a match between two AIs.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public enum MatchDecision {
+	/** The first AI wins at least the tested difference of credits per deal. */
+	FIRST_STRONGER,
+	/** The second AI wins at least the tested difference of credits per deal. */
+	SECOND_STRONGER,
+	/** The maximum number of deals was played without a decision, the AIs are about equally strong. */
+	UNDECIDED;
+}
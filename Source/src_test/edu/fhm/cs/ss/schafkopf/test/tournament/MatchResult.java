@@ -0,0 +1,188 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+import edu.fhm.cs.ss.schafkopf.test.settings.TestSettings;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * This class implements the match result as a thread safe accumulator of the played deals.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The match is decided by a sequential probability ratio test with normal distributed scores. The hypotheses are a mean score of minus and plus
+ * {@link TestSettings#TOURNAMENT_SPRT_DELTA}, both with the error probability {@link TestSettings#TOURNAMENT_SPRT_ERROR}. The variance is estimated from the
+ * played deals, so the test starts after {@link TestSettings#TOURNAMENT_MIN_DEALS}.<br>
+ * - Once decided, the decision does not change by deals added later.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class MatchResult implements IMatchResult {
+
+	/** The number of deals the first AI won more credits on. */
+	private int dealsWon;
+	/** The number of deals both AIs won the same credits on. */
+	private int dealsDrawn;
+	/** The number of played deals. */
+	private int deals;
+	/** The decision of the sequential test. */
+	private MatchDecision decision;
+	/** The first AI. */
+	private final Class<? extends IAI> firstAi;
+	/** The credits the first AI won. */
+	private double firstCredits;
+	/** The number of played games. */
+	private int games;
+	/** The second AI. */
+	private final Class<? extends IAI> secondAi;
+	/** The credits the second AI won. */
+	private double secondCredits;
+	/** The sum of the scores. */
+	private double sum;
+	/** The sum of the squared scores. */
+	private double sumOfSquares;
+
+	/**
+	 * Instantiate an empty result with the given AIs.
+	 *
+	 * @param firstAi
+	 *            the first AI.
+	 * @param secondAi
+	 *            the second AI.
+	 * @throws IllegalArgumentException
+	 *             if an AI is null.
+	 */
+	public MatchResult(final Class<? extends IAI> firstAi, final Class<? extends IAI> secondAi) {
+
+		if (firstAi == null || secondAi == null) {
+			throw new IllegalArgumentException();
+		}
+		this.firstAi = firstAi;
+		this.secondAi = secondAi;
+		this.decision = MatchDecision.UNDECIDED;
+	}
+
+	/**
+	 * Add a played deal and decide the match, if the sequential test allows it.
+	 *
+	 * @param firstDealCredits
+	 *            the credits the first AI won on the deal.
+	 * @param secondDealCredits
+	 *            the credits the second AI won on the deal.
+	 * @param dealGames
+	 *            the number of games of the deal.
+	 */
+	public synchronized void addDeal(final double firstDealCredits, final double secondDealCredits, final int dealGames) {
+
+		final double score = firstDealCredits - secondDealCredits;
+		++deals;
+		games += dealGames;
+		firstCredits += firstDealCredits;
+		secondCredits += secondDealCredits;
+		sum += score;
+		sumOfSquares += score * score;
+		if (score > 0) {
+			++dealsWon;
+		} else if (score == 0) {
+			++dealsDrawn;
+		}
+		if (decision != MatchDecision.UNDECIDED || deals < TestSettings.TOURNAMENT_MIN_DEALS) {
+			return;
+		}
+		final double logLikelihoodRatio = getLogLikelihoodRatio();
+		final double bound = Math.log((1 - TestSettings.TOURNAMENT_SPRT_ERROR) / TestSettings.TOURNAMENT_SPRT_ERROR);
+		if (logLikelihoodRatio >= bound) {
+			decision = MatchDecision.FIRST_STRONGER;
+		} else if (logLikelihoodRatio <= -bound) {
+			decision = MatchDecision.SECOND_STRONGER;
+		}
+	}
+
+	@Override
+	public synchronized int getDeals() {
+
+		return deals;
+	}
+
+	@Override
+	public synchronized int getDealsDrawn() {
+
+		return dealsDrawn;
+	}
+
+	@Override
+	public synchronized int getDealsWon() {
+
+		return dealsWon;
+	}
+
+	@Override
+	public synchronized MatchDecision getDecision() {
+
+		return decision;
+	}
+
+	@Override
+	public Class<? extends IAI> getFirstAi() {
+
+		return firstAi;
+	}
+
+	@Override
+	public synchronized double getFirstCredits() {
+
+		return firstCredits;
+	}
+
+	@Override
+	public synchronized int getGames() {
+
+		return games;
+	}
+
+	@Override
+	public synchronized double getLogLikelihoodRatio() {
+
+		final double variance = getVariance();
+		if (variance <= 0) {
+			return 0;
+		}
+		// the hypotheses -delta and +delta are symmetric, so only the sum of the scores remains
+		return 2 * TestSettings.TOURNAMENT_SPRT_DELTA * sum / variance;
+	}
+
+	@Override
+	public synchronized double getMeanScore() {
+
+		return deals == 0 ? 0 : sum / deals;
+	}
+
+	@Override
+	public Class<? extends IAI> getSecondAi() {
+
+		return secondAi;
+	}
+
+	@Override
+	public synchronized double getSecondCredits() {
+
+		return secondCredits;
+	}
+
+	@Override
+	public synchronized double getStandardError() {
+
+		return deals == 0 ? 0 : Math.sqrt(getVariance() / deals);
+	}
+
+	/**
+	 * @return the estimated variance of the scores, 0 for less than two deals.
+	 */
+	private double getVariance() {
+
+		if (deals < 2) {
+			return 0;
+		}
+		final double mean = sum / deals;
+		return Math.max(0, (sumOfSquares - deals * mean * mean) / (deals - 1));
+	}
+}
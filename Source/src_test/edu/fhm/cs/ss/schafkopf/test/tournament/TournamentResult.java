@@ -0,0 +1,153 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+
+/**
+ * This class implements the tournament result by summing up the finished matches.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The ratings are fitted to the won, drawn and lost deals of all matches by the Bradley Terry model and scaled like Elo ratings, a difference of 400 is a
+ * winning odds of 10 to 1. Every pair of AIs gets a virtual draw, so AIs that won or lost all deals get a finite rating.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class TournamentResult implements ITournamentResult {
+
+	/** The scale of the ratings. */
+	private static final double ELO_SCALE = 400;
+	/** The number of iterations fitting the ratings. */
+	private static final int RATING_ITERATIONS = 200;
+
+	/** The competing AIs. */
+	private final List<Class<? extends IAI>> ais;
+	/** The credits indicated by the index of the AI. */
+	private final double[] credits;
+	/** The games indicated by the index of the AI. */
+	private final int[] games;
+	/** The matches of all pairs of AIs. */
+	private final List<IMatchResult> matches;
+	/** The ratings indicated by the index of the AI. */
+	private final double[] ratings;
+
+	/**
+	 * Instantiate the result with the given parameters.
+	 *
+	 * @param ais
+	 *            the competing AIs.
+	 * @param matches
+	 *            the finished matches of all pairs of AIs.
+	 * @throws IllegalArgumentException
+	 *             if a parameter is null or a match has an AI that does not compete.
+	 */
+	public TournamentResult(final List<Class<? extends IAI>> ais, final List<IMatchResult> matches) {
+
+		if (ais == null || matches == null) {
+			throw new IllegalArgumentException();
+		}
+		this.ais = Collections.unmodifiableList(new ArrayList<Class<? extends IAI>>(ais));
+		this.matches = Collections.unmodifiableList(new ArrayList<IMatchResult>(matches));
+		this.credits = new double[ais.size()];
+		this.games = new int[ais.size()];
+		for (final IMatchResult match : matches) {
+			final int first = ais.indexOf(match.getFirstAi());
+			final int second = ais.indexOf(match.getSecondAi());
+			if (first < 0 || second < 0) {
+				throw new IllegalArgumentException();
+			}
+			credits[first] += match.getFirstCredits();
+			credits[second] += match.getSecondCredits();
+			games[first] += match.getGames();
+			games[second] += match.getGames();
+		}
+		this.ratings = fitRatings();
+	}
+
+	@Override
+	public List<Class<? extends IAI>> getAis() {
+
+		return ais;
+	}
+
+	@Override
+	public double getCredits(final Class<? extends IAI> ai) {
+
+		final int index = ais.indexOf(ai);
+		return index < 0 ? 0 : credits[index];
+	}
+
+	@Override
+	public int getGames(final Class<? extends IAI> ai) {
+
+		final int index = ais.indexOf(ai);
+		return index < 0 ? 0 : games[index];
+	}
+
+	@Override
+	public List<IMatchResult> getMatches() {
+
+		return matches;
+	}
+
+	@Override
+	public double getRating(final Class<? extends IAI> ai) {
+
+		final int index = ais.indexOf(ai);
+		return index < 0 ? Double.NaN : ratings[index];
+	}
+
+	/**
+	 * Fit the Bradley Terry strengths by the minorization maximization algorithm and scale them to ratings.
+	 *
+	 * @return the ratings indicated by the index of the AI.
+	 */
+	private double[] fitRatings() {
+
+		final int size = ais.size();
+		// scores and number of deals indicated by the indices of both AIs, including the virtual draws
+		final double[][] scores = new double[size][size];
+		final double[][] deals = new double[size][size];
+		for (final IMatchResult match : matches) {
+			final int first = ais.indexOf(match.getFirstAi());
+			final int second = ais.indexOf(match.getSecondAi());
+			final double firstScore = match.getDealsWon() + 0.5 * match.getDealsDrawn() + 0.5;
+			scores[first][second] += firstScore;
+			scores[second][first] += match.getDeals() + 1 - firstScore;
+			deals[first][second] += match.getDeals() + 1;
+			deals[second][first] += match.getDeals() + 1;
+		}
+		final double[] strengths = new double[size];
+		Arrays.fill(strengths, 1);
+		for (int iteration = 0; iteration < RATING_ITERATIONS; ++iteration) {
+			for (int i = 0; i < size; ++i) {
+				double score = 0;
+				double denominator = 0;
+				for (int j = 0; j < size; ++j) {
+					if (deals[i][j] > 0) {
+						score += scores[i][j];
+						denominator += deals[i][j] / (strengths[i] + strengths[j]);
+					}
+				}
+				if (denominator > 0) {
+					strengths[i] = score / denominator;
+				}
+			}
+		}
+		final double[] fitted = new double[size];
+		double mean = 0;
+		for (int i = 0; i < size; ++i) {
+			fitted[i] = ELO_SCALE * Math.log10(strengths[i]);
+			mean += fitted[i] / size;
+		}
+		for (int i = 0; i < size; ++i) {
+			fitted[i] -= mean;
+		}
+		return fitted;
+	}
+}
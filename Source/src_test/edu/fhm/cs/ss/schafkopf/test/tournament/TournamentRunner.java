@@ -0,0 +1,330 @@
+package edu.fhm.cs.ss.schafkopf.test.tournament;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.fhm.cs.ss.schafkopf.controller.GameEngine;
+import edu.fhm.cs.ss.schafkopf.model.GameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameData;
+import edu.fhm.cs.ss.schafkopf.model.interfaces.IGameSettings;
+import edu.fhm.cs.ss.schafkopf.model.utilities.DealIndexer;
+import edu.fhm.cs.ss.schafkopf.test.formattingandvalidation.TestUtils;
+import edu.fhm.cs.ss.schafkopf.test.model.ITestValidationInfo;
+import edu.fhm.cs.ss.schafkopf.test.model.TestValidationCode;
+import edu.fhm.cs.ss.schafkopf.test.settings.TestSettings;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.ai.interfaces.IAI;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.enums.PlayerPosition;
+import edu.fhm.cs.ss.schafkopf.viewaccessible.model.interfaces.ICard;
+
+/**
+ * This class implements the tournament runner by playing the games synchronously with {@link GameEngine}s in a fixed thread pool.<br>
+ * <br>
+ *
+ * Behavior of this implementation:<br>
+ * - The AIs of a match sit crosswise. Every deal is played twice, the second time with the seats rotated by one, so every AI plays every hand once. All
+ * matches play the same deals, they only depend on the seed and the index of the deal, see {@link DealIndexer}.<br>
+ * - Every game starts with a new game data, so no stock is carried from one deal to the next.<br>
+ * - The threads take batches of {@link TestSettings#TOURNAMENT_BATCH_DEALS} deals from the undecided matches in turn, every thread creates its own AI
+ * instances. A match stops taking batches, when it is decided or all {@link TestSettings#TOURNAMENT_MAX_DEALS} are taken, see {@link MatchResult} for the
+ * sequential test. Batches taken before the decision are still added.
+ *
+ * @author Sebastian Stumpf
+ *
+ */
+public class TournamentRunner implements ITournamentRunner {
+
+	/** The number of seat rotations a deal is played with. */
+	public static final int ROTATIONS = 2;
+	/** The multiplier spreading the deal seeds. */
+	private static final long SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/** The game settings the games are played with. */
+	private final IGameSettings gameSettings;
+	/** The seed of the deals. */
+	private final long seed;
+	/** The number of threads playing the matches. */
+	private final int threads;
+
+	/**
+	 * Instantiate the runner with one thread per available processor.
+	 *
+	 * @param gameSettings
+	 *            the game settings the games are played with.
+	 * @param seed
+	 *            the seed of the deals.
+	 */
+	public TournamentRunner(final IGameSettings gameSettings, final long seed) {
+
+		this(gameSettings, seed, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Instantiate the runner with the given parameters.
+	 *
+	 * @param gameSettings
+	 *            the game settings the games are played with.
+	 * @param seed
+	 *            the seed of the deals.
+	 * @param threads
+	 *            the number of threads playing the matches.
+	 * @throws IllegalArgumentException
+	 *             if the game settings are null or the number of threads is not positive.
+	 */
+	public TournamentRunner(final IGameSettings gameSettings, final long seed, final int threads) {
+
+		if (gameSettings == null || threads <= 0) {
+			throw new IllegalArgumentException();
+		}
+		this.gameSettings = gameSettings;
+		this.seed = seed;
+		this.threads = threads;
+	}
+
+	/**
+	 * Create the instances of an AI for all positions, if the thread has none yet.
+	 *
+	 * @param testValidationInfo
+	 *            the test validation info to append errors to.
+	 * @param instances
+	 *            the AI instances of the thread, indicated by AI and position.
+	 * @param ai
+	 *            the AI.
+	 * @throws IllegalStateException
+	 *             if the AI can not be created.
+	 */
+	private static void createInstances(final ITestValidationInfo testValidationInfo, final Map<Class<? extends IAI>, Map<PlayerPosition, IAI>> instances,
+			final Class<? extends IAI> ai) {
+
+		if (!instances.containsKey(ai)) {
+			final Map<PlayerPosition, IAI> created = TestUtils.getCustomTestAis(testValidationInfo, ai, TestSettings.ACCEPT_RESTART_STATE);
+			if (created == null) {
+				throw new IllegalStateException("Could not create " + ai + ".");
+			}
+			instances.put(ai, created);
+		}
+	}
+
+	@Override
+	public ITournamentResult run(final ITestValidationInfo testValidationInfo, final List<Class<? extends IAI>> ais) {
+
+		if (ais == null || ais.size() < 2) {
+			testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "A tournament needs at least two AIs.");
+			return null;
+		}
+		final List<MatchResult> matches = new ArrayList<MatchResult>();
+		for (int first = 0; first < ais.size(); ++first) {
+			for (int second = first + 1; second < ais.size(); ++second) {
+				matches.add(new MatchResult(ais.get(first), ais.get(second)));
+			}
+		}
+		final Scheduler scheduler = new Scheduler(matches);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int thread = 0; thread < threads; ++thread) {
+				futures.add(executor.submit(new Callable<Void>() {
+
+					@Override
+					public Void call() {
+
+						try {
+							playMatches(testValidationInfo, scheduler);
+						} catch (final RuntimeException e) {
+							// the other threads stop after their current batch
+							scheduler.cancel();
+							throw e;
+						}
+						return null;
+					}
+				}));
+			}
+			for (final Future<Void> future : futures) {
+				future.get();
+			}
+		} catch (final InterruptedException | ExecutionException e) {
+			scheduler.cancel();
+			testValidationInfo.appendInformation(TestValidationCode.ERROR_GENERAL, "The tournament was aborted.\n" + (e.getCause() == null ? e : e.getCause()));
+		} finally {
+			executor.shutdownNow();
+		}
+		if (!testValidationInfo.getTotalValidationCode().equals(TestValidationCode.SUCCESS)) {
+			return null;
+		}
+		return new TournamentResult(ais, new ArrayList<IMatchResult>(matches));
+	}
+
+	/**
+	 * @param index
+	 *            the index of the deal.
+	 * @return the stack of the deal.
+	 */
+	private List<ICard> getStack(final int index) {
+
+		return DealIndexer.stack(new SplittableRandom(seed + index * SEED_MULTIPLIER).nextLong(DealIndexer.NUMBER_OF_DEALS));
+	}
+
+	/**
+	 * Play a deal with all seat rotations and add it to the match.
+	 *
+	 * @param match
+	 *            the match.
+	 * @param instances
+	 *            the AI instances of the thread, indicated by AI and position.
+	 * @param stack
+	 *            the stack of the deal.
+	 */
+	private void playDeal(final MatchResult match, final Map<Class<? extends IAI>, Map<PlayerPosition, IAI>> instances, final List<ICard> stack) {
+
+		final PlayerPosition[] positions = PlayerPosition.values();
+		double firstCredits = 0;
+		double secondCredits = 0;
+		for (int rotation = 0; rotation < ROTATIONS; ++rotation) {
+			final Map<PlayerPosition, IAI> seats = new EnumMap<PlayerPosition, IAI>(PlayerPosition.class);
+			for (final PlayerPosition position : positions) {
+				final Class<? extends IAI> ai = (position.ordinal() + rotation) % 2 == 0 ? match.getFirstAi() : match.getSecondAi();
+				seats.put(position, instances.get(ai).get(position));
+			}
+			final IGameData gameData = new GameData(gameSettings, false);
+			final GameEngine engine = new GameEngine(gameData, seats);
+			final Map<PlayerPosition, Float> startCredits = new EnumMap<PlayerPosition, Float>(PlayerPosition.class);
+			for (final PlayerPosition position : positions) {
+				startCredits.put(position, gameData.getPlayerDatas().get(position).getCredit());
+			}
+			// the stack is consumed by dealing, every rotation gets its own copy
+			engine.play(new ArrayList<ICard>(stack), GameEngine.FIRST_PLAYER_POSITION);
+			for (final PlayerPosition position : positions) {
+				final double won = gameData.getPlayerDatas().get(position).getCredit() - startCredits.get(position);
+				if ((position.ordinal() + rotation) % 2 == 0) {
+					firstCredits += won;
+				} else {
+					secondCredits += won;
+				}
+			}
+		}
+		match.addDeal(firstCredits, secondCredits, ROTATIONS);
+	}
+
+	/**
+	 * Play batches of deals until the scheduler has no more batches. Called by every thread of the pool.
+	 *
+	 * @param testValidationInfo
+	 *            the test validation info to append errors to.
+	 * @param scheduler
+	 *            the scheduler of the batches.
+	 * @throws IllegalStateException
+	 *             if an AI can not be created.
+	 */
+	private void playMatches(final ITestValidationInfo testValidationInfo, final Scheduler scheduler) {
+
+		final Map<Class<? extends IAI>, Map<PlayerPosition, IAI>> instances = new HashMap<Class<? extends IAI>, Map<PlayerPosition, IAI>>();
+		Batch batch;
+		while ((batch = scheduler.next()) != null) {
+			createInstances(testValidationInfo, instances, batch.match.getFirstAi());
+			createInstances(testValidationInfo, instances, batch.match.getSecondAi());
+			for (int deal = batch.from; deal < batch.to; ++deal) {
+				playDeal(batch.match, instances, getStack(deal));
+			}
+		}
+	}
+
+	/**
+	 * A batch of deals of a match.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class Batch {
+
+		/** The index of the first deal. */
+		private final int from;
+		/** The match. */
+		private final MatchResult match;
+		/** The end of the deals, exclusive. */
+		private final int to;
+
+		/**
+		 * Instantiate the batch with the given parameters.
+		 *
+		 * @param match
+		 *            the match.
+		 * @param from
+		 *            the index of the first deal.
+		 * @param to
+		 *            the end of the deals, exclusive.
+		 */
+		private Batch(final MatchResult match, final int from, final int to) {
+
+			this.match = match;
+			this.from = from;
+			this.to = to;
+		}
+	}
+
+	/**
+	 * The scheduler hands out the batches of the undecided matches in turn.
+	 *
+	 * @author Sebastian Stumpf
+	 *
+	 */
+	private static final class Scheduler {
+
+		/** True, if no more batches are handed out. */
+		private boolean cancelled;
+		/** The matches. */
+		private final List<MatchResult> matches;
+		/** The index of the next deal indicated by the index of the match. */
+		private final int[] nextDeals;
+		/** The index of the match the next batch is taken from. */
+		private int turn;
+
+		/**
+		 * Instantiate the scheduler with the given matches.
+		 *
+		 * @param matches
+		 *            the matches.
+		 */
+		private Scheduler(final List<MatchResult> matches) {
+
+			this.matches = matches;
+			this.nextDeals = new int[matches.size()];
+		}
+
+		/**
+		 * Stop handing out batches.
+		 */
+		private synchronized void cancel() {
+
+			cancelled = true;
+		}
+
+		/**
+		 * @return the next batch, null if all matches are decided or played to the maximum number of deals.
+		 */
+		private synchronized Batch next() {
+
+			if (cancelled) {
+				return null;
+			}
+			for (int i = 0; i < matches.size(); ++i) {
+				final int index = (turn + i) % matches.size();
+				final MatchResult match = matches.get(index);
+				if (match.getDecision() == MatchDecision.UNDECIDED && nextDeals[index] < TestSettings.TOURNAMENT_MAX_DEALS) {
+					final int from = nextDeals[index];
+					nextDeals[index] = Math.min(TestSettings.TOURNAMENT_MAX_DEALS, from + TestSettings.TOURNAMENT_BATCH_DEALS);
+					turn = index + 1;
+					return new Batch(match, from, nextDeals[index]);
+				}
+			}
+			return null;
+		}
+	}
+}